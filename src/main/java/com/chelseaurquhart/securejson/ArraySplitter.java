@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.util.Arrays;
+
+/**
+ * Fast structural pre-scan of a document whose root is an array. It finds where each top level element starts and
+ * ends by walking the StructuralIndex, so brackets and commas inside string values are never seen. It does not
+ * validate the elements themselves; that is left to whoever parses them.
+ *
+ * @exclude
+ */
+final class ArraySplitter {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private ArraySplitter() {
+    }
+
+    /**
+     * Find the top level elements of parJson.
+     *
+     * @param parJson The document to scan.
+     * @return Pairs of element start (inclusive) and end (exclusive) offsets, trimmed of whitespace, or null if
+     *     parJson is not a well formed array at the structural level. Callers should fall back to a regular parse on
+     *     null so that the usual error is reported.
+     */
+    static int[] split(final CharSequence parJson) {
+        final StructuralIndex myIndex = StructuralIndex.build(parJson);
+        final int mySize = myIndex.size();
+        if (!myIndex.isComplete() || mySize == 0) {
+            return null;
+        }
+        final int myRootStart = myIndex.get(0);
+        if (parJson.charAt(myRootStart) != JSONSymbolCollection.Token.L_BRACE.getShortSymbol()
+                || skipWhitespace(parJson, 0, myRootStart) != myRootStart) {
+            return null;
+        }
+
+        int[] myBounds = new int[INITIAL_CAPACITY];
+        int myCount = 0;
+        int myDepth = 1;
+        int myElementStart = -1;
+        // jump from token to token; whitespace and string contents never need to be looked at.
+        for (int myStructural = 1; myStructural < mySize; myStructural++) {
+            final int myPosition = myIndex.get(myStructural);
+            final char myChar = parJson.charAt(myPosition);
+            if (myDepth == 1 && (myChar == JSONSymbolCollection.Token.COMMA.getShortSymbol()
+                    || myChar == JSONSymbolCollection.Token.R_BRACE.getShortSymbol())) {
+                final boolean myIsEnd = myChar == JSONSymbolCollection.Token.R_BRACE.getShortSymbol();
+                if (myElementStart == -1) {
+                    // "[]" is fine, but "[,", "[1,]" and "[1,,2]" are not.
+                    if (!myIsEnd || myCount > 0) {
+                        return null;
+                    }
+                } else {
+                    if (myCount + 2 > myBounds.length) {
+                        myBounds = Arrays.copyOf(myBounds, myBounds.length * 2);
+                    }
+                    myBounds[myCount++] = myElementStart;
+                    myBounds[myCount++] = trimEnd(parJson, myPosition);
+                    myElementStart = -1;
+                }
+                if (myIsEnd) {
+                    // anything other than whitespace after the root would have been indexed.
+                    if (myStructural != mySize - 1) {
+                        return null;
+                    }
+
+                    return Arrays.copyOf(myBounds, myCount);
+                }
+                continue;
+            }
+
+            if (myDepth == 1) {
+                // a second value at the top level without a comma in between, as in "[1 2]" or "[[1] [2]]".
+                if (myElementStart != -1) {
+                    return null;
+                }
+                myElementStart = myPosition;
+            }
+            if (myChar == JSONSymbolCollection.Token.L_BRACE.getShortSymbol()
+                    || myChar == JSONSymbolCollection.Token.L_CURLY.getShortSymbol()) {
+                myDepth++;
+            } else if (myChar == JSONSymbolCollection.Token.R_BRACE.getShortSymbol()
+                    || myChar == JSONSymbolCollection.Token.R_CURLY.getShortSymbol()) {
+                myDepth--;
+                if (myDepth < 1) {
+                    return null;
+                }
+            }
+        }
+
+        // unterminated.
+        return null;
+    }
+
+    private static int trimEnd(final CharSequence parJson, final int parEnd) {
+        int myEnd = parEnd;
+        while (StructuralIndex.isWhitespace(parJson.charAt(myEnd - 1))) {
+            myEnd--;
+        }
+
+        return myEnd;
+    }
+
+    private static int skipWhitespace(final CharSequence parJson, final int parStart, final int parEnd) {
+        int myIndex = parStart;
+        while (myIndex < parEnd && StructuralIndex.isWhitespace(parJson.charAt(myIndex))) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Table driven base64 (RFC 4648, standard alphabet) codec that works directly between byte arrays and our character
+ * buffers so that key material never passes through a String.
+ *
+ * @exclude
+ */
+final class Base64 {
+    private static final char[] ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final char PADDING = '=';
+    private static final int ASCII_LIMIT = 128;
+    private static final int INVALID = -1;
+    // the 6 bit value of each ASCII character, or INVALID if it is not in the alphabet.
+    private static final int[] DECODE_TABLE = buildDecodeTable();
+
+    private static final int BYTES_PER_BLOCK = 3;
+    private static final int CHARS_PER_BLOCK = 4;
+    private static final int BITS_PER_CHAR = 6;
+    private static final int BITS_PER_BYTE = 8;
+    private static final int FIRST_CHAR_SHIFT = BITS_PER_CHAR * BYTES_PER_BLOCK;
+    private static final int SIX_BIT_MASK = 0x3f;
+    private static final int BYTE_MASK = 0xff;
+
+    private Base64() {
+    }
+
+    /**
+     * Write parInput to parWriter as base64.
+     *
+     * @param parInput The bytes to encode.
+     * @param parWriter The writer to write to.
+     * @throws IOException On write failure.
+     */
+    static void encode(final byte[] parInput, final ICharacterWriter parWriter) throws IOException {
+        final int myFullBlocksEnd = parInput.length - parInput.length % BYTES_PER_BLOCK;
+        int myIndex = 0;
+        while (myIndex < myFullBlocksEnd) {
+            final int myBlock = (parInput[myIndex++] & BYTE_MASK) << (2 * BITS_PER_BYTE)
+                | (parInput[myIndex++] & BYTE_MASK) << BITS_PER_BYTE
+                | parInput[myIndex++] & BYTE_MASK;
+            parWriter.append(ALPHABET[myBlock >>> FIRST_CHAR_SHIFT]);
+            parWriter.append(ALPHABET[(myBlock >>> (2 * BITS_PER_CHAR)) & SIX_BIT_MASK]);
+            parWriter.append(ALPHABET[(myBlock >>> BITS_PER_CHAR) & SIX_BIT_MASK]);
+            parWriter.append(ALPHABET[myBlock & SIX_BIT_MASK]);
+        }
+
+        final int myRemaining = parInput.length - myFullBlocksEnd;
+        if (myRemaining > 0) {
+            int myBlock = (parInput[myIndex] & BYTE_MASK) << (2 * BITS_PER_BYTE);
+            if (myRemaining > 1) {
+                myBlock |= (parInput[myIndex + 1] & BYTE_MASK) << BITS_PER_BYTE;
+            }
+            parWriter.append(ALPHABET[myBlock >>> FIRST_CHAR_SHIFT]);
+            parWriter.append(ALPHABET[(myBlock >>> (2 * BITS_PER_CHAR)) & SIX_BIT_MASK]);
+            if (myRemaining > 1) {
+                parWriter.append(ALPHABET[(myBlock >>> BITS_PER_CHAR) & SIX_BIT_MASK]);
+            } else {
+                parWriter.append(PADDING);
+            }
+            parWriter.append(PADDING);
+        }
+    }
+
+    /**
+     * Decode base64 from parInput. Padding is optional, but any other character outside of the alphabet is an error.
+     *
+     * @param parInput The characters to decode.
+     * @return The decoded bytes.
+     * @throws IOException On failure to read the error message.
+     * @throws JSONException If the input is not valid base64.
+     */
+    static byte[] decode(final CharSequence parInput) throws IOException, JSONException {
+        int myLength = parInput.length();
+        if (myLength % CHARS_PER_BLOCK == 0) {
+            // strip up to 2 padding characters; they only make the length a multiple of 4.
+            for (int myPadding = 0; myPadding < 2 && myLength > 0 && parInput.charAt(myLength - 1) == PADDING;
+                    myPadding++) {
+                myLength--;
+            }
+        }
+        if (myLength % CHARS_PER_BLOCK == 1) {
+            throw new JSONException(Messages.get(Messages.Key.ERROR_MALFORMED_BASE64));
+        }
+
+        final byte[] myOutput = new byte[myLength / CHARS_PER_BLOCK * BYTES_PER_BLOCK
+            + Math.max(0, myLength % CHARS_PER_BLOCK - 1)];
+        final int myFullBlocksEnd = myLength - myLength % CHARS_PER_BLOCK;
+        int myOutputIndex = 0;
+        int myIndex = 0;
+        try {
+            while (myIndex < myFullBlocksEnd) {
+                final int myBlock = decodeChar(parInput, myIndex++) << FIRST_CHAR_SHIFT
+                    | decodeChar(parInput, myIndex++) << (2 * BITS_PER_CHAR)
+                    | decodeChar(parInput, myIndex++) << BITS_PER_CHAR
+                    | decodeChar(parInput, myIndex++);
+                myOutput[myOutputIndex++] = (byte) (myBlock >>> (2 * BITS_PER_BYTE));
+                myOutput[myOutputIndex++] = (byte) (myBlock >>> BITS_PER_BYTE);
+                myOutput[myOutputIndex++] = (byte) myBlock;
+            }
+
+            if (myIndex < myLength) {
+                int myBlock = decodeChar(parInput, myIndex++) << FIRST_CHAR_SHIFT
+                    | decodeChar(parInput, myIndex++) << (2 * BITS_PER_CHAR);
+                if (myIndex < myLength) {
+                    myBlock |= decodeChar(parInput, myIndex) << BITS_PER_CHAR;
+                }
+                myOutput[myOutputIndex++] = (byte) (myBlock >>> (2 * BITS_PER_BYTE));
+                if (myOutputIndex < myOutput.length) {
+                    myOutput[myOutputIndex] = (byte) (myBlock >>> BITS_PER_BYTE);
+                }
+            }
+        } catch (final JSONException myException) {
+            // do not leave partially decoded secrets lying around.
+            Arrays.fill(myOutput, (byte) 0);
+            throw myException;
+        }
+
+        return myOutput;
+    }
+
+    private static int decodeChar(final CharSequence parInput, final int parIndex) throws IOException,
+            JSONException {
+        final char myChar = parInput.charAt(parIndex);
+        if (myChar >= ASCII_LIMIT || DECODE_TABLE[myChar] == INVALID) {
+            throw new JSONException(Messages.get(Messages.Key.ERROR_MALFORMED_BASE64));
+        }
+
+        return DECODE_TABLE[myChar];
+    }
+
+    private static int[] buildDecodeTable() {
+        final int[] myTable = new int[ASCII_LIMIT];
+        Arrays.fill(myTable, INVALID);
+        for (int myIndex = 0; myIndex < ALPHABET.length; myIndex++) {
+            myTable[ALPHABET[myIndex]] = myIndex;
+        }
+
+        return myTable;
+    }
+}
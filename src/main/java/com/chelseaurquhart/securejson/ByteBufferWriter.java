@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONEncodeException.BufferTooSmallException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * @exclude
+ */
+class ByteBufferWriter extends Utf8CharacterWriter {
+    private final transient ByteBuffer target;
+    private final transient int startPosition;
+    private transient int requiredSize;
+    private transient boolean overflowed;
+
+    ByteBufferWriter(final ByteBuffer parTarget) {
+        // we copy into the target either way, so there is no benefit to a direct block here.
+        super(ByteBuffer.allocate(DEFAULT_BLOCK_SIZE));
+        target = parTarget;
+        startPosition = parTarget.position();
+    }
+
+    @Override
+    void drain(final ByteBuffer parBytes) {
+        requiredSize += parBytes.remaining();
+        if (!overflowed && parBytes.remaining() <= target.remaining()) {
+            target.put(parBytes);
+        } else {
+            // keep encoding so we can report how much space is needed.
+            overflowed = true;
+            parBytes.position(parBytes.limit());
+        }
+    }
+
+    /**
+     * If the JSON did not fit, wipe what we wrote, restore the target's position and throw.
+     *
+     * @throws IOException On message load failure.
+     * @throws BufferTooSmallException If the JSON did not fit.
+     */
+    void checkCapacity() throws IOException, BufferTooSmallException {
+        if (!overflowed) {
+            return;
+        }
+
+        rewind();
+
+        throw new BufferTooSmallException(requiredSize);
+    }
+
+    /**
+     * Drop the pending block and also wipe what was already written to the target, restoring its position.
+     */
+    @Override
+    void discard() {
+        super.discard();
+        rewind();
+    }
+
+    private void rewind() {
+        final int myEnd = target.position();
+        for (int myIndex = startPosition; myIndex < myEnd; myIndex++) {
+            target.put(myIndex, (byte) 0);
+        }
+        target.position(startPosition);
+    }
+}
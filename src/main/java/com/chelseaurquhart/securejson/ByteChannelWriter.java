@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * @exclude
+ */
+class ByteChannelWriter extends Utf8CharacterWriter {
+    private final transient WritableByteChannel channel;
+
+    ByteChannelWriter(final WritableByteChannel parChannel) {
+        // channels copy heap buffers into a temporary direct buffer, so encode into a direct one to begin with.
+        super(ByteBuffer.allocateDirect(DEFAULT_BLOCK_SIZE));
+        channel = parChannel;
+    }
+
+    @Override
+    void drain(final ByteBuffer parBytes) throws IOException {
+        while (parBytes.hasRemaining()) {
+            channel.write(parBytes);
+        }
+    }
+}
@@ -20,13 +20,15 @@ import com.chelseaurquhart.securejson.JSONDecodeException.InvalidTokenException;
 import com.chelseaurquhart.securejson.JSONDecodeException.MalformedJSONException;
 import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 /**
  * @exclude
  */
-abstract class EncodingAwareCharacterIterator implements ICharacterIterator {
+abstract class EncodingAwareCharacterIterator implements ICharacterIterator, Closeable, IAutoCloseable {
     private static final int UTF16_BYTES = 2;
     private static final int UTF32_BYTES = 4;
 
@@ -34,6 +36,8 @@ abstract class EncodingAwareCharacterIterator implements ICharacterIterator {
     private static final int INITIAL_QUEUE_CAPACITY = 3;
     // after encoding is detected, reduce to a single character. This allows for optimization within the queue.
     private static final int RUNTIME_QUEUE_CAPACITY = 1;
+    // how many raw characters multi-byte decoders fetch at a time. A multiple of every encoding width.
+    private static final int BLOCK_SIZE = 4096;
 
     private static final char UTF8_BOM_CHAR0 = '\u00ef';
     private static final char UTF8_BOM_CHAR1 = '\u00bb';
@@ -50,6 +54,10 @@ abstract class EncodingAwareCharacterIterator implements ICharacterIterator {
     private transient int offset;
     private transient State state = State.UNINITIALIZED;
     private transient Encoding encoding;
+    private transient Decoder decoder;
+    private transient char[] block;
+    private transient int blockPosition;
+    private transient int blockLength;
 
     EncodingAwareCharacterIterator() {
         this(0);
@@ -71,8 +79,19 @@ abstract class EncodingAwareCharacterIterator implements ICharacterIterator {
         return encoding;
     }
 
+    /**
+     * Offsets count padding as well as characters, so they only map onto the underlying characters, as range needs,
+     * when the encoding has none. Range-capable iterators should only report canReadRange when this is true.
+     *
+     * @return True if the encoding is not padded.
+     */
+    final boolean isUnpaddedEncoding() {
+        return encoding == null || encoding == Encoding.UTF8;
+    }
+
     @Override
     public void skipWhitespace() throws IOException, JSONException {
+        skipRun(true);
         while (hasNext()) {
             final char myChar = peek();
             if (JSONSymbolCollection.WHITESPACES.containsKey(myChar)) {
@@ -85,6 +104,42 @@ abstract class EncodingAwareCharacterIterator implements ICharacterIterator {
         }
     }
 
+    @Override
+    public final void skipStringCharacters() throws IOException, JSONException {
+        skipRun(false);
+    }
+
+    private void skipRun(final boolean parWhitespace) throws IOException, JSONException {
+        // the underlying characters can only be scanned directly when each one is one offset, and when a decoder has
+        // not read ahead of them.
+        if (!hasNext() || decoder != null || !isUnpaddedEncoding()) {
+            return;
+        }
+
+        // hasNext has taken the next character from the underlying characters, so check what it left in the queue
+        // before scanning them.
+        while (!charQueue.isEmpty()) {
+            final char myChar = charQueue.peek();
+            final boolean myIsRunChar;
+            if (parWhitespace) {
+                myIsRunChar = RunScanner.isWhitespace(myChar);
+            } else {
+                myIsRunChar = RunScanner.isStringChar(myChar);
+            }
+            if (!myIsRunChar) {
+                return;
+            }
+            charQueue.pop();
+            offset++;
+        }
+
+        if (parWhitespace) {
+            offset += skipWhitespaceRun();
+        } else {
+            offset += skipStringRun();
+        }
+    }
+
     private Encoding findEncoding() throws IOException, JSONException {
         // We can accept either encoding. UTF-8 characters, other than the BOM, are not allowed in JSON, so these are
         // the only special characters we need to handle.
@@ -262,41 +317,70 @@ abstract class EncodingAwareCharacterIterator implements ICharacterIterator {
     }
 
     private Character readAndProcessNextChar() throws IOException, JSONDecodeException {
+        if (decoder != null) {
+            return decoder.decode();
+        }
         if (encoding == null || encoding == Encoding.UTF8) {
             return readNextChar();
         }
 
-        final Character myChar;
+        // the encoding is known now, so hand over to a decoder for it. Decoders read raw characters in blocks, so
+        // from here on everything must come through them.
         switch (encoding) {
             case UTF16BE:
-                // support UTF8 with UTF16 BOM. >.<
-                if (readNullChars(UTF16_BYTES - 1) == 0) {
-                    // We read a BOM, but we do not have nulls in the data. This means it is actually UTF8.
-                    encoding = Encoding.UTF8;
-                }
-                if (charQueue.isEmpty()) {
-                    myChar = readNextChar();
-                } else {
-                    myChar = charQueue.pop();
-                }
+                decoder = new Utf16BigEndianDecoder();
                 break;
             case UTF16LE:
-                myChar = readNextChar();
-                forceReadNullChars(UTF16_BYTES - 1);
+                decoder = new LittleEndianDecoder(UTF16_BYTES);
                 break;
             case UTF32LE:
-                myChar = readNextChar();
-                forceReadNullChars(UTF32_BYTES - 1);
+                decoder = new LittleEndianDecoder(UTF32_BYTES);
                 break;
             case UTF32BE:
-                forceReadNullChars(UTF32_BYTES - 1);
-                myChar = readNextChar();
+                decoder = new Utf32BigEndianDecoder();
                 break;
             default:
                 throw new JSONDecodeException(this, Messages.Key.ERROR_INVALID_ENCODING);
         }
+        block = new char[BLOCK_SIZE];
 
-        return myChar;
+        return decoder.decode();
+    }
+
+    /**
+     * Wipe the block of raw characters held for multi-byte decoding. A parse that fails part way through would
+     * otherwise leave up to a block of input on the heap. This does not close the underlying input, which belongs to
+     * the caller.
+     */
+    @Override
+    public void close() {
+        if (block != null) {
+            Arrays.fill(block, NULL);
+        }
+        blockPosition = 0;
+        blockLength = 0;
+    }
+
+    private int readRawChar() throws IOException {
+        if (blockPosition == blockLength) {
+            // wipe what we have consumed before reading more.
+            Arrays.fill(block, 0, blockLength, NULL);
+            blockPosition = 0;
+            blockLength = Math.max(readNextChars(block), 0);
+            if (blockLength == 0) {
+                return -1;
+            }
+        }
+
+        return block[blockPosition++];
+    }
+
+    private Character toCharacter(final int parRawChar) {
+        if (parRawChar == -1) {
+            return null;
+        }
+
+        return (char) parRawChar;
     }
 
     private EOFMarker forceReadNullChars(final int parCount) throws IOException, InvalidTokenException {
@@ -337,6 +421,137 @@ abstract class EncodingAwareCharacterIterator implements ICharacterIterator {
      */
     protected abstract Character readNextChar() throws IOException;
 
+    /**
+     * Skip the underlying characters up to the next quote, backslash or control character, or the end. Only called
+     * when the encoding is unpadded. Implementations which cannot do better than per-character reads should not
+     * override this.
+     *
+     * @return The number of characters skipped.
+     */
+    protected int skipStringRun() {
+        return 0;
+    }
+
+    /**
+     * Skip the underlying characters up to the next non-whitespace character, or the end. Only called when the
+     * encoding is unpadded.
+     *
+     * @return The number of characters skipped.
+     */
+    protected int skipWhitespaceRun() {
+        return 0;
+    }
+
+    /**
+     * Reads as many of the next available characters as are readily available, up to the size of parBuffer. This is
+     * only used once the encoding is known to be multi-byte.
+     *
+     * @param parBuffer The buffer to read into.
+     * @return The number of characters read, or -1 if there are no more.
+     * @throws IOException On read failure.
+     */
+    protected int readNextChars(final char[] parBuffer) throws IOException {
+        int myCount = 0;
+        while (myCount < parBuffer.length) {
+            final Character myChar = readNextChar();
+            if (myChar == null) {
+                break;
+            }
+            parBuffer[myCount++] = myChar;
+        }
+
+        if (myCount == 0) {
+            return -1;
+        }
+        return myCount;
+    }
+
+    /**
+     * Decodes characters in a multi-byte encoding. Every character must be made up of nulls and one other byte.
+     */
+    private abstract class Decoder {
+        abstract Character decode() throws IOException, JSONDecodeException;
+
+        /**
+         * Read parCount nulls.
+         *
+         * @param parCount The number of nulls to read.
+         * @return False if we hit EOF, true otherwise.
+         */
+        final boolean readPadding(final int parCount) throws IOException, JSONDecodeException {
+            for (int myIndex = 0; myIndex < parCount; myIndex++) {
+                final int myChar = readRawChar();
+                if (myChar == -1) {
+                    return false;
+                } else if (myChar != NULL) {
+                    throw new InvalidTokenException(EncodingAwareCharacterIterator.this);
+                }
+                offset++;
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Decodes UTF-16LE and UTF-32LE, where the padding follows each character.
+     */
+    private final class LittleEndianDecoder extends Decoder {
+        private final int width;
+
+        LittleEndianDecoder(final int parWidth) {
+            width = parWidth;
+        }
+
+        @Override
+        Character decode() throws IOException, JSONDecodeException {
+            final int myChar = readRawChar();
+            if (myChar != -1) {
+                readPadding(width - 1);
+            }
+
+            return toCharacter(myChar);
+        }
+    }
+
+    /**
+     * Decodes UTF-32BE, where the padding precedes each character.
+     */
+    private final class Utf32BigEndianDecoder extends Decoder {
+        @Override
+        Character decode() throws IOException, JSONDecodeException {
+            if (!readPadding(UTF32_BYTES - 1)) {
+                return null;
+            }
+
+            return toCharacter(readRawChar());
+        }
+    }
+
+    /**
+     * Decodes UTF-16BE, falling back to unpadded characters if the first one we see has no padding.
+     */
+    private final class Utf16BigEndianDecoder extends Decoder {
+        private transient boolean padded = true;
+
+        @Override
+        Character decode() throws IOException {
+            final int myChar = readRawChar();
+            if (!padded || myChar == -1) {
+                return toCharacter(myChar);
+            } else if (myChar != NULL) {
+                // support UTF8 with UTF16 BOM. >.< We read a BOM, but we do not have nulls in the data. This means it
+                // is actually UTF8.
+                encoding = Encoding.UTF8;
+                padded = false;
+                return (char) myChar;
+            }
+            offset++;
+
+            return toCharacter(readRawChar());
+        }
+    }
+
     enum Encoding {
         UTF8,
         UTF16BE,
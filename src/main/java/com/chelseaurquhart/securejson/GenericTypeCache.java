@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import net.jodah.typetools.TypeResolver;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of the resolved type arguments of map and collection types. Resolving a generic type through typetools walks
+ * the whole type hierarchy, which is far more expensive than binding the values themselves, so each (raw type,
+ * generic type) pair is resolved once and the result is shared between readers. The cache is safe for concurrent use.
+ *
+ * @exclude
+ */
+final class GenericTypeCache {
+    private final transient ConcurrentMap<Key, TypeArguments> cache = new ConcurrentHashMap<Key, TypeArguments>();
+
+    /**
+     * Get the type arguments of a map or collection type, resolving them if they are not yet cached.
+     *
+     * @param parType The raw map or collection type.
+     * @param parGenericType The generic type as declared (for example by a field), or the raw type.
+     * @param parCount The number of type arguments parType declares.
+     * @return The resolved type arguments.
+     */
+    TypeArguments get(final Class<?> parType, final Type parGenericType, final int parCount) {
+        final Key myKey = new Key(parType, parGenericType);
+        final TypeArguments myArguments = cache.get(myKey);
+        if (myArguments != null) {
+            return myArguments;
+        }
+
+        // two threads may both resolve the same type; the results are equal so it does not matter which one wins.
+        final TypeArguments myResolvedArguments = resolve(parType, parGenericType, parCount);
+        final TypeArguments myExistingArguments = cache.putIfAbsent(myKey, myResolvedArguments);
+        if (myExistingArguments != null) {
+            return myExistingArguments;
+        }
+
+        return myResolvedArguments;
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private static TypeArguments resolve(final Class<?> parType, final Type parGenericType, final int parCount) {
+        final Type myType = TypeResolver.resolveGenericType(parType, parGenericType);
+
+        return new TypeArguments(resolveTypes(myType, parCount), resolveClasses(myType, parCount, parType));
+    }
+
+    private static Type[] resolveTypes(final Type parType, final int parCount) {
+        final Type[] myTypes;
+        if (parType instanceof ParameterizedType) {
+            final ParameterizedType myParameterizedType = (ParameterizedType) parType;
+            myTypes = myParameterizedType.getActualTypeArguments();
+        } else {
+            myTypes = new Type[parCount];
+            Arrays.fill(myTypes, Object.class);
+        }
+
+        return myTypes;
+    }
+
+    private static Class<?>[] resolveClasses(final Type parGenericType, final int parCount,
+                                             final Class<?> parInterfaceClass) {
+        final Class<?>[] myClasses = TypeResolver.resolveRawArguments(parGenericType, parInterfaceClass);
+
+        if (myClasses == null) {
+            final Class<?>[] myDefaultClasses = new Class<?>[parCount];
+            Arrays.fill(myDefaultClasses, Object.class);
+
+            return myDefaultClasses;
+        }
+
+        for (int myIndex = 0; myIndex < myClasses.length; myIndex++) {
+            if (myClasses[myIndex] == TypeResolver.Unknown.class) {
+                myClasses[myIndex] = Object.class;
+            }
+        }
+
+        return myClasses;
+    }
+
+    /**
+     * Resolved type arguments of a map or collection type. The arrays are shared by every reader of the type and must
+     * not be modified.
+     */
+    static final class TypeArguments {
+        private final transient Type[] types;
+        private final transient Class<?>[] classes;
+
+        TypeArguments(final Type[] parTypes, final Class<?>[] parClasses) {
+            types = parTypes;
+            classes = parClasses;
+        }
+
+        Type getType(final int parIndex) {
+            return types[parIndex];
+        }
+
+        Class<?> getRawType(final int parIndex) {
+            return classes[parIndex];
+        }
+    }
+
+    /**
+     * Cache key. Generic types are compared by value since reflection hands out a new instance on every lookup.
+     */
+    private static final class Key {
+        private static final int HASH_MULTIPLIER = 31;
+
+        private final transient Class<?> type;
+        private final transient Type genericType;
+
+        Key(final Class<?> parType, final Type parGenericType) {
+            type = parType;
+            genericType = parGenericType;
+        }
+
+        @Override
+        public boolean equals(final Object parObject) {
+            if (!(parObject instanceof Key)) {
+                return false;
+            }
+            final Key myOther = (Key) parObject;
+
+            return type == myOther.type && equalTypes(genericType, myOther.genericType);
+        }
+
+        @Override
+        public int hashCode() {
+            return type.hashCode() * HASH_MULTIPLIER + Objects.hash(genericType);
+        }
+
+        private static boolean equalTypes(final Type parLeft, final Type parRight) {
+            if (parLeft == null) {
+                return parRight == null;
+            }
+
+            return parLeft.equals(parRight);
+        }
+    }
+}
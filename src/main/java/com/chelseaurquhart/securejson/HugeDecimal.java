@@ -18,6 +18,7 @@ package com.chelseaurquhart.securejson;
 
 import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
@@ -30,13 +31,22 @@ import java.math.BigInteger;
  * Note that we will frequently convert to strings during conversion, so sensitive data should either
  *   a) not be stored in numeric types or
  *   b) should be retrieved from HugeDecimal.charSequenceValue()
+ *
+ * The decimal representation is parsed at most once and cached until close() is called.
  */
-public final class HugeDecimal extends Number implements CharSequence {
+public final class HugeDecimal extends Number implements CharSequence, Closeable, IAutoCloseable {
     private static final long serialVersionUID = 1L;
+    private static final int HASH_MULTIPLIER = 31;
+    private static final int DECIMAL_RADIX = 10;
+    // orders of magnitude beyond this are clamped, in which case we fall back to comparing by value.
+    private static final long MAX_MAGNITUDE = Long.MAX_VALUE / 4;
 
     private transient CharSequence chars;
     private final transient NumberReader numberReader;
     private final transient Number number;
+    private transient BigDecimal decimal;
+    private transient Magnitude magnitude;
+    private transient Integer hash;
 
     /**
      * @exclude
@@ -58,6 +68,7 @@ public final class HugeDecimal extends Number implements CharSequence {
             chars = myValueHugeDecimal.chars;
             numberReader = myValueHugeDecimal.numberReader;
             number = myValueHugeDecimal.number;
+            decimal = myValueHugeDecimal.decimal;
         } else {
             chars = null;
             numberReader = null;
@@ -78,7 +89,7 @@ public final class HugeDecimal extends Number implements CharSequence {
         }
 
         try {
-            return numberReader.charSequenceToBigDecimal(chars, 0).getKey().intValue();
+            return getDecimal().intValue();
         } catch (final IOException myException) {
             throw new JSONRuntimeException(myException);
         } catch (final JSONException myException) {
@@ -99,7 +110,7 @@ public final class HugeDecimal extends Number implements CharSequence {
         }
 
         try {
-            return numberReader.charSequenceToBigDecimal(chars, 0).getKey().longValue();
+            return getDecimal().longValue();
         } catch (final IOException myException) {
             throw new JSONRuntimeException(myException);
         } catch (final JSONException myException) {
@@ -120,7 +131,7 @@ public final class HugeDecimal extends Number implements CharSequence {
         }
 
         try {
-            return numberReader.charSequenceToBigDecimal(chars, 0).getKey().floatValue();
+            return getDecimal().floatValue();
         } catch (final IOException myException) {
             throw new JSONRuntimeException(myException);
         } catch (final JSONException myException) {
@@ -141,7 +152,7 @@ public final class HugeDecimal extends Number implements CharSequence {
         }
 
         try {
-            return numberReader.charSequenceToBigDecimal(chars, 0).getKey().doubleValue();
+            return getDecimal().doubleValue();
         } catch (final IOException myException) {
             throw new JSONRuntimeException(myException);
         } catch (final JSONException myException) {
@@ -182,7 +193,7 @@ public final class HugeDecimal extends Number implements CharSequence {
             return new BigDecimal(number.toString()).toBigIntegerExact();
         }
 
-        return numberReader.charSequenceToBigDecimal(chars, 0).getKey().toBigIntegerExact();
+        return getDecimal().toBigIntegerExact();
     }
 
     /**
@@ -193,18 +204,37 @@ public final class HugeDecimal extends Number implements CharSequence {
      * @throws JSONException On sequence read failure.
      */
     public BigDecimal bigDecimalValue() throws IOException, JSONException {
-        if (number != null) {
-            if (number instanceof BigDecimal) {
-                return (BigDecimal) number;
-            }
-            if (number instanceof BigInteger) {
-                return new BigDecimal((BigInteger) number);
-            }
+        return getDecimal();
+    }
 
-            return new BigDecimal(number.toString());
+    private BigDecimal getDecimal() throws IOException, JSONException {
+        if (decimal != null) {
+            return decimal;
+        }
+
+        final BigDecimal myDecimal;
+        if (number == null) {
+            myDecimal = numberReader.charSequenceToBigDecimal(chars, 0).getKey();
+        } else if (number instanceof BigDecimal) {
+            myDecimal = (BigDecimal) number;
+        } else if (number instanceof BigInteger) {
+            myDecimal = new BigDecimal((BigInteger) number);
+        } else {
+            myDecimal = new BigDecimal(number.toString());
         }
+        decimal = myDecimal;
 
-        return numberReader.charSequenceToBigDecimal(chars, 0).getKey();
+        return myDecimal;
+    }
+
+    /**
+     * Release our cached decimal representation. Subsequent conversions will parse our character sequence again.
+     */
+    @Override
+    public void close() {
+        decimal = null;
+        magnitude = null;
+        hash = null;
     }
 
     @Override
@@ -234,6 +264,13 @@ public final class HugeDecimal extends Number implements CharSequence {
     }
 
     boolean compareByBigDecimal(final HugeDecimal parOther) {
+        final Magnitude myMagnitude = getMagnitude();
+        final Magnitude myOtherMagnitude = parOther.getMagnitude();
+        // numbers of different sign or order of magnitude can never be equal, so skip parsing them.
+        if (myMagnitude != null && myOtherMagnitude != null && !myMagnitude.isComparableTo(myOtherMagnitude)) {
+            return false;
+        }
+
         try {
             return bigDecimalValue().compareTo(parOther.bigDecimalValue()) == 0;
         } catch (final IOException myException) {
@@ -245,7 +282,62 @@ public final class HugeDecimal extends Number implements CharSequence {
 
     @Override
     public int hashCode() {
-        return Objects.hash(chars);
+        if (hash == null) {
+            hash = computeHash();
+        }
+
+        return hash;
+    }
+
+    // Hash the canonical value so that numerically equal values hash the same regardless of their representation.
+    // Values that cannot be represented as a BigDecimal can only equal identical sequences, so hash the content.
+    private int computeHash() {
+        try {
+            final BigDecimal myDecimal = getDecimal();
+            if (myDecimal.signum() == 0) {
+                return 0;
+            }
+
+            return myDecimal.stripTrailingZeros().hashCode();
+        } catch (final NumberFormatException myException) {
+            return hashChars(chars);
+        } catch (final ArithmeticException myException) {
+            return hashChars(chars);
+        } catch (final IOException myException) {
+            return hashChars(chars);
+        } catch (final JSONException myException) {
+            return hashChars(chars);
+        }
+    }
+
+    private static int hashChars(final CharSequence parChars) {
+        int myHash = 0;
+        final int myLength = parChars.length();
+        for (int myIndex = 0; myIndex < myLength; myIndex++) {
+            myHash = HASH_MULTIPLIER * myHash + parChars.charAt(myIndex);
+        }
+
+        return myHash;
+    }
+
+    private Magnitude getMagnitude() {
+        if (magnitude == null) {
+            if (number == null) {
+                magnitude = Magnitude.fromChars(chars);
+            } else {
+                try {
+                    magnitude = Magnitude.fromDecimal(getDecimal());
+                } catch (final NumberFormatException myException) {
+                    return null;
+                } catch (final IOException myException) {
+                    return null;
+                } catch (final JSONException myException) {
+                    return null;
+                }
+            }
+        }
+
+        return magnitude;
     }
 
     @Override
@@ -279,4 +371,118 @@ public final class HugeDecimal extends Number implements CharSequence {
     private void readObject(final ObjectInputStream parObjectInputStream) throws ClassNotFoundException, IOException {
         throw new NotSerializableException();
     }
+
+    /**
+     * Sign and decimal order of magnitude (floor(log10(abs(x)))) of a number, determined without parsing it.
+     */
+    private static final class Magnitude {
+        private final int signum;
+        private final long exponent;
+
+        private Magnitude(final int parSignum, final long parExponent) {
+            signum = parSignum;
+            exponent = parExponent;
+        }
+
+        private static Magnitude fromDecimal(final BigDecimal parDecimal) {
+            if (parDecimal.signum() == 0) {
+                return new Magnitude(0, 0);
+            }
+
+            return new Magnitude(parDecimal.signum(), (long) parDecimal.precision() - parDecimal.scale() - 1);
+        }
+
+        private static Magnitude fromChars(final CharSequence parChars) {
+            final int myLength = parChars.length();
+            int myIndex = 0;
+            int mySignum = 1;
+            if (myLength > 0 && parChars.charAt(0) == '-') {
+                mySignum = -1;
+                myIndex++;
+            }
+
+            long myIntegerDigits = 0;
+            long myLeadingFractionZeros = 0;
+            boolean myFoundNonZero = false;
+            boolean myInFraction = false;
+            for (; myIndex < myLength; myIndex++) {
+                final char myChar = parChars.charAt(myIndex);
+                if (myChar == '.') {
+                    myInFraction = true;
+                } else if (myChar == 'e' || myChar == 'E') {
+                    break;
+                } else if (myChar < '0' || myChar > '9') {
+                    return null;
+                } else if (myFoundNonZero || myChar != '0') {
+                    myFoundNonZero = true;
+                    if (!myInFraction) {
+                        myIntegerDigits++;
+                    }
+                } else if (myInFraction) {
+                    myLeadingFractionZeros++;
+                }
+            }
+
+            if (!myFoundNonZero) {
+                return new Magnitude(0, 0);
+            }
+
+            final long myExponent = parseExponent(parChars, myIndex + 1);
+            if (myExponent == Long.MIN_VALUE) {
+                return null;
+            }
+            if (myIntegerDigits > 0) {
+                return new Magnitude(mySignum, clamp(myIntegerDigits - 1 + myExponent));
+            }
+
+            return new Magnitude(mySignum, clamp(myExponent - myLeadingFractionZeros - 1));
+        }
+
+        // returns Long.MIN_VALUE if the exponent is malformed.
+        private static long parseExponent(final CharSequence parChars, final int parStart) {
+            final int myLength = parChars.length();
+            if (parStart > myLength) {
+                return 0;
+            }
+
+            int myIndex = parStart;
+            boolean myNegative = false;
+            if (myIndex < myLength && (parChars.charAt(myIndex) == '-' || parChars.charAt(myIndex) == '+')) {
+                myNegative = parChars.charAt(myIndex) == '-';
+                myIndex++;
+            }
+            if (myIndex >= myLength) {
+                return Long.MIN_VALUE;
+            }
+
+            long myExponent = 0;
+            for (; myIndex < myLength; myIndex++) {
+                final char myChar = parChars.charAt(myIndex);
+                if (myChar < '0' || myChar > '9') {
+                    return Long.MIN_VALUE;
+                }
+                if (myExponent < MAX_MAGNITUDE / DECIMAL_RADIX) {
+                    myExponent = myExponent * DECIMAL_RADIX + myChar - '0';
+                }
+            }
+
+            if (myNegative) {
+                return -myExponent;
+            }
+
+            return myExponent;
+        }
+
+        private static long clamp(final long parExponent) {
+            return Math.max(-MAX_MAGNITUDE, Math.min(MAX_MAGNITUDE, parExponent));
+        }
+
+        private boolean isComparableTo(final Magnitude parOther) {
+            if (signum != parOther.signum) {
+                return false;
+            }
+
+            return exponent == parOther.exponent;
+        }
+    }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.io.IOException;
+
+/**
+ * @exclude
+ */
+interface IBulkCharacterWriter extends ICharacterWriter {
+    /**
+     * Append a range of a sequence to this writer without creating an intermediate sequence.
+     *
+     * @param parChars The sequence to append from.
+     * @param parStart The start index (inclusive).
+     * @param parEnd The end index (exclusive).
+     * @throws IOException On write failure.
+     */
+    void append(CharSequence parChars, int parStart, int parEnd) throws IOException;
+}
@@ -55,6 +55,16 @@ interface ICharacterIterator extends Iterator<Character> {
      */
     CharSequence range(int parStart, int parEnd);
 
+    /**
+     * Move past characters that can appear in a string as they are, stopping before the next quote, backslash or
+     * control character. This only moves the offset, so it is only useful when the skipped characters will be read
+     * back as a range. Implementations may stop early, including without moving at all.
+     *
+     * @throws IOException On read failure.
+     * @throws JSONException On process failure.
+     */
+    void skipStringCharacters() throws IOException, JSONException;
+
     /**
      * Move to next JSON token.
      *
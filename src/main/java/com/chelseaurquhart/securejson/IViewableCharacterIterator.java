@@ -0,0 +1,31 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+/**
+ * @exclude
+ */
+interface IViewableCharacterIterator extends ICharacterIterator {
+    /**
+     * Like range, but the result is a read-only window onto the underlying characters rather than a copy of them.
+     *
+     * @param parStart The start index to read.
+     * @param parEnd The end index to read.
+     * @return A view of the sequence between parStart and parEnd.
+     */
+    CharSequence view(int parStart, int parEnd);
+}
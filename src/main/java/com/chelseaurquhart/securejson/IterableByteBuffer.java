@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Iterates over the remaining bytes of one or more buffers, in order, with each byte as a character. Ranges are
+ * views onto the buffers rather than copies. The buffers' positions are not changed.
+ *
+ * @exclude
+ */
+class IterableByteBuffer extends EncodingAwareCharacterIterator implements ICharacterIterator {
+    private static final int BYTE_MASK = 0xff;
+
+    private final transient ByteBuffer[] buffers;
+    // bufferStarts[i] is the position of buffers[i] within the document, and the last entry is its length.
+    private final transient int[] bufferStarts;
+    // the position of the first buffer within the document, so that range, which is given document offsets, can map
+    // them back.
+    private final transient int baseOffset;
+    private transient int buffer;
+    private transient int position;
+
+    IterableByteBuffer(final ByteBuffer parBuffer) {
+        this(parBuffer, 0);
+    }
+
+    IterableByteBuffer(final ByteBuffer parBuffer, final int parOffset) {
+        this(new ByteBuffer[] {parBuffer}, parOffset);
+    }
+
+    IterableByteBuffer(final ByteBuffer[] parBuffers) {
+        this(parBuffers, 0);
+    }
+
+    private IterableByteBuffer(final ByteBuffer[] parBuffers, final int parOffset) {
+        super(parOffset);
+        baseOffset = parOffset;
+        buffers = new ByteBuffer[parBuffers.length];
+        bufferStarts = new int[parBuffers.length + 1];
+        for (int myIndex = 0; myIndex < parBuffers.length; myIndex++) {
+            // slicing leaves the caller's position alone and lets us index from 0.
+            buffers[myIndex] = RunScanner.littleEndianSlice(parBuffers[myIndex]);
+            bufferStarts[myIndex + 1] = bufferStarts[myIndex] + buffers[myIndex].limit();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new NotImplementedException(Messages.Key.ERROR_NOT_IMPLEMENTED, "remove");
+    }
+
+    @Override
+    protected Character readNextChar() {
+        while (buffer < buffers.length) {
+            final ByteBuffer myBuffer = buffers[buffer];
+            if (position < myBuffer.limit()) {
+                return (char) (myBuffer.get(position++) & BYTE_MASK);
+            }
+            buffer++;
+            position = 0;
+        }
+
+        return null;
+    }
+
+    @Override
+    protected int readNextChars(final char[] parBuffer) {
+        int myCount = 0;
+        while (myCount < parBuffer.length && buffer < buffers.length) {
+            final ByteBuffer myBuffer = buffers[buffer];
+            final int myEnd = Math.min(myBuffer.limit(), position + parBuffer.length - myCount);
+            while (position < myEnd) {
+                parBuffer[myCount++] = (char) (myBuffer.get(position++) & BYTE_MASK);
+            }
+            if (position == myBuffer.limit()) {
+                buffer++;
+                position = 0;
+            }
+        }
+
+        if (myCount == 0) {
+            return -1;
+        }
+        return myCount;
+    }
+
+    @Override
+    protected int skipStringRun() {
+        return skipRun(false);
+    }
+
+    @Override
+    protected int skipWhitespaceRun() {
+        return skipRun(true);
+    }
+
+    private int skipRun(final boolean parWhitespace) {
+        int myCount = 0;
+        while (buffer < buffers.length) {
+            final ByteBuffer myBuffer = buffers[buffer];
+            final int myEnd;
+            if (parWhitespace) {
+                myEnd = RunScanner.findWhitespaceEnd(myBuffer, position, myBuffer.limit());
+            } else {
+                myEnd = RunScanner.findStringEnd(myBuffer, position, myBuffer.limit());
+            }
+            myCount += myEnd - position;
+            position = myEnd;
+            if (position < myBuffer.limit()) {
+                break;
+            }
+            buffer++;
+            position = 0;
+        }
+
+        return myCount;
+    }
+
+    @Override
+    public boolean canReadRange() {
+        return isUnpaddedEncoding();
+    }
+
+    @Override
+    public CharSequence range(final int parStart, final int parEnd) {
+        final int myStart = parStart - baseOffset;
+        final int myEnd = parEnd - baseOffset;
+        int myBuffer = findBuffer(myStart);
+        if (myEnd <= bufferStarts[myBuffer + 1]) {
+            return new ParallelArrayReader.Range(buffers[myBuffer], myStart - bufferStarts[myBuffer],
+                myEnd - bufferStarts[myBuffer]);
+        }
+
+        // the range spans buffers, so chain views of each part.
+        final ManagedSecureCharBuffer myChunks = new ManagedSecureCharBuffer(myEnd - myStart);
+        int myPosition = myStart;
+        while (myPosition < myEnd) {
+            final int myChunkEnd = Math.min(myEnd, bufferStarts[myBuffer + 1]);
+            if (myChunkEnd > myPosition) {
+                myChunks.append(new ParallelArrayReader.Range(buffers[myBuffer], myPosition - bufferStarts[myBuffer],
+                    myChunkEnd - bufferStarts[myBuffer]));
+            }
+            myPosition = myChunkEnd;
+            myBuffer++;
+        }
+
+        return myChunks;
+    }
+
+    private int findBuffer(final int parPosition) {
+        int myIndex = Arrays.binarySearch(bufferStarts, parPosition);
+        if (myIndex < 0) {
+            myIndex = -myIndex - 2;
+        } else {
+            // skip past any empty buffers that start here too.
+            while (myIndex < buffers.length - 1 && bufferStarts[myIndex + 1] == parPosition) {
+                myIndex++;
+            }
+        }
+
+        return Math.max(0, Math.min(myIndex, buffers.length - 1));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.nio.CharBuffer;
+
+/**
+ * @exclude
+ */
+class IterableCharArray extends EncodingAwareCharacterIterator implements IViewableCharacterIterator {
+    private final transient char[] chars;
+    private final transient int start;
+    private final transient int end;
+    private transient int position;
+
+    IterableCharArray(final char[] parChars, final int parStart, final int parEnd) {
+        super();
+        if (parStart < 0 || parEnd > parChars.length || parStart > parEnd) {
+            throw new IndexOutOfBoundsException();
+        }
+        chars = parChars;
+        start = parStart;
+        end = parEnd;
+        position = parStart;
+    }
+
+    @Override
+    public void remove() {
+        throw new NotImplementedException(Messages.Key.ERROR_NOT_IMPLEMENTED, "remove");
+    }
+
+    @Override
+    protected Character readNextChar() {
+        if (position < end) {
+            return chars[position++];
+        }
+
+        return null;
+    }
+
+    @Override
+    protected int readNextChars(final char[] parBuffer) {
+        final int myCount = Math.min(parBuffer.length, end - position);
+        if (myCount <= 0) {
+            return -1;
+        }
+        System.arraycopy(chars, position, parBuffer, 0, myCount);
+        position += myCount;
+
+        return myCount;
+    }
+
+    @Override
+    protected int skipStringRun() {
+        final int myStart = position;
+        position = RunScanner.findStringEnd(chars, position, end);
+
+        return position - myStart;
+    }
+
+    @Override
+    protected int skipWhitespaceRun() {
+        final int myStart = position;
+        position = RunScanner.findWhitespaceEnd(chars, position, end);
+
+        return position - myStart;
+    }
+
+    @Override
+    public boolean canReadRange() {
+        return isUnpaddedEncoding();
+    }
+
+    @Override
+    public CharSequence range(final int parStart, final int parEnd) {
+        // a view onto the array, as CharBuffer.subSequence would give.
+        return CharBuffer.wrap(chars, start + parStart, parEnd - parStart);
+    }
+
+    @Override
+    public CharSequence view(final int parStart, final int parEnd) {
+        return new ParallelArrayReader.Range(CharBuffer.wrap(chars), start + parStart, start + parEnd);
+    }
+}
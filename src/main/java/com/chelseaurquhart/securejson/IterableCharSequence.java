@@ -19,8 +19,10 @@ package com.chelseaurquhart.securejson;
 /**
  * @exclude
  */
-class IterableCharSequence extends EncodingAwareCharacterIterator implements ICharacterIterator {
+class IterableCharSequence extends EncodingAwareCharacterIterator implements IViewableCharacterIterator {
     private final transient CharSequence chars;
+    // the position of chars within the document, so that range, which is given document offsets, can map them back.
+    private final transient int baseOffset;
     private transient int offset;
 
     IterableCharSequence(final CharSequence parChars) {
@@ -30,6 +32,7 @@ class IterableCharSequence extends EncodingAwareCharacterIterator implements ICh
     IterableCharSequence(final CharSequence parChars, final int parOffset) {
         super(parOffset);
         this.chars = parChars;
+        this.baseOffset = parOffset;
     }
 
     @Override
@@ -46,13 +49,47 @@ class IterableCharSequence extends EncodingAwareCharacterIterator implements ICh
         return null;
     }
 
+    @Override
+    protected int readNextChars(final char[] parBuffer) {
+        final int myCount = Math.min(parBuffer.length, chars.length() - offset);
+        if (myCount <= 0) {
+            return -1;
+        }
+        for (int myIndex = 0; myIndex < myCount; myIndex++) {
+            parBuffer[myIndex] = chars.charAt(offset++);
+        }
+
+        return myCount;
+    }
+
+    @Override
+    protected int skipStringRun() {
+        final int myStart = offset;
+        offset = RunScanner.findStringEnd(chars, offset, chars.length());
+
+        return offset - myStart;
+    }
+
+    @Override
+    protected int skipWhitespaceRun() {
+        final int myStart = offset;
+        offset = RunScanner.findWhitespaceEnd(chars, offset, chars.length());
+
+        return offset - myStart;
+    }
+
     @Override
     public boolean canReadRange() {
-        return true;
+        return isUnpaddedEncoding();
     }
 
     @Override
     public CharSequence range(final int parStart, final int parEnd) {
-        return chars.subSequence(parStart, parEnd);
+        return chars.subSequence(parStart - baseOffset, parEnd - baseOffset);
+    }
+
+    @Override
+    public CharSequence view(final int parStart, final int parEnd) {
+        return new ParallelArrayReader.Range(chars, parStart - baseOffset, parEnd - baseOffset);
     }
 }
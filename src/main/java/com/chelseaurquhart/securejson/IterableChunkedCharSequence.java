@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.util.List;
+
+/**
+ * Iterator over a ManagedSecureCharBuffer. The buffer's charAt has to find the chunk holding each index, which makes
+ * a parse that calls it for every character quadratic; instead we walk the chunks directly with a (chunk, index)
+ * cursor. Ranges that fall within one chunk are that chunk's own subSequence, and ranges that span chunks are a
+ * subSequence of the buffer, so neither copies.
+ *
+ * @exclude
+ */
+class IterableChunkedCharSequence extends EncodingAwareCharacterIterator implements ICharacterIterator {
+    private final transient ManagedSecureCharBuffer chars;
+    private final transient CharSequence[] chunks;
+    // the document offset at which each chunk starts.
+    private final transient int[] chunkStarts;
+    private transient int chunk;
+    private transient int chunkIndex;
+
+    IterableChunkedCharSequence(final ManagedSecureCharBuffer parChars) {
+        super();
+        chars = parChars;
+
+        final List<CharSequence> myChunks = ManagedSecureCharBuffer.flatChunks(parChars);
+        chunks = myChunks.toArray(new CharSequence[0]);
+        chunkStarts = new int[chunks.length + 1];
+        for (int myIndex = 0; myIndex < chunks.length; myIndex++) {
+            chunkStarts[myIndex + 1] = chunkStarts[myIndex] + chunks[myIndex].length();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new NotImplementedException(Messages.Key.ERROR_NOT_IMPLEMENTED, "remove");
+    }
+
+    @Override
+    protected Character readNextChar() {
+        while (chunk < chunks.length) {
+            final CharSequence myChunk = chunks[chunk];
+            if (chunkIndex < myChunk.length()) {
+                return myChunk.charAt(chunkIndex++);
+            }
+            chunk++;
+            chunkIndex = 0;
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean canReadRange() {
+        return isUnpaddedEncoding();
+    }
+
+    @Override
+    public CharSequence range(final int parStart, final int parEnd) {
+        // ranges are almost always just behind the cursor, so search back from it.
+        int myChunk = Math.min(chunk, chunks.length - 1);
+        while (myChunk > 0 && chunkStarts[myChunk] > parStart) {
+            myChunk--;
+        }
+        while (myChunk < chunks.length - 1 && chunkStarts[myChunk + 1] <= parStart) {
+            myChunk++;
+        }
+
+        if (myChunk >= 0 && parEnd <= chunkStarts[myChunk + 1]) {
+            return chunks[myChunk].subSequence(parStart - chunkStarts[myChunk], parEnd - chunkStarts[myChunk]);
+        }
+
+        return chars.subSequence(parStart, parEnd);
+    }
+}
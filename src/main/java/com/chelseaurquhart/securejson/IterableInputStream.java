@@ -20,6 +20,7 @@ import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 /**
  * @exclude
@@ -28,9 +29,14 @@ class IterableInputStream extends EncodingAwareCharacterIterator implements ICha
     private static final int UNSIGNED_CONVERT_DIGIT = 0xff;
 
     private final transient InputStream inputStream;
+    private transient byte[] bytes;
 
     IterableInputStream(final InputStream parInputStream) {
-        super();
+        this(parInputStream, 0);
+    }
+
+    IterableInputStream(final InputStream parInputStream, final int parOffset) {
+        super(parOffset);
         this.inputStream = parInputStream;
     }
 
@@ -52,6 +58,20 @@ class IterableInputStream extends EncodingAwareCharacterIterator implements ICha
         return (char) (UNSIGNED_CONVERT_DIGIT & myChar);
     }
 
+    @Override
+    protected int readNextChars(final char[] parBuffer) throws IOException {
+        if (bytes == null) {
+            bytes = new byte[parBuffer.length];
+        }
+        final int myCount = inputStream.read(bytes, 0, parBuffer.length);
+        for (int myIndex = 0; myIndex < myCount; myIndex++) {
+            parBuffer[myIndex] = (char) (UNSIGNED_CONVERT_DIGIT & bytes[myIndex]);
+        }
+        Arrays.fill(bytes, (byte) 0);
+
+        return myCount;
+    }
+
     @Override
     public boolean canReadRange() {
         return false;
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * @exclude
+ */
+class IterableReader extends EncodingAwareCharacterIterator implements ICharacterIterator {
+    private static final int BUFFER_SIZE = 4096;
+
+    private final transient Reader reader;
+    private final transient char[] buffer;
+    private transient int position;
+    private transient int length;
+
+    IterableReader(final Reader parReader) {
+        super();
+        reader = parReader;
+        buffer = new char[BUFFER_SIZE];
+    }
+
+    @Override
+    public void remove() {
+        try {
+            throw new UnsupportedOperationException(Messages.get(Messages.Key.ERROR_ITERATOR_REMOVE_NOT_ALLOWED));
+        } catch (final IOException myException) {
+            throw new JSONRuntimeException(myException);
+        }
+    }
+
+    @Override
+    protected Character readNextChar() throws IOException {
+        if (position == length && !fill()) {
+            return null;
+        }
+
+        return buffer[position++];
+    }
+
+    @Override
+    protected int readNextChars(final char[] parBuffer) throws IOException {
+        if (position == length && !fill()) {
+            return -1;
+        }
+        final int myCount = Math.min(parBuffer.length, length - position);
+        System.arraycopy(buffer, position, parBuffer, 0, myCount);
+        position += myCount;
+
+        return myCount;
+    }
+
+    private boolean fill() throws IOException {
+        // wipe what we have consumed before reading more.
+        Arrays.fill(buffer, 0, length, '\u0000');
+        position = 0;
+        length = Math.max(reader.read(buffer), 0);
+
+        return length != 0;
+    }
+
+    @Override
+    public boolean canReadRange() {
+        return false;
+    }
+
+    @Override
+    public CharSequence range(final int parStart, final int parEnd) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Wipe our buffers. This does not close the underlying reader, which belongs to the caller.
+     */
+    @Override
+    public void close() {
+        super.close();
+        Arrays.fill(buffer, '\u0000');
+        position = 0;
+        length = 0;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+
+/**
+ * Resolves lazily iterated sources (Iterator, and on Java 8+ Stream and Spliterator) to an Iterator. Other Iterables
+ * are not included: collections are written as collections, and an Iterable is not necessarily a sequence (a Path
+ * iterates over Paths, for example). Streams are looked up reflectively here since this is built against older JREs;
+ * the Java 9 version uses them directly.
+ *
+ * @exclude
+ */
+final class Iterators {
+    private static final Class<?> BASE_STREAM_CLASS = loadClass("java.util.stream.BaseStream");
+    private static final Class<?> SPLITERATOR_CLASS = loadClass("java.util.Spliterator");
+    private static final Method STREAM_ITERATOR = getMethod(BASE_STREAM_CLASS, "iterator");
+    private static final Method SPLITERATOR_ITERATOR = getMethod(loadClass("java.util.Spliterators"), "iterator",
+        SPLITERATOR_CLASS);
+
+    private Iterators() {
+    }
+
+    /**
+     * Check if the input can be iterated over without consuming it.
+     *
+     * @param parInput The input to check.
+     * @return True if iteratorFor will return an iterator for parInput.
+     */
+    static boolean isIterable(final Object parInput) {
+        return parInput instanceof Iterator || isInstance(BASE_STREAM_CLASS, parInput)
+            || isInstance(SPLITERATOR_CLASS, parInput);
+    }
+
+    /**
+     * Get an iterator over the input. Note that this is a terminal operation for streams.
+     *
+     * @param parInput The input to iterate over.
+     * @return An iterator, or null if the input cannot be iterated over.
+     */
+    static Iterator<?> iteratorFor(final Object parInput) {
+        if (parInput instanceof Iterator) {
+            return (Iterator<?>) parInput;
+        } else if (isInstance(BASE_STREAM_CLASS, parInput)) {
+            return invoke(STREAM_ITERATOR, parInput);
+        } else if (isInstance(SPLITERATOR_CLASS, parInput)) {
+            return invoke(SPLITERATOR_ITERATOR, null, parInput);
+        }
+
+        return null;
+    }
+
+    private static boolean isInstance(final Class<?> parClass, final Object parInput) {
+        return parClass != null && parClass.isInstance(parInput);
+    }
+
+    private static Iterator<?> invoke(final Method parMethod, final Object parInstance, final Object... parArgs) {
+        try {
+            return (Iterator<?>) parMethod.invoke(parInstance, parArgs);
+        } catch (final IllegalAccessException myException) {
+            throw new JSONRuntimeException(myException);
+        } catch (final InvocationTargetException myException) {
+            throw new JSONRuntimeException(myException);
+        }
+    }
+
+    private static Class<?> loadClass(final String parName) {
+        try {
+            return Class.forName(parName);
+        } catch (final ClassNotFoundException myException) {
+            return null;
+        }
+    }
+
+    private static Method getMethod(final Class<?> parClass, final String parName, final Class<?>... parArgs) {
+        if (parClass == null) {
+            return null;
+        }
+
+        try {
+            return parClass.getMethod(parName, parArgs);
+        } catch (final NoSuchMethodException myException) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The JSONCreator annotation marks the constructor or static factory method that builds instances of a class when
+ * reading JSON. This allows classes with final fields and no no-arg constructor to be read.
+ *
+ * <p>
+ *     Every parameter must carry a <a href="Serialize.html">Serialize</a> annotation with a name, which defines where
+ *     its value is read from. All values are collected first and the instance is built with a single call, so fields
+ *     are not set individually. Parameters with no value in the JSON receive null (or zero/false for primitives.)
+ * </p>
+ *
+ * <p>
+ *     Only one constructor or factory per class may be annotated. On Java 16 and newer, records are built through
+ *     their canonical constructor without needing this annotation.
+ * </p>
+ *
+ * <p>Example:</p>::
+ *     <code>
+ *
+ *        import com.chelseaurquhart.securejson.JSONCreator;
+ *        import com.chelseaurquhart.securejson.Serialize;
+ *        public final class Point {
+ *            private final int x;
+ *            private final int y;
+ *
+ *            &#64;JSONCreator
+ *            public Point(&#64;Serialize(name = "x") final int x, &#64;Serialize(name = "y") final int y) {
+ *                this.x = x;
+ *                this.y = y;
+ *            }
+ *        }
+ *     </code>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.CONSTRUCTOR, ElementType.METHOD})
+public @interface JSONCreator {
+}
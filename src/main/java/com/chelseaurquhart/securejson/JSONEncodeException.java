@@ -29,8 +29,14 @@ public class JSONEncodeException extends JSONException {
      */
     JSONEncodeException(final Messages.Key parMessageKey)
             throws IOException {
-        super(Messages.get(Messages.Key.ERROR_JSON_ENCODE)
-            .replace(":message", Messages.get(parMessageKey)));
+        this(Messages.get(parMessageKey));
+    }
+
+    /**
+     * @exclude
+     */
+    JSONEncodeException(final String parMessage) throws IOException {
+        super(Messages.get(Messages.Key.ERROR_JSON_ENCODE).replace(":message", parMessage));
     }
 
     /**
@@ -54,6 +60,32 @@ public class JSONEncodeException extends JSONException {
         }
     }
 
+    /**
+     * Exception thrown when the output buffer cannot hold the JSON. Nothing is written to the buffer in that case.
+     */
+    public static class BufferTooSmallException extends JSONEncodeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int requiredSize;
+
+        /**
+         * @exclude
+         */
+        BufferTooSmallException(final int parRequiredSize) throws IOException {
+            super(Messages.get(Messages.Key.ERROR_BUFFER_TOO_SMALL).replace(":size", String.valueOf(parRequiredSize)));
+            requiredSize = parRequiredSize;
+        }
+
+        /**
+         * Get the number of bytes the buffer needs to have remaining to hold the JSON.
+         *
+         * @return The required number of bytes.
+         */
+        public int getRequiredSize() {
+            return requiredSize;
+        }
+    }
+
     static JSONEncodeException fromException(final Exception parException) {
         final Throwable myException = Util.unwrapException(parException);
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.io.IOException;
+
+/**
+ * Table-driven escaping for quoted strings. Runs of characters that need no escaping are copied to the writer in one
+ * call.
+ *
+ * @exclude
+ */
+final class JSONEscaper {
+    private static final int ASCII_LIMIT = 128;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // the escape sequence for each ASCII character, or null if it can be written as-is.
+    private static final char[][] ESCAPES = buildEscapes();
+
+    private JSONEscaper() {
+    }
+
+    static void writeEscaped(final CharSequence parInput, final ICharacterWriter parWriter) throws IOException {
+        final int myInputLength = parInput.length();
+        int myRunStart = 0;
+        for (int myIndex = 0; myIndex < myInputLength; myIndex++) {
+            final char myNextChar = parInput.charAt(myIndex);
+            if (myNextChar >= ASCII_LIMIT || ESCAPES[myNextChar] != null) {
+                writeRun(parInput, myRunStart, myIndex, parWriter);
+                if (myNextChar < ASCII_LIMIT) {
+                    writeChars(ESCAPES[myNextChar], parWriter);
+                } else {
+                    writeUnicode(myNextChar, parWriter);
+                }
+                myRunStart = myIndex + 1;
+            }
+        }
+        writeRun(parInput, myRunStart, myInputLength, parWriter);
+    }
+
+    static void writeEscaped(final char parInput, final ICharacterWriter parWriter) throws IOException {
+        if (parInput >= ASCII_LIMIT) {
+            writeUnicode(parInput, parWriter);
+        } else if (ESCAPES[parInput] != null) {
+            writeChars(ESCAPES[parInput], parWriter);
+        } else {
+            parWriter.append(parInput);
+        }
+    }
+
+    private static void writeRun(final CharSequence parInput, final int parStart, final int parEnd,
+                                 final ICharacterWriter parWriter) throws IOException {
+        if (parStart == parEnd) {
+            return;
+        }
+
+        if (parWriter instanceof IBulkCharacterWriter) {
+            ((IBulkCharacterWriter) parWriter).append(parInput, parStart, parEnd);
+        } else {
+            for (int myIndex = parStart; myIndex < parEnd; myIndex++) {
+                parWriter.append(parInput.charAt(myIndex));
+            }
+        }
+    }
+
+    private static void writeChars(final char[] parChars, final ICharacterWriter parWriter) throws IOException {
+        for (final char myChar : parChars) {
+            parWriter.append(myChar);
+        }
+    }
+
+    private static void writeUnicode(final char parChar, final ICharacterWriter parWriter) throws IOException {
+        parWriter.append(JSONSymbolCollection.Token.ESCAPE.getShortSymbol());
+        parWriter.append(JSONSymbolCollection.Token.UNICODE.getShortSymbol());
+        parWriter.append(HEX_DIGITS[(parChar >> JSONSymbolCollection.UNICODE_DIGIT_FIRST)
+            & JSONSymbolCollection.HEX_MAX]);
+        parWriter.append(HEX_DIGITS[(parChar >> JSONSymbolCollection.UNICODE_DIGIT_SECOND)
+            & JSONSymbolCollection.HEX_MAX]);
+        parWriter.append(HEX_DIGITS[(parChar >> JSONSymbolCollection.UNICODE_DIGIT_THIRD)
+            & JSONSymbolCollection.HEX_MAX]);
+        parWriter.append(HEX_DIGITS[parChar & JSONSymbolCollection.HEX_MAX]);
+    }
+
+    private static char[][] buildEscapes() {
+        final char[][] myEscapes = new char[ASCII_LIMIT][];
+        for (int myChar = 0; myChar < ASCII_LIMIT; myChar++) {
+            if (myChar < JSONSymbolCollection.MIN_ALLOWED_ASCII_CODE
+                    || myChar > JSONSymbolCollection.MAX_ALLOWED_ASCII_CODE) {
+                final char[] myEscape = new char[JSONSymbolCollection.UNICODE_DIGITS + 2];
+                myEscape[0] = JSONSymbolCollection.Token.ESCAPE.getShortSymbol();
+                myEscape[1] = JSONSymbolCollection.Token.UNICODE.getShortSymbol();
+                for (int myDigit = 0; myDigit < JSONSymbolCollection.UNICODE_DIGITS; myDigit++) {
+                    myEscape[myEscape.length - 1 - myDigit] = HEX_DIGITS[(myChar >> (myDigit
+                        * JSONSymbolCollection.UNICODE_DIGITS)) & JSONSymbolCollection.HEX_MAX];
+                }
+                myEscapes[myChar] = myEscape;
+            }
+        }
+
+        final JSONSymbolCollection.Token[] myShortEscapes = {
+            JSONSymbolCollection.Token.QUOTE,
+            JSONSymbolCollection.Token.ESCAPE,
+            JSONSymbolCollection.Token.SLASH,
+            JSONSymbolCollection.Token.CARRIAGE_RETURN,
+            JSONSymbolCollection.Token.BACKSPACE,
+            JSONSymbolCollection.Token.LINE_FEED,
+            JSONSymbolCollection.Token.FORM_FEED,
+        };
+        for (final JSONSymbolCollection.Token myToken : myShortEscapes) {
+            myEscapes[myToken.getShortSymbol()] = myToken.getValue().toString().toCharArray();
+        }
+
+        return myEscapes;
+    }
+}
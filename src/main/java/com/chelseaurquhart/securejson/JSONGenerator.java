@@ -0,0 +1,245 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * JSONGenerator writes a JSON document one token at a time, so large documents can be produced without first building
+ * them in memory. It tracks nesting and separators, escapes keys and strings the same way toJSON does, and accepts any
+ * value toJSON accepts. Instances are created by SecureJSON.createGenerator.
+ *
+ * <p>Example:</p>::
+ *     <code>
+ *
+ *        import com.chelseaurquhart.securejson.SecureJSON;
+ *        final SecureJSON secureJSON = new SecureJSON();
+ *        final JSONGenerator generator = secureJSON.createGenerator(outputStream);
+ *        try {
+ *            generator.writeStartArray();
+ *            while (cursor.next()) {
+ *                generator.writeStartObject()
+ *                    .writeKey("id").writeValue(cursor.getLong(1))
+ *                    .writeKey("name").writeValue(cursor.getString(2))
+ *                    .writeEndObject();
+ *            }
+ *            generator.writeEndArray();
+ *        } finally {
+ *            generator.close();
+ *        }
+ *     </code>
+ */
+public final class JSONGenerator implements Closeable, IAutoCloseable {
+    private static final int INITIAL_DEPTH = 8;
+
+    private final transient JSONWriter jsonWriter;
+    private final transient ICharacterWriter writer;
+    private final transient Closeable sink;
+    // true for each open object, false for each open array.
+    private transient boolean[] containers;
+    private transient int depth;
+    private transient boolean hasElements;
+    private transient boolean expectingValue;
+    private transient boolean finished;
+
+    JSONGenerator(final JSONWriter parJsonWriter, final ICharacterWriter parWriter, final Closeable parSink) {
+        jsonWriter = parJsonWriter;
+        writer = parWriter;
+        sink = parSink;
+        containers = new boolean[INITIAL_DEPTH];
+    }
+
+    /**
+     * Start an object.
+     *
+     * @return This generator.
+     * @throws JSONEncodeException On write failure, or if a value is not allowed here.
+     */
+    public JSONGenerator writeStartObject() throws JSONEncodeException {
+        startContainer(true, JSONSymbolCollection.Token.L_CURLY);
+
+        return this;
+    }
+
+    /**
+     * End the current object.
+     *
+     * @return This generator.
+     * @throws JSONEncodeException On write failure, or if no object is open or its last key has no value.
+     */
+    public JSONGenerator writeEndObject() throws JSONEncodeException {
+        endContainer(true, JSONSymbolCollection.Token.R_CURLY);
+
+        return this;
+    }
+
+    /**
+     * Start an array.
+     *
+     * @return This generator.
+     * @throws JSONEncodeException On write failure, or if a value is not allowed here.
+     */
+    public JSONGenerator writeStartArray() throws JSONEncodeException {
+        startContainer(false, JSONSymbolCollection.Token.L_BRACE);
+
+        return this;
+    }
+
+    /**
+     * End the current array.
+     *
+     * @return This generator.
+     * @throws JSONEncodeException On write failure, or if no array is open.
+     */
+    public JSONGenerator writeEndArray() throws JSONEncodeException {
+        endContainer(false, JSONSymbolCollection.Token.R_BRACE);
+
+        return this;
+    }
+
+    /**
+     * Write the key of the next object entry. It must be followed by a value or container.
+     *
+     * @param parKey The key to write.
+     * @return This generator.
+     * @throws JSONEncodeException On write failure, or if we are not in an object or are waiting for a value.
+     */
+    public JSONGenerator writeKey(final CharSequence parKey) throws JSONEncodeException {
+        Objects.requireNonNull(parKey);
+
+        try {
+            if (depth == 0 || !containers[depth - 1] || expectingValue) {
+                throw new JSONEncodeException(Messages.Key.ERROR_INVALID_GENERATOR_STATE);
+            }
+            writeSeparator();
+            writer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+            JSONEscaper.writeEscaped(parKey, writer);
+            writer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+            writer.append(JSONSymbolCollection.Token.COLON.getShortSymbol());
+            expectingValue = true;
+        } catch (final IOException myException) {
+            throw JSONEncodeException.fromException(myException);
+        }
+
+        return this;
+    }
+
+    /**
+     * Write a value. This may be anything toJSON accepts, including nested collections, maps and objects.
+     *
+     * @param parValue The value to write.
+     * @return This generator.
+     * @throws JSONEncodeException On encode failure, or if a value is not allowed here.
+     */
+    public JSONGenerator writeValue(final Object parValue) throws JSONEncodeException {
+        try {
+            beforeValue();
+            jsonWriter.write(parValue, writer);
+            afterValue();
+        } catch (final IOException myException) {
+            throw JSONEncodeException.fromException(myException);
+        } catch (final JSONException myException) {
+            throw JSONEncodeException.fromException(myException);
+        } catch (final JSONRuntimeException myException) {
+            throw JSONEncodeException.fromException(myException);
+        }
+
+        return this;
+    }
+
+    /**
+     * Flush anything buffered to the output and release our resources. The output itself is not closed.
+     *
+     * @throws IOException On write failure.
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        try {
+            if (sink != null) {
+                sink.close();
+            }
+        } finally {
+            jsonWriter.close();
+        }
+    }
+
+    private void startContainer(final boolean parIsObject, final JSONSymbolCollection.Token parToken)
+            throws JSONEncodeException {
+        try {
+            beforeValue();
+            writer.append(parToken.getShortSymbol());
+        } catch (final IOException myException) {
+            throw JSONEncodeException.fromException(myException);
+        }
+
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+        }
+        containers[depth++] = parIsObject;
+        hasElements = false;
+        expectingValue = false;
+    }
+
+    private void endContainer(final boolean parIsObject, final JSONSymbolCollection.Token parToken)
+            throws JSONEncodeException {
+        try {
+            if (depth == 0 || containers[depth - 1] != parIsObject || expectingValue) {
+                throw new JSONEncodeException(Messages.Key.ERROR_INVALID_GENERATOR_STATE);
+            }
+            writer.append(parToken.getShortSymbol());
+        } catch (final IOException myException) {
+            throw JSONEncodeException.fromException(myException);
+        }
+
+        depth--;
+        afterValue();
+    }
+
+    private void beforeValue() throws IOException, JSONEncodeException {
+        if (finished) {
+            throw new JSONEncodeException(Messages.Key.ERROR_INVALID_GENERATOR_STATE);
+        }
+        if (depth > 0) {
+            if (containers[depth - 1]) {
+                if (!expectingValue) {
+                    throw new JSONEncodeException(Messages.Key.ERROR_INVALID_GENERATOR_STATE);
+                }
+            } else {
+                writeSeparator();
+            }
+        }
+    }
+
+    private void afterValue() {
+        expectingValue = false;
+        hasElements = true;
+        if (depth == 0) {
+            finished = true;
+        }
+    }
+
+    private void writeSeparator() throws IOException {
+        if (hasElements) {
+            writer.append(JSONSymbolCollection.Token.COMMA.getShortSymbol());
+        }
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONDecodeException.ExtraCharactersException;
+import com.chelseaurquhart.securejson.JSONDecodeException.InvalidTokenException;
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Reads JSON Lines (newline delimited JSON) input, handing each record to a consumer and destroying the buffers
+ * created for it as soon as the consumer returns. Every line holds exactly one value, or only whitespace, so a value
+ * may neither span lines nor share one with another value. Without an executor the input is parsed in place with no
+ * copies made. With one, lines are parsed concurrently in a bounded window and delivered in their original order.
+ *
+ * @exclude
+ */
+final class JSONLinesReader {
+    private static final int TASKS_PER_PROCESSOR = 4;
+    private static final char LINE_FEED = JSONSymbolCollection.Token.LINE_FEED.getShortSymbol();
+    private static final int INITIAL_LINE_CAPACITY = 256;
+
+    private final transient Settings settings;
+
+    JSONLinesReader(final Settings parSettings) {
+        settings = parSettings;
+    }
+
+    void read(final CharSequence parInput, final IConsumer<Object> parConsumer) throws IOException, JSONException {
+        if (settings.getParallelExecutor() == null) {
+            final IterableCharSequence myIterator = new IterableCharSequence(parInput);
+            try {
+                read(myIterator, parConsumer);
+            } finally {
+                myIterator.close();
+            }
+        } else {
+            readParallel(new CharSequenceLines(parInput), parConsumer);
+        }
+    }
+
+    void read(final InputStream parInput, final IConsumer<Object> parConsumer) throws IOException, JSONException {
+        final IterableInputStream myIterator = new IterableInputStream(parInput);
+        try {
+            if (settings.getParallelExecutor() == null) {
+                read(myIterator, parConsumer);
+            } else {
+                readParallel(new StreamLines(myIterator), parConsumer);
+            }
+        } finally {
+            myIterator.close();
+        }
+    }
+
+    private void read(final ICharacterIterator parIterator, final IConsumer<Object> parConsumer)
+            throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(settings).build();
+        final LineIterator myLine = new LineIterator(parIterator);
+        try {
+            do {
+                final Object myRecord = readLine(myReader, myLine);
+                if (myRecord != JSONReader.END_OF_INPUT) {
+                    try {
+                        parConsumer.accept(myRecord);
+                    } finally {
+                        // the reader is reusable after closing, so this only releases this record's buffers.
+                        myReader.close();
+                    }
+                }
+            } while (myLine.nextLine());
+        } finally {
+            myReader.close();
+        }
+    }
+
+    private void readParallel(final ILineSource parLines, final IConsumer<Object> parConsumer)
+            throws IOException, JSONException {
+        final ExecutorService myExecutor = settings.getParallelExecutor();
+        final int myWindow = Runtime.getRuntime().availableProcessors() * TASKS_PER_PROCESSOR;
+        final Deque<Task> myPending = new ArrayDeque<Task>(myWindow);
+        final Deque<JSONReader> myIdleReaders = new ArrayDeque<JSONReader>(myWindow);
+
+        try {
+            boolean myHasMoreLines = true;
+            while (true) {
+                while (myHasMoreLines && myPending.size() < myWindow) {
+                    final Line myLine = parLines.next();
+                    if (myLine == null) {
+                        myHasMoreLines = false;
+                    } else {
+                        JSONReader myReader = myIdleReaders.poll();
+                        if (myReader == null) {
+                            myReader = new JSONReader.Builder(settings).build();
+                        }
+                        myPending.add(new Task(myLine, myReader, myExecutor));
+                    }
+                }
+
+                final Task myTask = myPending.poll();
+                if (myTask == null) {
+                    break;
+                }
+                try {
+                    final Object myRecord = myTask.await();
+                    if (myRecord != JSONReader.END_OF_INPUT) {
+                        parConsumer.accept(myRecord);
+                    }
+                } finally {
+                    myTask.close();
+                    myIdleReaders.add(myTask.reader);
+                }
+            }
+        } finally {
+            for (final Task myTask : myPending) {
+                myTask.discard();
+            }
+            for (final JSONReader myReader : myIdleReaders) {
+                myReader.close();
+            }
+        }
+    }
+
+    /**
+     * Read the value on a line, requiring that nothing but whitespace follows it.
+     *
+     * @param parReader The reader to use.
+     * @param parLine The line to read. It must end at the line feed.
+     * @return The value, or END_OF_INPUT if the line is blank.
+     * @throws IOException On read failure.
+     * @throws JSONException On parse failure.
+     */
+    private static Object readLine(final JSONReader parReader, final ICharacterIterator parLine)
+            throws IOException, JSONException {
+        final Object myRecord = parReader.readNext(parLine);
+        if (myRecord != JSONReader.END_OF_INPUT) {
+            parLine.skipWhitespace();
+            if (parLine.hasNext()) {
+                throw new ExtraCharactersException(parLine);
+            }
+        }
+
+        return myRecord;
+    }
+
+    /**
+     * Source of lines for parallel parsing.
+     */
+    private interface ILineSource {
+        /**
+         * Get the next line.
+         *
+         * @return The next line, or null at the end of the input.
+         * @throws IOException On read failure.
+         */
+        Line next() throws IOException;
+    }
+
+    /**
+     * A single line of input.
+     */
+    private abstract static class Line {
+        abstract ICharacterIterator iterator();
+
+        void close() {
+            // nothing to release by default.
+        }
+    }
+
+    /**
+     * A line being parsed on the executor.
+     */
+    private static final class Task implements Callable<Object> {
+        private final transient Line line;
+        private final transient JSONReader reader;
+        private final transient Future<Object> future;
+
+        private Task(final Line parLine, final JSONReader parReader, final ExecutorService parExecutor) {
+            line = parLine;
+            reader = parReader;
+            future = parExecutor.submit(this);
+        }
+
+        @Override
+        public Object call() throws IOException, JSONException {
+            return readLine(reader, line.iterator());
+        }
+
+        private Object await() throws IOException, JSONException {
+            try {
+                return future.get();
+            } catch (final InterruptedException myException) {
+                Thread.currentThread().interrupt();
+                throw new JSONException(myException);
+            } catch (final ExecutionException myException) {
+                final Throwable myCause = myException.getCause();
+                if (myCause instanceof JSONException) {
+                    throw (JSONException) myCause;
+                } else if (myCause instanceof IOException) {
+                    throw (IOException) myCause;
+                } else if (myCause instanceof RuntimeException) {
+                    throw (RuntimeException) myCause;
+                }
+
+                throw new JSONException(myCause);
+            }
+        }
+
+        private void discard() throws IOException {
+            // let the task finish rather than cancelling it, so its buffers cannot be created after we wipe them.
+            try {
+                future.get();
+            } catch (final InterruptedException myException) {
+                Thread.currentThread().interrupt();
+            } catch (final ExecutionException myException) {
+                // Allowed empty block: we are already failing because of an earlier error.
+            }
+            close();
+        }
+
+        private void close() throws IOException {
+            try {
+                reader.close();
+            } finally {
+                line.close();
+            }
+        }
+    }
+
+    /**
+     * Lines of a CharSequence, as windows onto it.
+     */
+    private static final class CharSequenceLines implements ILineSource {
+        private final transient CharSequence chars;
+        private transient int offset;
+
+        private CharSequenceLines(final CharSequence parChars) {
+            chars = parChars;
+        }
+
+        @Override
+        public Line next() {
+            final int myLength = chars.length();
+            if (offset >= myLength) {
+                return null;
+            }
+
+            final int myStart = offset;
+            int myEnd = myStart;
+            while (myEnd < myLength && chars.charAt(myEnd) != LINE_FEED) {
+                myEnd++;
+            }
+            offset = myEnd + 1;
+            final int myLineEnd = myEnd;
+
+            return new Line() {
+                @Override
+                ICharacterIterator iterator() {
+                    return new IterableCharSequence(new ParallelArrayReader.Range(chars, myStart, myLineEnd), myStart);
+                }
+            };
+        }
+    }
+
+    /**
+     * Lines of an InputStream. The stream is decoded once, so its encoding is detected from its start rather than from
+     * each line. Each line is copied into its own array so it can be parsed on another thread, and that array is wiped
+     * once the line's record has been consumed.
+     */
+    private static final class StreamLines implements ILineSource {
+        private final transient ICharacterIterator iterator;
+
+        private StreamLines(final ICharacterIterator parIterator) {
+            iterator = parIterator;
+        }
+
+        @Override
+        public Line next() throws IOException {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+
+            final int myStart = iterator.getOffset();
+            char[] myLine = new char[INITIAL_LINE_CAPACITY];
+            int myLength = 0;
+            while (iterator.hasNext()) {
+                final char myChar = iterator.next();
+                if (myChar == LINE_FEED) {
+                    break;
+                }
+                if (myLength == myLine.length) {
+                    final char[] myGrown = Arrays.copyOf(myLine, myLine.length * 2);
+                    Arrays.fill(myLine, '\u0000');
+                    myLine = myGrown;
+                }
+                myLine[myLength++] = myChar;
+            }
+
+            return new CharLine(myLine, myLength, myStart);
+        }
+    }
+
+    /**
+     * A line copied from a stream.
+     */
+    private static final class CharLine extends Line {
+        private final transient char[] chars;
+        private final transient int length;
+        private final transient int offset;
+
+        private CharLine(final char[] parChars, final int parLength, final int parOffset) {
+            chars = parChars;
+            length = parLength;
+            offset = parOffset;
+        }
+
+        @Override
+        ICharacterIterator iterator() {
+            return new IterableCharSequence(CharBuffer.wrap(chars, 0, length), offset);
+        }
+
+        @Override
+        void close() {
+            Arrays.fill(chars, '\u0000');
+        }
+    }
+
+    /**
+     * The current line of another iterator, which appears to end at the next line feed. Whitespace is skipped one
+     * character at a time here, as the underlying iterator would skip line feeds too.
+     */
+    private static final class LineIterator implements ICharacterIterator {
+        private final transient ICharacterIterator iterator;
+
+        private LineIterator(final ICharacterIterator parIterator) {
+            iterator = parIterator;
+        }
+
+        /**
+         * Move past the line feed ending the current line.
+         *
+         * @return True if there was another line or false at the end of the input.
+         */
+        private boolean nextLine() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            iterator.next();
+
+            return true;
+        }
+
+        private boolean isAtLineFeed() throws IOException, JSONException {
+            return !iterator.hasNext() || iterator.peek() == LINE_FEED;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return !isAtLineFeed();
+            } catch (final IOException myException) {
+                throw new JSONRuntimeException(myException);
+            } catch (final JSONException myException) {
+                throw new JSONRuntimeException(myException);
+            }
+        }
+
+        @Override
+        public Character next() {
+            if (!hasNext()) {
+                throw new JSONRuntimeException(new NoSuchElementException());
+            }
+
+            return iterator.next();
+        }
+
+        @Override
+        public Character peek() throws IOException, JSONException {
+            if (isAtLineFeed()) {
+                return null;
+            }
+
+            return iterator.peek();
+        }
+
+        @Override
+        public int getOffset() {
+            return iterator.getOffset();
+        }
+
+        @Override
+        public boolean canReadRange() {
+            return iterator.canReadRange();
+        }
+
+        @Override
+        public CharSequence range(final int parStart, final int parEnd) {
+            return iterator.range(parStart, parEnd);
+        }
+
+        @Override
+        public void skipStringCharacters() throws IOException, JSONException {
+            // line feeds cannot appear in strings as they are, so this stops before one.
+            iterator.skipStringCharacters();
+        }
+
+        @Override
+        public void skipWhitespace() throws IOException, JSONException {
+            while (hasNext()) {
+                final char myChar = iterator.peek();
+                if (JSONSymbolCollection.WHITESPACES.containsKey(myChar)) {
+                    iterator.next();
+                } else if (JSONSymbolCollection.Token.isValid(myChar)) {
+                    break;
+                } else {
+                    throw new InvalidTokenException(this);
+                }
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new NotImplementedException(Messages.Key.ERROR_NOT_IMPLEMENTED, "remove");
+        }
+    }
+}
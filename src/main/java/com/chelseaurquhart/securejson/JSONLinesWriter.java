@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * JSONLinesWriter writes records as JSON Lines (newline delimited JSON) in UTF-8. Each record is encoded into a secure
+ * buffer and only copied to our output block once it has been encoded in full, so a record that fails to encode
+ * leaves nothing behind. The stream is flushed once every flushInterval records rather than after each one. Instances
+ * are created by SecureJSON.createLinesWriter.
+ *
+ * <p>Example:</p>::
+ *     <code>
+ *
+ *        import com.chelseaurquhart.securejson.SecureJSON;
+ *        final SecureJSON secureJSON = new SecureJSON();
+ *        final JSONLinesWriter writer = secureJSON.createLinesWriter(outputStream);
+ *        try {
+ *            for (final Event event : events) {
+ *                writer.write(event);
+ *            }
+ *        } finally {
+ *            writer.close();
+ *        }
+ *     </code>
+ */
+public final class JSONLinesWriter implements Closeable, IAutoCloseable {
+    private final transient JSONWriter jsonWriter;
+    private final transient OutputStreamWriter writer;
+    private final transient OutputStream outputStream;
+    private final transient int flushInterval;
+    private transient int unflushedRecords;
+
+    JSONLinesWriter(final JSONWriter parJsonWriter, final OutputStream parOutputStream, final int parFlushInterval) {
+        jsonWriter = parJsonWriter;
+        outputStream = parOutputStream;
+        writer = new OutputStreamWriter(parOutputStream);
+        flushInterval = parFlushInterval;
+    }
+
+    /**
+     * Write a record followed by a line feed. This may be anything toJSON accepts.
+     *
+     * @param parRecord The record to write.
+     * @return This writer.
+     * @throws JSONEncodeException On encode or write failure.
+     */
+    public JSONLinesWriter write(final Object parRecord) throws JSONEncodeException {
+        final ManagedSecureCharBuffer myRecord = new ManagedSecureCharBuffer(ManagedSecureCharBuffer.INITIAL_CAPACITY);
+        try {
+            jsonWriter.write(parRecord, myRecord);
+            for (final CharSequence myChunk : ManagedSecureCharBuffer.flatChunks(myRecord)) {
+                writer.append(myChunk);
+            }
+            writer.append(JSONSymbolCollection.Token.LINE_FEED.getShortSymbol());
+            if (++unflushedRecords >= flushInterval) {
+                flush();
+            }
+        } catch (final IOException myException) {
+            throw JSONEncodeException.fromException(myException);
+        } catch (final JSONException myException) {
+            throw JSONEncodeException.fromException(myException);
+        } catch (final JSONRuntimeException myException) {
+            throw JSONEncodeException.fromException(myException);
+        } finally {
+            closeRecord(myRecord);
+        }
+
+        return this;
+    }
+
+    private static void closeRecord(final ManagedSecureCharBuffer parRecord) throws JSONEncodeException {
+        try {
+            parRecord.close();
+        } catch (final IOException myException) {
+            throw JSONEncodeException.fromException(myException);
+        }
+    }
+
+    /**
+     * Write everything buffered so far to the stream and flush it.
+     *
+     * @throws IOException On write failure.
+     */
+    public void flush() throws IOException {
+        unflushedRecords = 0;
+        writer.flush();
+        outputStream.flush();
+    }
+
+    /**
+     * Flush anything buffered to the output and release our resources. The output itself is not closed.
+     *
+     * @throws IOException On write failure.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.close();
+            outputStream.flush();
+        } finally {
+            jsonWriter.close();
+        }
+    }
+}
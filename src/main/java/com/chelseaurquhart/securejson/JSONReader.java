@@ -24,20 +24,35 @@ import com.chelseaurquhart.securejson.JSONDecodeException.MalformedJSONException
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 
 /**
  * @exclude
  */
 final class JSONReader implements Closeable, IAutoCloseable {
+    /**
+     * Returned by readNext once the input is exhausted.
+     */
+    static final Object END_OF_INPUT = new Object();
+
     @SuppressWarnings("rawtypes")
     private final transient IReader<?>[] readers;
+    private final transient Settings settings;
+    private transient ParallelArrayReader parallelReader;
+    private transient List<LazyDocument> lazyDocuments;
+    private final transient SingleLoopReader singleLoopReader;
 
     private JSONReader(final Builder parBuilder) {
         final IReader<CharSequence> myStringReader;
         final IReader<Number> myNumberReader;
 
+        settings = parBuilder.settingsImpl;
         if (parBuilder.stringReaderImpl == null) {
             myStringReader = new StringReader(parBuilder.settingsImpl);
         } else {
@@ -56,17 +71,125 @@ final class JSONReader implements Closeable, IAutoCloseable {
             new ListReader(),
             new MapReader(),
         };
+        if (parBuilder.singleLoop) {
+            singleLoopReader = new SingleLoopReader(myStringReader, myNumberReader);
+        } else {
+            singleLoopReader = null;
+        }
     }
 
     Object read(final CharSequence parJson) throws IOException, JSONException {
-        return read(new IterableCharSequence(parJson));
+        if (parJson instanceof ManagedSecureCharBuffer) {
+            // secure buffers are chunked and only cheap to walk in order, so the random access paths below would
+            // spend their time locating chunks.
+            return readAndClose(new IterableChunkedCharSequence((ManagedSecureCharBuffer) parJson));
+        }
+        if (settings.isLazyParsing()) {
+            final LazyDocument myDocument = LazyDocument.read(this, parJson);
+            if (myDocument != null) {
+                if (lazyDocuments == null) {
+                    lazyDocuments = new ArrayList<LazyDocument>();
+                }
+                lazyDocuments.add(myDocument);
+
+                return myDocument.getRoot();
+            }
+        }
+        if (isParallel(parJson.length())) {
+            final Object myResult = getParallelReader().read(parJson);
+            if (myResult != null) {
+                return myResult;
+            }
+        }
+
+        return readAndClose(new IterableCharSequence(parJson));
+    }
+
+    Object read(final byte[] parJson) throws IOException, JSONException {
+        if (isParallel(parJson.length)) {
+            final Object myResult = getParallelReader().read(parJson);
+            if (myResult != null) {
+                return myResult;
+            }
+        }
+
+        return read(ByteBuffer.wrap(parJson));
+    }
+
+    Object read(final ByteBuffer parJson) throws IOException, JSONException {
+        return readAndClose(new IterableByteBuffer(parJson));
+    }
+
+    Object read(final ByteBuffer[] parJson) throws IOException, JSONException {
+        return readAndClose(new IterableByteBuffer(parJson));
     }
 
     Object read(final InputStream parInputStream) throws IOException, JSONException {
-        return read(new IterableInputStream(parInputStream));
+        return readAndClose(new IterableInputStream(parInputStream));
+    }
+
+    Object read(final char[] parJson, final int parOffset, final int parLength) throws IOException, JSONException {
+        if (settings.isLazyParsing() || isParallel(parLength)) {
+            // these need a CharSequence; wrapping shares the array rather than copying it.
+            return read((CharSequence) CharBuffer.wrap(parJson, parOffset, parLength));
+        }
+
+        return readAndClose(new IterableCharArray(parJson, parOffset, parOffset + parLength));
+    }
+
+    Object read(final CharBuffer parJson) throws IOException, JSONException {
+        if (parJson.hasArray()) {
+            return read(parJson.array(), parJson.arrayOffset() + parJson.position(), parJson.remaining());
+        }
+
+        return read((CharSequence) parJson);
+    }
+
+    Object read(final Reader parReader) throws IOException, JSONException {
+        return readAndClose(new IterableReader(parReader));
+    }
+
+    private Object readAndClose(final EncodingAwareCharacterIterator parIterator) throws IOException, JSONException {
+        try {
+            return read(parIterator);
+        } finally {
+            // wipe anything the iterator holds, even if the parse failed part way through.
+            parIterator.close();
+        }
     }
 
     Object read(final ICharacterIterator parIterator) throws IOException, JSONException {
+        final Object myResult = readValue(parIterator);
+        if (parIterator.hasNext()) {
+            throw new ExtraCharactersException(parIterator);
+        }
+
+        return myResult;
+    }
+
+    /**
+     * Read the next of a sequence of whitespace separated values, such as a JSON Lines stream. The iterator is left
+     * after the value and any whitespace following it.
+     *
+     * @param parIterator The iterator to read from.
+     * @return The value read, or END_OF_INPUT if there are no more values.
+     * @throws IOException On read failure.
+     * @throws JSONException On parse failure.
+     */
+    Object readNext(final ICharacterIterator parIterator) throws IOException, JSONException {
+        parIterator.skipWhitespace();
+        if (!parIterator.hasNext()) {
+            return END_OF_INPUT;
+        }
+
+        return readValue(parIterator);
+    }
+
+    private Object readValue(final ICharacterIterator parIterator) throws IOException, JSONException {
+        if (singleLoopReader != null) {
+            return singleLoopReader.readValue(parIterator);
+        }
+
         final ContainerStack myStack = new ContainerStack();
 
         final ReaderData myReaderData = new ReaderData();
@@ -95,9 +218,6 @@ final class JSONReader implements Closeable, IAutoCloseable {
             readStack(parIterator, myStack, myReaderData);
 
             if (myReaderData.isFinished) {
-                if (parIterator.hasNext()) {
-                    throw new ExtraCharactersException(parIterator);
-                }
                 return myReaderData.result;
             }
         }
@@ -168,6 +288,18 @@ final class JSONReader implements Closeable, IAutoCloseable {
         parReaderData.hasResult = true;
     }
 
+    private boolean isParallel(final int parLength) {
+        return settings.getParallelExecutor() != null && parLength >= settings.getParallelThreshold();
+    }
+
+    private ParallelArrayReader getParallelReader() {
+        if (parallelReader == null) {
+            parallelReader = new ParallelArrayReader(settings);
+        }
+
+        return parallelReader;
+    }
+
     private IReader<?> getReaderStartingNextChar(final ICharacterIterator parIterator) throws IOException,
             JSONException {
         for (final IReader<?> myReader : readers) {
@@ -189,6 +321,19 @@ final class JSONReader implements Closeable, IAutoCloseable {
                 myException = myIoException;
             }
         }
+        if (lazyDocuments != null) {
+            for (final LazyDocument myDocument : lazyDocuments) {
+                myDocument.close();
+            }
+            lazyDocuments = null;
+        }
+        if (parallelReader != null) {
+            try {
+                parallelReader.close();
+            } catch (final IOException myIoException) {
+                myException = myIoException;
+            }
+        }
 
         if (myException != null) {
             throw myException;
@@ -202,9 +347,11 @@ final class JSONReader implements Closeable, IAutoCloseable {
         private final transient Settings settingsImpl;
         private transient IReader<CharSequence> stringReaderImpl;
         private transient IReader<Number> numberReaderImpl;
+        private transient boolean singleLoop;
 
         Builder(final Settings parSettings) {
             settingsImpl = Objects.requireNonNull(parSettings);
+            singleLoop = parSettings.isSingleLoopParsing();
         }
 
         Builder stringReader(final IReader<CharSequence> parStringReader) {
@@ -219,6 +366,12 @@ final class JSONReader implements Closeable, IAutoCloseable {
             return this;
         }
 
+        Builder singleLoop(final boolean parSingleLoop) {
+            singleLoop = parSingleLoop;
+
+            return this;
+        }
+
         JSONReader build() {
             return new JSONReader(this);
         }
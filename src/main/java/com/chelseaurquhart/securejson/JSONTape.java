@@ -0,0 +1,564 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONDecodeException.ExtraCharactersException;
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * JSONTape is a compact, read-only form of a parsed document. Instead of a tree of maps and lists, the document is
+ * stored as a flat array of longs (one or two per value) plus a single off-heap arena holding the decoded contents of
+ * every string and the text of every number. Each container records the position of its matching end, so whole
+ * subtrees can be skipped in one step. Documents stay resident without millions of small objects, and closing the tape
+ * wipes the arena in one pass. Instances are created by SecureJSON.readTape and must be closed.
+ *
+ * <p>Example:</p>::
+ *     <code>
+ *
+ *        import com.chelseaurquhart.securejson.SecureJSON;
+ *        final SecureJSON secureJSON = new SecureJSON();
+ *        final JSONTape tape = secureJSON.readTape("{\"user\": {\"name\": \"x\", \"roles\": [\"admin\"]}}");
+ *        try {
+ *            final JSONTape.Cursor cursor = tape.cursor();
+ *            if (cursor.moveToKey("user") &amp;&amp; cursor.moveToKey("name")) {
+ *                final CharSequence name = cursor.getString();
+ *                // do something with name
+ *            }
+ *        } finally {
+ *            tape.close();
+ *        }
+ *     </code>
+ */
+public final class JSONTape implements Closeable, IAutoCloseable {
+    // each word holds a type in its top byte and a payload below it. Containers store the position of their matching
+    // start or end; strings and numbers store an arena offset and are followed by a word holding their length.
+    private static final int TYPE_SHIFT = Long.SIZE - Byte.SIZE;
+    private static final long PAYLOAD_MASK = (1L << TYPE_SHIFT) - 1;
+    private static final int START_OBJECT = 1;
+    private static final int END_OBJECT = 2;
+    private static final int START_ARRAY = 3;
+    private static final int END_ARRAY = 4;
+    private static final int STRING = 5;
+    private static final int NUMBER = 6;
+    private static final int TRUE = 7;
+    private static final int FALSE = 8;
+    private static final int NULL = 9;
+    private static final int STACK_CAPACITY = 16;
+
+    private final transient long[] words;
+    private final transient Arena arena;
+    private final transient JSONReader reader;
+
+    private JSONTape(final long[] parWords, final Arena parArena, final JSONReader parReader) {
+        words = parWords;
+        arena = parArena;
+        reader = parReader;
+    }
+
+    /**
+     * @exclude
+     */
+    static JSONTape read(final CharSequence parInput, final Settings parSettings) throws IOException, JSONException {
+        final StructuralIndex myIndex = StructuralIndex.build(parInput);
+        LazyDocument.validate(parInput, myIndex);
+
+        final int mySize = myIndex.size();
+        // decoded strings are never longer than their source, so the input length bounds the arena.
+        final Arena myArena = new Arena(parInput.length());
+        final JSONReader myReader = new JSONReader.Builder(parSettings).build();
+        final long[] myWords = new long[mySize * 2];
+        int myLength = 0;
+        int[] myStack = new int[STACK_CAPACITY];
+        int myDepth = 0;
+        try {
+            for (int myToken = 0; myToken < mySize; myToken++) {
+                final int myPosition = myIndex.get(myToken);
+                final char myChar = parInput.charAt(myPosition);
+                if (myChar == JSONSymbolCollection.Token.L_BRACE.getShortSymbol()
+                        || myChar == JSONSymbolCollection.Token.L_CURLY.getShortSymbol()) {
+                    if (myDepth == myStack.length) {
+                        myStack = Arrays.copyOf(myStack, myDepth * 2);
+                    }
+                    // filled in when we reach the end.
+                    myStack[myDepth++] = myLength++;
+                } else if (myChar == JSONSymbolCollection.Token.R_BRACE.getShortSymbol()) {
+                    final int myStart = myStack[--myDepth];
+                    myWords[myStart] = word(START_ARRAY, myLength);
+                    myWords[myLength++] = word(END_ARRAY, myStart);
+                } else if (myChar == JSONSymbolCollection.Token.R_CURLY.getShortSymbol()) {
+                    final int myStart = myStack[--myDepth];
+                    myWords[myStart] = word(START_OBJECT, myLength);
+                    myWords[myLength++] = word(END_OBJECT, myStart);
+                } else if (myChar != JSONSymbolCollection.Token.COMMA.getShortSymbol()
+                        && myChar != JSONSymbolCollection.Token.COLON.getShortSymbol()) {
+                    myLength = readScalar(parInput, myIndex, myToken, myReader, myArena, myWords, myLength);
+                }
+            }
+        } catch (final IOException myException) {
+            closeQuietly(myArena, myReader);
+            throw myException;
+        } catch (final JSONException myException) {
+            closeQuietly(myArena, myReader);
+            throw myException;
+        }
+
+        return new JSONTape(Arrays.copyOf(myWords, myLength), myArena, myReader);
+    }
+
+    /**
+     * Get a cursor positioned at the root value. Cursors are independent of each other.
+     *
+     * @return A new cursor.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Wipe the arena and release the tape. Strings returned by cursors are unusable afterwards.
+     *
+     * @throws IOException On failure.
+     */
+    @Override
+    public void close() throws IOException {
+        Arrays.fill(words, 0);
+        try {
+            arena.close();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static int readScalar(final CharSequence parInput, final StructuralIndex parIndex, final int parToken,
+                                  final JSONReader parReader, final Arena parArena, final long[] parWords,
+                                  final int parLength) throws IOException, JSONException {
+        final int myStart = parIndex.get(parToken);
+        int myEnd = parInput.length();
+        if (parToken + 1 < parIndex.size()) {
+            myEnd = parIndex.get(parToken + 1);
+        }
+        while (StructuralIndex.isWhitespace(parInput.charAt(myEnd - 1))) {
+            myEnd--;
+        }
+
+        final ICharacterIterator myIterator = new IterableCharSequence(
+            new ParallelArrayReader.Range(parInput, myStart, myEnd), myStart);
+        final int myOffset = parArena.length();
+        int myLength = parLength;
+        if (parInput.charAt(myStart) == JSONSymbolCollection.Token.QUOTE.getShortSymbol()) {
+            myIterator.next();
+            StringReader.readString(myIterator, parArena);
+            if (myIterator.hasNext()) {
+                throw new ExtraCharactersException(myIterator);
+            }
+            parWords[myLength++] = word(STRING, myOffset);
+            parWords[myLength++] = parArena.length() - myOffset;
+
+            return myLength;
+        }
+
+        // the value itself is discarded; we keep the validated text so that large numbers stay in secure memory.
+        final Object myValue = parReader.read(myIterator);
+        if (myValue == null) {
+            parWords[myLength++] = word(NULL, 0);
+        } else if (myValue instanceof Boolean) {
+            parWords[myLength++] = word(pick((Boolean) myValue, TRUE, FALSE), 0);
+        } else {
+            parArena.append(parInput, myStart, myEnd);
+            parWords[myLength++] = word(NUMBER, myOffset);
+            parWords[myLength++] = myEnd - myStart;
+        }
+
+        return myLength;
+    }
+
+    private static void closeQuietly(final Arena parArena, final JSONReader parReader) {
+        parArena.close();
+        try {
+            parReader.close();
+        } catch (final IOException myException) {
+            // Allowed empty block: the parse failure is more useful to the caller.
+        }
+    }
+
+    private static long word(final int parType, final long parPayload) {
+        return ((long) parType << TYPE_SHIFT) | parPayload;
+    }
+
+    private static int pick(final boolean parFirst, final int parFirstValue, final int parSecondValue) {
+        if (parFirst) {
+            return parFirstValue;
+        }
+
+        return parSecondValue;
+    }
+
+    private int typeAt(final int parPosition) {
+        return (int) (words[parPosition] >>> TYPE_SHIFT);
+    }
+
+    private int payloadAt(final int parPosition) {
+        return (int) (words[parPosition] & PAYLOAD_MASK);
+    }
+
+    /**
+     * @return The position after the value at parPosition, including all of its children.
+     */
+    private int skip(final int parPosition) {
+        final int myType = typeAt(parPosition);
+        if (myType == START_OBJECT || myType == START_ARRAY) {
+            return payloadAt(parPosition) + 1;
+        } else if (myType == STRING || myType == NUMBER) {
+            return parPosition + 2;
+        }
+
+        return parPosition + 1;
+    }
+
+    private CharSequence charsAt(final int parPosition) {
+        final int myOffset = payloadAt(parPosition);
+
+        return arena.subSequence(myOffset, myOffset + (int) words[parPosition + 1]);
+    }
+
+    /**
+     * The kinds of values a cursor can point to.
+     */
+    public enum Type {
+        /**
+         * A JSON object.
+         */
+        OBJECT,
+        /**
+         * A JSON array.
+         */
+        ARRAY,
+        /**
+         * A JSON string, including object keys.
+         */
+        STRING,
+        /**
+         * A JSON number.
+         */
+        NUMBER,
+        /**
+         * true or false.
+         */
+        BOOLEAN,
+        /**
+         * null.
+         */
+        NULL
+    }
+
+    /**
+     * A position within a tape. Moving the cursor never allocates, and the values it returns are views over the
+     * tape's arena rather than copies. Inside an object, the children are the keys and values in document order, so
+     * moveToNextSibling steps from a key to its value and from a value to the next key.
+     */
+    public final class Cursor {
+        private transient int position;
+        private transient int[] parents = new int[STACK_CAPACITY];
+        private transient int depth;
+
+        private Cursor() {
+        }
+
+        /**
+         * @return The type of the current value.
+         */
+        public Type getType() {
+            switch (typeAt(position)) {
+                case START_OBJECT:
+                    return Type.OBJECT;
+                case START_ARRAY:
+                    return Type.ARRAY;
+                case STRING:
+                    return Type.STRING;
+                case NUMBER:
+                    return Type.NUMBER;
+                case TRUE:
+                case FALSE:
+                    return Type.BOOLEAN;
+                default:
+                    return Type.NULL;
+            }
+        }
+
+        /**
+         * Move into the current object or array.
+         *
+         * @return True if the cursor moved to the first child, false if the container is empty.
+         */
+        public boolean moveToFirstChild() {
+            final int myType = typeAt(position);
+            if (myType != START_OBJECT && myType != START_ARRAY) {
+                throw new JSONRuntimeException(new IllegalStateException());
+            }
+            if (payloadAt(position) == position + 1) {
+                return false;
+            }
+            enter(position + 1);
+
+            return true;
+        }
+
+        /**
+         * Move past the current value, and any children it has, to the next value in the same container.
+         *
+         * @return True if the cursor moved, false if this is the last value or the root.
+         */
+        public boolean moveToNextSibling() {
+            if (depth == 0) {
+                return false;
+            }
+            final int myNext = skip(position);
+            final int myType = typeAt(myNext);
+            if (myType == END_OBJECT || myType == END_ARRAY) {
+                return false;
+            }
+            position = myNext;
+
+            return true;
+        }
+
+        /**
+         * Move back to the container of the current value.
+         *
+         * @return True if the cursor moved, false if it is at the root.
+         */
+        public boolean moveToParent() {
+            if (depth == 0) {
+                return false;
+            }
+            position = parents[--depth];
+
+            return true;
+        }
+
+        /**
+         * Move from the current object to the value of one of its keys. Keys are compared by content. If a key
+         * appears more than once, the last value wins, as it does with fromJSON.
+         *
+         * @param parKey The key to find.
+         * @return True if the cursor moved, false if the object has no such key.
+         */
+        public boolean moveToKey(final CharSequence parKey) {
+            if (typeAt(position) != START_OBJECT) {
+                throw new JSONRuntimeException(new IllegalStateException());
+            }
+
+            final int myEnd = payloadAt(position);
+            int myFound = -1;
+            for (int myKey = position + 1; myKey < myEnd; myKey = skip(myKey + 2)) {
+                if (SecureKeyMap.contentEquals(charsAt(myKey), parKey)) {
+                    myFound = myKey + 2;
+                }
+            }
+            if (myFound == -1) {
+                return false;
+            }
+            enter(myFound);
+
+            return true;
+        }
+
+        /**
+         * Get the current string or key. The result is a view over the tape, so it stays valid only until the tape is
+         * closed, and like other secure buffers its toString is not supported.
+         *
+         * @return The decoded string.
+         */
+        public CharSequence getString() {
+            if (typeAt(position) != STRING) {
+                throw new JSONRuntimeException(new IllegalStateException());
+            }
+
+            return charsAt(position);
+        }
+
+        /**
+         * Get the current number, parsed the same way as fromJSON parses numbers.
+         *
+         * @return The number.
+         */
+        public Number getNumber() {
+            if (typeAt(position) != NUMBER) {
+                throw new JSONRuntimeException(new IllegalStateException());
+            }
+
+            final int myOffset = payloadAt(position);
+            try {
+                return (Number) reader.read(new IterableCharSequence(charsAt(position), myOffset));
+            } catch (final IOException myException) {
+                throw new JSONRuntimeException(myException);
+            } catch (final JSONException myException) {
+                throw new JSONRuntimeException(myException);
+            }
+        }
+
+        /**
+         * @return The current boolean.
+         */
+        public boolean getBoolean() {
+            final int myType = typeAt(position);
+            if (myType != TRUE && myType != FALSE) {
+                throw new JSONRuntimeException(new IllegalStateException());
+            }
+
+            return myType == TRUE;
+        }
+
+        private void enter(final int parPosition) {
+            if (depth == parents.length) {
+                parents = Arrays.copyOf(parents, depth * 2);
+            }
+            parents[depth++] = position;
+            position = parPosition;
+        }
+    }
+
+    /**
+     * Off-heap character storage for the decoded contents of a tape. Like ObfuscatedByteBuffer, the high and low bytes
+     * of each character are kept in separate buffers.
+     */
+    private static final class Arena implements IWritableCharSequence, IBulkCharacterWriter {
+        private final transient ByteBuffer high;
+        private final transient ByteBuffer low;
+        private transient int length;
+        private transient boolean closed;
+
+        private Arena(final int parCapacity) {
+            high = ByteBuffer.allocateDirect(parCapacity);
+            low = ByteBuffer.allocateDirect(parCapacity);
+        }
+
+        @Override
+        public void append(final char parChar) {
+            high.put(length, (byte) (parChar >> JSONSymbolCollection.BITS_IN_BYTE));
+            low.put(length, (byte) (parChar & JSONSymbolCollection.TWO_BYTE));
+            length++;
+        }
+
+        @Override
+        public void append(final CharSequence parChars) {
+            append(parChars, 0, parChars.length());
+        }
+
+        @Override
+        public void append(final CharSequence parChars, final int parStart, final int parEnd) {
+            for (int myIndex = parStart; myIndex < parEnd; myIndex++) {
+                append(parChars.charAt(myIndex));
+            }
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int parIndex) {
+            if (closed) {
+                throw new JSONRuntimeException(new IllegalStateException());
+            }
+            if (parIndex < 0 || parIndex >= length) {
+                throw new StringIndexOutOfBoundsException(parIndex);
+            }
+
+            return (char) ((high.get(parIndex) << JSONSymbolCollection.BITS_IN_BYTE)
+                | (low.get(parIndex) & JSONSymbolCollection.TWO_BYTE));
+        }
+
+        @Override
+        public CharSequence subSequence(final int parStart, final int parEnd) {
+            return new View(this, parStart, parEnd);
+        }
+
+        @Override
+        public void close() {
+            for (int myIndex = 0; myIndex < length; myIndex++) {
+                high.put(myIndex, (byte) 0);
+                low.put(myIndex, (byte) 0);
+            }
+            length = 0;
+            closed = true;
+        }
+
+        @Override
+        public boolean isRestrictedToCapacity() {
+            return false;
+        }
+
+        @Override
+        public int getCapacity() {
+            return high.capacity();
+        }
+
+        @Override
+        public String toString() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A window over the arena.
+     */
+    private static final class View implements CharSequence {
+        private final transient Arena arena;
+        private final transient int start;
+        private final transient int end;
+
+        private View(final Arena parArena, final int parStart, final int parEnd) {
+            if (parStart < 0 || parEnd < parStart || parEnd > parArena.length()) {
+                throw new StringIndexOutOfBoundsException();
+            }
+            arena = parArena;
+            start = parStart;
+            end = parEnd;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(final int parIndex) {
+            if (parIndex < 0 || parIndex >= length()) {
+                throw new StringIndexOutOfBoundsException(parIndex);
+            }
+
+            return arena.charAt(start + parIndex);
+        }
+
+        @Override
+        public CharSequence subSequence(final int parStart, final int parEnd) {
+            return new View(arena, start + parStart, start + parEnd);
+        }
+
+        @Override
+        public String toString() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
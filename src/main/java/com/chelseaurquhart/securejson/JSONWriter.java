@@ -20,9 +20,9 @@ import com.chelseaurquhart.securejson.JSONEncodeException.InvalidTypeException;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -77,16 +77,17 @@ class JSONWriter implements Closeable, IAutoCloseable {
         } else if (parInput instanceof Number && parInput instanceof CharSequence) {
             parSecureBuffer.append((CharSequence) parInput);
         } else if (parInput instanceof Number) {
-            // nothing we can do here, need to convert to string
-            parSecureBuffer.append(parInput.toString());
-        } else if (parInput instanceof Boolean && (Boolean) parInput) {
-            parSecureBuffer.append(JSONSymbolCollection.Token.TRUE.getSymbol().toString());
+            NumberWriter.write((Number) parInput, parSecureBuffer);
         } else if (parInput instanceof Boolean) {
-            parSecureBuffer.append(JSONSymbolCollection.Token.FALSE.getSymbol().toString());
+            writeBoolean(parSecureBuffer, (Boolean) parInput);
+        } else if (parInput instanceof Character) {
+            writeChar(parSecureBuffer, (Character) parInput);
         } else if (parInput instanceof CharSequence) {
             parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
-            writeQuoted((CharSequence) parInput, parSecureBuffer);
+            JSONEscaper.writeEscaped((CharSequence) parInput, parSecureBuffer);
             parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+        } else if (Iterators.isIterable(parInput)) {
+            writeIterator(parSecureBuffer, parInput, Iterators.iteratorFor(parInput));
         } else {
             final Object myInput = mutateInput(parInput);
             if (myInput == parInput) {
@@ -110,19 +111,129 @@ class JSONWriter implements Closeable, IAutoCloseable {
 
     private void writeArray(final ICharacterWriter parSecureBuffer, final Object parInput) throws IOException,
             InvalidTypeException {
+        if (parInput instanceof char[] && settings.isCharArraysAsStrings()) {
+            writeCharString(parSecureBuffer, (char[]) parInput);
+            return;
+        } else if (parInput instanceof byte[] && settings.isByteArraysAsBase64()) {
+            parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+            Base64.encode((byte[]) parInput, parSecureBuffer);
+            parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+            return;
+        }
+
         parSecureBuffer.append(JSONSymbolCollection.Token.L_BRACE.getShortSymbol());
-        final int myLength = Array.getLength(parInput);
-        boolean myIsFirst = true;
-        for (int myIndex = 0; myIndex < myLength; myIndex++) {
-            if (!myIsFirst) {
-                parSecureBuffer.append(JSONSymbolCollection.Token.COMMA.getShortSymbol());
+        // primitive arrays get their own loops so no element is ever boxed.
+        if (parInput instanceof int[]) {
+            writeInts(parSecureBuffer, (int[]) parInput);
+        } else if (parInput instanceof long[]) {
+            writeLongs(parSecureBuffer, (long[]) parInput);
+        } else if (parInput instanceof double[]) {
+            writeDoubles(parSecureBuffer, (double[]) parInput);
+        } else if (parInput instanceof float[]) {
+            writeFloats(parSecureBuffer, (float[]) parInput);
+        } else if (parInput instanceof short[]) {
+            writeShorts(parSecureBuffer, (short[]) parInput);
+        } else if (parInput instanceof byte[]) {
+            writeBytes(parSecureBuffer, (byte[]) parInput);
+        } else if (parInput instanceof boolean[]) {
+            writeBooleans(parSecureBuffer, (boolean[]) parInput);
+        } else if (parInput instanceof char[]) {
+            writeChars(parSecureBuffer, (char[]) parInput);
+        } else {
+            final Object[] myInput = (Object[]) parInput;
+            for (int myIndex = 0; myIndex < myInput.length; myIndex++) {
+                writeSeparator(parSecureBuffer, myIndex);
+                write(myInput[myIndex], parSecureBuffer);
             }
-            myIsFirst = false;
-            write(Array.get(parInput, myIndex), parSecureBuffer);
         }
         parSecureBuffer.append(JSONSymbolCollection.Token.R_BRACE.getShortSymbol());
     }
 
+    private void writeInts(final ICharacterWriter parSecureBuffer, final int[] parInput) throws IOException {
+        for (int myIndex = 0; myIndex < parInput.length; myIndex++) {
+            writeSeparator(parSecureBuffer, myIndex);
+            NumberWriter.writeLong(parInput[myIndex], parSecureBuffer);
+        }
+    }
+
+    private void writeLongs(final ICharacterWriter parSecureBuffer, final long[] parInput) throws IOException {
+        for (int myIndex = 0; myIndex < parInput.length; myIndex++) {
+            writeSeparator(parSecureBuffer, myIndex);
+            NumberWriter.writeLong(parInput[myIndex], parSecureBuffer);
+        }
+    }
+
+    private void writeDoubles(final ICharacterWriter parSecureBuffer, final double[] parInput) throws IOException {
+        for (int myIndex = 0; myIndex < parInput.length; myIndex++) {
+            writeSeparator(parSecureBuffer, myIndex);
+            NumberWriter.writeDouble(parInput[myIndex], parSecureBuffer);
+        }
+    }
+
+    private void writeFloats(final ICharacterWriter parSecureBuffer, final float[] parInput) throws IOException {
+        for (int myIndex = 0; myIndex < parInput.length; myIndex++) {
+            writeSeparator(parSecureBuffer, myIndex);
+            NumberWriter.writeFloat(parInput[myIndex], parSecureBuffer);
+        }
+    }
+
+    private void writeShorts(final ICharacterWriter parSecureBuffer, final short[] parInput) throws IOException {
+        for (int myIndex = 0; myIndex < parInput.length; myIndex++) {
+            writeSeparator(parSecureBuffer, myIndex);
+            NumberWriter.writeLong(parInput[myIndex], parSecureBuffer);
+        }
+    }
+
+    private void writeBytes(final ICharacterWriter parSecureBuffer, final byte[] parInput) throws IOException {
+        for (int myIndex = 0; myIndex < parInput.length; myIndex++) {
+            writeSeparator(parSecureBuffer, myIndex);
+            NumberWriter.writeLong(parInput[myIndex], parSecureBuffer);
+        }
+    }
+
+    private void writeBooleans(final ICharacterWriter parSecureBuffer, final boolean[] parInput) throws IOException {
+        for (int myIndex = 0; myIndex < parInput.length; myIndex++) {
+            writeSeparator(parSecureBuffer, myIndex);
+            writeBoolean(parSecureBuffer, parInput[myIndex]);
+        }
+    }
+
+    private void writeChars(final ICharacterWriter parSecureBuffer, final char[] parInput) throws IOException {
+        for (int myIndex = 0; myIndex < parInput.length; myIndex++) {
+            writeSeparator(parSecureBuffer, myIndex);
+            writeChar(parSecureBuffer, parInput[myIndex]);
+        }
+    }
+
+    private void writeCharString(final ICharacterWriter parSecureBuffer, final char[] parInput) throws IOException {
+        parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+        // escaped one char at a time rather than wrapped, so the output never references the caller's array.
+        for (final char myChar : parInput) {
+            JSONEscaper.writeEscaped(myChar, parSecureBuffer);
+        }
+        parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+    }
+
+    private void writeSeparator(final ICharacterWriter parSecureBuffer, final int parIndex) throws IOException {
+        if (parIndex > 0) {
+            parSecureBuffer.append(JSONSymbolCollection.Token.COMMA.getShortSymbol());
+        }
+    }
+
+    private void writeBoolean(final ICharacterWriter parSecureBuffer, final boolean parInput) throws IOException {
+        if (parInput) {
+            parSecureBuffer.append(JSONSymbolCollection.Token.TRUE.getSymbol().toString());
+        } else {
+            parSecureBuffer.append(JSONSymbolCollection.Token.FALSE.getSymbol().toString());
+        }
+    }
+
+    private void writeChar(final ICharacterWriter parSecureBuffer, final char parInput) throws IOException {
+        parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+        JSONEscaper.writeEscaped(parInput, parSecureBuffer);
+        parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
+    }
+
     private void writeMap(final ICharacterWriter parSecureBuffer, final Map<?, ?> parInput) throws IOException,
             InvalidTypeException {
         parSecureBuffer.append(JSONSymbolCollection.Token.L_CURLY.getShortSymbol());
@@ -138,7 +249,7 @@ class JSONWriter implements Closeable, IAutoCloseable {
             }
             myIsFirst = false;
             parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
-            writeQuoted((CharSequence) myKey, parSecureBuffer);
+            JSONEscaper.writeEscaped((CharSequence) myKey, parSecureBuffer);
             parSecureBuffer.append(JSONSymbolCollection.Token.QUOTE.getShortSymbol());
             parSecureBuffer.append(JSONSymbolCollection.Token.COLON.getShortSymbol());
 
@@ -161,54 +272,24 @@ class JSONWriter implements Closeable, IAutoCloseable {
         parSecureBuffer.append(JSONSymbolCollection.Token.R_BRACE.getShortSymbol());
     }
 
-    private void writeQuoted(final CharSequence parInput, final ICharacterWriter parSecureBuffer) throws IOException {
-        final int myInputLength = parInput.length();
-        for (int myIndex = 0; myIndex < myInputLength; myIndex++) {
-            final char myNextChar = parInput.charAt(myIndex);
-            final JSONSymbolCollection.Token myToken = JSONSymbolCollection.Token.forSymbolOrDefault(
-                myNextChar, JSONSymbolCollection.Token.NULL);
-
-            switch (myToken) {
-                case QUOTE:
-                case ESCAPE:
-                case SLASH:
-                case CARRIAGE_RETURN:
-                case BACKSPACE:
-                case LINE_FEED:
-                case FORM_FEED:
-                    parSecureBuffer.append(myToken.getValue().toString());
-                    break;
-                default:
-                    if (myNextChar < JSONSymbolCollection.MIN_ALLOWED_ASCII_CODE
-                            || myNextChar > JSONSymbolCollection.MAX_ALLOWED_ASCII_CODE) {
-                        parSecureBuffer.append(JSONSymbolCollection.Token.ESCAPE.getShortSymbol());
-                        parSecureBuffer.append(JSONSymbolCollection.Token.UNICODE.getShortSymbol());
-                        parSecureBuffer.append(
-                            intToHex((myNextChar >> JSONSymbolCollection.UNICODE_DIGIT_FIRST)
-                                & JSONSymbolCollection.HEX_MAX));
-                        parSecureBuffer.append(
-                            intToHex((myNextChar >> JSONSymbolCollection.UNICODE_DIGIT_SECOND)
-                                & JSONSymbolCollection.HEX_MAX));
-                        parSecureBuffer.append(
-                            intToHex((myNextChar >> JSONSymbolCollection.UNICODE_DIGIT_THIRD)
-                                & JSONSymbolCollection.HEX_MAX));
-                        parSecureBuffer.append(intToHex(myNextChar & JSONSymbolCollection.HEX_MAX));
-                    } else {
-                        parSecureBuffer.append(myNextChar);
-                    }
-                    break;
+    private void writeIterator(final ICharacterWriter parSecureBuffer, final Object parSource,
+                               final Iterator<?> parInput) throws IOException, InvalidTypeException {
+        parSecureBuffer.append(JSONSymbolCollection.Token.L_BRACE.getShortSymbol());
+        boolean myIsFirst = true;
+        // elements are pulled one at a time so lazily produced sources are never materialized.
+        while (parInput.hasNext()) {
+            if (!myIsFirst) {
+                parSecureBuffer.append(JSONSymbolCollection.Token.COMMA.getShortSymbol());
             }
+            myIsFirst = false;
+            final Object myElement = parInput.next();
+            if (myElement == parSource || myElement == parInput) {
+                throw new JSONException.JSONRuntimeException(
+                        new JSONEncodeException(Messages.Key.ERROR_RECURSION_DETECTED));
+            }
+            write(myElement, parSecureBuffer);
         }
-    }
-
-    private char intToHex(final int parInput) {
-        final int myDigit = parInput & JSONSymbolCollection.HEX_MAX;
-
-        if (myDigit >= JSONSymbolCollection.HEX_MIN_ALPHA) {
-            return (char) ('a' + myDigit - JSONSymbolCollection.HEX_MIN_ALPHA);
-        } else {
-            return (char) ('0' + myDigit);
-        }
+        parSecureBuffer.append(JSONSymbolCollection.Token.R_BRACE.getShortSymbol());
     }
 
     @Override
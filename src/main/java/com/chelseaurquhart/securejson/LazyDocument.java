@@ -0,0 +1,530 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONDecodeException.EmptyJSONException;
+import com.chelseaurquhart.securejson.JSONDecodeException.ExtraCharactersException;
+import com.chelseaurquhart.securejson.JSONDecodeException.InvalidTokenException;
+import com.chelseaurquhart.securejson.JSONDecodeException.MalformedJSONException;
+import com.chelseaurquhart.securejson.JSONDecodeException.MalformedStringException;
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * A parsed view over a random access document. The document structure is validated up front from its
+ * StructuralIndex, but strings and numbers are only decoded (into secure buffers owned by the JSONReader) when a Map
+ * or List view touches them. Object keys are decoded the first time their object is accessed; values, including
+ * nested containers, are decoded one at a time. The views are read-only and become unusable once the reader that
+ * created them is closed.
+ *
+ * @exclude
+ */
+final class LazyDocument {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int STACK_CAPACITY = 16;
+    private static final Object UNDECODED = new Object();
+
+    // what the next structural token must be.
+    private static final int EXPECT_VALUE = 0;
+    private static final int EXPECT_FIRST_VALUE = 1;
+    private static final int EXPECT_KEY = 2;
+    private static final int EXPECT_FIRST_KEY = 3;
+    private static final int EXPECT_COLON = 4;
+    private static final int EXPECT_SEPARATOR = 5;
+
+    private final transient CharSequence input;
+    private final transient StructuralIndex index;
+    // for each token opening a container, the token that closes it.
+    private final transient int[] closes;
+    private final transient JSONReader reader;
+    private transient boolean closed;
+
+    private LazyDocument(final CharSequence parInput, final StructuralIndex parIndex, final int[] parCloses,
+                         final JSONReader parReader) {
+        input = parInput;
+        index = parIndex;
+        closes = parCloses;
+        reader = parReader;
+    }
+
+    /**
+     * Validate the structure of a document and return a view over its root.
+     *
+     * @param parReader The reader that will decode, and own, any values we touch.
+     * @param parInput The document.
+     * @return A Map or List view, or null if the root is not a container (there is nothing to defer) or the document
+     *     is not structurally valid. In the latter case the caller's regular parse reports the error, so that it is
+     *     the same as without lazy parsing.
+     * @throws IOException On read failure.
+     */
+    static LazyDocument read(final JSONReader parReader, final CharSequence parInput) throws IOException {
+        final StructuralIndex myIndex = StructuralIndex.build(parInput);
+        if (myIndex.size() != 0 && !isContainerStart(parInput.charAt(myIndex.get(0)))) {
+            return null;
+        }
+
+        final int[] myCloses;
+        try {
+            myCloses = validateStructure(parInput, myIndex);
+        } catch (final JSONException myException) {
+            return null;
+        }
+
+        return new LazyDocument(parInput, myIndex, myCloses, parReader);
+    }
+
+    /**
+     * @return A view over the root container.
+     */
+    Object getRoot() {
+        return decode(0);
+    }
+
+    /**
+     * Make the views unusable. The buffers they decoded are destroyed by the reader.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Check that the tokens of a document form exactly one well formed value. Strings, numbers and words are not
+     * decoded, so they are only checked to be in a valid position.
+     *
+     * @param parInput The document.
+     * @param parIndex The structural index of parInput.
+     * @return For each token that opens a container, the token that closes it.
+     * @throws IOException On read failure.
+     * @throws JSONException If the document is not structurally valid. This is the exception the sequential reader
+     *     throws for the same document, at the same offset.
+     */
+    static int[] validate(final CharSequence parInput, final StructuralIndex parIndex)
+            throws IOException, JSONException {
+        try {
+            return validateStructure(parInput, parIndex);
+        } catch (final JSONException myException) {
+            // the structural checks know where a document breaks but not which error the sequential reader reports
+            // there, so let it tell us. Errors are rare enough that parsing twice does not matter.
+            final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+            try {
+                myReader.read(new IterableCharSequence(parInput));
+            } finally {
+                myReader.close();
+            }
+
+            // the sequential reader is more lenient in places (it skips a leading comma in an object, for one), but we
+            // cannot represent what it accepted.
+            throw myException;
+        }
+    }
+
+    private static int[] validateStructure(final CharSequence parInput, final StructuralIndex parIndex)
+            throws IOException, JSONException {
+        if (parIndex.size() == 0) {
+            throw new EmptyJSONException(at(parInput, parInput.length()));
+        }
+        if (!parIndex.isComplete()) {
+            throw new MalformedStringException(parInput.length());
+        }
+
+        final int mySize = parIndex.size();
+        final int[] myCloses = new int[mySize];
+        int[] myStack = new int[STACK_CAPACITY];
+        int myDepth = 0;
+        int myState = EXPECT_VALUE;
+        for (int myToken = 0; myToken < mySize; myToken++) {
+            final int myPosition = parIndex.get(myToken);
+            final char myChar = parInput.charAt(myPosition);
+            if ((myState == EXPECT_FIRST_VALUE && myChar == JSONSymbolCollection.Token.R_BRACE.getShortSymbol())
+                    || (myState == EXPECT_FIRST_KEY
+                        && myChar == JSONSymbolCollection.Token.R_CURLY.getShortSymbol())) {
+                myCloses[myStack[--myDepth]] = myToken;
+                myState = EXPECT_SEPARATOR;
+            } else if (myState == EXPECT_VALUE || myState == EXPECT_FIRST_VALUE) {
+                if (isContainerStart(myChar)) {
+                    if (myDepth == myStack.length) {
+                        myStack = Arrays.copyOf(myStack, myDepth * 2);
+                    }
+                    myStack[myDepth++] = myToken;
+                    myState = EXPECT_FIRST_KEY;
+                    if (myChar == JSONSymbolCollection.Token.L_BRACE.getShortSymbol()) {
+                        myState = EXPECT_FIRST_VALUE;
+                    }
+                } else if (isOperator(myChar)) {
+                    throw new InvalidTokenException(at(parInput, myPosition));
+                } else {
+                    myState = EXPECT_SEPARATOR;
+                }
+            } else if (myState == EXPECT_KEY || myState == EXPECT_FIRST_KEY) {
+                if (myChar != JSONSymbolCollection.Token.QUOTE.getShortSymbol()) {
+                    throw new MalformedStringException(myPosition);
+                }
+                myState = EXPECT_COLON;
+            } else if (myState == EXPECT_COLON) {
+                if (myChar != JSONSymbolCollection.Token.COLON.getShortSymbol()) {
+                    throw new MalformedJSONException(at(parInput, myPosition));
+                }
+                myState = EXPECT_VALUE;
+            } else if (myDepth == 0) {
+                throw new ExtraCharactersException(at(parInput, myPosition));
+            } else if (myChar == JSONSymbolCollection.Token.COMMA.getShortSymbol()) {
+                myState = EXPECT_KEY;
+                if (parInput.charAt(parIndex.get(myStack[myDepth - 1]))
+                        == JSONSymbolCollection.Token.L_BRACE.getShortSymbol()) {
+                    myState = EXPECT_VALUE;
+                }
+            } else if (myChar == closerFor(parInput.charAt(parIndex.get(myStack[myDepth - 1])))) {
+                myCloses[myStack[--myDepth]] = myToken;
+            } else {
+                throw new MalformedJSONException(at(parInput, myPosition));
+            }
+        }
+
+        if (myDepth != 0 || myState != EXPECT_SEPARATOR) {
+            throw new MalformedJSONException(at(parInput, parInput.length()));
+        }
+
+        return myCloses;
+    }
+
+    private Object decode(final int parToken) {
+        ensureOpen();
+        final int myStart = index.get(parToken);
+        final char myChar = input.charAt(myStart);
+        if (myChar == JSONSymbolCollection.Token.L_BRACE.getShortSymbol()) {
+            return new LazyList(this, parToken);
+        } else if (myChar == JSONSymbolCollection.Token.L_CURLY.getShortSymbol()) {
+            return new LazyMap(this, parToken);
+        }
+
+        // scalars are always followed by a separator or a closing bracket, since the root is a container.
+        int myEnd = index.get(parToken + 1);
+        while (StructuralIndex.isWhitespace(input.charAt(myEnd - 1))) {
+            myEnd--;
+        }
+        try {
+            return reader.read(new IterableCharSequence(new ParallelArrayReader.Range(input, myStart, myEnd),
+                myStart));
+        } catch (final IOException myException) {
+            throw new JSONRuntimeException(myException);
+        } catch (final JSONException myException) {
+            throw new JSONRuntimeException(myException);
+        }
+    }
+
+    private Object resolve(final Object[] parValues, final int[] parTokens, final int parSlot) {
+        if (parValues[parSlot] == UNDECODED) {
+            parValues[parSlot] = decode(parTokens[parSlot]);
+        }
+
+        return parValues[parSlot];
+    }
+
+    /**
+     * @return The token after the value starting at parToken, skipping over the contents of containers.
+     */
+    private int skip(final int parToken) {
+        if (isContainerStart(input.charAt(index.get(parToken)))) {
+            return closes[parToken] + 1;
+        }
+
+        return parToken + 1;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new JSONRuntimeException(new IllegalStateException());
+        }
+    }
+
+    private static Object[] undecoded(final int parSize) {
+        final Object[] myValues = new Object[parSize];
+        Arrays.fill(myValues, UNDECODED);
+
+        return myValues;
+    }
+
+    private static boolean isContainerStart(final char parChar) {
+        return parChar == JSONSymbolCollection.Token.L_BRACE.getShortSymbol()
+            || parChar == JSONSymbolCollection.Token.L_CURLY.getShortSymbol();
+    }
+
+    private static boolean isOperator(final char parChar) {
+        return parChar == JSONSymbolCollection.Token.R_BRACE.getShortSymbol()
+            || parChar == JSONSymbolCollection.Token.R_CURLY.getShortSymbol()
+            || parChar == JSONSymbolCollection.Token.COLON.getShortSymbol()
+            || parChar == JSONSymbolCollection.Token.COMMA.getShortSymbol();
+    }
+
+    private static char closerFor(final char parOpener) {
+        if (parOpener == JSONSymbolCollection.Token.L_BRACE.getShortSymbol()) {
+            return JSONSymbolCollection.Token.R_BRACE.getShortSymbol();
+        }
+
+        return JSONSymbolCollection.Token.R_CURLY.getShortSymbol();
+    }
+
+    private static ICharacterIterator at(final CharSequence parInput, final int parPosition) {
+        return new IterableCharSequence(parInput, parPosition);
+    }
+
+    /**
+     * Read-only List view over a JSON array.
+     */
+    static final class LazyList extends AbstractList<Object> implements RandomAccess {
+        private final transient LazyDocument document;
+        private final transient int open;
+        private transient int[] tokens;
+        private transient Object[] values;
+        private transient int size;
+
+        private LazyList(final LazyDocument parDocument, final int parOpen) {
+            document = parDocument;
+            open = parOpen;
+        }
+
+        @Override
+        public Object get(final int parIndex) {
+            load();
+            if (parIndex < 0 || parIndex >= size) {
+                throw new IndexOutOfBoundsException(String.valueOf(parIndex));
+            }
+
+            return document.resolve(values, tokens, parIndex);
+        }
+
+        @Override
+        public int size() {
+            load();
+
+            return size;
+        }
+
+        private void load() {
+            document.ensureOpen();
+            if (tokens != null) {
+                return;
+            }
+
+            final int myClose = document.closes[open];
+            int[] myTokens = new int[INITIAL_CAPACITY];
+            int mySize = 0;
+            for (int myToken = open + 1; myToken < myClose; myToken = document.skip(myToken) + 1) {
+                if (mySize == myTokens.length) {
+                    myTokens = Arrays.copyOf(myTokens, mySize * 2);
+                }
+                myTokens[mySize++] = myToken;
+            }
+            values = undecoded(mySize);
+            size = mySize;
+            tokens = myTokens;
+        }
+    }
+
+    /**
+     * Read-only Map view over a JSON object. Keys are compared by content, as with SecureKeyMap. As with the eager
+     * reader, a duplicate key keeps its first position and its last value.
+     */
+    static final class LazyMap extends AbstractMap<CharSequence, Object> {
+        private final transient LazyDocument document;
+        private final transient int open;
+        private transient SecureKeyMap<Integer> slots;
+        private transient CharSequence[] keys;
+        private transient int[] tokens;
+        private transient Object[] values;
+        private transient int size;
+
+        private LazyMap(final LazyDocument parDocument, final int parOpen) {
+            document = parDocument;
+            open = parOpen;
+        }
+
+        @Override
+        public Object get(final Object parKey) {
+            final Integer mySlot = findSlot(parKey);
+            if (mySlot == null) {
+                return null;
+            }
+
+            return document.resolve(values, tokens, mySlot);
+        }
+
+        @Override
+        public boolean containsKey(final Object parKey) {
+            return findSlot(parKey) != null;
+        }
+
+        @Override
+        public int size() {
+            load();
+
+            return size;
+        }
+
+        @Override
+        public Set<Map.Entry<CharSequence, Object>> entrySet() {
+            return new EntrySet();
+        }
+
+        private Integer findSlot(final Object parKey) {
+            load();
+            if (!(parKey instanceof CharSequence)) {
+                return null;
+            }
+
+            return slots.get(parKey);
+        }
+
+        private void load() {
+            document.ensureOpen();
+            if (slots != null) {
+                return;
+            }
+
+            final int myClose = document.closes[open];
+            final SecureKeyMap<Integer> mySlots = new SecureKeyMap<Integer>();
+            CharSequence[] myKeys = new CharSequence[INITIAL_CAPACITY];
+            int[] myTokens = new int[INITIAL_CAPACITY];
+            int mySize = 0;
+            // each entry is a key, a colon and a value, followed by a comma or the closing bracket.
+            for (int myToken = open + 1; myToken < myClose; myToken = document.skip(myToken + 2) + 1) {
+                final CharSequence myKey = (CharSequence) document.decode(myToken);
+                final Integer myExisting = mySlots.get(myKey);
+                if (myExisting != null) {
+                    myTokens[myExisting] = myToken + 2;
+                    continue;
+                }
+                if (mySize == myKeys.length) {
+                    myKeys = Arrays.copyOf(myKeys, mySize * 2);
+                    myTokens = Arrays.copyOf(myTokens, mySize * 2);
+                }
+                myKeys[mySize] = myKey;
+                myTokens[mySize] = myToken + 2;
+                mySlots.put(myKey, mySize);
+                mySize++;
+            }
+            keys = myKeys;
+            tokens = myTokens;
+            values = undecoded(mySize);
+            size = mySize;
+            slots = mySlots;
+        }
+
+        /**
+         * View of our entries, in document order.
+         */
+        private final class EntrySet extends AbstractSet<Map.Entry<CharSequence, Object>> {
+            @Override
+            public Iterator<Map.Entry<CharSequence, Object>> iterator() {
+                load();
+
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return LazyMap.this.size();
+            }
+        }
+
+        /**
+         * Iterator over our entries, in document order.
+         */
+        private final class EntryIterator implements Iterator<Map.Entry<CharSequence, Object>> {
+            private transient int nextSlot;
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot < size;
+            }
+
+            @Override
+            public Map.Entry<CharSequence, Object> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return new Entry(nextSlot++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        }
+
+        /**
+         * Entry that decodes its value on first access.
+         */
+        private final class Entry implements Map.Entry<CharSequence, Object> {
+            private final transient int slot;
+
+            private Entry(final int parSlot) {
+                slot = parSlot;
+            }
+
+            @Override
+            public CharSequence getKey() {
+                return keys[slot];
+            }
+
+            @Override
+            public Object getValue() {
+                return document.resolve(values, tokens, slot);
+            }
+
+            @Override
+            public Object setValue(final Object parValue) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean equals(final Object parObject) {
+                if (!(parObject instanceof Map.Entry)) {
+                    return false;
+                }
+                final Map.Entry<?, ?> myThat = (Map.Entry<?, ?>) parObject;
+                if (!(myThat.getKey() instanceof CharSequence)
+                        || !SecureKeyMap.contentEquals(getKey(), (CharSequence) myThat.getKey())) {
+                    return false;
+                }
+
+                final Object myValue = getValue();
+                if (myValue == null) {
+                    return myThat.getValue() == null;
+                }
+
+                return myValue.equals(myThat.getValue());
+            }
+
+            @Override
+            public int hashCode() {
+                return SecureKeyMap.entryHash(SecureKeyMap.hash(getKey()), getValue());
+            }
+        }
+    }
+}
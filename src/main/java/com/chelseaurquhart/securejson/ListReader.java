@@ -19,13 +19,18 @@ package com.chelseaurquhart.securejson;
 import com.chelseaurquhart.securejson.JSONDecodeException.MalformedListException;
 
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @exclude
  */
 class ListReader implements IReader<ListReader.Container> {
+    private static final int MIN_CAPACITY = 4;
+
+    // documents tend to repeat the same shape, so the last list we built is a good estimate of the next one.
+    private transient int capacityHint = MIN_CAPACITY;
+
     @Override
     public boolean isStart(final ICharacterIterator parIterator) throws IOException, JSONException {
         return JSONSymbolCollection.Token.forSymbolOrDefault(parIterator.peek(), null)
@@ -34,6 +39,10 @@ class ListReader implements IReader<ListReader.Container> {
 
     @Override
     public SymbolType getSymbolType(final ICharacterIterator parIterator) throws IOException, JSONException {
+        if (!parIterator.hasNext()) {
+            throw new MalformedListException(parIterator);
+        }
+
         final JSONSymbolCollection.Token myToken = JSONSymbolCollection.Token.forSymbolOrDefault(parIterator.peek(),
             JSONSymbolCollection.Token.UNKNOWN);
 
@@ -97,7 +106,7 @@ class ListReader implements IReader<ListReader.Container> {
      * A container for our List.
      */
     static final class Container implements JSONReader.IContainer<List<Object>, ListReader> {
-        private transient List<Object> list;
+        private transient ArrayList<Object> list;
         private transient ListReader reader;
 
         private Container(final ListReader parReader) {
@@ -105,18 +114,29 @@ class ListReader implements IReader<ListReader.Container> {
         }
 
         private void add(final Object parValue) {
-            resolve().add(parValue);
+            getList().add(parValue);
         }
 
-        @Override
-        public List<Object> resolve() {
+        private ArrayList<Object> getList() {
             if (list == null) {
-                list = new LinkedList<Object>();
+                list = new ArrayList<Object>(reader.capacityHint);
             }
 
             return list;
         }
 
+        @Override
+        public List<Object> resolve() {
+            final ArrayList<Object> myList = getList();
+            final int mySize = myList.size();
+            if (mySize < reader.capacityHint) {
+                myList.trimToSize();
+            }
+            reader.capacityHint = Math.max(mySize, MIN_CAPACITY);
+
+            return myList;
+        }
+
         @Override
         public ListReader getReader() {
             return reader;
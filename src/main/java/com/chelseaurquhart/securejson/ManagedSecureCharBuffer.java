@@ -20,13 +20,15 @@ import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
  * @exclude
  */
-final class ManagedSecureCharBuffer implements IWritableCharSequence {
+final class ManagedSecureCharBuffer implements IWritableCharSequence, IBulkCharacterWriter {
     /**
      * @exclude
      */
@@ -83,6 +85,26 @@ final class ManagedSecureCharBuffer implements IWritableCharSequence {
         writeBuffer = null;
     }
 
+    @Override
+    public void append(final CharSequence parChars, final int parStart, final int parEnd) throws IOException {
+        // always copy: writers hand us caller values here, and referencing one would tie our output to it.
+        final int myLength = parEnd - parStart;
+        if (myLength <= 0) {
+            return;
+        }
+
+        // copy into a single buffer of exactly the right size. Long strings would otherwise be spread over many small
+        // buffers, and charAt has to walk them all.
+        final ObfuscatedByteBuffer myBuffer = new ObfuscatedByteBuffer(myLength);
+        for (int myIndex = parStart; myIndex < parEnd; myIndex++) {
+            myBuffer.append(parChars.charAt(myIndex));
+        }
+        buffers.add(myBuffer);
+        writeBuffers.add(myBuffer);
+        // we'll need a new buffer or we'll get out of order.
+        writeBuffer = null;
+    }
+
     @Override
     public void close() throws IOException {
         for (final IWritableCharSequence myBuffer : writeBuffers) {
@@ -159,6 +181,40 @@ final class ManagedSecureCharBuffer implements IWritableCharSequence {
         return new ManagedSecureCharBuffer(initialCapacity, myBuffers, writeBuffers);
     }
 
+    /**
+     * Get the sequences that make up this buffer, in order. This allows walking the content without the cost of
+     * locating the chunk for every charAt call.
+     *
+     * @return The sequences that make up this buffer.
+     */
+    List<CharSequence> getChunks() {
+        return Collections.unmodifiableList(buffers);
+    }
+
+    /**
+     * Get the innermost sequences that make up a sequence, in order. Nested buffers (for example a buffer that
+     * references another buffer's subSequence) are expanded, so none of the results are ManagedSecureCharBuffers.
+     *
+     * @param parChars The sequence to split.
+     * @return The chunks of parChars, or parChars itself if it is not a ManagedSecureCharBuffer.
+     */
+    static List<CharSequence> flatChunks(final CharSequence parChars) {
+        final List<CharSequence> myChunks = new ArrayList<CharSequence>();
+        addFlatChunks(parChars, myChunks);
+
+        return myChunks;
+    }
+
+    private static void addFlatChunks(final CharSequence parChars, final List<CharSequence> parChunks) {
+        if (parChars instanceof ManagedSecureCharBuffer) {
+            for (final CharSequence myChunk : ((ManagedSecureCharBuffer) parChars).getChunks()) {
+                addFlatChunks(myChunk, parChunks);
+            }
+        } else {
+            parChunks.add(parChars);
+        }
+    }
+
     @Override
     public boolean isRestrictedToCapacity() {
         return false;
@@ -245,23 +301,25 @@ final class ManagedSecureCharBuffer implements IWritableCharSequence {
 
         @Override
         public CharSequence subSequence(final int parStart, final int parEnd) {
-            final int myLength = offset + parEnd;
-            if (myLength > length() || parStart < 0) {
+            // parEnd is relative to this view, which may itself start part way into the underlying buffers.
+            if (parEnd > length() || parStart < 0 || parStart > parEnd) {
                 throw new StringIndexOutOfBoundsException();
             }
-            return new ObfuscatedByteBuffer(offset + parStart, capacity, myLength, compositionFirst,
+            return new ObfuscatedByteBuffer(offset + parStart, capacity, offset + parEnd, compositionFirst,
                 compositionSecond);
         }
 
         @Override
         public void close() {
-            for (int myIndex = length() - 1; myIndex > 0; myIndex--) {
-                compositionFirst.put((byte) 0);
-                compositionSecond.put((byte) 0);
-                // reset position in case we want to re-use it.
-                compositionFirst.position(0);
-                compositionSecond.position(0);
+            // wipe by index: the buffer may be full, in which case there is no room for a relative put.
+            final int myEnd = offset + length();
+            for (int myIndex = offset; myIndex < myEnd; myIndex++) {
+                compositionFirst.put(myIndex, (byte) 0);
+                compositionSecond.put(myIndex, (byte) 0);
             }
+            // reset position in case we want to re-use it.
+            compositionFirst.position(0);
+            compositionSecond.position(0);
         }
 
         @Override
@@ -20,13 +20,17 @@ import com.chelseaurquhart.securejson.JSONDecodeException.MalformedMapException;
 import com.chelseaurquhart.securejson.JSONDecodeException.MalformedStringException;
 
 import java.io.IOException;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * @exclude
  */
 class MapReader implements IReader<MapReader.Container> {
+    private static final int MIN_CAPACITY = 4;
+
+    // objects in a document usually share a shape, so the last one we built is a good estimate of the next one.
+    private transient int capacityHint = MIN_CAPACITY;
+
     @Override
     public boolean isStart(final ICharacterIterator parIterator) throws IOException, JSONException {
         return JSONSymbolCollection.Token.forSymbolOrDefault(parIterator.peek(), null)
@@ -109,7 +113,7 @@ class MapReader implements IReader<MapReader.Container> {
      * Container for Map data.
      */
     static final class Container implements JSONReader.IContainer<Map<CharSequence, Object>, MapReader> {
-        private transient Map<CharSequence, Object> map;
+        private transient SecureKeyMap<Object> map;
         private transient CharSequence key;
         private transient int keyStartIndex;
         private transient MapReader reader;
@@ -120,18 +124,30 @@ class MapReader implements IReader<MapReader.Container> {
         }
 
         private void put(final CharSequence parKey, final Object parValue) {
-            resolve().put(parKey, parValue);
+            getMap().put(parKey, parValue);
         }
 
-        @Override
-        public Map<CharSequence, Object> resolve() {
+        private SecureKeyMap<Object> getMap() {
             if (map == null) {
-                map = new LinkedHashMap<CharSequence, Object>();
+                // keys are frequently secure buffers, which do not implement hashCode/equals.
+                map = new SecureKeyMap<Object>(reader.capacityHint);
             }
 
             return map;
         }
 
+        @Override
+        public Map<CharSequence, Object> resolve() {
+            final SecureKeyMap<Object> myMap = getMap();
+            final int mySize = myMap.size();
+            if (mySize < reader.capacityHint) {
+                myMap.trimToSize();
+            }
+            reader.capacityHint = Math.max(mySize, MIN_CAPACITY);
+
+            return myMap;
+        }
+
         @Override
         public MapReader getReader() {
             return reader;
@@ -59,7 +59,11 @@ final class Messages {
         ERROR_ATTEMPT_TO_ADD_MAP_ENTRY_TO_NON_MAP,
         ERROR_INVALID_SERIALIZATION_CONFIG,
         ERROR_INVALID_SYMBOL,
-        ERROR_RECURSION_DETECTED
+        ERROR_RECURSION_DETECTED,
+        ERROR_BUFFER_TOO_SMALL,
+        ERROR_INVALID_GENERATOR_STATE,
+        ERROR_MALFORMED_BASE64,
+        ERROR_INVALID_CREATOR
     }
 
     static String get(final Key parKey) throws IOException {
@@ -23,7 +23,9 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,6 +41,7 @@ class NumberReader extends WritableCharSequenceList implements IReader<Number> {
 
     private final transient MathContext mathContext;
     private final transient Settings settings;
+    private final transient List<HugeDecimal> hugeDecimals;
 
     NumberReader(final Settings parSettings) {
         this(DEFAULT_MATH_CONTEXT, parSettings);
@@ -48,6 +51,7 @@ class NumberReader extends WritableCharSequenceList implements IReader<Number> {
         super();
         this.mathContext = parMathContext;
         settings = parSettings;
+        hugeDecimals = new ArrayList<HugeDecimal>();
     }
 
     @Override
@@ -110,11 +114,11 @@ class NumberReader extends WritableCharSequenceList implements IReader<Number> {
         } catch (final NumberFormatException myException) {
             // number is probably too big. We can still handle it, but our algorithm is very expensive and
             // a CharSequence may be okay so we want to lazy convert it, if requested.
-            return new HugeDecimal(parNumber, this);
+            return buildHugeDecimal(parNumber);
         } catch (final ArithmeticException myException) {
             // number is probably too big. We can still handle it, but our algorithm is very expensive and
             // a CharSequence may be okay so we want to lazy convert it, if requested.
-            return new HugeDecimal(parNumber, this);
+            return buildHugeDecimal(parNumber);
         }
 
         final BigDecimal myDecimal = myDecimalAndForceDouble.getKey();
@@ -149,6 +153,24 @@ class NumberReader extends WritableCharSequenceList implements IReader<Number> {
         }
     }
 
+    private HugeDecimal buildHugeDecimal(final CharSequence parNumber) {
+        final HugeDecimal myHugeDecimal = new HugeDecimal(parNumber, this);
+        hugeDecimals.add(myHugeDecimal);
+
+        return myHugeDecimal;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // drop any cached decimal representations along with the buffers backing them.
+        for (final HugeDecimal myHugeDecimal : hugeDecimals) {
+            myHugeDecimal.close();
+        }
+        hugeDecimals.clear();
+
+        super.close();
+    }
+
     Map.Entry<BigDecimal, Boolean> charSequenceToBigDecimal(final CharSequence parSource, final int parOffset)
             throws IOException, JSONException {
         final char[] myBuffer = new char[parSource.length()];
@@ -0,0 +1,547 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes numbers straight to an ICharacterWriter instead of going through a String. The output matches the JDK's
+ * toString formats. Doubles and floats are written with the shortest digits that round-trip, using Raffaello
+ * Giulietti's Schubfach algorithm.
+ *
+ * @exclude
+ */
+final class NumberWriter {
+    private static final int DECIMAL_RADIX = 10;
+    private static final int DIGIT_PAIR_RADIX = 100;
+    private static final int MAX_LONG_DIGITS = 19;
+    private static final long[] POWERS_OF_TEN = buildPowersOfTen();
+    private static final char[] DIGIT_TENS = new char[DIGIT_PAIR_RADIX];
+    private static final char[] DIGIT_ONES = new char[DIGIT_PAIR_RADIX];
+
+    // doubles and floats use plain notation in [10^-3, 10^7) and scientific notation otherwise. These bound the
+    // exponent of the 0.ddd form.
+    private static final int PLAIN_MIN_EXPONENT = -3;
+    private static final int PLAIN_MAX_EXPONENT = 7;
+    private static final int BIG_DECIMAL_PLAIN_MIN_EXPONENT = -6;
+
+    private static final int DOUBLE_PRECISION = 53;
+    private static final int DOUBLE_EXPONENT_MASK = 0x7ff;
+    private static final long DOUBLE_SIGNIFICAND_MASK = (1L << (DOUBLE_PRECISION - 1)) - 1;
+    private static final long DOUBLE_C_MIN = 1L << (DOUBLE_PRECISION - 1);
+    private static final int DOUBLE_Q_MIN = -1074;
+    private static final int DOUBLE_C_TINY = 3;
+    private static final int DOUBLE_H_OFFSET = 2;
+
+    private static final int FLOAT_PRECISION = 24;
+    private static final int FLOAT_EXPONENT_MASK = 0xff;
+    private static final int FLOAT_SIGNIFICAND_MASK = (1 << (FLOAT_PRECISION - 1)) - 1;
+    private static final int FLOAT_C_MIN = 1 << (FLOAT_PRECISION - 1);
+    private static final int FLOAT_Q_MIN = -149;
+    private static final int FLOAT_C_TINY = 8;
+    private static final int FLOAT_H_OFFSET = 33;
+    private static final int FLOAT_ROP_SHIFT = 31;
+
+    // fixed point approximations of log10(2), log10(3/4) and log2(10).
+    private static final long LOG10_2_Q41 = 661971961083L;
+    private static final long LOG10_THREE_QUARTERS_Q41 = -274743187321L;
+    private static final int Q41 = 41;
+    private static final long LOG2_10_Q38 = 913124641741L;
+    private static final int Q38 = 38;
+
+    // g(k) is floor(10^-k / 2^r) + 1 where r is chosen so that 2^125 <= 10^-k / 2^r < 2^126. It is stored as its
+    // high and low 63 bits.
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final int G_BITS = 126;
+    private static final int G_LOW_BITS = 63;
+    private static final long MASK_63 = Long.MAX_VALUE;
+    private static final long MASK_32 = 0xffffffffL;
+    private static final int HALF_LONG_BITS = 32;
+    private static final long[] G = buildG();
+
+    private static final char[] NAN = "NaN".toCharArray();
+    private static final char[] INFINITY = "Infinity".toCharArray();
+    private static final char[] ZERO = "0.0".toCharArray();
+
+    static {
+        for (int myIndex = 0; myIndex < DIGIT_PAIR_RADIX; myIndex++) {
+            DIGIT_TENS[myIndex] = (char) ('0' + myIndex / DECIMAL_RADIX);
+            DIGIT_ONES[myIndex] = (char) ('0' + myIndex % DECIMAL_RADIX);
+        }
+    }
+
+    private NumberWriter() {
+    }
+
+    /**
+     * Write a number to a writer.
+     *
+     * @param parNumber The number to write.
+     * @param parWriter The writer to write to.
+     * @throws IOException On write failure.
+     */
+    static void write(final Number parNumber, final ICharacterWriter parWriter) throws IOException {
+        if (parNumber instanceof Integer || parNumber instanceof Long || parNumber instanceof Short
+                || parNumber instanceof Byte || parNumber instanceof AtomicInteger || parNumber instanceof AtomicLong) {
+            writeLong(parNumber.longValue(), parWriter);
+        } else if (parNumber instanceof Double) {
+            writeDouble(parNumber.doubleValue(), parWriter);
+        } else if (parNumber instanceof Float) {
+            writeFloat(parNumber.floatValue(), parWriter);
+        } else if (parNumber instanceof BigInteger) {
+            writeBigInteger((BigInteger) parNumber, parWriter);
+        } else if (parNumber instanceof BigDecimal) {
+            writeBigDecimal((BigDecimal) parNumber, parWriter);
+        } else {
+            // nothing we can do here, need to convert to string
+            parWriter.append(parNumber.toString());
+        }
+    }
+
+    static void writeLong(final long parValue, final ICharacterWriter parWriter) throws IOException {
+        if (parValue == Long.MIN_VALUE) {
+            // -MIN_VALUE overflows, but it is MAX_VALUE + 1 and MAX_VALUE ends in 7.
+            parWriter.append('-');
+            writeDigits(Long.MAX_VALUE, MAX_LONG_DIGITS, 0, MAX_LONG_DIGITS - 1, parWriter);
+            parWriter.append('8');
+            return;
+        }
+
+        long myValue = parValue;
+        if (myValue < 0) {
+            parWriter.append('-');
+            myValue = -myValue;
+        }
+        final int myDigitCount = digitCount(myValue);
+        writeDigits(myValue, myDigitCount, 0, myDigitCount, parWriter);
+    }
+
+    static void writeBigInteger(final BigInteger parValue, final ICharacterWriter parWriter) throws IOException {
+        if (parValue.bitLength() < Long.SIZE) {
+            writeLong(parValue.longValue(), parWriter);
+        } else {
+            parWriter.append(parValue.toString());
+        }
+    }
+
+    static void writeBigDecimal(final BigDecimal parValue, final ICharacterWriter parWriter) throws IOException {
+        final BigInteger myUnscaled = parValue.unscaledValue();
+        // leave room to negate the unscaled value.
+        if (myUnscaled.bitLength() >= Long.SIZE - 1) {
+            parWriter.append(parValue.toString());
+            return;
+        }
+
+        long myValue = myUnscaled.longValue();
+        if (myValue < 0) {
+            parWriter.append('-');
+            myValue = -myValue;
+        }
+
+        final int myScale = parValue.scale();
+        final int myDigitCount = digitCount(myValue);
+        final long myAdjusted = (long) myDigitCount - 1 - myScale;
+        if (myScale == 0) {
+            writeDigits(myValue, myDigitCount, 0, myDigitCount, parWriter);
+        } else if (myScale > 0 && myAdjusted >= BIG_DECIMAL_PLAIN_MIN_EXPONENT) {
+            final int myPoint = myDigitCount - myScale;
+            if (myPoint > 0) {
+                writeDigits(myValue, myDigitCount, 0, myPoint, parWriter);
+                parWriter.append(JSONSymbolCollection.Token.DECIMAL.getShortSymbol());
+                writeDigits(myValue, myDigitCount, myPoint, myDigitCount, parWriter);
+            } else {
+                parWriter.append('0');
+                parWriter.append(JSONSymbolCollection.Token.DECIMAL.getShortSymbol());
+                writeZeros(-myPoint, parWriter);
+                writeDigits(myValue, myDigitCount, 0, myDigitCount, parWriter);
+            }
+        } else {
+            writeDigits(myValue, myDigitCount, 0, 1, parWriter);
+            if (myDigitCount > 1) {
+                parWriter.append(JSONSymbolCollection.Token.DECIMAL.getShortSymbol());
+                writeDigits(myValue, myDigitCount, 1, myDigitCount, parWriter);
+            }
+            if (myAdjusted != 0) {
+                parWriter.append('E');
+                if (myAdjusted > 0) {
+                    parWriter.append(JSONSymbolCollection.Token.PLUS.getShortSymbol());
+                }
+                writeLong(myAdjusted, parWriter);
+            }
+        }
+    }
+
+    static void writeDouble(final double parValue, final ICharacterWriter parWriter) throws IOException {
+        final long myBits = Double.doubleToRawLongBits(parValue);
+        final long mySignificand = myBits & DOUBLE_SIGNIFICAND_MASK;
+        final int myBiasedExponent = (int) (myBits >>> (DOUBLE_PRECISION - 1)) & DOUBLE_EXPONENT_MASK;
+        if (myBiasedExponent == DOUBLE_EXPONENT_MASK) {
+            writeNonFinite(mySignificand != 0, myBits < 0, parWriter);
+            return;
+        }
+
+        if (myBits < 0) {
+            parWriter.append('-');
+        }
+        if (myBiasedExponent != 0) {
+            final int myMinusQ = -DOUBLE_Q_MIN + 1 - myBiasedExponent;
+            final long myFullSignificand = DOUBLE_C_MIN | mySignificand;
+            // integers can be written as-is.
+            if (myMinusQ > 0 && myMinusQ < DOUBLE_PRECISION) {
+                final long myInteger = myFullSignificand >> myMinusQ;
+                if (myInteger << myMinusQ == myFullSignificand) {
+                    writeDecimal(myInteger, 0, parWriter);
+                    return;
+                }
+            }
+            writeDouble(-myMinusQ, myFullSignificand, 0, parWriter);
+        } else if (mySignificand == 0) {
+            write(ZERO, parWriter);
+        } else if (mySignificand < DOUBLE_C_TINY) {
+            writeDouble(DOUBLE_Q_MIN, DECIMAL_RADIX * mySignificand, -1, parWriter);
+        } else {
+            writeDouble(DOUBLE_Q_MIN, mySignificand, 0, parWriter);
+        }
+    }
+
+    static void writeFloat(final float parValue, final ICharacterWriter parWriter) throws IOException {
+        final int myBits = Float.floatToRawIntBits(parValue);
+        final int mySignificand = myBits & FLOAT_SIGNIFICAND_MASK;
+        final int myBiasedExponent = (myBits >>> (FLOAT_PRECISION - 1)) & FLOAT_EXPONENT_MASK;
+        if (myBiasedExponent == FLOAT_EXPONENT_MASK) {
+            writeNonFinite(mySignificand != 0, myBits < 0, parWriter);
+            return;
+        }
+
+        if (myBits < 0) {
+            parWriter.append('-');
+        }
+        if (myBiasedExponent != 0) {
+            final int myMinusQ = -FLOAT_Q_MIN + 1 - myBiasedExponent;
+            final int myFullSignificand = FLOAT_C_MIN | mySignificand;
+            // integers can be written as-is.
+            if (myMinusQ > 0 && myMinusQ < FLOAT_PRECISION) {
+                final int myInteger = myFullSignificand >> myMinusQ;
+                if (myInteger << myMinusQ == myFullSignificand) {
+                    writeDecimal(myInteger, 0, parWriter);
+                    return;
+                }
+            }
+            writeFloat(-myMinusQ, myFullSignificand, 0, parWriter);
+        } else if (mySignificand == 0) {
+            write(ZERO, parWriter);
+        } else if (mySignificand < FLOAT_C_TINY) {
+            writeFloat(FLOAT_Q_MIN, DECIMAL_RADIX * mySignificand, -1, parWriter);
+        } else {
+            writeFloat(FLOAT_Q_MIN, mySignificand, 0, parWriter);
+        }
+    }
+
+    /**
+     * Find the shortest decimal in the rounding interval of the significand * 2^exponent and write it.
+     */
+    private static void writeDouble(final int parBinaryExponent, final long parBinarySignificand, final int parDk,
+                                    final ICharacterWriter parWriter) throws IOException {
+        final int myOut = (int) parBinarySignificand & 1;
+        final long myCb = parBinarySignificand << 2;
+        final long myCbr = myCb + 2;
+        final long myCbl;
+        final int myDecimalExponent;
+        if (parBinarySignificand != DOUBLE_C_MIN || parBinaryExponent == DOUBLE_Q_MIN) {
+            myCbl = myCb - 2;
+            myDecimalExponent = floorLog10Pow2(parBinaryExponent);
+        } else {
+            myCbl = myCb - 1;
+            myDecimalExponent = floorLog10ThreeQuartersPow2(parBinaryExponent);
+        }
+        final int myShift = parBinaryExponent + floorLog2Pow10(-myDecimalExponent) + DOUBLE_H_OFFSET;
+
+        final long myG1 = G[(myDecimalExponent - K_MIN) << 1];
+        final long myG0 = G[((myDecimalExponent - K_MIN) << 1) | 1];
+        final long myVb = roundToOdd(myG1, myG0, myCb << myShift);
+        final long myVbl = roundToOdd(myG1, myG0, myCbl << myShift);
+        final long myVbr = roundToOdd(myG1, myG0, myCbr << myShift);
+
+        final long myLower = myVb >> 2;
+        if (myLower >= DIGIT_PAIR_RADIX) {
+            final long mySp10 = DECIMAL_RADIX * (myLower / DECIMAL_RADIX);
+            final long myTp10 = mySp10 + DECIMAL_RADIX;
+            final boolean myUpIn = myVbl + myOut <= mySp10 << 2;
+            final boolean myWpIn = (myTp10 << 2) + myOut <= myVbr;
+            if (myUpIn != myWpIn) {
+                writeDecimal(pick(myUpIn, mySp10, myTp10), myDecimalExponent, parWriter);
+                return;
+            }
+        }
+
+        final long myUpper = myLower + 1;
+        final boolean myUIn = myVbl + myOut <= myLower << 2;
+        final boolean myWIn = (myUpper << 2) + myOut <= myVbr;
+        if (myUIn != myWIn) {
+            writeDecimal(pick(myUIn, myLower, myUpper), myDecimalExponent + parDk, parWriter);
+            return;
+        }
+
+        // both are in the interval, so take the closest (or the even one on a tie.)
+        final long myCmp = myVb - ((myLower + myUpper) << 1);
+        writeDecimal(pick(myCmp < 0 || myCmp == 0 && (myLower & 1) == 0, myLower, myUpper), myDecimalExponent + parDk,
+            parWriter);
+    }
+
+    /**
+     * Find the shortest decimal in the rounding interval of the significand * 2^exponent and write it.
+     */
+    private static void writeFloat(final int parBinaryExponent, final int parBinarySignificand, final int parDk,
+                                   final ICharacterWriter parWriter) throws IOException {
+        final int myOut = parBinarySignificand & 1;
+        final long myCb = (long) parBinarySignificand << 2;
+        final long myCbr = myCb + 2;
+        final long myCbl;
+        final int myDecimalExponent;
+        if (parBinarySignificand != FLOAT_C_MIN || parBinaryExponent == FLOAT_Q_MIN) {
+            myCbl = myCb - 2;
+            myDecimalExponent = floorLog10Pow2(parBinaryExponent);
+        } else {
+            myCbl = myCb - 1;
+            myDecimalExponent = floorLog10ThreeQuartersPow2(parBinaryExponent);
+        }
+        final int myShift = parBinaryExponent + floorLog2Pow10(-myDecimalExponent) + FLOAT_H_OFFSET;
+
+        final long myScale = G[(myDecimalExponent - K_MIN) << 1] + 1;
+        final long myVb = roundToOdd(myScale, myCb << myShift);
+        final long myVbl = roundToOdd(myScale, myCbl << myShift);
+        final long myVbr = roundToOdd(myScale, myCbr << myShift);
+
+        final long myLower = myVb >> 2;
+        if (myLower >= DIGIT_PAIR_RADIX) {
+            final long mySp10 = DECIMAL_RADIX * (myLower / DECIMAL_RADIX);
+            final long myTp10 = mySp10 + DECIMAL_RADIX;
+            final boolean myUpIn = myVbl + myOut <= mySp10 << 2;
+            final boolean myWpIn = (myTp10 << 2) + myOut <= myVbr;
+            if (myUpIn != myWpIn) {
+                writeDecimal(pick(myUpIn, mySp10, myTp10), myDecimalExponent, parWriter);
+                return;
+            }
+        }
+
+        final long myUpper = myLower + 1;
+        final boolean myUIn = myVbl + myOut <= myLower << 2;
+        final boolean myWIn = (myUpper << 2) + myOut <= myVbr;
+        if (myUIn != myWIn) {
+            writeDecimal(pick(myUIn, myLower, myUpper), myDecimalExponent + parDk, parWriter);
+            return;
+        }
+
+        // both are in the interval, so take the closest (or the even one on a tie.)
+        final long myCmp = myVb - ((myLower + myUpper) << 1);
+        writeDecimal(pick(myCmp < 0 || myCmp == 0 && (myLower & 1) == 0, myLower, myUpper), myDecimalExponent + parDk,
+            parWriter);
+    }
+
+    private static long pick(final boolean parFirst, final long parFirstValue, final long parSecondValue) {
+        if (parFirst) {
+            return parFirstValue;
+        }
+
+        return parSecondValue;
+    }
+
+    /**
+     * Write parSignificand * 10^parExponent in the format of Double.toString.
+     */
+    private static void writeDecimal(final long parSignificand, final int parExponent, final ICharacterWriter parWriter)
+            throws IOException {
+        long mySignificand = parSignificand;
+        int myExponent = parExponent;
+        while (mySignificand % DECIMAL_RADIX == 0) {
+            mySignificand /= DECIMAL_RADIX;
+            myExponent++;
+        }
+        final int myDigitCount = digitCount(mySignificand);
+        // the exponent when written as 0.ddd
+        final int myPointExponent = myExponent + myDigitCount;
+
+        if (myPointExponent > 0 && myPointExponent <= PLAIN_MAX_EXPONENT) {
+            final int myIntegerDigits = Math.min(myDigitCount, myPointExponent);
+            writeDigits(mySignificand, myDigitCount, 0, myIntegerDigits, parWriter);
+            writeZeros(myPointExponent - myIntegerDigits, parWriter);
+            parWriter.append(JSONSymbolCollection.Token.DECIMAL.getShortSymbol());
+            if (myDigitCount > myIntegerDigits) {
+                writeDigits(mySignificand, myDigitCount, myIntegerDigits, myDigitCount, parWriter);
+            } else {
+                parWriter.append('0');
+            }
+        } else if (myPointExponent > PLAIN_MIN_EXPONENT && myPointExponent <= 0) {
+            parWriter.append('0');
+            parWriter.append(JSONSymbolCollection.Token.DECIMAL.getShortSymbol());
+            writeZeros(-myPointExponent, parWriter);
+            writeDigits(mySignificand, myDigitCount, 0, myDigitCount, parWriter);
+        } else {
+            writeDigits(mySignificand, myDigitCount, 0, 1, parWriter);
+            parWriter.append(JSONSymbolCollection.Token.DECIMAL.getShortSymbol());
+            if (myDigitCount > 1) {
+                writeDigits(mySignificand, myDigitCount, 1, myDigitCount, parWriter);
+            } else {
+                parWriter.append('0');
+            }
+            parWriter.append('E');
+            writeLong(myPointExponent - 1, parWriter);
+        }
+    }
+
+    private static void writeNonFinite(final boolean parIsNaN, final boolean parIsNegative,
+                                       final ICharacterWriter parWriter) throws IOException {
+        if (parIsNaN) {
+            write(NAN, parWriter);
+        } else {
+            if (parIsNegative) {
+                parWriter.append('-');
+            }
+            write(INFINITY, parWriter);
+        }
+    }
+
+    /**
+     * Write the digits in [parStart, parEnd) of a non-negative value that has parDigitCount digits, two at a time.
+     */
+    private static void writeDigits(final long parValue, final int parDigitCount, final int parStart, final int parEnd,
+                                    final ICharacterWriter parWriter) throws IOException {
+        int myIndex = parStart;
+        if (((parEnd - parStart) & 1) != 0) {
+            parWriter.append((char) ('0' + (parValue / POWERS_OF_TEN[parDigitCount - 1 - myIndex]) % DECIMAL_RADIX));
+            myIndex++;
+        }
+        for (; myIndex < parEnd; myIndex += 2) {
+            final int myPair = (int) ((parValue / POWERS_OF_TEN[parDigitCount - 2 - myIndex]) % DIGIT_PAIR_RADIX);
+            parWriter.append(DIGIT_TENS[myPair]);
+            parWriter.append(DIGIT_ONES[myPair]);
+        }
+    }
+
+    private static void writeZeros(final int parCount, final ICharacterWriter parWriter) throws IOException {
+        for (int myIndex = 0; myIndex < parCount; myIndex++) {
+            parWriter.append('0');
+        }
+    }
+
+    private static void write(final char[] parChars, final ICharacterWriter parWriter) throws IOException {
+        for (final char myChar : parChars) {
+            parWriter.append(myChar);
+        }
+    }
+
+    private static int digitCount(final long parValue) {
+        int myCount = 1;
+        while (myCount < MAX_LONG_DIGITS && parValue >= POWERS_OF_TEN[myCount]) {
+            myCount++;
+        }
+
+        return myCount;
+    }
+
+    private static int floorLog10Pow2(final int parExponent) {
+        return (int) (parExponent * LOG10_2_Q41 >> Q41);
+    }
+
+    private static int floorLog10ThreeQuartersPow2(final int parExponent) {
+        return (int) (parExponent * LOG10_2_Q41 + LOG10_THREE_QUARTERS_Q41 >> Q41);
+    }
+
+    private static int floorLog2Pow10(final int parExponent) {
+        return (int) (parExponent * LOG2_10_Q38 >> Q38);
+    }
+
+    /**
+     * Compute (g1 * 2^63 + g0) * cp / 2^127, rounded to odd.
+     */
+    private static long roundToOdd(final long parG1, final long parG0, final long parCp) {
+        final long myX1 = multiplyHigh(parG0, parCp);
+        final long myY0 = parG1 * parCp;
+        final long myY1 = multiplyHigh(parG1, parCp);
+        final long myMiddle = (myY0 >>> 1) + myX1;
+        final long myVbp = myY1 + (myMiddle >>> G_LOW_BITS);
+
+        return myVbp | (myMiddle & MASK_63) + MASK_63 >>> G_LOW_BITS;
+    }
+
+    /**
+     * Compute g * cp / 2^95, rounded to odd.
+     */
+    private static long roundToOdd(final long parScale, final long parCp) {
+        final long myX1 = multiplyHigh(parScale, parCp);
+        final long myVbp = myX1 >>> FLOAT_ROP_SHIFT;
+
+        return myVbp | (myX1 & MASK_32) + MASK_32 >>> HALF_LONG_BITS;
+    }
+
+    /**
+     * The high 64 bits of the 128 bit product of two longs (Math.multiplyHigh is not available before Java 9.)
+     */
+    private static long multiplyHigh(final long parLeft, final long parRight) {
+        final long myX1 = parLeft >> HALF_LONG_BITS;
+        final long myX2 = parLeft & MASK_32;
+        final long myY1 = parRight >> HALF_LONG_BITS;
+        final long myY2 = parRight & MASK_32;
+        final long myZ2 = myX2 * myY2;
+        final long myMiddle = myX1 * myY2 + (myZ2 >>> HALF_LONG_BITS);
+        long myZ1 = myMiddle & MASK_32;
+        final long myZ0 = myMiddle >> HALF_LONG_BITS;
+        myZ1 += myX2 * myY1;
+
+        return myX1 * myY1 + myZ0 + (myZ1 >> HALF_LONG_BITS);
+    }
+
+    private static long[] buildPowersOfTen() {
+        final long[] myPowers = new long[MAX_LONG_DIGITS];
+        myPowers[0] = 1;
+        for (int myIndex = 1; myIndex < MAX_LONG_DIGITS; myIndex++) {
+            myPowers[myIndex] = myPowers[myIndex - 1] * DECIMAL_RADIX;
+        }
+
+        return myPowers;
+    }
+
+    private static long[] buildG() {
+        final long[] myTable = new long[(K_MAX - K_MIN + 1) << 1];
+        final BigInteger myLowMask = BigInteger.ONE.shiftLeft(G_LOW_BITS).subtract(BigInteger.ONE);
+        for (int myDecimalExponent = K_MIN; myDecimalExponent <= K_MAX; myDecimalExponent++) {
+            final BigInteger myBeta;
+            if (myDecimalExponent <= 0) {
+                final BigInteger myPower = BigInteger.TEN.pow(-myDecimalExponent);
+                final int myShift = myPower.bitLength() - G_BITS;
+                if (myShift >= 0) {
+                    myBeta = myPower.shiftRight(myShift);
+                } else {
+                    myBeta = myPower.shiftLeft(-myShift);
+                }
+            } else {
+                final BigInteger myPower = BigInteger.TEN.pow(myDecimalExponent);
+                myBeta = BigInteger.ONE.shiftLeft(G_BITS - 1 + myPower.bitLength()).divide(myPower);
+            }
+            final BigInteger myValue = myBeta.add(BigInteger.ONE);
+            myTable[(myDecimalExponent - K_MIN) << 1] = myValue.shiftRight(G_LOW_BITS).longValue();
+            myTable[((myDecimalExponent - K_MIN) << 1) | 1] = myValue.and(myLowMask).longValue();
+        }
+
+        return myTable;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.ObjectSerializer.SerializationSettings;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled plan for building instances of a class through a single constructor or static factory call. This is used
+ * for records (through their canonical constructor) and for classes with a JSONCreator. The read target and type of
+ * every parameter are resolved once, so reading an instance only collects the values into a positional argument
+ * array and makes one call.
+ *
+ * @exclude
+ */
+final class ObjectCreator {
+    private static final ObjectCreator NONE = new ObjectCreator(null, null, null, null);
+
+    private final transient AccessibleObject executable;
+    private final transient SerializationSettings[] parameters;
+    private final transient Type[] genericTypes;
+    private final transient Class<?>[] types;
+    private final transient Object[] defaults;
+
+    private ObjectCreator(final AccessibleObject parExecutable, final SerializationSettings[] parParameters,
+                          final Type[] parGenericTypes, final Class<?>[] parTypes) {
+        executable = parExecutable;
+        parameters = parParameters;
+        genericTypes = parGenericTypes;
+        types = parTypes;
+        if (parTypes == null) {
+            defaults = null;
+        } else {
+            defaults = new Object[parTypes.length];
+            for (int myIndex = 0; myIndex < parTypes.length; myIndex++) {
+                if (parTypes[myIndex].isPrimitive()) {
+                    // the only portable way to get the zero value of a primitive type.
+                    defaults[myIndex] = Array.get(Array.newInstance(parTypes[myIndex], 1), 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Build a plan for a class.
+     *
+     * @param parClass The class to build a plan for.
+     * @param parObjectSerializer The serializer to resolve read targets with.
+     * @return The plan, or null if the class is neither a record nor has a JSONCreator.
+     * @throws IOException On a failure to load the error message.
+     * @throws JSONException On an invalid JSONCreator.
+     */
+    static ObjectCreator compile(final Class<?> parClass, final ObjectSerializer parObjectSerializer)
+            throws IOException, JSONException {
+        final Field[] myComponents = new RecordReflector().getComponentFields(parClass);
+        if (myComponents != null) {
+            return compileRecord(parClass, myComponents, parObjectSerializer);
+        }
+
+        AccessibleObject myExecutable = null;
+        for (final Constructor<?> myConstructor : parClass.getDeclaredConstructors()) {
+            if (myConstructor.isAnnotationPresent(JSONCreator.class)) {
+                myExecutable = pickCreator(parClass, myExecutable, myConstructor);
+            }
+        }
+        for (final Method myMethod : parClass.getDeclaredMethods()) {
+            if (myMethod.isAnnotationPresent(JSONCreator.class)) {
+                if (!Modifier.isStatic(myMethod.getModifiers())
+                        || !parClass.isAssignableFrom(myMethod.getReturnType())) {
+                    throw invalidCreator(parClass);
+                }
+                myExecutable = pickCreator(parClass, myExecutable, myMethod);
+            }
+        }
+        if (myExecutable == null) {
+            return null;
+        }
+
+        return compileAnnotated(parClass, myExecutable, parObjectSerializer);
+    }
+
+    int getParameterCount() {
+        return parameters.length;
+    }
+
+    SerializationSettings getSerializationSettings(final int parIndex) {
+        return parameters[parIndex];
+    }
+
+    Type getGenericType(final int parIndex) {
+        return genericTypes[parIndex];
+    }
+
+    Class<?> getType(final int parIndex) {
+        return types[parIndex];
+    }
+
+    /**
+     * Build an instance. Null arguments of primitive parameters are replaced with their zero value.
+     *
+     * @param parObjectSerializer The serializer to make the call with.
+     * @param parArguments The arguments, in parameter order. This array is modified.
+     * @return The new instance.
+     */
+    Object newInstance(final ObjectSerializer parObjectSerializer, final Object[] parArguments) {
+        for (int myIndex = 0; myIndex < parArguments.length; myIndex++) {
+            if (parArguments[myIndex] == null) {
+                parArguments[myIndex] = defaults[myIndex];
+            }
+        }
+
+        return parObjectSerializer.construct(executable, parArguments);
+    }
+
+    private static ObjectCreator compileRecord(final Class<?> parClass, final Field[] parComponents,
+                                               final ObjectSerializer parObjectSerializer) throws JSONException {
+        final SerializationSettings[] myParameters = new SerializationSettings[parComponents.length];
+        final Type[] myGenericTypes = new Type[parComponents.length];
+        final Class<?>[] myTypes = new Class<?>[parComponents.length];
+        for (int myIndex = 0; myIndex < parComponents.length; myIndex++) {
+            myParameters[myIndex] = parObjectSerializer.getSerializationSettings(parComponents[myIndex]);
+            myGenericTypes[myIndex] = parComponents[myIndex].getGenericType();
+            myTypes[myIndex] = parComponents[myIndex].getType();
+        }
+
+        final Constructor<?> myConstructor;
+        try {
+            myConstructor = parClass.getDeclaredConstructor(myTypes);
+        } catch (final NoSuchMethodException myException) {
+            throw new JSONException(myException);
+        }
+        parObjectSerializer.makeAccessible(myConstructor);
+
+        return new ObjectCreator(myConstructor, myParameters, myGenericTypes, myTypes);
+    }
+
+    private static ObjectCreator compileAnnotated(final Class<?> parClass, final AccessibleObject parExecutable,
+                                                  final ObjectSerializer parObjectSerializer)
+            throws IOException, JSONException {
+        final Type[] myGenericTypes;
+        final Class<?>[] myTypes;
+        final Annotation[][] myAnnotations;
+        if (parExecutable instanceof Constructor) {
+            final Constructor<?> myConstructor = (Constructor<?>) parExecutable;
+            myGenericTypes = myConstructor.getGenericParameterTypes();
+            myTypes = myConstructor.getParameterTypes();
+            myAnnotations = myConstructor.getParameterAnnotations();
+        } else {
+            final Method myMethod = (Method) parExecutable;
+            myGenericTypes = myMethod.getGenericParameterTypes();
+            myTypes = myMethod.getParameterTypes();
+            myAnnotations = myMethod.getParameterAnnotations();
+        }
+        // implicit parameters (such as the outer instance of an inner class) have no generic type or annotations.
+        if (myGenericTypes.length != myTypes.length || myAnnotations.length != myTypes.length) {
+            throw invalidCreator(parClass);
+        }
+
+        final SerializationSettings[] myParameters = new SerializationSettings[myTypes.length];
+        for (int myIndex = 0; myIndex < myTypes.length; myIndex++) {
+            final Serialize mySerialize = findSerialize(myAnnotations[myIndex]);
+            // parameter names are not available at runtime, so every parameter must be named explicitly.
+            if (mySerialize == null || mySerialize.name().length == 0) {
+                throw invalidCreator(parClass);
+            }
+            myParameters[myIndex] = parObjectSerializer.getSerializationSettings(mySerialize, null);
+        }
+
+        parObjectSerializer.makeAccessible(parExecutable);
+
+        return new ObjectCreator(parExecutable, myParameters, myGenericTypes, myTypes);
+    }
+
+    private static AccessibleObject pickCreator(final Class<?> parClass, final AccessibleObject parCurrent,
+                                                final AccessibleObject parCandidate)
+            throws IOException, JSONException {
+        if (parCurrent != null) {
+            throw invalidCreator(parClass);
+        }
+
+        return parCandidate;
+    }
+
+    private static Serialize findSerialize(final Annotation[] parAnnotations) {
+        for (final Annotation myAnnotation : parAnnotations) {
+            if (myAnnotation instanceof Serialize) {
+                return (Serialize) myAnnotation;
+            }
+        }
+
+        return null;
+    }
+
+    private static JSONException invalidCreator(final Class<?> parClass) throws IOException {
+        return new JSONException(Messages.get(Messages.Key.ERROR_INVALID_CREATOR).replace(":class",
+            parClass.getName()));
+    }
+
+    /**
+     * Cache of compiled plans by class. Classes without a plan are cached too, so each class is only inspected once.
+     * The cache is safe for concurrent use.
+     */
+    static final class Cache {
+        private final transient ConcurrentMap<Class<?>, ObjectCreator> creators =
+            new ConcurrentHashMap<Class<?>, ObjectCreator>();
+        private final transient ObjectSerializer objectSerializer = new ObjectSerializer();
+
+        /**
+         * Get the plan for a class, compiling it if it is not yet cached.
+         *
+         * @param parClass The class to get a plan for.
+         * @return The plan, or null if the class is neither a record nor has a JSONCreator.
+         * @throws IOException On a failure to load the error message.
+         * @throws JSONException On an invalid JSONCreator.
+         */
+        ObjectCreator get(final Class<?> parClass) throws IOException, JSONException {
+            ObjectCreator myCreator = creators.get(parClass);
+            if (myCreator == null) {
+                myCreator = compile(parClass, objectSerializer);
+                if (myCreator == null) {
+                    myCreator = NONE;
+                }
+                creators.putIfAbsent(parClass, myCreator);
+            }
+
+            if (myCreator == NONE) {
+                return null;
+            }
+
+            return myCreator;
+        }
+    }
+}
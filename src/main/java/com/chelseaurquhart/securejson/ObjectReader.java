@@ -18,19 +18,17 @@ package com.chelseaurquhart.securejson;
 
 import com.chelseaurquhart.securejson.ObjectSerializer.SerializationSettings;
 
-import net.jodah.typetools.TypeResolver;
-
 import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -39,7 +37,6 @@ import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -147,6 +144,10 @@ final class ObjectReader<T> {
         if (myInitializer != null) {
             myInstance = (T) myInitializer.accept(parInput);
         } else {
+            final ObjectCreator myCreator = settings.getObjectCreators().get(clazz);
+            if (myCreator != null) {
+                return buildCreatedInstance(myCreator, parInput, parAbsMap);
+            }
             myInstance = objectSerializer.construct(clazz);
         }
 
@@ -168,6 +169,35 @@ final class ObjectReader<T> {
         return myInstance;
     }
 
+    private T buildCreatedInstance(final ObjectCreator parCreator, final Object parInput,
+                                   final Map<CharSequence, Object> parAbsMap) throws IOException, JSONException {
+        if (!objectSerializer.isMapType(parInput)) {
+            throw new JSONException(Messages.get(Messages.Key.ERROR_READ_OBJECT_FROM_NON_MAP_TYPE));
+        }
+        final Map<CharSequence, Object> myMap = objectSerializer.castToMap(parInput);
+        final Map<CharSequence, Object> myAbsMap;
+        if (parAbsMap == null) {
+            myAbsMap = myMap;
+        } else {
+            myAbsMap = parAbsMap;
+        }
+
+        final Object[] myArguments = new Object[parCreator.getParameterCount()];
+        for (int myIndex = 0; myIndex < myArguments.length; myIndex++) {
+            final SerializationSettings mySerializationSettings = parCreator.getSerializationSettings(myIndex);
+            final Object myValue;
+            if (mySerializationSettings.getStrategy() == Relativity.ABSOLUTE) {
+                myValue = extractFromMap(myAbsMap, mySerializationSettings.getTarget());
+            } else {
+                myValue = extractFromMap(myMap, mySerializationSettings.getTarget());
+            }
+            myArguments[myIndex] = buildValue(parCreator.getGenericType(myIndex), parCreator.getType(myIndex),
+                myValue, myAbsMap);
+        }
+
+        return (T) parCreator.newInstance(objectSerializer, myArguments);
+    }
+
     @SuppressWarnings("unchecked")
     private <U> Class<? extends U> getConcreteClass(final Class<? extends U> parClazz) throws IOException,
             JSONException {
@@ -179,7 +209,7 @@ final class ObjectReader<T> {
                 return (Class<? extends U>) HashSet.class;
             }
             if (parClazz == Collection.class || parClazz == AbstractCollection.class || parClazz == List.class) {
-                return (Class<? extends U>) LinkedList.class;
+                return (Class<? extends U>) ArrayList.class;
             }
         } catch (final ClassCastException myException) {
             throw new JSONException(myException);
@@ -325,7 +355,7 @@ final class ObjectReader<T> {
         return new ObjectReader<U>(parType, settings);
     }
 
-    private boolean canRecursivelyAccept(final Class<?> parFieldType) {
+    private boolean canRecursivelyAccept(final Class<?> parFieldType) throws IOException, JSONException {
         if (parFieldType.isArray() || parFieldType.isEnum()) {
             return false;
         }
@@ -335,7 +365,8 @@ final class ObjectReader<T> {
             }
         }
 
-        return true;
+        // instances built by a creator are read as a whole from their own value.
+        return settings.getObjectCreators().get(parFieldType) == null;
     }
 
     @SuppressWarnings("unchecked")
@@ -355,12 +386,18 @@ final class ObjectReader<T> {
             return buildMapValue(parGenericType, myType, (Map) parValue);
         } else if (isCollection(myType, parValue)) {
             return buildCollectionValue(parGenericType, myType, (Collection) parValue);
+        } else if (myType == char[].class && parValue instanceof CharSequence) {
+            return buildCharArrayValue((CharSequence) parValue);
+        } else if (myType == byte[].class && parValue instanceof CharSequence) {
+            return Base64.decode((CharSequence) parValue);
         } else if (isArray(myType, parValue)) {
             return buildArrayValue(myType, parValue);
         } else if (isBoolean(myType, parValue)) {
             return parValue;
         } else if (isNumber(myType, parValue)) {
             return buildNumberValue(myType, (Number) parValue);
+        } else if (isCharacter(myType, parValue)) {
+            return buildCharacterValue((CharSequence) parValue);
         } else if (CharSequence.class.isAssignableFrom(myType)) {
             return buildStringValue(myType, (CharSequence) parValue, settings.isStrictStrings());
         } else if (isEnum(myType, parValue)) {
@@ -387,7 +424,11 @@ final class ObjectReader<T> {
     }
 
     private boolean isArray(final Class<?> parType, final Object parValue) {
-        return parType.isArray() && parValue.getClass().isArray();
+        return parType.isArray() && (parValue.getClass().isArray() || parValue instanceof Collection);
+    }
+
+    private boolean isCharacter(final Class<?> parType, final Object parValue) {
+        return (parType == char.class || parType == Character.class) && parValue instanceof CharSequence;
     }
 
     private boolean isCollection(final Class<?> parType, final Object parValue) {
@@ -436,10 +477,11 @@ final class ObjectReader<T> {
     @SuppressWarnings("unchecked")
     private Object buildMapValue(final Type parGenericType, final Class<?> parType, final Map<?, ?> parValue)
             throws IOException, JSONException {
-        final Type myType = TypeResolver.resolveGenericType(parType, parGenericType);
-        final Class<?>[] myClasses = getGenericArgClasses(myType, 2, parType);
+        final GenericTypeCache.TypeArguments myArguments = settings.getGenericTypeCache().get(parType,
+            parGenericType, 2);
+        final Class<?> myKeyClass = myArguments.getRawType(0);
 
-        if (!CharSequence.class.isAssignableFrom(myClasses[0]) && myClasses[0] != Object.class) {
+        if (!CharSequence.class.isAssignableFrom(myKeyClass) && myKeyClass != Object.class) {
             throw new JSONException(Messages.get(Messages.Key.ERROR_INVALID_MAP_KEY_TYPE));
         }
 
@@ -449,12 +491,13 @@ final class ObjectReader<T> {
         } catch (final ClassCastException myException) {
             throw new JSONException(myException);
         }
-        final Type[] myArgs = getGenericTypes(myType, 2);
+        final Type myValueType = myArguments.getType(1);
+        final Class<?> myValueClass = myArguments.getRawType(1);
         for (final Map.Entry<?, ?> myEntry : parValue.entrySet()) {
-            final Object myKey = buildStringValue(myClasses[0], (CharSequence) myEntry.getKey(),
+            final Object myKey = buildStringValue(myKeyClass, (CharSequence) myEntry.getKey(),
                 settings.isStrictMapKeyTypes());
 
-            myMap.put(myKey, buildValue(myArgs[1], myClasses[1], myEntry.getValue(), null));
+            myMap.put(myKey, buildValue(myValueType, myValueClass, myEntry.getValue(), null));
         }
 
         return myMap;
@@ -469,26 +512,51 @@ final class ObjectReader<T> {
         } catch (final ClassCastException myException) {
             throw new JSONException(myException);
         }
-        final Type myType = TypeResolver.resolveGenericType(parType, parGenericType);
-        final Type[] myArgs = getGenericTypes(myType, 1);
-        final Class<?>[] myClasses = getGenericArgClasses(myType, 1, parType);
+        final GenericTypeCache.TypeArguments myArguments = settings.getGenericTypeCache().get(parType,
+            parGenericType, 1);
+        final Type myElementType = myArguments.getType(0);
+        final Class<?> myElementClass = myArguments.getRawType(0);
         for (final Object myEntry : parValue) {
-            myCollection.add(buildValue(myArgs[0], myClasses[0], myEntry, null));
+            myCollection.add(buildValue(myElementType, myElementClass, myEntry, null));
         }
 
         return myCollection;
     }
 
+    private char[] buildCharArrayValue(final CharSequence parValue) {
+        final char[] myChars = new char[parValue.length()];
+        for (int myIndex = 0; myIndex < myChars.length; myIndex++) {
+            myChars[myIndex] = parValue.charAt(myIndex);
+        }
+
+        return myChars;
+    }
+
+    private Character buildCharacterValue(final CharSequence parValue) throws IOException, JSONException {
+        if (parValue.length() != 1) {
+            throw new JSONException(Messages.get(Messages.Key.ERROR_INVALID_TOKEN));
+        }
+
+        return parValue.charAt(0);
+    }
+
     @SuppressWarnings("unchecked")
     private Object buildArrayValue(final Class<?> parType, final Object parValue)
             throws IOException, JSONException {
         final Class<?> myClass = parType.getComponentType();
 
-        final int myLength = Array.getLength(parValue);
+        // JSON arrays are read as lists.
+        final Object myValues;
+        if (parValue instanceof Collection) {
+            myValues = ((Collection<?>) parValue).toArray();
+        } else {
+            myValues = parValue;
+        }
+        final int myLength = Array.getLength(myValues);
         final Object myArray = Array.newInstance(myClass, myLength);
         for (int myIndex = 0; myIndex < myLength; myIndex++) {
             try {
-                final Object myValue = Array.get(parValue, myIndex);
+                final Object myValue = Array.get(myValues, myIndex);
                 Array.set(myArray, myIndex, buildValue(myClass, myClass, myValue, null));
             } catch (final IllegalArgumentException myException) {
                 throw new JSONException(myException);
@@ -498,39 +566,6 @@ final class ObjectReader<T> {
         return myArray;
     }
 
-    private Type[] getGenericTypes(final Type parType, final int parCount) {
-        final Type[] myTypes;
-        if (parType instanceof ParameterizedType) {
-            final ParameterizedType myParameterizedType = (ParameterizedType) parType;
-            myTypes = myParameterizedType.getActualTypeArguments();
-        } else {
-            myTypes = new Type[parCount];
-            Arrays.fill(myTypes, Object.class);
-        }
-
-        return myTypes;
-    }
-
-    private Class<?>[] getGenericArgClasses(final Type parGenericType, final int parCount,
-                                            final Class<?> parInterfaceClass) {
-        final Class<?>[] myClasses = TypeResolver.resolveRawArguments(parGenericType, parInterfaceClass);
-
-        if (myClasses == null) {
-            final Class<?>[] myDefaultClasses = new Class<?>[parCount];
-            Arrays.fill(myDefaultClasses, Object.class);
-
-            return myDefaultClasses;
-        }
-
-        for (int myIndex = 0; myIndex < myClasses.length; myIndex++) {
-            if (myClasses[myIndex] == TypeResolver.Unknown.class) {
-                myClasses[myIndex] = Object.class;
-            }
-        }
-
-        return myClasses;
-    }
-
     private Object buildNumberValue(final Class<?> parType, final Number parValue) throws JSONException {
         // Convert to the expected data type.
         try {
@@ -580,7 +615,7 @@ final class ObjectReader<T> {
             if (myMap == null) {
                 return null;
             }
-            myResult = myMap.get(myTarget);
+            myResult = getByContent(myMap, myTarget);
 
             if (myResult == null) {
                 return null;
@@ -596,6 +631,24 @@ final class ObjectReader<T> {
         return myResult;
     }
 
+    private Object getByContent(final Map<CharSequence, Object> parMap, final CharSequence parKey) {
+        final Object myResult = parMap.get(parKey);
+        if (myResult != null || parMap instanceof SecureKeyMap || parMap instanceof LazyDocument.LazyMap) {
+            return myResult;
+        }
+
+        // the map did not come from our reader, so its keys may be buffers without hashCode/equals. Fall back to
+        // comparing content.
+        for (final Map.Entry<?, Object> myEntry : parMap.entrySet()) {
+            final Object myKey = myEntry.getKey();
+            if (myKey instanceof CharSequence && SecureKeyMap.contentEquals((CharSequence) myKey, parKey)) {
+                return myEntry.getValue();
+            }
+        }
+
+        return null;
+    }
+
     /**
      * IdentityHashMap-backed set.
      *
@@ -18,9 +18,11 @@ package com.chelseaurquhart.securejson;
 
 import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
 
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -39,20 +41,23 @@ final class ObjectSerializer {
     private final ObjectReflector objectReflector = new ObjectReflector();
 
     SerializationSettings getSerializationSettings(final Field parField) {
-        final Serialize myAnnotation = parField.getAnnotation(Serialize.class);
+        return getSerializationSettings(parField.getAnnotation(Serialize.class), parField.getName());
+    }
+
+    SerializationSettings getSerializationSettings(final Serialize parAnnotation, final String parDefaultName) {
         String[] mySerializationTarget = null;
         Relativity mySerializationTargetStrategy = Relativity.RELATIVE;
 
-        if (myAnnotation != null) {
-            final String[] myValue = myAnnotation.name();
+        if (parAnnotation != null) {
+            final String[] myValue = parAnnotation.name();
             if (myValue.length > 0) {
                 mySerializationTarget = myValue;
             }
-            mySerializationTargetStrategy = myAnnotation.relativeTo();
+            mySerializationTargetStrategy = parAnnotation.relativeTo();
         }
 
         if (mySerializationTarget == null) {
-            mySerializationTarget = new String[]{parField.getName()};
+            mySerializationTarget = new String[]{parDefaultName};
         }
 
         return new SerializationSettings(mySerializationTarget, mySerializationTargetStrategy);
@@ -60,7 +65,7 @@ final class ObjectSerializer {
 
     boolean isSimpleType(final Object parInput) {
         return parInput == null || parInput instanceof Number || parInput instanceof CharSequence
-            || parInput instanceof Boolean;
+            || parInput instanceof Boolean || parInput instanceof Character;
     }
 
     boolean isCollectionType(final Object parInput) {
@@ -197,6 +202,54 @@ final class ObjectSerializer {
             });
     }
 
+    /**
+     * Make a constructor or method accessible for good. This is for executables that are cached and shared between
+     * threads, where resetting the flag after each call would race with other callers.
+     *
+     * @param parExecutable The constructor or method.
+     */
+    void makeAccessible(final AccessibleObject parExecutable) {
+        AccessController.doPrivileged(new PrivilegedAction<Void>() {
+                @Override
+                public Void run() {
+                    // RuntimeException because we need to catch InaccessibleObjectException
+                    // but also compile pre-java 9.
+                    try {
+                        parExecutable.setAccessible(true);
+                    } catch (final RuntimeException myException) {
+                        throw new JSONRuntimeException(myException);
+                    }
+
+                    return null;
+                }
+            });
+    }
+
+    /**
+     * Build an instance through a constructor or static factory method that was made accessible by makeAccessible.
+     *
+     * @param parExecutable The constructor or method.
+     * @param parArguments The arguments to pass.
+     * @return The new instance.
+     */
+    Object construct(final AccessibleObject parExecutable, final Object[] parArguments) {
+        try {
+            if (parExecutable instanceof Constructor) {
+                return ((Constructor<?>) parExecutable).newInstance(parArguments);
+            }
+
+            return ((Method) parExecutable).invoke(null, parArguments);
+        } catch (final InstantiationException myException) {
+            throw new JSONRuntimeException(myException);
+        } catch (final IllegalAccessException myException) {
+            throw new JSONRuntimeException(myException);
+        } catch (final InvocationTargetException myException) {
+            throw new JSONRuntimeException(myException);
+        } catch (final IllegalArgumentException myException) {
+            throw new JSONRuntimeException(myException);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     Map<CharSequence, Object> castToMap(final Object parValue) throws JSONException {
         try {
@@ -55,6 +55,9 @@ final class ObjectWriter implements IObjectMutator {
 
         if (objectSerializer.isSimpleType(myInput)) {
             return myInput;
+        } else if (objectSerializer.isArrayType(myInput) && myInput.getClass().getComponentType().isPrimitive()) {
+            // JSONWriter has a dedicated loop for each primitive array type.
+            return myInput;
         } else if (objectSerializer.isArrayType(myInput)) {
             final Object[] myArray = (Object[]) myInput;
             final Object[] myOutput = new Object[myArray.length];
@@ -80,6 +83,9 @@ final class ObjectWriter implements IObjectMutator {
                 myOutput.put((CharSequence) myKey, accept(myEntry.getValue(), parRelMap, parAbsMap));
             }
             return myOutput;
+        } else if (Iterators.isIterable(myInput)) {
+            // JSONWriter pulls these lazily and passes each element back through us, so do not copy them here.
+            return myInput;
         } else if (objectSerializer.isEnumType(myInput)) {
             return myInput.toString();
         } else {
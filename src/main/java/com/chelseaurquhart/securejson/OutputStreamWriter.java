@@ -16,33 +16,25 @@
 
 package com.chelseaurquhart.securejson;
 
+import java.io.IOException;
 import java.io.OutputStream;
-import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
 
 /**
  * @exclude
  */
-class OutputStreamWriter implements ICharacterWriter {
-    private final PrintStream outputStream;
+class OutputStreamWriter extends Utf8CharacterWriter {
+    private final transient OutputStream outputStream;
 
-    OutputStreamWriter(final OutputStream parOutputStream, final Charset parCharset)
-            throws UnsupportedEncodingException {
-        outputStream = new PrintStream(parOutputStream, false, parCharset.name());
+    OutputStreamWriter(final OutputStream parOutputStream) {
+        // OutputStream only accepts arrays, so a direct block would need copying into one anyway.
+        super(ByteBuffer.wrap(new byte[DEFAULT_BLOCK_SIZE]));
+        outputStream = parOutputStream;
     }
 
     @Override
-    public void append(final char parChar) {
-        outputStream.append(parChar);
-    }
-
-    @Override
-    public void append(final CharSequence parChars) {
-        final int myCharsLength = parChars.length();
-        // PrintStream.append(CharSequence) converts to a string so we need to go character-by-character ourselves.
-        for (int myIndex = 0; myIndex < myCharsLength; myIndex++) {
-            outputStream.append(parChars.charAt(myIndex));
-        }
+    void drain(final ByteBuffer parBytes) throws IOException {
+        outputStream.write(parBytes.array(), parBytes.arrayOffset() + parBytes.position(), parBytes.remaining());
+        parBytes.position(parBytes.limit());
     }
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Parses the elements of a large top level array concurrently. Each task has its own JSONReader so no parser state is
+ * shared between threads. The readers stay open, and so keep the buffers they produced alive, until this is closed.
+ *
+ * @exclude
+ */
+final class ParallelArrayReader implements Closeable, IAutoCloseable {
+    private static final int TASKS_PER_PROCESSOR = 4;
+    private static final int BYTE_MASK = 0xff;
+
+    private final transient Settings settings;
+    private final transient List<JSONReader> readers = new ArrayList<JSONReader>();
+
+    ParallelArrayReader(final Settings parSettings) {
+        settings = parSettings;
+    }
+
+    /**
+     * Read parJson if it is an array, or return null if it could not be split and must be read sequentially.
+     *
+     * @param parJson The document to read.
+     * @return The array elements, in order, or null.
+     * @throws IOException On read failure.
+     * @throws JSONException On parse failure.
+     */
+    List<Object> read(final CharSequence parJson) throws IOException, JSONException {
+        final int[] myBounds = ArraySplitter.split(parJson);
+        if (myBounds == null) {
+            return null;
+        }
+
+        return read(myBounds, new IFunction<Integer, ICharacterIterator>() {
+            @Override
+            public ICharacterIterator accept(final Integer parIndex) {
+                final int myStart = myBounds[parIndex];
+                return new IterableCharSequence(new Range(parJson, myStart, myBounds[parIndex + 1]), myStart);
+            }
+        });
+    }
+
+    /**
+     * Read parJson if it is a UTF-8 array, or return null if it could not be split and must be read sequentially.
+     *
+     * @param parJson The document to read.
+     * @return The array elements, in order, or null.
+     * @throws IOException On read failure.
+     * @throws JSONException On parse failure.
+     */
+    List<Object> read(final byte[] parJson) throws IOException, JSONException {
+        // every structural character is ASCII and never appears within a UTF-8 multi-byte sequence, so the bytes can
+        // be scanned as-is. Anything with a BOM or a wider encoding is left to the sequential reader.
+        final int[] myBounds = ArraySplitter.split(new Range(parJson));
+        if (myBounds == null) {
+            return null;
+        }
+
+        return read(myBounds, new IFunction<Integer, ICharacterIterator>() {
+            @Override
+            public ICharacterIterator accept(final Integer parIndex) {
+                final int myStart = myBounds[parIndex];
+                return new IterableByteBuffer(ByteBuffer.wrap(parJson, myStart, myBounds[parIndex + 1] - myStart),
+                    myStart);
+            }
+        });
+    }
+
+    private List<Object> read(final int[] parBounds, final IFunction<Integer, ICharacterIterator> parIteratorFactory)
+            throws IOException, JSONException {
+        final int myElementCount = parBounds.length / 2;
+        final Object[] myResults = new Object[myElementCount];
+        final int myTaskCount = Math.max(1, Math.min(myElementCount,
+            Runtime.getRuntime().availableProcessors() * TASKS_PER_PROCESSOR));
+        final List<FutureTask<Void>> myTasks = new ArrayList<FutureTask<Void>>(myTaskCount);
+        final ExecutorService myExecutor = settings.getParallelExecutor();
+
+        try {
+            for (int myTask = 0; myTask < myTaskCount; myTask++) {
+                final int myFirst = (int) ((long) myElementCount * myTask / myTaskCount);
+                final int myLast = (int) ((long) myElementCount * (myTask + 1) / myTaskCount);
+                final JSONReader myReader = new JSONReader.Builder(settings).build();
+                readers.add(myReader);
+                final FutureTask<Void> myFutureTask = new FutureTask<Void>(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException, JSONException {
+                        for (int myIndex = myFirst; myIndex < myLast; myIndex++) {
+                            myResults[myIndex] = myReader.read(parIteratorFactory.accept(myIndex * 2));
+                        }
+
+                        return null;
+                    }
+                });
+                myTasks.add(myFutureTask);
+                try {
+                    myExecutor.execute(myFutureTask);
+                } catch (final RejectedExecutionException myException) {
+                    // Allowed empty block: the task is run on this thread below.
+                }
+            }
+
+            // work through every task that no executor thread has started yet, including any that were rejected.
+            // Running a task that has already started (or finished) does nothing, so we only ever wait for tasks that
+            // are actually running elsewhere. This keeps us from deadlocking when called from a thread of a saturated
+            // executor.
+            for (final FutureTask<Void> myTask : myTasks) {
+                myTask.run();
+            }
+            for (final FutureTask<Void> myTask : myTasks) {
+                await(myTask);
+            }
+        } finally {
+            // on failure, let the remaining tasks finish so none of them creates buffers after close has wiped ours.
+            for (final FutureTask<Void> myTask : myTasks) {
+                awaitQuietly(myTask);
+            }
+        }
+
+        return new ArrayList<Object>(Arrays.asList(myResults));
+    }
+
+    private void await(final Future<Void> parFuture) throws IOException, JSONException {
+        try {
+            parFuture.get();
+        } catch (final InterruptedException myException) {
+            Thread.currentThread().interrupt();
+            throw new JSONException(myException);
+        } catch (final ExecutionException myException) {
+            final Throwable myCause = myException.getCause();
+            if (myCause instanceof JSONException) {
+                throw (JSONException) myCause;
+            } else if (myCause instanceof IOException) {
+                throw (IOException) myCause;
+            } else if (myCause instanceof RuntimeException) {
+                throw (RuntimeException) myCause;
+            }
+
+            throw new JSONException(myCause);
+        }
+    }
+
+    private void awaitQuietly(final Future<Void> parFuture) {
+        try {
+            parFuture.get();
+        } catch (final InterruptedException myException) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException myException) {
+            // Allowed empty block: we are already failing because of an earlier error.
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException myException = null;
+        for (final JSONReader myReader : readers) {
+            try {
+                myReader.close();
+            } catch (final IOException myIoException) {
+                myException = myIoException;
+            }
+        }
+        readers.clear();
+
+        if (myException != null) {
+            throw myException;
+        }
+    }
+
+    /**
+     * Read-only window onto part of a CharSequence, or onto a byte buffer with each byte as a character. Elements are
+     * parsed through this rather than subSequence so that no copy of the document is made.
+     */
+    static final class Range implements CharSequence {
+        private final transient CharSequence chars;
+        private final transient ByteBuffer bytes;
+        private final transient int start;
+        private final transient int end;
+
+        Range(final CharSequence parChars, final int parStart, final int parEnd) {
+            chars = parChars;
+            bytes = null;
+            start = parStart;
+            end = parEnd;
+        }
+
+        Range(final byte[] parBytes) {
+            this(ByteBuffer.wrap(parBytes), 0, parBytes.length);
+        }
+
+        /**
+         * @param parBytes The buffer to view. Indexes are absolute, so its position does not matter.
+         * @param parStart The index of the first byte.
+         * @param parEnd The index after the last byte.
+         */
+        Range(final ByteBuffer parBytes, final int parStart, final int parEnd) {
+            chars = null;
+            bytes = parBytes;
+            start = parStart;
+            end = parEnd;
+        }
+
+        private Range(final Range parParent, final int parStart, final int parEnd) {
+            chars = parParent.chars;
+            bytes = parParent.bytes;
+            start = parParent.start + parStart;
+            end = parParent.start + parEnd;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(final int parIndex) {
+            if (bytes == null) {
+                return chars.charAt(start + parIndex);
+            }
+
+            return (char) (bytes.get(start + parIndex) & BYTE_MASK);
+        }
+
+        @Override
+        public CharSequence subSequence(final int parStart, final int parEnd) {
+            return new Range(this, parStart, parEnd);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder myBuilder = new StringBuilder(length());
+            for (int myIndex = 0; myIndex < length(); myIndex++) {
+                myBuilder.append(charAt(myIndex));
+            }
+
+            return myBuilder.toString();
+        }
+    }
+}
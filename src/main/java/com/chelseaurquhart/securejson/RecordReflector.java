@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.lang.reflect.Field;
+
+/**
+ * Access to record components. Records do not exist before Java 16, so no class is a record here.
+ *
+ * @exclude
+ */
+final class RecordReflector {
+    /**
+     * Get the fields backing the components of a record, in declaration order.
+     *
+     * @param parClass The class to inspect.
+     * @return The component fields, or null if the class is not a record.
+     */
+    Field[] getComponentFields(final Class<?> parClass) {
+        return null;
+    }
+}
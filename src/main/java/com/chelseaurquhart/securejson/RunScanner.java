@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Finds the end of runs of characters that need no processing: string characters other than quotes, backslashes and
+ * control characters, and whitespace. Byte buffers are scanned a long (8 bytes) at a time using SIMD-within-a-register
+ * bit tricks; arrays and sequences are scanned with a plain loop, which still avoids going through the iterator for
+ * each character.
+ *
+ * @exclude
+ */
+final class RunScanner {
+    private static final int BYTES_IN_LONG = 8;
+    private static final int BYTE_MASK = 0xff;
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_SEVEN_BITS = 0x7f7f7f7f7f7f7f7fL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    // bytes below 0x20 have none of these bits set.
+    private static final long CONTROL_BITS = 0xe0e0e0e0e0e0e0e0L;
+    private static final long QUOTES = '"' * ONES;
+    private static final long BACKSLASHES = '\\' * ONES;
+    private static final long SPACES = ' ' * ONES;
+    private static final long TABS = '\t' * ONES;
+    private static final long LINE_FEEDS = '\n' * ONES;
+    private static final long CARRIAGE_RETURNS = '\r' * ONES;
+
+    private RunScanner() {
+    }
+
+    /**
+     * Find the first quote, backslash or control character at or after parStart.
+     *
+     * @param parBytes The bytes to scan. Reads are absolute, and must be little-endian.
+     * @param parStart The index to start at.
+     * @param parEnd The index to stop at.
+     * @return The index of the first such byte, or parEnd.
+     */
+    static int findStringEnd(final ByteBuffer parBytes, final int parStart, final int parEnd) {
+        int myIndex = parStart;
+        while (myIndex + BYTES_IN_LONG <= parEnd) {
+            final long myWord = parBytes.getLong(myIndex);
+            final long myMatches = zeroBytes(myWord ^ QUOTES) | zeroBytes(myWord ^ BACKSLASHES)
+                | zeroBytes(myWord & CONTROL_BITS);
+            if (myMatches != 0) {
+                return myIndex + firstByte(myMatches);
+            }
+            myIndex += BYTES_IN_LONG;
+        }
+        while (myIndex < parEnd && isStringChar((char) (parBytes.get(myIndex) & BYTE_MASK))) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+
+    /**
+     * Find the first non-whitespace byte at or after parStart.
+     *
+     * @param parBytes The bytes to scan. Reads are absolute, and must be little-endian.
+     * @param parStart The index to start at.
+     * @param parEnd The index to stop at.
+     * @return The index of the first such byte, or parEnd.
+     */
+    static int findWhitespaceEnd(final ByteBuffer parBytes, final int parStart, final int parEnd) {
+        int myIndex = parStart;
+        while (myIndex + BYTES_IN_LONG <= parEnd) {
+            final long myWord = parBytes.getLong(myIndex);
+            final long myWhitespace = zeroBytes(myWord ^ SPACES) | zeroBytes(myWord ^ TABS)
+                | zeroBytes(myWord ^ LINE_FEEDS) | zeroBytes(myWord ^ CARRIAGE_RETURNS);
+            final long myOthers = ~myWhitespace & HIGH_BITS;
+            if (myOthers != 0) {
+                return myIndex + firstByte(myOthers);
+            }
+            myIndex += BYTES_IN_LONG;
+        }
+        while (myIndex < parEnd && isWhitespace((char) (parBytes.get(myIndex) & BYTE_MASK))) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+
+    static int findStringEnd(final char[] parChars, final int parStart, final int parEnd) {
+        int myIndex = parStart;
+        while (myIndex < parEnd && isStringChar(parChars[myIndex])) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+
+    static int findWhitespaceEnd(final char[] parChars, final int parStart, final int parEnd) {
+        int myIndex = parStart;
+        while (myIndex < parEnd && isWhitespace(parChars[myIndex])) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+
+    static int findStringEnd(final CharSequence parChars, final int parStart, final int parEnd) {
+        int myIndex = parStart;
+        while (myIndex < parEnd && isStringChar(parChars.charAt(myIndex))) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+
+    static int findWhitespaceEnd(final CharSequence parChars, final int parStart, final int parEnd) {
+        int myIndex = parStart;
+        while (myIndex < parEnd && isWhitespace(parChars.charAt(myIndex))) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+
+    /**
+     * Prepare a buffer for the long reads above.
+     *
+     * @param parBytes The buffer.
+     * @return A view of the buffer's remaining bytes, indexed from 0, with little-endian order.
+     */
+    static ByteBuffer littleEndianSlice(final ByteBuffer parBytes) {
+        return parBytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static boolean isStringChar(final char parChar) {
+        return parChar != '"' && parChar != '\\' && parChar >= JSONSymbolCollection.MIN_ALLOWED_ASCII_CODE;
+    }
+
+    static boolean isWhitespace(final char parChar) {
+        return parChar == ' ' || parChar == '\t' || parChar == '\n' || parChar == '\r';
+    }
+
+    /**
+     * Set the high bit of each byte of parWord that is zero, and clear every other bit. Unlike the shorter
+     * (x - 0x01..) &amp; ~x form, this has no false positives, so every set bit can be trusted.
+     */
+    private static long zeroBytes(final long parWord) {
+        return ~(((parWord & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | parWord | LOW_SEVEN_BITS);
+    }
+
+    private static int firstByte(final long parHighBits) {
+        return Long.numberOfTrailingZeros(parHighBits) / BYTES_IN_LONG;
+    }
+}
@@ -18,13 +18,17 @@ package com.chelseaurquhart.securejson;
 
 import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
 
-import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * SecureJSON is a JSON serializer and deserializer with strict security in mind. It does not create strings due to
@@ -40,6 +44,8 @@ import java.util.Map;
  * </p>
  */
 public final class SecureJSON {
+    private static final int DEFAULT_LINES_FLUSH_INTERVAL = 64;
+
     private final Settings settings;
 
     /**
@@ -121,11 +127,259 @@ public final class SecureJSON {
         writeJSON(new IThrowableConsumer<JSONWriter>() {
             @Override
             public void accept(final JSONWriter parWriter) throws IOException, JSONException {
-                parWriter.write(parInput, new OutputStreamWriter(parOutputStream, StandardCharsets.UTF_8));
+                final OutputStreamWriter myOutputStreamWriter = new OutputStreamWriter(parOutputStream);
+                try {
+                    parWriter.write(parInput, myOutputStreamWriter);
+                } finally {
+                    myOutputStreamWriter.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Convert an object to a JSON string, writing UTF-8 to the provided channel. Writes are made in blocks, and a
+     * non-blocking channel is retried until it accepts each block. If encoding fails, the block still pending is wiped
+     * rather than written, but blocks already written cannot be taken back.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        try (final FileChannel channel = FileChannel.open(Paths.get("file.json"), StandardOpenOption.WRITE)) {
+     *            secureJSON.toJSON(Arrays.asList("1", 2, "three"), channel);
+     *        } catch (final JSONEncodeException e) {
+     *        }
+     *     </code>
+     *
+     * @param parInput The input object to toJSONAble to JSON.
+     * @param parChannel The channel to write to.
+     * @throws JSONEncodeException On encode failure.
+     */
+    public void toJSON(final Object parInput, final WritableByteChannel parChannel) throws JSONEncodeException {
+        Objects.requireNonNull(parChannel);
+
+        writeJSON(new IThrowableConsumer<JSONWriter>() {
+            @Override
+            public void accept(final JSONWriter parWriter) throws IOException, JSONException {
+                final ByteChannelWriter myChannelWriter = new ByteChannelWriter(parChannel);
+                boolean mySucceeded = false;
+                try {
+                    parWriter.write(parInput, myChannelWriter);
+                    mySucceeded = true;
+                } finally {
+                    if (mySucceeded) {
+                        myChannelWriter.close();
+                    } else {
+                        myChannelWriter.discard();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Convert an object to a JSON string, writing UTF-8 to the provided buffer starting at its position. On success
+     * the position is advanced past the JSON. If the JSON does not fit, the buffer is left as it was and
+     * BufferTooSmallException is thrown with the number of bytes needed, so the call can be retried with a larger
+     * buffer. If encoding fails for any other reason, the buffer is also left as it was.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+     *        try {
+     *            secureJSON.toJSON(Arrays.asList("1", 2, "three"), buffer);
+     *        } catch (final JSONEncodeException.BufferTooSmallException e) {
+     *            buffer = ByteBuffer.allocateDirect(e.getRequiredSize());
+     *            secureJSON.toJSON(Arrays.asList("1", 2, "three"), buffer);
+     *        }
+     *     </code>
+     *
+     * @param parInput The input object to toJSONAble to JSON.
+     * @param parByteBuffer The buffer to write to.
+     * @throws JSONEncodeException On encode failure, or JSONEncodeException.BufferTooSmallException if the JSON does
+     *                             not fit.
+     */
+    public void toJSON(final Object parInput, final ByteBuffer parByteBuffer) throws JSONEncodeException {
+        Objects.requireNonNull(parByteBuffer);
+
+        writeJSON(new IThrowableConsumer<JSONWriter>() {
+            @Override
+            public void accept(final JSONWriter parWriter) throws IOException, JSONException {
+                final ByteBufferWriter myBufferWriter = new ByteBufferWriter(parByteBuffer);
+                boolean mySucceeded = false;
+                try {
+                    parWriter.write(parInput, myBufferWriter);
+                    mySucceeded = true;
+                } finally {
+                    if (mySucceeded) {
+                        myBufferWriter.close();
+                    } else {
+                        myBufferWriter.discard();
+                    }
+                }
+                myBufferWriter.checkCapacity();
+            }
+        });
+    }
+
+    /**
+     * Create a generator that writes a JSON document to the provided stream as UTF-8, one token at a time. The
+     * generator must be closed to flush its output.
+     *
+     * @param parOutputStream The stream to write to.
+     * @return A new generator.
+     */
+    public JSONGenerator createGenerator(final OutputStream parOutputStream) {
+        Objects.requireNonNull(parOutputStream);
+
+        final OutputStreamWriter myOutputStreamWriter = new OutputStreamWriter(parOutputStream);
+
+        return new JSONGenerator(new JSONWriter(new ObjectWriter(), settings), myOutputStreamWriter,
+            myOutputStreamWriter);
+    }
+
+    /**
+     * Create a generator that appends a JSON document to the provided buffer, one token at a time.
+     *
+     * @param parBuffer The buffer to append to. It is not closed when the generator is.
+     * @return A new generator.
+     */
+    public JSONGenerator createGenerator(final IWritableCharSequence parBuffer) {
+        Objects.requireNonNull(parBuffer);
+
+        return new JSONGenerator(new JSONWriter(new ObjectWriter(), settings), parBuffer, null);
+    }
+
+    /**
+     * Create a writer that writes records to the provided stream as JSON Lines, flushing the stream every 64 records.
+     * The writer must be closed to flush its output.
+     *
+     * @param parOutputStream The stream to write to.
+     * @return A new writer.
+     */
+    public JSONLinesWriter createLinesWriter(final OutputStream parOutputStream) {
+        return createLinesWriter(parOutputStream, DEFAULT_LINES_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Create a writer that writes records to the provided stream as JSON Lines, flushing the stream every
+     * parFlushInterval records. The writer must be closed to flush its output.
+     *
+     * @param parOutputStream The stream to write to.
+     * @param parFlushInterval The number of records to write between flushes.
+     * @return A new writer.
+     */
+    public JSONLinesWriter createLinesWriter(final OutputStream parOutputStream, final int parFlushInterval) {
+        Objects.requireNonNull(parOutputStream);
+
+        return new JSONLinesWriter(new JSONWriter(new ObjectWriter(), settings), parOutputStream,
+            Math.max(1, parFlushInterval));
+    }
+
+    /**
+     * Read JSON Lines (newline delimited JSON) from a character sequence, calling the consumer once for each record.
+     * Each line must hold a single value or only whitespace. After the consumer returns, all buffers we created while
+     * parsing that record will be destroyed. If a parallel executor is configured, lines are parsed concurrently but
+     * still delivered in order.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *
+     *        try {
+     *            secureJSON.fromJSONLines("{\"id\": 1}\n{\"id\": 2}\n",
+     *                new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *                    &#64;Override
+     *                    public void accept(final Map&lt;CharSequence, Object&gt; input) {
+     *                        // do something with the record.
+     *                    }
+     *                });
+     *        } catch (final JSONDecodeException e) {
+     *            // Do something with the exception
+     *        }
+     *     </code>
+     *
+     * @param parInput The input to read.
+     * @param parConsumer The consumer to call with each record.
+     * @param <T> The type of record we expect. JSONDecodeException will be thrown if this is wrong.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSONLines(final CharSequence parInput, final IConsumer<T> parConsumer)
+            throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        final IConsumer<Object> myConsumer = toObjectConsumer(parConsumer);
+
+        readJSONLines(new IThrowableConsumer<JSONLinesReader>() {
+            @Override
+            public void accept(final JSONLinesReader parReader) throws IOException, JSONException {
+                parReader.read(parInput, myConsumer);
+            }
+        });
+    }
+
+    /**
+     * Read JSON Lines from a character sequence into instances of parClass, calling the consumer once for each
+     * record. This is very similar to its counterpart that doesn't take a class argument, but this supports encoding
+     * into that class instead of into java types.
+     *
+     * @param parInput The input to read.
+     * @param parConsumer The consumer to call with each record.
+     * @param parClass The class to read each record into.
+     * @param <T> The type of record we expect.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSONLines(final CharSequence parInput, final IConsumer<T> parConsumer,
+                                  final Class<T> parClass) throws JSONDecodeException {
+        fromJSONLines(parInput, getConsumer(parConsumer, parClass));
+    }
+
+    /**
+     * Read JSON Lines (newline delimited JSON) from a stream, calling the consumer once for each record. Each line must
+     * hold a single value or only whitespace, and the encoding is detected once from the start of the stream. After
+     * the consumer returns, all buffers we created while parsing that record will be destroyed. Records are read as
+     * they arrive, so the stream never needs to be held in memory. If a parallel executor is configured, lines are
+     * parsed concurrently but still delivered in order; each line is then copied into an array that is wiped once
+     * its records have been consumed.
+     *
+     * @param parInput The stream to read. It is not closed.
+     * @param parConsumer The consumer to call with each record.
+     * @param <T> The type of record we expect. JSONDecodeException will be thrown if this is wrong.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSONLines(final InputStream parInput, final IConsumer<T> parConsumer)
+            throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        final IConsumer<Object> myConsumer = toObjectConsumer(parConsumer);
+
+        readJSONLines(new IThrowableConsumer<JSONLinesReader>() {
+            @Override
+            public void accept(final JSONLinesReader parReader) throws IOException, JSONException {
+                parReader.read(parInput, myConsumer);
             }
         });
     }
 
+    /**
+     * Read JSON Lines from a stream into instances of parClass, calling the consumer once for each record.
+     *
+     * @param parInput The stream to read. It is not closed.
+     * @param parConsumer The consumer to call with each record.
+     * @param parClass The class to read each record into.
+     * @param <T> The type of record we expect.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSONLines(final InputStream parInput, final IConsumer<T> parConsumer,
+                                  final Class<T> parClass) throws JSONDecodeException {
+        fromJSONLines(parInput, getConsumer(parConsumer, parClass));
+    }
+
     /**
      * Convert a JSON character sequence to an object that consumer will accept. Throws JSONDecodeException on
      * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
@@ -137,7 +391,424 @@ public final class SecureJSON {
      *        import com.chelseaurquhart.securejson.SecureJSON;
      *        final SecureJSON secureJSON = new SecureJSON();
      *        try {
-     *            secureJSON.fromJSON("{}", new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *            secureJSON.fromJSON("{}", new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *                &#64;Override
+     *                public void accept(final Map&lt;CharSequence, Object&gt; input) {
+     *                    // do something with input
+     *                }
+     *            });
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *        // Warning: Any buffers we created for the Map above will be destroyed at this point, so they should
+     *        // be either consumed in accept, or converted to strings (if they do not contain sensitive information.)
+     *     </code>
+     *
+     * @param parInput The input character sequence to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final CharSequence parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        Objects.requireNonNull(parConsumer);
+
+        readJSON(new IThrowableFunction<JSONReader, T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public T accept(final JSONReader parReader) throws IOException, JSONException {
+                return (T) parReader.read(parInput);
+            }
+        }, parConsumer);
+    }
+
+    /**
+     * Convert a JSON character sequence to an object that consumer will accept. Throws JSONDecodeException on
+     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
+     * destroyed. This is very similar to its counterpart that doesn't take a class argument, but this supports
+     * encoding into that class instead of into java types.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *
+     *        // This class will be read into.
+     *        class MyCustomClass {
+     *            private int myNumber;
+     *            private CharSequence myString;
+     *        }
+     *        try {
+     *            secureJSON.fromJSON("{}", new IConsumer&lt;MyCustomClass&gt;() {
+     *                &#64;Override
+     *                public void accept(final MyCustomClass input) {
+     *                    // do something with input
+     *                }
+     *            }, MyCustomClass.class);
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *        // Warning: Any buffers we created for the MyCustomClass instance above will be destroyed at this point,
+     *        // so they should be either consumed in accept, or converted to strings (if they do not contain sensitive
+     *        // information.)
+     *     </code>
+     *
+     * @param parInput The input character sequence to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param parClass The class we will be building.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final CharSequence parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
+            throws JSONDecodeException {
+        fromJSON(parInput, getConsumer(parConsumer, parClass));
+    }
+
+    /**
+     * Convert a JSON byte array to an object that consumer will accept. Throws JSONDecodeException on
+     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
+     * destroyed.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        try {
+     *            secureJSON.fromJSON("{}".getBytes(), new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *                &#64;Override
+     *                public void accept(final Map&lt;CharSequence, Object&gt; input) {
+     *                    // do something with input
+     *                }
+     *            });
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *        // Warning: Any buffers we created for the Map above will be destroyed at this point, so they should
+     *        // be either consumed in accept, or converted to strings (if they do not contain sensitive information.)
+     *     </code>
+     *
+     * @param parInput The input character sequence to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final byte[] parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        Objects.requireNonNull(parConsumer);
+
+        readJSON(new IThrowableFunction<JSONReader, T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public T accept(final JSONReader parReader) throws IOException, JSONException {
+                return (T) parReader.read(parInput);
+            }
+        }, parConsumer);
+    }
+
+    /**
+     * Convert a JSON byte array to an object that consumer will accept. Throws JSONDecodeException on
+     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
+     * destroyed. Of special note here, even though we can erase the byte[] array, we will not. That is up to the caller
+     * to do so.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *
+     *        // This class will be read into.
+     *        class MyCustomClass {
+     *            private int myNumber;
+     *            private CharSequence myString;
+     *        }
+     *        try {
+     *            secureJSON.fromJSON("{}", new IConsumer&lt;MyCustomClass&gt;() {
+     *                &#64;Override
+     *                public void accept(final MyCustomClass input) {
+     *                    // do something with input
+     *                }
+     *            }, MyCustomClass.class);
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *        // Warning: Any buffers we created for the MyCustomClass instance above will be destroyed at this point,
+     *        // so they should be either consumed in accept, or converted to strings (if they do not contain sensitive
+     *        // information.)
+     *     </code>
+     *
+     * @param parInput The input character sequence to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param parClass The class we will be building.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final byte[] parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
+            throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        Objects.requireNonNull(parConsumer);
+
+        fromJSON(parInput, getConsumer(parConsumer, parClass));
+    }
+
+    /**
+     * Read a JSON character sequence stream to an object that consumer will accept. Throws JSONDecodeException on
+     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
+     * destroyed.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        final InputStream inputStream = new ByteArrayInputStream("{}".getBytes());
+     *        try {
+     *            secureJSON.fromJSON(inputStream, new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *                &#64;Override
+     *                public void accept(final Map&lt;CharSequence, Object&gt; input) {
+     *                    // do something with input
+     *                }
+     *            });
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *        // Warning: Any buffers we created for the Map above will be destroyed at this point, so they should
+     *        // be either consumed in accept, or converted to strings (if they do not contain sensitive information.)
+     *     </code>
+     *
+     * @param parInput The input character stream to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final InputStream parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        Objects.requireNonNull(parConsumer);
+
+        readJSON(new IThrowableFunction<JSONReader, T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public T accept(final JSONReader parReader) throws IOException, JSONException {
+                return (T) parReader.read(parInput);
+            }
+        }, parConsumer);
+    }
+
+    /**
+     * Read a JSON character sequence stream to an object that consumer will accept. Throws JSONDecodeException on
+     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
+     * destroyed.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        final InputStream inputStream = new ByteArrayInputStream("{}".getBytes());
+     *
+     *        // This class will be read into.
+     *        class MyCustomClass {
+     *            private int myNumber;
+     *            private CharSequence myString;
+     *        }
+     *        try {
+     *            secureJSON.fromJSON(inputStream, new IConsumer&lt;MyCustomClass&gt;() {
+     *                &#64;Override
+     *                public void accept(final MyCustomClass input) {
+     *                    // do something with input
+     *                }
+     *            }, MyCustomClass.class);
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *        // Warning: Any buffers we created for the MyCustomClass instance above will be destroyed at this point,
+     *        // so they should be either consumed in accept, or converted to strings (if they do not contain sensitive
+     *        // information.)
+     *     </code>
+     *
+     * @param parInput The input character stream to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param parClass The class we will be building.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final InputStream parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
+            throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        Objects.requireNonNull(parConsumer);
+
+        fromJSON(parInput, getConsumer(parConsumer, parClass));
+    }
+
+    /**
+     * Convert the remaining bytes of a JSON byte buffer to an object that consumer will accept. Throws
+     * JSONDecodeException on failure. The buffer's position is not changed. After the consumer returns, all buffers
+     * we created while parsing the JSON will be destroyed. As with byte arrays, we will not erase the byte buffer;
+     * that is up to the caller to do.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        try {
+     *            secureJSON.fromJSON(ByteBuffer.wrap("{}".getBytes()),
+     *                    new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *                &#64;Override
+     *                public void accept(final Map&lt;CharSequence, Object&gt; input) {
+     *                    // do something with input
+     *                }
+     *            });
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *        // Warning: Any buffers we created for the Map above will be destroyed at this point, so they should
+     *        // be either consumed in accept, or converted to strings (if they do not contain sensitive information.)
+     *     </code>
+     *
+     * @param parInput The input byte buffer to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final ByteBuffer parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        Objects.requireNonNull(parConsumer);
+
+        readJSON(new IThrowableFunction<JSONReader, T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public T accept(final JSONReader parReader) throws IOException, JSONException {
+                return (T) parReader.read(parInput);
+            }
+        }, parConsumer);
+    }
+
+    /**
+     * Convert the remaining bytes of a JSON byte buffer to an object that consumer will accept, building an instance
+     * of parClass. This is very similar to its counterpart that doesn't take a class argument.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        try {
+     *            secureJSON.fromJSON(ByteBuffer.wrap("{}".getBytes()), new IConsumer&lt;MyCustomClass&gt;() {
+     *                &#64;Override
+     *                public void accept(final MyCustomClass input) {
+     *                    // do something with input
+     *                }
+     *            }, MyCustomClass.class);
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *     </code>
+     *
+     * @param parInput The input byte buffer to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param parClass The class we will be building.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final ByteBuffer parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
+            throws JSONDecodeException {
+        fromJSON(parInput, getConsumer(parConsumer, parClass));
+    }
+
+    /**
+     * Convert a JSON document split across several byte buffers, such as the parts of a scattering read, to an object
+     * that consumer will accept. The remaining bytes of each buffer are read in order, and the buffers' positions are
+     * not changed. Throws JSONDecodeException on failure. After the consumer returns, all buffers we created while
+     * parsing the JSON will be destroyed.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        final ByteBuffer[] buffers = new ByteBuffer[] {
+     *            ByteBuffer.wrap("{\"a\"".getBytes()),
+     *            ByteBuffer.wrap(": 1}".getBytes())
+     *        };
+     *        try {
+     *            secureJSON.fromJSON(buffers, new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *                &#64;Override
+     *                public void accept(final Map&lt;CharSequence, Object&gt; input) {
+     *                    // do something with input
+     *                }
+     *            });
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *     </code>
+     *
+     * @param parInput The input byte buffers to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final ByteBuffer[] parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
+        Objects.requireNonNull(parInput);
+        Objects.requireNonNull(parConsumer);
+
+        readJSON(new IThrowableFunction<JSONReader, T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public T accept(final JSONReader parReader) throws IOException, JSONException {
+                return (T) parReader.read(parInput);
+            }
+        }, parConsumer);
+    }
+
+    /**
+     * Convert a JSON document split across several byte buffers to an object that consumer will accept, building an
+     * instance of parClass. This is very similar to its counterpart that doesn't take a class argument.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        try {
+     *            secureJSON.fromJSON(buffers, new IConsumer&lt;MyCustomClass&gt;() {
+     *                &#64;Override
+     *                public void accept(final MyCustomClass input) {
+     *                    // do something with input
+     *                }
+     *            }, MyCustomClass.class);
+     *        } catch (final JSONDecodeException e) {
+     *        }
+     *     </code>
+     *
+     * @param parInput The input byte buffers to deserialize.
+     * @param parConsumer The consumer to call with our unserialized JSON value.
+     * @param parClass The class we will be building.
+     * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
+     *           (which will accept anything) is acceptable.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public <T> void fromJSON(final ByteBuffer[] parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
+            throws JSONDecodeException {
+        fromJSON(parInput, getConsumer(parConsumer, parClass));
+    }
+
+    /**
+     * Convert part of a JSON character array to an object that consumer will accept. Throws JSONDecodeException on
+     * failure. The array is read directly rather than through a CharSequence. After the consumer returns, all buffers
+     * we created while parsing the JSON will be destroyed. As with byte arrays, we will not erase the char[] array;
+     * that is up to the caller to do.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        final char[] chars = "{}".toCharArray();
+     *        try {
+     *            secureJSON.fromJSON(chars, 0, chars.length, new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
      *                &#64;Override
      *                public void accept(final Map&lt;CharSequence, Object&gt; input) {
      *                    // do something with input
@@ -149,13 +820,16 @@ public final class SecureJSON {
      *        // be either consumed in accept, or converted to strings (if they do not contain sensitive information.)
      *     </code>
      *
-     * @param parInput The input character sequence to deserialize.
+     * @param parInput The input character array to deserialize.
+     * @param parOffset The index of the first character to read.
+     * @param parLength The number of characters to read.
      * @param parConsumer The consumer to call with our unserialized JSON value.
      * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
      *           (which will accept anything) is acceptable.
      * @throws JSONDecodeException On decode failure.
      */
-    public <T> void fromJSON(final CharSequence parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
+    public <T> void fromJSON(final char[] parInput, final int parOffset, final int parLength,
+                             final IConsumer<T> parConsumer) throws JSONDecodeException {
         Objects.requireNonNull(parInput);
         Objects.requireNonNull(parConsumer);
 
@@ -163,30 +837,23 @@ public final class SecureJSON {
             @Override
             @SuppressWarnings("unchecked")
             public T accept(final JSONReader parReader) throws IOException, JSONException {
-                return (T) parReader.read(parInput);
+                return (T) parReader.read(parInput, parOffset, parLength);
             }
         }, parConsumer);
     }
 
     /**
-     * Convert a JSON character sequence to an object that consumer will accept. Throws JSONDecodeException on
-     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
-     * destroyed. This is very similar to its counterpart that doesn't take a class argument, but this supports
-     * encoding into that class instead of into java types.
+     * Convert part of a JSON character array to an object that consumer will accept, building an instance of
+     * parClass. This is very similar to its counterpart that doesn't take a class argument.
      *
      * <p>Example:</p>::
      *     <code>
      *
      *        import com.chelseaurquhart.securejson.SecureJSON;
      *        final SecureJSON secureJSON = new SecureJSON();
-     *
-     *        // This class will be read into.
-     *        class MyCustomClass {
-     *            private int myNumber;
-     *            private CharSequence myString;
-     *        }
+     *        final char[] chars = "{}".toCharArray();
      *        try {
-     *            secureJSON.fromJSON("{}", new IConsumer&lt;MyCustomClass&gt;() {
+     *            secureJSON.fromJSON(chars, 0, chars.length, new IConsumer&lt;MyCustomClass&gt;() {
      *                &#64;Override
      *                public void accept(final MyCustomClass input) {
      *                    // do something with input
@@ -194,27 +861,26 @@ public final class SecureJSON {
      *            }, MyCustomClass.class);
      *        } catch (final JSONDecodeException e) {
      *        }
-     *        // Warning: Any buffers we created for the MyCustomClass instance above will be destroyed at this point,
-     *        // so they should be either consumed in accept, or converted to strings (if they do not contain sensitive
-     *        // information.)
      *     </code>
      *
-     * @param parInput The input character sequence to deserialize.
+     * @param parInput The input character array to deserialize.
+     * @param parOffset The index of the first character to read.
+     * @param parLength The number of characters to read.
      * @param parConsumer The consumer to call with our unserialized JSON value.
      * @param parClass The class we will be building.
      * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
      *           (which will accept anything) is acceptable.
      * @throws JSONDecodeException On decode failure.
      */
-    public <T> void fromJSON(final CharSequence parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
-            throws JSONDecodeException {
-        fromJSON(parInput, getConsumer(parConsumer, parClass));
+    public <T> void fromJSON(final char[] parInput, final int parOffset, final int parLength,
+                             final IConsumer<T> parConsumer, final Class<T> parClass) throws JSONDecodeException {
+        fromJSON(parInput, parOffset, parLength, getConsumer(parConsumer, parClass));
     }
 
     /**
-     * Convert a JSON byte array to an object that consumer will accept. Throws JSONDecodeException on
-     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
-     * destroyed.
+     * Convert the remaining characters of a JSON CharBuffer to an object that consumer will accept. Throws
+     * JSONDecodeException on failure. Array-backed buffers are read directly from their array. The buffer's position
+     * is not changed. After the consumer returns, all buffers we created while parsing the JSON will be destroyed.
      *
      * <p>Example:</p>::
      *     <code>
@@ -222,7 +888,7 @@ public final class SecureJSON {
      *        import com.chelseaurquhart.securejson.SecureJSON;
      *        final SecureJSON secureJSON = new SecureJSON();
      *        try {
-     *            secureJSON.fromJSON("{}".getBytes(), new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *            secureJSON.fromJSON(CharBuffer.wrap("{}"), new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
      *                &#64;Override
      *                public void accept(final Map&lt;CharSequence, Object&gt; input) {
      *                    // do something with input
@@ -230,17 +896,15 @@ public final class SecureJSON {
      *            });
      *        } catch (final JSONDecodeException e) {
      *        }
-     *        // Warning: Any buffers we created for the Map above will be destroyed at this point, so they should
-     *        // be either consumed in accept, or converted to strings (if they do not contain sensitive information.)
      *     </code>
      *
-     * @param parInput The input character sequence to deserialize.
+     * @param parInput The input character buffer to deserialize.
      * @param parConsumer The consumer to call with our unserialized JSON value.
      * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
      *           (which will accept anything) is acceptable.
      * @throws JSONDecodeException On decode failure.
      */
-    public <T> void fromJSON(final byte[] parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
+    public <T> void fromJSON(final CharBuffer parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
         Objects.requireNonNull(parInput);
         Objects.requireNonNull(parConsumer);
 
@@ -248,30 +912,22 @@ public final class SecureJSON {
             @Override
             @SuppressWarnings("unchecked")
             public T accept(final JSONReader parReader) throws IOException, JSONException {
-                return (T) parReader.read(new ByteArrayInputStream(parInput));
+                return (T) parReader.read(parInput);
             }
         }, parConsumer);
     }
 
     /**
-     * Convert a JSON byte array to an object that consumer will accept. Throws JSONDecodeException on
-     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
-     * destroyed. Of special note here, even though we can erase the byte[] array, we will not. That is up to the caller
-     * to do so.
+     * Convert the remaining characters of a JSON CharBuffer to an object that consumer will accept, building an
+     * instance of parClass. This is very similar to its counterpart that doesn't take a class argument.
      *
      * <p>Example:</p>::
      *     <code>
      *
      *        import com.chelseaurquhart.securejson.SecureJSON;
      *        final SecureJSON secureJSON = new SecureJSON();
-     *
-     *        // This class will be read into.
-     *        class MyCustomClass {
-     *            private int myNumber;
-     *            private CharSequence myString;
-     *        }
      *        try {
-     *            secureJSON.fromJSON("{}", new IConsumer&lt;MyCustomClass&gt;() {
+     *            secureJSON.fromJSON(CharBuffer.wrap("{}"), new IConsumer&lt;MyCustomClass&gt;() {
      *                &#64;Override
      *                public void accept(final MyCustomClass input) {
      *                    // do something with input
@@ -279,39 +935,34 @@ public final class SecureJSON {
      *            }, MyCustomClass.class);
      *        } catch (final JSONDecodeException e) {
      *        }
-     *        // Warning: Any buffers we created for the MyCustomClass instance above will be destroyed at this point,
-     *        // so they should be either consumed in accept, or converted to strings (if they do not contain sensitive
-     *        // information.)
      *     </code>
      *
-     * @param parInput The input character sequence to deserialize.
+     * @param parInput The input character buffer to deserialize.
      * @param parConsumer The consumer to call with our unserialized JSON value.
      * @param parClass The class we will be building.
      * @param <T> The type of object we expect. JSONDecodeException will be thrown if this is wrong. Note that Object
      *           (which will accept anything) is acceptable.
      * @throws JSONDecodeException On decode failure.
      */
-    public <T> void fromJSON(final byte[] parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
+    public <T> void fromJSON(final CharBuffer parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
             throws JSONDecodeException {
-        Objects.requireNonNull(parInput);
-        Objects.requireNonNull(parConsumer);
-
         fromJSON(parInput, getConsumer(parConsumer, parClass));
     }
 
     /**
-     * Read a JSON character sequence stream to an object that consumer will accept. Throws JSONDecodeException on
-     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
-     * destroyed.
+     * Read JSON from a character stream to an object that consumer will accept. Throws JSONDecodeException on
+     * failure. The reader is read a block at a time, and the block is wiped as it is used up and once parsing
+     * finishes. The reader is not closed. After the consumer returns, all buffers we created while parsing the JSON
+     * will be destroyed.
      *
      * <p>Example:</p>::
      *     <code>
      *
      *        import com.chelseaurquhart.securejson.SecureJSON;
      *        final SecureJSON secureJSON = new SecureJSON();
-     *        final InputStream inputStream = new ByteArrayInputStream("{}".getBytes());
+     *        final Reader reader = new InputStreamReader(inputStream, "UTF-8");
      *        try {
-     *            secureJSON.fromJSON(inputStream, new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
+     *            secureJSON.fromJSON(reader, new IConsumer&lt;Map&lt;CharSequence, Object&gt;&gt;() {
      *                &#64;Override
      *                public void accept(final Map&lt;CharSequence, Object&gt; input) {
      *                    // do something with input
@@ -319,8 +970,6 @@ public final class SecureJSON {
      *            });
      *        } catch (final JSONDecodeException e) {
      *        }
-     *        // Warning: Any buffers we created for the Map above will be destroyed at this point, so they should
-     *        // be either consumed in accept, or converted to strings (if they do not contain sensitive information.)
      *     </code>
      *
      * @param parInput The input character stream to deserialize.
@@ -329,7 +978,7 @@ public final class SecureJSON {
      *           (which will accept anything) is acceptable.
      * @throws JSONDecodeException On decode failure.
      */
-    public <T> void fromJSON(final InputStream parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
+    public <T> void fromJSON(final Reader parInput, final IConsumer<T> parConsumer) throws JSONDecodeException {
         Objects.requireNonNull(parInput);
         Objects.requireNonNull(parConsumer);
 
@@ -343,24 +992,17 @@ public final class SecureJSON {
     }
 
     /**
-     * Read a JSON character sequence stream to an object that consumer will accept. Throws JSONDecodeException on
-     * failure. After the consumer returns, all buffers we created while parsing the JSON character sequence will be
-     * destroyed.
+     * Read JSON from a character stream to an object that consumer will accept, building an instance of parClass.
+     * This is very similar to its counterpart that doesn't take a class argument.
      *
      * <p>Example:</p>::
      *     <code>
      *
      *        import com.chelseaurquhart.securejson.SecureJSON;
      *        final SecureJSON secureJSON = new SecureJSON();
-     *        final InputStream inputStream = new ByteArrayInputStream("{}".getBytes());
-     *
-     *        // This class will be read into.
-     *        class MyCustomClass {
-     *            private int myNumber;
-     *            private CharSequence myString;
-     *        }
+     *        final Reader reader = new InputStreamReader(inputStream, "UTF-8");
      *        try {
-     *            secureJSON.fromJSON(inputStream, new IConsumer&lt;MyCustomClass&gt;() {
+     *            secureJSON.fromJSON(reader, new IConsumer&lt;MyCustomClass&gt;() {
      *                &#64;Override
      *                public void accept(final MyCustomClass input) {
      *                    // do something with input
@@ -368,9 +1010,6 @@ public final class SecureJSON {
      *            }, MyCustomClass.class);
      *        } catch (final JSONDecodeException e) {
      *        }
-     *        // Warning: Any buffers we created for the MyCustomClass instance above will be destroyed at this point,
-     *        // so they should be either consumed in accept, or converted to strings (if they do not contain sensitive
-     *        // information.)
      *     </code>
      *
      * @param parInput The input character stream to deserialize.
@@ -380,12 +1019,44 @@ public final class SecureJSON {
      *           (which will accept anything) is acceptable.
      * @throws JSONDecodeException On decode failure.
      */
-    public <T> void fromJSON(final InputStream parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
+    public <T> void fromJSON(final Reader parInput, final IConsumer<T> parConsumer, final Class<T> parClass)
             throws JSONDecodeException {
+        fromJSON(parInput, getConsumer(parConsumer, parClass));
+    }
+
+    /**
+     * Parse a JSON character sequence into a compact JSONTape rather than maps and lists. The tape keeps every string
+     * and number in one off-heap arena, so it is well suited to large documents that stay resident. Unlike fromJSON,
+     * the tape lives until the caller closes it, which wipes the arena.
+     *
+     * <p>Example:</p>::
+     *     <code>
+     *
+     *        import com.chelseaurquhart.securejson.SecureJSON;
+     *        final SecureJSON secureJSON = new SecureJSON();
+     *        final JSONTape tape = secureJSON.readTape("[1, 2, 3]");
+     *        try {
+     *            final JSONTape.Cursor cursor = tape.cursor();
+     *            // navigate with cursor
+     *        } finally {
+     *            tape.close();
+     *        }
+     *     </code>
+     *
+     * @param parInput The input character sequence to parse.
+     * @return The parsed tape.
+     * @throws JSONDecodeException On decode failure.
+     */
+    public JSONTape readTape(final CharSequence parInput) throws JSONDecodeException {
         Objects.requireNonNull(parInput);
-        Objects.requireNonNull(parConsumer);
 
-        fromJSON(parInput, getConsumer(parConsumer, parClass));
+        try {
+            return JSONTape.read(parInput, settings);
+        } catch (final JSONException myException) {
+            throw JSONDecodeException.fromException(myException);
+        } catch (final IOException myException) {
+            throw JSONDecodeException.fromException(myException);
+        }
     }
 
     private <T> void readJSON(final IThrowableFunction<JSONReader, T> parReadFunc, final IConsumer<T> parConsumer)
@@ -406,6 +1077,26 @@ public final class SecureJSON {
         }
     }
 
+    private void readJSONLines(final IThrowableConsumer<JSONLinesReader> parReadFunc) throws JSONDecodeException {
+        try {
+            parReadFunc.accept(new JSONLinesReader(settings));
+        } catch (final JSONException myException) {
+            throw JSONDecodeException.fromException(myException);
+        } catch (final JSONRuntimeException myException) {
+            throw JSONDecodeException.fromException(myException);
+        } catch (final IOException myException) {
+            throw JSONDecodeException.fromException(myException);
+        } catch (final ClassCastException myException) {
+            throw JSONDecodeException.fromException(myException);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private IConsumer<Object> toObjectConsumer(final IConsumer<?> parConsumer) {
+        // records are untyped until the consumer receives them; a mismatch surfaces as a ClassCastException.
+        return (IConsumer<Object>) Objects.requireNonNull(parConsumer);
+    }
+
     private void writeJSON(final IThrowableConsumer<JSONWriter> parWriteFunc) throws JSONEncodeException {
         final JSONWriter myJsonWriter = new JSONWriter(new ObjectWriter(), settings);
         try {
@@ -469,6 +1160,13 @@ public final class SecureJSON {
     public static final class Builder {
         private boolean strictStrings = Settings.DEFAULT_STRICT_STRINGS;
         private boolean strictMapKeyTypes = Settings.DEFAULT_STRICT_MAP_KEY_TYPES;
+        private boolean charArraysAsStrings = Settings.DEFAULT_CHAR_ARRAYS_AS_STRINGS;
+        private boolean byteArraysAsBase64 = Settings.DEFAULT_BYTE_ARRAYS_AS_BASE64;
+        private ExecutorService parallelExecutor;
+        private int parallelThreshold = Settings.DEFAULT_PARALLEL_THRESHOLD;
+        private boolean lazyParsing = Settings.DEFAULT_LAZY_PARSING;
+        private boolean singleLoopParsing = Settings.DEFAULT_SINGLE_LOOP_PARSING;
+        private boolean zeroCopyStrings = Settings.DEFAULT_ZERO_COPY_STRINGS;
         private IFunction<Integer, IWritableCharSequence> writableCharBufferFactory =
             Settings.DEFAULT_WRITABLE_CHAR_BUFFER_FACTORY;
         private final Map<Class<?>, IFunction<Object, ?>> classInitializers
@@ -533,6 +1231,182 @@ public final class SecureJSON {
             return this;
         }
 
+        /**
+         * Set the charArraysAsStrings option. If charArraysAsStrings is true, char[] values (typically passwords) are
+         * written as a single JSON string. If it is false, they are written as an array of one-character strings.
+         * Reading into a char[] field accepts either form regardless of this setting, and copies straight from our
+         * buffers so no String is ever created.
+         *
+         * <p>
+         *     **Default**: false
+         * </p>
+         *
+         * <p>Example (write char arrays as strings):</p>::
+         *     <code>
+         *
+         *        import com.chelseaurquhart.securejson.SecureJSON;
+         *        final SecureJSON secureJSON = new SecureJSON.Builder()
+         *            .charArraysAsStrings(true)
+         *            .build();
+         *     </code>
+         *
+         * @param parCharArraysAsStrings The value to use for our char array setting.
+         * @return A reference to this object.
+         */
+        public Builder charArraysAsStrings(final boolean parCharArraysAsStrings) {
+            charArraysAsStrings = parCharArraysAsStrings;
+
+            return this;
+        }
+
+        /**
+         * Set the byteArraysAsBase64 option. If byteArraysAsBase64 is true, byte[] values (typically key material) are
+         * written as a base64 string. If it is false, they are written as an array of numbers. Reading into a byte[]
+         * field accepts either form regardless of this setting.
+         *
+         * <p>
+         *     **Default**: false
+         * </p>
+         *
+         * <p>Example (write byte arrays as base64):</p>::
+         *     <code>
+         *
+         *        import com.chelseaurquhart.securejson.SecureJSON;
+         *        final SecureJSON secureJSON = new SecureJSON.Builder()
+         *            .byteArraysAsBase64(true)
+         *            .build();
+         *     </code>
+         *
+         * @param parByteArraysAsBase64 The value to use for our byte array setting.
+         * @return A reference to this object.
+         */
+        public Builder byteArraysAsBase64(final boolean parByteArraysAsBase64) {
+            byteArraysAsBase64 = parByteArraysAsBase64;
+
+            return this;
+        }
+
+        /**
+         * Parse large top level arrays in parallel on parExecutor. When the input is a CharSequence or a UTF-8 byte
+         * array of at least parThreshold characters (or bytes) and its root is an array, a structural pre-scan finds
+         * each element and the elements are parsed concurrently, then collected in order. The result is the same as a
+         * sequential parse. Streams and other inputs are always parsed sequentially. The executor is not shut down by
+         * us. The calling thread also parses: it takes on any work that the executor has not started yet, including
+         * work the executor rejects, so it is safe to parse from a thread of the same executor.
+         *
+         * <p>
+         *     **Default**: null (sequential), with a threshold of 1MiB.
+         * </p>
+         *
+         * <p>Example (parse bulk imports on all cores):</p>::
+         *     <code>
+         *
+         *        import com.chelseaurquhart.securejson.SecureJSON;
+         *        final SecureJSON secureJSON = new SecureJSON.Builder()
+         *            .parallelParsing(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()),
+         *                1024 * 1024)
+         *            .build();
+         *     </code>
+         *
+         * @param parExecutor The executor to parse on, or null to always parse sequentially.
+         * @param parThreshold The minimum input length to parse in parallel.
+         * @return A reference to this object.
+         */
+        public Builder parallelParsing(final ExecutorService parExecutor, final int parThreshold) {
+            parallelExecutor = parExecutor;
+            parallelThreshold = parThreshold;
+
+            return this;
+        }
+
+        /**
+         * Set the lazyParsing option. If lazyParsing is true, a CharSequence document whose root is an object or an
+         * array is validated structurally and handed to the consumer as read-only Map and List views. Strings and
+         * numbers are decoded only when the consumer touches them, so reading a handful of fields from a large
+         * document costs little more than the structural scan. An object's keys are decoded the first time it is
+         * accessed. Malformed strings or numbers are only detected when accessed, and are reported as a
+         * JSONDecodeException from fromJSON. The views must not be used after the consumer returns. Other inputs are
+         * always parsed eagerly.
+         *
+         * <p>
+         *     **Default**: false
+         * </p>
+         *
+         * <p>Example (read a few fields from a large document):</p>::
+         *     <code>
+         *
+         *        import com.chelseaurquhart.securejson.SecureJSON;
+         *        final SecureJSON secureJSON = new SecureJSON.Builder()
+         *            .lazyParsing(true)
+         *            .build();
+         *     </code>
+         *
+         * @param parLazyParsing The value to use for our lazy parsing setting.
+         * @return A reference to this object.
+         */
+        public Builder lazyParsing(final boolean parLazyParsing) {
+            lazyParsing = parLazyParsing;
+
+            return this;
+        }
+
+        /**
+         * Set the singleLoopParsing option. If singleLoopParsing is true, documents are parsed by a single
+         * switch-style loop with an explicit container stack rather than by dispatching to a reader per value type.
+         * The grammar, the results and the exceptions are the same; the loop is simply easier for the JIT to compile
+         * as a whole.
+         *
+         * <p>
+         *     **Default**: false
+         * </p>
+         *
+         * <p>Example:</p>::
+         *     <code>
+         *
+         *        import com.chelseaurquhart.securejson.SecureJSON;
+         *        final SecureJSON secureJSON = new SecureJSON.Builder()
+         *            .singleLoopParsing(true)
+         *            .build();
+         *     </code>
+         *
+         * @param parSingleLoopParsing The value to use for our single loop parsing setting.
+         * @return A reference to this object.
+         */
+        public Builder singleLoopParsing(final boolean parSingleLoopParsing) {
+            singleLoopParsing = parSingleLoopParsing;
+
+            return this;
+        }
+
+        /**
+         * Set the zeroCopyStrings option. If zeroCopyStrings is true, strings without escape sequences that are read
+         * from a CharSequence, a char[] or a CharBuffer are returned as read-only views onto that input rather than
+         * being copied into a secure buffer. Strings with escape sequences are still decoded into a secure buffer. The
+         * views are not cleared on close since they do not own their characters, and the input must not be modified
+         * while they are in use.
+         *
+         * <p>
+         *     **Default**: false
+         * </p>
+         *
+         * <p>Example:</p>::
+         *     <code>
+         *
+         *        import com.chelseaurquhart.securejson.SecureJSON;
+         *        final SecureJSON secureJSON = new SecureJSON.Builder()
+         *            .zeroCopyStrings(true)
+         *            .build();
+         *     </code>
+         *
+         * @param parZeroCopyStrings The value to use for our zero copy strings setting.
+         * @return A reference to this object.
+         */
+        public Builder zeroCopyStrings(final boolean parZeroCopyStrings) {
+            zeroCopyStrings = parZeroCopyStrings;
+
+            return this;
+        }
+
         /**
          * Set the factory to use for building secure buffers. By default we will use our own implementation, but this
          * can be used to provide a custom one.
@@ -671,6 +1545,55 @@ public final class SecureJSON {
             return strictMapKeyTypes;
         }
 
+        /**
+         * @exclude
+         */
+        boolean isCharArraysAsStrings() {
+            return charArraysAsStrings;
+        }
+
+        /**
+         * @exclude
+         */
+        boolean isByteArraysAsBase64() {
+            return byteArraysAsBase64;
+        }
+
+        /**
+         * @exclude
+         */
+        ExecutorService getParallelExecutor() {
+            return parallelExecutor;
+        }
+
+        /**
+         * @exclude
+         */
+        int getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        /**
+         * @exclude
+         */
+        boolean isLazyParsing() {
+            return lazyParsing;
+        }
+
+        /**
+         * @exclude
+         */
+        boolean isSingleLoopParsing() {
+            return singleLoopParsing;
+        }
+
+        /**
+         * @exclude
+         */
+        boolean isZeroCopyStrings() {
+            return zeroCopyStrings;
+        }
+
         /**
          * @exclude
          */
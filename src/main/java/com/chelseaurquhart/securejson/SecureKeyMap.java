@@ -0,0 +1,470 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Insertion-ordered map with CharSequence keys. Keys are hashed and compared by their content (walking the chunks of
+ * secure buffers directly) so lookups work for any buffer implementation and never convert keys to Strings. Entries
+ * are kept in flat arrays. Small maps are searched linearly; past LINEAR_SEARCH_MAX entries the arrays are indexed by
+ * an open addressing (linear probing) table.
+ *
+ * @param <V> The value type.
+ * @exclude
+ */
+final class SecureKeyMap<V> extends AbstractMap<CharSequence, V> {
+    private static final int DEFAULT_CAPACITY = 8;
+    // most JSON objects are small enough that comparing stored hashes beats maintaining a table.
+    private static final int LINEAR_SEARCH_MAX = 8;
+    private static final int HASH_MULTIPLIER = 31;
+    private static final int HASH_SPREAD_SHIFT = 16;
+    private static final int EMPTY_SLOT = 0;
+    private static final int NOT_FOUND = -1;
+
+    private transient CharSequence[] keys;
+    private transient Object[] values;
+    private transient int[] hashes;
+    // maps a slot to (entry index + 1). EMPTY_SLOT marks a free slot. The table is always at least twice as large as
+    // the entry arrays, so probing always terminates. It is null while we are small enough to search linearly.
+    private transient int[] table;
+    // number of entry indexes in use, including removed entries.
+    private transient int count;
+    private transient int size;
+    private transient int modCount;
+    private transient Set<Map.Entry<CharSequence, V>> entrySet;
+
+    SecureKeyMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    SecureKeyMap(final int parCapacity) {
+        super();
+        allocate(Math.max(1, parCapacity));
+    }
+
+    private void allocate(final int parCapacity) {
+        keys = new CharSequence[parCapacity];
+        values = new Object[parCapacity];
+        hashes = new int[parCapacity];
+        if (parCapacity > LINEAR_SEARCH_MAX) {
+            table = new int[tableSizeFor(parCapacity)];
+        } else {
+            table = null;
+        }
+    }
+
+    private static int tableSizeFor(final int parCapacity) {
+        return Integer.highestOneBit(parCapacity) << 2;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object parKey) {
+        return indexOf(parKey) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object parKey) {
+        final int myIndex = indexOf(parKey);
+        if (myIndex == NOT_FOUND) {
+            return null;
+        }
+
+        return (V) values[myIndex];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(final CharSequence parKey, final V parValue) {
+        final int myHash = hash(Objects.requireNonNull(parKey));
+        final int myIndex = indexOf(parKey, myHash);
+        if (myIndex != NOT_FOUND) {
+            final V myPrevious = (V) values[myIndex];
+            values[myIndex] = parValue;
+
+            return myPrevious;
+        }
+
+        if (count == keys.length) {
+            resize(Math.max(size * 2, DEFAULT_CAPACITY));
+        }
+        keys[count] = parKey;
+        values[count] = parValue;
+        hashes[count] = myHash;
+        insertSlot(myHash, count);
+        count++;
+        size++;
+        modCount++;
+
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(final Object parKey) {
+        final int myIndex = indexOf(parKey);
+        if (myIndex == NOT_FOUND) {
+            return null;
+        }
+
+        final V myPrevious = (V) values[myIndex];
+        removeAt(myIndex);
+
+        return myPrevious;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, count, null);
+        Arrays.fill(values, 0, count, null);
+        Arrays.fill(hashes, 0, count, 0);
+        if (table != null) {
+            Arrays.fill(table, EMPTY_SLOT);
+        }
+        count = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Shrink our arrays to hold exactly the entries we have, as ArrayList.trimToSize does. This also drops removed
+     * entries.
+     */
+    void trimToSize() {
+        if (count > size || size < keys.length) {
+            resize(Math.max(1, size));
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<CharSequence, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+
+        return entrySet;
+    }
+
+    private void removeAt(final int parIndex) {
+        // the slot stays pointed at this index so that probe sequences through it remain intact.
+        keys[parIndex] = null;
+        values[parIndex] = null;
+        size--;
+        modCount++;
+    }
+
+    private int indexOf(final Object parKey) {
+        if (!(parKey instanceof CharSequence)) {
+            return NOT_FOUND;
+        }
+
+        return indexOf((CharSequence) parKey, hash((CharSequence) parKey));
+    }
+
+    private int indexOf(final CharSequence parKey, final int parHash) {
+        if (table == null) {
+            for (int myIndex = 0; myIndex < count; myIndex++) {
+                if (hashes[myIndex] == parHash && keys[myIndex] != null && contentEquals(keys[myIndex], parKey)) {
+                    return myIndex;
+                }
+            }
+
+            return NOT_FOUND;
+        }
+
+        final int myMask = table.length - 1;
+        int mySlot = spread(parHash) & myMask;
+        while (table[mySlot] != EMPTY_SLOT) {
+            final int myIndex = table[mySlot] - 1;
+            if (hashes[myIndex] == parHash && keys[myIndex] != null && contentEquals(keys[myIndex], parKey)) {
+                return myIndex;
+            }
+            mySlot = (mySlot + 1) & myMask;
+        }
+
+        return NOT_FOUND;
+    }
+
+    private void insertSlot(final int parHash, final int parIndex) {
+        if (table == null) {
+            return;
+        }
+
+        final int myMask = table.length - 1;
+        int mySlot = spread(parHash) & myMask;
+        while (table[mySlot] != EMPTY_SLOT) {
+            mySlot = (mySlot + 1) & myMask;
+        }
+        table[mySlot] = parIndex + 1;
+    }
+
+    private void resize(final int parCapacity) {
+        final CharSequence[] myKeys = keys;
+        final Object[] myValues = values;
+        final int[] myHashes = hashes;
+        final int myCount = count;
+
+        // this also drops removed entries, and builds the table once we grow past LINEAR_SEARCH_MAX.
+        allocate(parCapacity);
+        count = 0;
+        for (int myIndex = 0; myIndex < myCount; myIndex++) {
+            if (myKeys[myIndex] != null) {
+                keys[count] = myKeys[myIndex];
+                values[count] = myValues[myIndex];
+                hashes[count] = myHashes[myIndex];
+                insertSlot(hashes[count], count);
+                count++;
+            }
+        }
+
+        Arrays.fill(myKeys, 0, myCount, null);
+        Arrays.fill(myValues, 0, myCount, null);
+    }
+
+    private static int spread(final int parHash) {
+        return parHash ^ (parHash >>> HASH_SPREAD_SHIFT);
+    }
+
+    /**
+     * Compute a hash over the content of a character sequence. This is identical to String.hashCode for the same
+     * characters, so Strings and secure buffers with equal content hash the same.
+     *
+     * @param parChars The sequence to hash.
+     * @return The hash of the content of parChars.
+     */
+    static int hash(final CharSequence parChars) {
+        if (parChars instanceof String) {
+            // String caches its hash, and it uses the same algorithm.
+            return parChars.hashCode();
+        }
+
+        return hash(0, parChars);
+    }
+
+    /**
+     * Compute the hash of a map entry as defined by Map.Entry.hashCode, from the hash of its key and its value.
+     *
+     * @param parKeyHash The hash of the key.
+     * @param parValue The value.
+     * @return The entry hash.
+     */
+    static int entryHash(final int parKeyHash, final Object parValue) {
+        if (parValue == null) {
+            return parKeyHash;
+        }
+
+        return parKeyHash ^ parValue.hashCode();
+    }
+
+    private static int hash(final int parSeed, final CharSequence parChars) {
+        int myHash = parSeed;
+        if (parChars instanceof ManagedSecureCharBuffer) {
+            for (final CharSequence myChunk : ((ManagedSecureCharBuffer) parChars).getChunks()) {
+                myHash = hash(myHash, myChunk);
+            }
+
+            return myHash;
+        }
+
+        final int myLength = parChars.length();
+        for (int myIndex = 0; myIndex < myLength; myIndex++) {
+            myHash = HASH_MULTIPLIER * myHash + parChars.charAt(myIndex);
+        }
+
+        return myHash;
+    }
+
+    /**
+     * Compare the content of two character sequences without converting either to a String.
+     *
+     * @param parLeft The first sequence.
+     * @param parRight The second sequence.
+     * @return True if both sequences contain the same characters.
+     */
+    static boolean contentEquals(final CharSequence parLeft, final CharSequence parRight) {
+        if (parLeft == parRight) {
+            return true;
+        }
+        final int myLength = parLeft.length();
+        if (myLength != parRight.length()) {
+            return false;
+        }
+        if (!(parLeft instanceof ManagedSecureCharBuffer) && !(parRight instanceof ManagedSecureCharBuffer)) {
+            for (int myIndex = 0; myIndex < myLength; myIndex++) {
+                if (parLeft.charAt(myIndex) != parRight.charAt(myIndex)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return chunksEqual(ManagedSecureCharBuffer.flatChunks(parLeft),
+            ManagedSecureCharBuffer.flatChunks(parRight));
+    }
+
+    private static boolean chunksEqual(final List<CharSequence> parLeft, final List<CharSequence> parRight) {
+        final Iterator<CharSequence> myRightIterator = parRight.iterator();
+        CharSequence myRightChunk = null;
+        int myRightIndex = 0;
+        for (final CharSequence myLeftChunk : parLeft) {
+            final int myLeftLength = myLeftChunk.length();
+            for (int myLeftIndex = 0; myLeftIndex < myLeftLength; myLeftIndex++) {
+                while (myRightChunk == null || myRightIndex == myRightChunk.length()) {
+                    // lengths were already compared, so the right side cannot run out first.
+                    myRightChunk = myRightIterator.next();
+                    myRightIndex = 0;
+                }
+                if (myLeftChunk.charAt(myLeftIndex) != myRightChunk.charAt(myRightIndex++)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * View of our entries, in insertion order.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<CharSequence, V>> {
+        @Override
+        public Iterator<Map.Entry<CharSequence, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            SecureKeyMap.this.clear();
+        }
+    }
+
+    /**
+     * Iterator over our entries, in insertion order.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<CharSequence, V>> {
+        private transient int nextIndex;
+        private transient int lastIndex = NOT_FOUND;
+        private transient int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            while (nextIndex < count && keys[nextIndex] == null) {
+                nextIndex++;
+            }
+
+            return nextIndex < count;
+        }
+
+        @Override
+        public Map.Entry<CharSequence, V> next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = nextIndex++;
+
+            return new Entry(lastIndex);
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex == NOT_FOUND || keys[lastIndex] == null) {
+                throw new IllegalStateException();
+            }
+            removeAt(lastIndex);
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Entry that reads and writes through to our arrays.
+     */
+    private final class Entry implements Map.Entry<CharSequence, V> {
+        private final transient int index;
+
+        private Entry(final int parIndex) {
+            index = parIndex;
+        }
+
+        @Override
+        public CharSequence getKey() {
+            return keys[index];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return (V) values[index];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(final V parValue) {
+            final V myPrevious = (V) values[index];
+            values[index] = parValue;
+
+            return myPrevious;
+        }
+
+        @Override
+        public boolean equals(final Object parObject) {
+            if (!(parObject instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> myThat = (Map.Entry<?, ?>) parObject;
+            final CharSequence myKey = getKey();
+            if (myKey == null || !(myThat.getKey() instanceof CharSequence)
+                    || !contentEquals(myKey, (CharSequence) myThat.getKey())) {
+                return false;
+            }
+
+            final Object myValue = getValue();
+            if (myValue == null) {
+                return myThat.getValue() == null;
+            }
+
+            return myValue.equals(myThat.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return entryHash(hashes[index], getValue());
+        }
+    }
+}
@@ -35,9 +35,14 @@ import java.lang.annotation.Target;
  *     in that the root becomes that collection when fields are contained within.
  * </p>
  *
+ * <p>
+ *     On the parameters of a <a href="JSONCreator.html">JSONCreator</a> constructor or factory, name is required since
+ *     parameter names are not available at runtime.
+ * </p>
+ *
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
 public @interface Serialize {
     /**
      * The target to serialize to. To allow nesting, this supports an array.
@@ -18,6 +18,7 @@ package com.chelseaurquhart.securejson;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * @exclude
@@ -25,6 +26,12 @@ import java.util.Map;
 class Settings {
     static final boolean DEFAULT_STRICT_STRINGS = true;
     static final boolean DEFAULT_STRICT_MAP_KEY_TYPES = true;
+    static final boolean DEFAULT_CHAR_ARRAYS_AS_STRINGS = false;
+    static final boolean DEFAULT_BYTE_ARRAYS_AS_BASE64 = false;
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1024 * 1024;
+    static final boolean DEFAULT_LAZY_PARSING = false;
+    static final boolean DEFAULT_SINGLE_LOOP_PARSING = false;
+    static final boolean DEFAULT_ZERO_COPY_STRINGS = false;
     static final IFunction<Integer, IWritableCharSequence> DEFAULT_WRITABLE_CHAR_BUFFER_FACTORY =
             new IFunction<Integer, IWritableCharSequence>() {
         @Override
@@ -36,12 +43,28 @@ class Settings {
 
     private final boolean strictStrings;
     private final boolean strictMapKeyTypes;
+    private final boolean charArraysAsStrings;
+    private final boolean byteArraysAsBase64;
+    private final ExecutorService parallelExecutor;
+    private final int parallelThreshold;
+    private final boolean lazyParsing;
+    private final boolean singleLoopParsing;
+    private final boolean zeroCopyStrings;
     private final IFunction<Integer, IWritableCharSequence> writableCharBufferFactory;
     private final Map<Class<?>, IFunction<Object, ?>> classInitializers;
+    private final GenericTypeCache genericTypeCache = new GenericTypeCache();
+    private final ObjectCreator.Cache objectCreators = new ObjectCreator.Cache();
 
     Settings() {
         strictStrings = DEFAULT_STRICT_STRINGS;
         strictMapKeyTypes = DEFAULT_STRICT_MAP_KEY_TYPES;
+        charArraysAsStrings = DEFAULT_CHAR_ARRAYS_AS_STRINGS;
+        byteArraysAsBase64 = DEFAULT_BYTE_ARRAYS_AS_BASE64;
+        parallelExecutor = null;
+        parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        lazyParsing = DEFAULT_LAZY_PARSING;
+        singleLoopParsing = DEFAULT_SINGLE_LOOP_PARSING;
+        zeroCopyStrings = DEFAULT_ZERO_COPY_STRINGS;
         writableCharBufferFactory = DEFAULT_WRITABLE_CHAR_BUFFER_FACTORY;
         classInitializers = new HashMap<Class<?>, IFunction<Object, ?>>();
     }
@@ -49,6 +72,13 @@ class Settings {
     Settings(final SecureJSON.Builder parBuilder) {
         strictStrings = parBuilder.isStrictStrings();
         strictMapKeyTypes = parBuilder.isStrictMapKeyTypes();
+        charArraysAsStrings = parBuilder.isCharArraysAsStrings();
+        byteArraysAsBase64 = parBuilder.isByteArraysAsBase64();
+        parallelExecutor = parBuilder.getParallelExecutor();
+        parallelThreshold = parBuilder.getParallelThreshold();
+        lazyParsing = parBuilder.isLazyParsing();
+        singleLoopParsing = parBuilder.isSingleLoopParsing();
+        zeroCopyStrings = parBuilder.isZeroCopyStrings();
         writableCharBufferFactory = parBuilder.getWritableCharBufferFactory();
         classInitializers = parBuilder.getClassInitializers();
     }
@@ -61,6 +91,34 @@ class Settings {
         return strictMapKeyTypes;
     }
 
+    boolean isCharArraysAsStrings() {
+        return charArraysAsStrings;
+    }
+
+    boolean isByteArraysAsBase64() {
+        return byteArraysAsBase64;
+    }
+
+    ExecutorService getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
+    boolean isSingleLoopParsing() {
+        return singleLoopParsing;
+    }
+
+    boolean isZeroCopyStrings() {
+        return zeroCopyStrings;
+    }
+
     IFunction<Integer, IWritableCharSequence> getWritableCharBufferFactory() {
         return writableCharBufferFactory;
     }
@@ -68,4 +126,12 @@ class Settings {
     Map<Class<?>, IFunction<Object, ?>> getClassInitializers() {
         return classInitializers;
     }
+
+    GenericTypeCache getGenericTypeCache() {
+        return genericTypeCache;
+    }
+
+    ObjectCreator.Cache getObjectCreators() {
+        return objectCreators;
+    }
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONDecodeException.EmptyJSONException;
+import com.chelseaurquhart.securejson.JSONDecodeException.InvalidTokenException;
+import com.chelseaurquhart.securejson.JSONDecodeException.MalformedJSONException;
+import com.chelseaurquhart.securejson.JSONDecodeException.MalformedListException;
+import com.chelseaurquhart.securejson.JSONDecodeException.MalformedMapException;
+import com.chelseaurquhart.securejson.JSONDecodeException.MalformedStringException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Alternative to JSONReader's reader dispatch: the whole grammar in one loop with an explicit container stack, so the
+ * JIT can compile a parse as a single method. Words, lists and maps are handled inline. Strings and numbers are still
+ * delegated to the reader's string and number readers, which own the secure buffers. It performs the same checks, in
+ * the same order, as the IReader implementations, so results and exceptions (including offsets) are identical. The
+ * only difference is whitespace-only input, on which the reader dispatch fails with an internal error instead of a
+ * JSONDecodeException. Here it is an EmptyJSONException.
+ *
+ * @exclude
+ */
+final class SingleLoopReader {
+    private static final int MIN_CAPACITY = 4;
+    private static final int INITIAL_DEPTH = 8;
+
+    // what a character means inside the current container.
+    private static final int UNKNOWN = 0;
+    private static final int SEPARATOR = 1;
+    private static final int END = 2;
+
+    private final transient IReader<CharSequence> stringReader;
+    private final transient IReader<Number> numberReader;
+    // documents tend to repeat the same shape, so the last container we built is a good estimate of the next one.
+    private transient int listCapacityHint = MIN_CAPACITY;
+    private transient int mapCapacityHint = MIN_CAPACITY;
+
+    SingleLoopReader(final IReader<CharSequence> parStringReader, final IReader<Number> parNumberReader) {
+        stringReader = parStringReader;
+        numberReader = parNumberReader;
+    }
+
+    @SuppressWarnings("unchecked")
+    Object readValue(final ICharacterIterator parIterator) throws IOException, JSONException {
+        // one frame per open container. Lists hold an ArrayList, maps a SecureKeyMap plus the key awaiting a value.
+        Object[] myContainers = new Object[INITIAL_DEPTH];
+        CharSequence[] myKeys = new CharSequence[INITIAL_DEPTH];
+        int[] myKeyStarts = new int[INITIAL_DEPTH];
+        int myDepth = 0;
+
+        while (parIterator.hasNext()) {
+            parIterator.skipWhitespace();
+
+            Object myResult = null;
+            boolean myHasResult = true;
+            if (!parIterator.hasNext()) {
+                throw new EmptyJSONException(parIterator);
+            }
+            final char myChar = parIterator.peek();
+            if (JSONSymbolCollection.NUMBERS.containsKey(myChar)) {
+                myResult = numberReader.read(parIterator, null);
+            } else if (myChar == JSONSymbolCollection.Token.QUOTE.getShortSymbol()) {
+                myResult = stringReader.read(parIterator, null);
+            } else if (JSONSymbolCollection.WORD_TOKENS.containsKey(myChar)) {
+                myResult = readWord(parIterator, JSONSymbolCollection.WORD_TOKENS.get(myChar));
+            } else if (myChar == JSONSymbolCollection.Token.L_BRACE.getShortSymbol()
+                    || myChar == JSONSymbolCollection.Token.L_CURLY.getShortSymbol()) {
+                final boolean myIsMap = myChar == JSONSymbolCollection.Token.L_CURLY.getShortSymbol();
+                parIterator.next();
+                parIterator.skipWhitespace();
+                if (!parIterator.hasNext()) {
+                    throw malformedContainer(parIterator, myIsMap);
+                }
+                if (myDepth == myContainers.length) {
+                    myContainers = Arrays.copyOf(myContainers, myDepth * 2);
+                    myKeys = Arrays.copyOf(myKeys, myDepth * 2);
+                    myKeyStarts = Arrays.copyOf(myKeyStarts, myDepth * 2);
+                }
+                if (myIsMap) {
+                    myContainers[myDepth] = new SecureKeyMap<Object>(mapCapacityHint);
+                    myKeys[myDepth] = null;
+                    myKeyStarts[myDepth] = parIterator.getOffset();
+                } else {
+                    if (getSymbolType(parIterator.peek(), false) == SEPARATOR) {
+                        throw new MalformedListException(parIterator);
+                    }
+                    myContainers[myDepth] = new ArrayList<Object>(listCapacityHint);
+                }
+                myDepth++;
+                continue;
+            } else if (myDepth == 0) {
+                throw new InvalidTokenException(parIterator);
+            } else {
+                myHasResult = false;
+            }
+            parIterator.skipWhitespace();
+
+            // feed the value to its container, closing as many containers as end here.
+            boolean myIsFinished = true;
+            while (myDepth > 0) {
+                if (!parIterator.hasNext()) {
+                    throw new MalformedJSONException(parIterator);
+                }
+
+                final Object myContainer = myContainers[myDepth - 1];
+                final boolean myIsMap = myContainer instanceof SecureKeyMap;
+                final char myCurrent = parIterator.peek();
+                final int mySymbolType = getSymbolType(myCurrent, myIsMap);
+                if (myHasResult) {
+                    if (!myIsMap) {
+                        ((ArrayList<Object>) myContainer).add(myResult);
+                        if (mySymbolType == UNKNOWN) {
+                            throw new MalformedListException(parIterator);
+                        }
+                    } else if (myKeys[myDepth - 1] == null) {
+                        if (myCurrent != JSONSymbolCollection.Token.COLON.getShortSymbol()) {
+                            throw new MalformedMapException(parIterator);
+                        }
+                        if (!(myResult instanceof CharSequence)) {
+                            throw new MalformedStringException(myKeyStarts[myDepth - 1]);
+                        }
+                        myKeys[myDepth - 1] = (CharSequence) myResult;
+                    } else {
+                        if (myCurrent != JSONSymbolCollection.Token.R_CURLY.getShortSymbol()
+                                && myCurrent != JSONSymbolCollection.Token.COMMA.getShortSymbol()) {
+                            throw new MalformedMapException(parIterator);
+                        }
+                        ((SecureKeyMap<Object>) myContainer).put(myKeys[myDepth - 1], myResult);
+                        myKeys[myDepth - 1] = null;
+                        myKeyStarts[myDepth - 1] = parIterator.getOffset();
+                    }
+                }
+
+                if (mySymbolType == END) {
+                    myContainers[--myDepth] = null;
+                    myKeys[myDepth] = null;
+                    parIterator.next();
+                    parIterator.skipWhitespace();
+                    myResult = resolve(myContainer, myIsMap);
+                    myHasResult = true;
+                } else if (mySymbolType == SEPARATOR) {
+                    parIterator.next();
+                    parIterator.skipWhitespace();
+                    if (!parIterator.hasNext()) {
+                        throw malformedContainer(parIterator, myIsMap);
+                    }
+                    if (getSymbolType(parIterator.peek(), myIsMap) != UNKNOWN) {
+                        throw new InvalidTokenException(parIterator);
+                    }
+                    myIsFinished = false;
+                    break;
+                } else {
+                    throw new MalformedJSONException(parIterator);
+                }
+            }
+
+            if (myIsFinished) {
+                return myResult;
+            }
+        }
+
+        throw new EmptyJSONException(parIterator);
+    }
+
+    private static int getSymbolType(final char parChar, final boolean parIsMap) {
+        if (parIsMap) {
+            if (parChar == JSONSymbolCollection.Token.R_CURLY.getShortSymbol()) {
+                return END;
+            } else if (parChar == JSONSymbolCollection.Token.COLON.getShortSymbol()
+                    || parChar == JSONSymbolCollection.Token.COMMA.getShortSymbol()) {
+                return SEPARATOR;
+            }
+        } else if (parChar == JSONSymbolCollection.Token.R_BRACE.getShortSymbol()) {
+            return END;
+        } else if (parChar == JSONSymbolCollection.Token.COMMA.getShortSymbol()) {
+            return SEPARATOR;
+        }
+
+        return UNKNOWN;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object resolve(final Object parContainer, final boolean parIsMap) {
+        if (parIsMap) {
+            final SecureKeyMap<Object> myMap = (SecureKeyMap<Object>) parContainer;
+            final int myMapSize = myMap.size();
+            if (myMapSize < mapCapacityHint) {
+                myMap.trimToSize();
+            }
+            mapCapacityHint = Math.max(myMapSize, MIN_CAPACITY);
+
+            return myMap;
+        }
+
+        final ArrayList<Object> myList = (ArrayList<Object>) parContainer;
+        final int mySize = myList.size();
+        if (mySize < listCapacityHint) {
+            myList.trimToSize();
+        }
+        listCapacityHint = Math.max(mySize, MIN_CAPACITY);
+
+        return myList;
+    }
+
+    private static JSONDecodeException malformedContainer(final ICharacterIterator parIterator,
+                                                          final boolean parIsMap) throws IOException {
+        if (parIsMap) {
+            return new MalformedMapException(parIterator);
+        }
+
+        return new MalformedListException(parIterator);
+    }
+
+    private static Object readWord(final ICharacterIterator parIterator, final JSONSymbolCollection.Token parToken)
+            throws IOException, JSONException {
+        final CharSequence myWord = parToken.toString().toLowerCase();
+        final int myCheckingLength = myWord.length();
+        for (int myIndex = 0; myIndex < myCheckingLength; myIndex++) {
+            if (!parIterator.hasNext() || myWord.charAt(myIndex) != parIterator.peek()) {
+                throw new InvalidTokenException(parIterator);
+            }
+            parIterator.next();
+        }
+
+        if (parIterator.hasNext()) {
+            final char myChar = parIterator.peek();
+            if (!JSONSymbolCollection.TOKENS.containsKey(myChar)
+                    && !JSONSymbolCollection.WHITESPACES.containsKey(myChar)) {
+                throw new InvalidTokenException(parIterator);
+            }
+        }
+
+        return parToken.getValue();
+    }
+}
@@ -23,7 +23,7 @@ package com.chelseaurquhart.securejson;
  * information, but is sensible for most cases.
  *
  */
-public final class StringBuilderBuffer implements IWritableCharSequence, IStringable {
+public final class StringBuilderBuffer implements IWritableCharSequence, IBulkCharacterWriter, IStringable {
     private static final int INITIAL_CAPACITY = 32;
     @SuppressWarnings("PMD.AvoidStringBufferField")
     private final StringBuilder stringBuilder;
@@ -91,6 +91,17 @@ public final class StringBuilderBuffer implements IWritableCharSequence, IString
         stringBuilder.append(parChars);
     }
 
+    /**
+     * Append a range of a sequence of characters.
+     * @param parChars The sequence to append from.
+     * @param parStart The start index (inclusive).
+     * @param parEnd The end index (exclusive).
+     */
+    @Override
+    public void append(final CharSequence parChars, final int parStart, final int parEnd) {
+        stringBuilder.append(parChars, parStart, parEnd);
+    }
+
     /**
      * Reset the data in our buffer.
      */
@@ -53,9 +53,19 @@ class StringReader extends WritableCharSequenceList implements IReader<CharSeque
         }
         parIterator.next();
 
+        final int myStart = parIterator.getOffset();
+        if (settings.isZeroCopyStrings() && parIterator instanceof IViewableCharacterIterator
+                && parIterator.canReadRange() && skipUnescaped(parIterator)) {
+            return ((IViewableCharacterIterator) parIterator).view(myStart, parIterator.getOffset() - 1);
+        }
+
         final IWritableCharSequence mySecureBuffer = settings.getWritableCharBufferFactory()
             .accept(ManagedSecureCharBuffer.INITIAL_CAPACITY);
         addSecureBuffer(mySecureBuffer);
+        if (parIterator.getOffset() != myStart) {
+            // we stopped at an escape, so keep what we skipped and decode the rest.
+            appendRange(parIterator, myStart, parIterator.getOffset(), mySecureBuffer);
+        }
 
         final CharSequence myOutput = readString(parIterator, mySecureBuffer);
         if (myOutput instanceof IStringable) {
@@ -65,11 +75,57 @@ class StringReader extends WritableCharSequenceList implements IReader<CharSeque
         }
     }
 
-    private CharSequence readString(final ICharacterIterator parIterator, final IWritableCharSequence parSecureBuffer)
+    /**
+     * Skip over string characters up to the closing quote, which is consumed, or up to the first escape, which is not.
+     *
+     * @param parIterator The iterator to read from.
+     * @return True if the closing quote was reached or false if an escape was.
+     * @throws IOException On read failure.
+     * @throws JSONException If the string contains a control character or is unterminated.
+     */
+    private static boolean skipUnescaped(final ICharacterIterator parIterator) throws IOException, JSONException {
+        while (parIterator.hasNext()) {
+            parIterator.skipStringCharacters();
+            if (!parIterator.hasNext()) {
+                break;
+            }
+            final char myChar = parIterator.peek();
+            if (myChar == '\\') {
+                return false;
+            } else if (myChar < JSONSymbolCollection.MIN_ALLOWED_ASCII_CODE) {
+                throw new MalformedStringException(parIterator);
+            }
+            parIterator.next();
+            if (myChar == '"') {
+                return true;
+            }
+        }
+
+        // did not find trailing quote
+        throw new MalformedStringException(parIterator);
+    }
+
+    /**
+     * Decode the rest of a string whose opening quote has been consumed, up to and including its closing quote.
+     *
+     * @param parIterator The iterator to read from.
+     * @param parSecureBuffer The buffer to decode into.
+     * @return parSecureBuffer.
+     * @throws IOException On read failure.
+     * @throws JSONException If the string is malformed or unterminated.
+     */
+    static CharSequence readString(final ICharacterIterator parIterator, final IWritableCharSequence parSecureBuffer)
             throws IOException, JSONException {
         final boolean myCanReadRange = parIterator.canReadRange();
         int myRangeStart = parIterator.getOffset();
         while (parIterator.hasNext()) {
+            if (myCanReadRange) {
+                // plain characters are picked up by the range read at the closing quote or next escape.
+                parIterator.skipStringCharacters();
+                if (!parIterator.hasNext()) {
+                    break;
+                }
+            }
             final char myChar = parIterator.peek();
             final JSONSymbolCollection.Token myToken = JSONSymbolCollection.Token.forSymbolOrDefault(myChar,
                 JSONSymbolCollection.Token.UNKNOWN);
@@ -82,7 +138,7 @@ class StringReader extends WritableCharSequenceList implements IReader<CharSeque
                 parIterator.next();
                 if (myToken == JSONSymbolCollection.Token.QUOTE) {
                     if (myCanReadRange) {
-                        parSecureBuffer.append(parIterator.range(myRangeStart, parIterator.getOffset() - 1));
+                        appendRange(parIterator, myRangeStart, parIterator.getOffset() - 1, parSecureBuffer);
                     }
                     return parSecureBuffer;
                 }
@@ -96,12 +152,37 @@ class StringReader extends WritableCharSequenceList implements IReader<CharSeque
         throw new MalformedStringException(parIterator);
     }
 
-    private void readEscape(final ICharacterIterator parIterator, final int parRangeStart,
+    /**
+     * Copy a range of the input into a secure buffer. Ranges are often views onto the caller's input (a byte array, a
+     * ByteBuffer or a char array), so they are never kept by reference: the buffer must own what it will wipe. Views
+     * are only returned as they are when zeroCopyStrings is on, and that is handled before we get here.
+     *
+     * @param parIterator The iterator to read the range from.
+     * @param parStart The start offset.
+     * @param parEnd The end offset.
+     * @param parSecureBuffer The buffer to copy into.
+     * @throws IOException On write failure.
+     */
+    private static void appendRange(final ICharacterIterator parIterator, final int parStart, final int parEnd,
+                                    final IWritableCharSequence parSecureBuffer) throws IOException {
+        final CharSequence myRange = parIterator.range(parStart, parEnd);
+        final int myLength = myRange.length();
+        if (parSecureBuffer instanceof IBulkCharacterWriter) {
+            ((IBulkCharacterWriter) parSecureBuffer).append(myRange, 0, myLength);
+            return;
+        }
+
+        for (int myIndex = 0; myIndex < myLength; myIndex++) {
+            parSecureBuffer.append(myRange.charAt(myIndex));
+        }
+    }
+
+    private static void readEscape(final ICharacterIterator parIterator, final int parRangeStart,
                             final boolean parCanReadRange, final IWritableCharSequence parSecureBuffer)
             throws IOException, JSONException {
         final int myOffset = parIterator.getOffset();
         if (parCanReadRange && myOffset != parRangeStart) {
-            parSecureBuffer.append(parIterator.range(parRangeStart, myOffset));
+            appendRange(parIterator, parRangeStart, myOffset, parSecureBuffer);
         }
         parIterator.next();
 
@@ -139,7 +220,7 @@ class StringReader extends WritableCharSequenceList implements IReader<CharSeque
         throw new NotImplementedException(Messages.Key.ERROR_NOT_IMPLEMENTED, "addValue");
     }
 
-    private char readUnicode(final ICharacterIterator parInput) throws IOException, JSONException {
+    private static char readUnicode(final ICharacterIterator parInput) throws IOException, JSONException {
         int myValue = 0;
         for (int myIndex = 0; myIndex < JSONSymbolCollection.UNICODE_DIGITS; myIndex++) {
             final char myChar = Character.toLowerCase(parInput.peek());
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.util.Arrays;
+
+/**
+ * Stage one structural index over a random access input. The input is classified 64 characters at a time into
+ * bitmaps of quotes, backslashes, operators and whitespace; escapes and string interiors are then resolved across the
+ * whole word with carry and prefix-xor tricks instead of a character by character state machine. The result is the
+ * ordered list of positions of every operator ([]{}:,), every opening quote and the first character of every other
+ * scalar, all outside of strings, so callers can jump from token to token.
+ *
+ * @exclude
+ */
+final class StructuralIndex {
+    private static final int BLOCK_SIZE = Long.SIZE;
+    private static final long EVEN_BITS = 0x5555555555555555L;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int PREFIX_SHIFT_LIMIT = Long.SIZE / 2;
+    private static final int ASCII_LIMIT = 128;
+
+    // character classes, indexed by ASCII code. Anything else is 0.
+    private static final byte OPERATOR = 1;
+    private static final byte WHITESPACE = 2;
+    private static final byte QUOTE = 3;
+    private static final byte BACKSLASH = 4;
+    private static final byte[] CLASSES = buildClasses();
+
+    private final transient int[] positions;
+    private final transient int size;
+    private final transient boolean complete;
+
+    private StructuralIndex(final int[] parPositions, final int parSize, final boolean parComplete) {
+        positions = parPositions;
+        size = parSize;
+        complete = parComplete;
+    }
+
+    /**
+     * Build the index for parInput.
+     *
+     * @param parInput The input to index.
+     * @return The index.
+     */
+    static StructuralIndex build(final CharSequence parInput) {
+        final int myLength = parInput.length();
+        int[] myPositions = new int[INITIAL_CAPACITY];
+        int mySize = 0;
+
+        // true if the first character of the next block is escaped.
+        boolean myPrevEscaped = false;
+        // all ones if the previous block ended inside a string.
+        long myPrevInString = 0;
+        boolean myPrevEndsScalar = false;
+
+        for (int myBase = 0; myBase < myLength; myBase += BLOCK_SIZE) {
+            final int myBlockEnd = Math.min(myBase + BLOCK_SIZE, myLength);
+            long myBackslashes = 0;
+            long myQuotes = 0;
+            long myOperators = 0;
+            long myWhitespace = 0;
+            long myBit = 1;
+            for (int myIndex = myBase; myIndex < myBlockEnd; myIndex++, myBit <<= 1) {
+                final char myChar = parInput.charAt(myIndex);
+                if (myChar < ASCII_LIMIT) {
+                    switch (CLASSES[myChar]) {
+                        case OPERATOR:
+                            myOperators |= myBit;
+                            break;
+                        case WHITESPACE:
+                            myWhitespace |= myBit;
+                            break;
+                        case QUOTE:
+                            myQuotes |= myBit;
+                            break;
+                        case BACKSLASH:
+                            myBackslashes |= myBit;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+            if (myBlockEnd - myBase < BLOCK_SIZE) {
+                // treat the padding past the end of the input as whitespace.
+                myWhitespace |= -1L << (myBlockEnd - myBase);
+            }
+
+            // characters preceded by an odd number of backslashes are escaped. Adding the starts of odd-positioned
+            // backslash runs to the runs carries them past their ends, which flips which parity is escaped.
+            final long myPrevEscapedBit = pick(myPrevEscaped, 1L, 0L);
+            final long myBackslashRuns = myBackslashes & ~myPrevEscapedBit;
+            final long myFollowsEscape = (myBackslashRuns << 1) | myPrevEscapedBit;
+            final long myOddRunStarts = myBackslashRuns & ~EVEN_BITS & ~myFollowsEscape;
+            final long myEvenRunCarries = myOddRunStarts + myBackslashRuns;
+            myPrevEscaped = unsignedLess(myEvenRunCarries, myBackslashRuns);
+            final long myEscaped = (EVEN_BITS ^ (myEvenRunCarries << 1)) & myFollowsEscape;
+            if (myBlockEnd - myBase < BLOCK_SIZE) {
+                // a trailing backslash escapes the padding rather than carrying out of the block.
+                myPrevEscaped = (myEscaped & (1L << (myBlockEnd - myBase))) != 0;
+            }
+
+            final long myRealQuotes = myQuotes & ~myEscaped;
+            // each string runs from its opening quote up to, but excluding, its closing quote.
+            final long myInString = prefixXor(myRealQuotes) ^ myPrevInString;
+            myPrevInString = myInString >> (BLOCK_SIZE - 1);
+
+            final long myScalars = ~(myOperators | myWhitespace | myRealQuotes) & ~myInString;
+            final long myScalarStarts = myScalars & ~((myScalars << 1) | pick(myPrevEndsScalar, 1L, 0L));
+            myPrevEndsScalar = (myScalars >>> (BLOCK_SIZE - 1)) != 0;
+
+            long myStructurals = (myOperators & ~myInString) | (myRealQuotes & myInString) | myScalarStarts;
+            final int myCount = Long.bitCount(myStructurals);
+            if (mySize + myCount > myPositions.length) {
+                myPositions = Arrays.copyOf(myPositions, Math.max(myPositions.length * 2, mySize + myCount));
+            }
+            while (myStructurals != 0) {
+                myPositions[mySize++] = myBase + Long.numberOfTrailingZeros(myStructurals);
+                myStructurals &= myStructurals - 1;
+            }
+        }
+
+        return new StructuralIndex(myPositions, mySize, myPrevInString == 0 && !myPrevEscaped);
+    }
+
+    /**
+     * @return The number of structural positions.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param parIndex The index of the structural position to get.
+     * @return The offset of the parIndex'th structural position in the input.
+     */
+    int get(final int parIndex) {
+        return positions[parIndex];
+    }
+
+    /**
+     * @return False if the input ends inside a string or escape, in which case the index is not meaningful.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Check if a character is JSON whitespace.
+     *
+     * @param parChar The character to check.
+     * @return True if parChar is whitespace.
+     */
+    static boolean isWhitespace(final char parChar) {
+        return parChar < ASCII_LIMIT && CLASSES[parChar] == WHITESPACE;
+    }
+
+    private static long prefixXor(final long parBits) {
+        long myBits = parBits;
+        for (int myShift = 1; myShift <= PREFIX_SHIFT_LIMIT; myShift <<= 1) {
+            myBits ^= myBits << myShift;
+        }
+
+        return myBits;
+    }
+
+    private static boolean unsignedLess(final long parLeft, final long parRight) {
+        return (parLeft ^ Long.MIN_VALUE) < (parRight ^ Long.MIN_VALUE);
+    }
+
+    private static long pick(final boolean parFirst, final long parFirstValue, final long parSecondValue) {
+        if (parFirst) {
+            return parFirstValue;
+        }
+
+        return parSecondValue;
+    }
+
+    private static byte[] buildClasses() {
+        final byte[] myClasses = new byte[ASCII_LIMIT];
+        for (final JSONSymbolCollection.Token myToken : new JSONSymbolCollection.Token[]{
+            JSONSymbolCollection.Token.L_BRACE, JSONSymbolCollection.Token.R_BRACE,
+            JSONSymbolCollection.Token.L_CURLY, JSONSymbolCollection.Token.R_CURLY,
+            JSONSymbolCollection.Token.COLON, JSONSymbolCollection.Token.COMMA}) {
+            myClasses[myToken.getShortSymbol()] = OPERATOR;
+        }
+        for (final char myChar : new char[]{' ', '\t', '\n', '\r'}) {
+            myClasses[myChar] = WHITESPACE;
+        }
+        myClasses[JSONSymbolCollection.Token.QUOTE.getShortSymbol()] = QUOTE;
+        myClasses[JSONSymbolCollection.Token.ESCAPE.getShortSymbol()] = BACKSLASH;
+
+        return myClasses;
+    }
+}
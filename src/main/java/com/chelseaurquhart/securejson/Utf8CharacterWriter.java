@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes characters as UTF-8 into a reusable block of bytes, handing the block to a subclass whenever it fills up.
+ * The block is wiped after every flush and on close.
+ *
+ * @exclude
+ */
+abstract class Utf8CharacterWriter implements IBulkCharacterWriter, Closeable, IAutoCloseable {
+    static final int DEFAULT_BLOCK_SIZE = 16384;
+
+    // a surrogate pair is the longest sequence we write at once.
+    private static final int MAX_BYTES_PER_WRITE = 4;
+    private static final int ONE_BYTE_MAX = 0x7f;
+    private static final int TWO_BYTE_MAX = 0x7ff;
+    private static final int TWO_BYTE_PREFIX = 0xc0;
+    private static final int THREE_BYTE_PREFIX = 0xe0;
+    private static final int FOUR_BYTE_PREFIX = 0xf0;
+    private static final int CONTINUATION_PREFIX = 0x80;
+    private static final int CONTINUATION_MASK = 0x3f;
+    private static final int CONTINUATION_BITS = 6;
+    private static final int FOUR_BYTE_LEAD_SHIFT = CONTINUATION_BITS * 3;
+    // unpaired surrogates cannot be encoded. This matches what the JDK encoders substitute.
+    private static final byte REPLACEMENT = '?';
+
+    private final transient ByteBuffer block;
+    private transient char highSurrogate;
+
+    Utf8CharacterWriter(final ByteBuffer parBlock) {
+        block = parBlock;
+    }
+
+    /**
+     * Write out the encoded bytes between the position and limit of the block.
+     *
+     * @param parBytes The bytes to write.
+     * @throws IOException On write failure.
+     */
+    abstract void drain(ByteBuffer parBytes) throws IOException;
+
+    @Override
+    public void append(final char parChar) throws IOException {
+        if (block.remaining() < MAX_BYTES_PER_WRITE) {
+            flush();
+        }
+
+        if (highSurrogate != 0) {
+            final char myHighSurrogate = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(parChar)) {
+                putCodePoint(Character.toCodePoint(myHighSurrogate, parChar));
+                return;
+            }
+            block.put(REPLACEMENT);
+        }
+
+        if (parChar <= ONE_BYTE_MAX) {
+            block.put((byte) parChar);
+        } else if (parChar <= TWO_BYTE_MAX) {
+            block.put((byte) (TWO_BYTE_PREFIX | parChar >> CONTINUATION_BITS));
+            block.put((byte) (CONTINUATION_PREFIX | parChar & CONTINUATION_MASK));
+        } else if (Character.isHighSurrogate(parChar)) {
+            highSurrogate = parChar;
+        } else if (Character.isLowSurrogate(parChar)) {
+            block.put(REPLACEMENT);
+        } else {
+            block.put((byte) (THREE_BYTE_PREFIX | parChar >> (CONTINUATION_BITS * 2)));
+            block.put((byte) (CONTINUATION_PREFIX | parChar >> CONTINUATION_BITS & CONTINUATION_MASK));
+            block.put((byte) (CONTINUATION_PREFIX | parChar & CONTINUATION_MASK));
+        }
+    }
+
+    @Override
+    public void append(final CharSequence parChars) throws IOException {
+        append(parChars, 0, parChars.length());
+    }
+
+    @Override
+    public void append(final CharSequence parChars, final int parStart, final int parEnd) throws IOException {
+        for (int myIndex = parStart; myIndex < parEnd; myIndex++) {
+            append(parChars.charAt(myIndex));
+        }
+    }
+
+    /**
+     * Write out everything encoded so far and wipe the block.
+     *
+     * @throws IOException On write failure.
+     */
+    void flush() throws IOException {
+        final int myUsed = block.position();
+        if (myUsed == 0) {
+            return;
+        }
+
+        block.flip();
+        try {
+            drain(block);
+        } finally {
+            wipe(myUsed);
+        }
+    }
+
+    /**
+     * Flush, substituting a dangling high surrogate, and wipe the block.
+     *
+     * @throws IOException On write failure.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (highSurrogate != 0) {
+                highSurrogate = 0;
+                block.put(REPLACEMENT);
+            }
+            flush();
+        } finally {
+            wipe(block.capacity());
+        }
+    }
+
+    /**
+     * Drop everything encoded but not yet written and wipe the block. Used instead of close when encoding fails, so
+     * that partial JSON is not written out.
+     */
+    void discard() {
+        highSurrogate = 0;
+        wipe(block.capacity());
+    }
+
+    private void putCodePoint(final int parCodePoint) {
+        block.put((byte) (FOUR_BYTE_PREFIX | parCodePoint >> FOUR_BYTE_LEAD_SHIFT));
+        block.put((byte) (CONTINUATION_PREFIX | parCodePoint >> (CONTINUATION_BITS * 2) & CONTINUATION_MASK));
+        block.put((byte) (CONTINUATION_PREFIX | parCodePoint >> CONTINUATION_BITS & CONTINUATION_MASK));
+        block.put((byte) (CONTINUATION_PREFIX | parCodePoint & CONTINUATION_MASK));
+    }
+
+    private void wipe(final int parLength) {
+        block.clear();
+        for (int myIndex = 0; myIndex < parLength; myIndex++) {
+            block.put(myIndex, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * @exclude
+ */
+final class RecordReflector {
+    Field[] getComponentFields(final Class<?> parClass) {
+        if (!parClass.isRecord()) {
+            return null;
+        }
+
+        final RecordComponent[] myComponents = parClass.getRecordComponents();
+        final Field[] myFields = new Field[myComponents.length];
+        for (int myIndex = 0; myIndex < myComponents.length; myIndex++) {
+            try {
+                myFields[myIndex] = parClass.getDeclaredField(myComponents[myIndex].getName());
+            } catch (final NoSuchFieldException myException) {
+                throw new JSONRuntimeException(myException);
+            }
+        }
+
+        return myFields;
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Classes to securely translate to and from JSON by avoiding the use of strings which are too long-lived in memory, and
+ * ensuring that the buffers that are potentially storing sensitive information are immediately erased after
+ * consumption.
+ *
+ * @author Chelsea Urquhart
+ */
+package com.chelseaurquhart.securejson;
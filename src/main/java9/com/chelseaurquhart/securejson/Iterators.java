@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.BaseStream;
+
+/**
+ * Resolves lazily iterated sources (Iterator, Stream and Spliterator) to an Iterator. Other Iterables are not
+ * included: collections are written as collections, and an Iterable is not necessarily a sequence (a Path iterates
+ * over Paths, for example).
+ *
+ * @exclude
+ */
+final class Iterators {
+    private Iterators() {
+    }
+
+    /**
+     * Check if the input can be iterated over without consuming it.
+     *
+     * @param parInput The input to check.
+     * @return True if iteratorFor will return an iterator for parInput.
+     */
+    static boolean isIterable(final Object parInput) {
+        return parInput instanceof Iterator || parInput instanceof BaseStream || parInput instanceof Spliterator;
+    }
+
+    /**
+     * Get an iterator over the input. Note that this is a terminal operation for streams.
+     *
+     * @param parInput The input to iterate over.
+     * @return An iterator, or null if the input cannot be iterated over.
+     */
+    static Iterator<?> iteratorFor(final Object parInput) {
+        if (parInput instanceof Iterator) {
+            return (Iterator<?>) parInput;
+        } else if (parInput instanceof BaseStream) {
+            return ((BaseStream<?, ?>) parInput).iterator();
+        } else if (parInput instanceof Spliterator) {
+            return Spliterators.iterator((Spliterator<?>) parInput);
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class Base64Test {
+    private static final String DATA_PROVIDER_NAME = "Base64Test";
+    private static final int RANDOM_ITERATIONS = 500;
+    private static final int MAX_RANDOM_LENGTH = 64;
+
+    private Base64Test() {
+    }
+
+    @DataProvider(name = DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] dataProvider() {
+        // RFC 4648 section 10 test vectors.
+        return new Object[][]{
+            {"", ""},
+            {"f", "Zg=="},
+            {"fo", "Zm8="},
+            {"foo", "Zm9v"},
+            {"foob", "Zm9vYg=="},
+            {"fooba", "Zm9vYmE="},
+            {"foobar", "Zm9vYmFy"}
+        };
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testEncode(final String parDecoded, final String parEncoded) throws IOException {
+        final StringBuilderBuffer myBuffer = new StringBuilderBuffer(1);
+        Base64.encode(parDecoded.getBytes(StandardCharsets.UTF_8), myBuffer);
+        Assert.assertEquals(StringUtil.charSequenceToString(myBuffer), parEncoded);
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testDecode(final String parDecoded, final String parEncoded) throws IOException, JSONException {
+        Assert.assertEquals(Base64.decode(parEncoded), parDecoded.getBytes(StandardCharsets.UTF_8));
+        // padding is optional.
+        Assert.assertEquals(Base64.decode(parEncoded.replace("=", "")), parDecoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRandomRoundTrip() throws IOException, JSONException {
+        final Random myRandom = new Random(0);
+        for (int myIteration = 0; myIteration < RANDOM_ITERATIONS; myIteration++) {
+            final byte[] myBytes = new byte[myRandom.nextInt(MAX_RANDOM_LENGTH)];
+            myRandom.nextBytes(myBytes);
+            final StringBuilderBuffer myBuffer = new StringBuilderBuffer(1);
+            Base64.encode(myBytes, myBuffer);
+            Assert.assertEquals(Base64.decode(myBuffer), myBytes);
+        }
+    }
+
+    @Test
+    public void testDecodeInvalid() throws IOException {
+        for (final String myInput : new String[]{"Z", "Zm9vY", "Zm9v!", "Zg=a", "Zm\u00e99"}) {
+            try {
+                Base64.decode(myInput);
+                Assert.fail("Expected exception not thrown for " + myInput);
+            } catch (final JSONException myException) {
+                Assert.assertEquals(myException.getMessage(), Messages.get(Messages.Key.ERROR_MALFORMED_BASE64));
+            }
+        }
+    }
+}
@@ -25,11 +25,16 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @SuppressWarnings("PMD.CommentRequired")
 public final class EncodingAwareCharacterIteratorTest {
     static final String DATA_PROVIDER_NAME = "EncodingAwareCharacterIteratorTest";
+    // comfortably more than the decoders read at a time.
+    private static final int BLOCK_TEST_LENGTH = 10000;
 
     @DataProvider(name = DATA_PROVIDER_NAME, parallel = true)
     static Object[] dataProvider() throws IOException {
@@ -203,6 +208,113 @@ public final class EncodingAwareCharacterIteratorTest {
         }
     }
 
+    /**
+     * Multi-byte encodings, as the number of bytes per character and whether they are little-endian.
+     *
+     * @return Encodings.
+     */
+    @DataProvider(name = "multiByteEncodings")
+    public static Object[][] multiByteEncodings() {
+        return new Object[][] {
+            {2, false, Encoding.UTF16BE},
+            {2, true, Encoding.UTF16LE},
+            {4, false, Encoding.UTF32BE},
+            {4, true, Encoding.UTF32LE},
+        };
+    }
+
+    @Test(dataProvider = "multiByteEncodings")
+    public void testMultiByteAcrossBlocks(final int parWidth, final boolean parLittleEndian,
+                                          final Encoding parEncoding) throws IOException, JSONException {
+        final StringBuilder myExpected = new StringBuilder(BLOCK_TEST_LENGTH);
+        while (myExpected.length() < BLOCK_TEST_LENGTH) {
+            myExpected.append("{\"key\": [1, 2, \"value\"]}");
+        }
+        final byte[] myBytes = encode(myExpected, parWidth, parLittleEndian);
+
+        final ICharacterIterator[] myIterators = {
+            new IterableInputStream(new ByteArrayInputStream(myBytes)),
+            new IterableCharSequence(new String(myBytes, "ISO-8859-1")),
+        };
+        for (final ICharacterIterator myIterator : myIterators) {
+            for (int myIndex = 0; myIndex < myExpected.length(); myIndex++) {
+                Assert.assertTrue(myIterator.hasNext());
+                Assert.assertEquals(myIterator.next().charValue(), myExpected.charAt(myIndex));
+            }
+            Assert.assertFalse(myIterator.hasNext());
+            Assert.assertEquals(myIterator.getOffset(), myBytes.length);
+            Assert.assertEquals(((EncodingAwareCharacterIterator) myIterator).getEncoding(), parEncoding);
+        }
+    }
+
+    @Test(dataProvider = "multiByteEncodings")
+    public void testMultiByteBadPadding(final int parWidth, final boolean parLittleEndian,
+                                        final Encoding parEncoding) throws IOException {
+        final StringBuilder myExpected = new StringBuilder(BLOCK_TEST_LENGTH);
+        while (myExpected.length() < BLOCK_TEST_LENGTH) {
+            myExpected.append('a');
+        }
+        final byte[] myBytes = encode(myExpected, parWidth, parLittleEndian);
+        // corrupt the padding of the last character.
+        final int myBadIndex = pick(parLittleEndian, myBytes.length - 1, myBytes.length - parWidth);
+        myBytes[myBadIndex] = 'b';
+
+        final IterableInputStream myIterator = new IterableInputStream(new ByteArrayInputStream(myBytes));
+        try {
+            while (myIterator.hasNext()) {
+                myIterator.next();
+            }
+            Assert.assertEquals(parEncoding, Encoding.UTF16BE, "expected exception");
+        } catch (final JSONRuntimeException myException) {
+            // the offset does not yet include the character itself when it precedes its padding.
+            Assert.assertEquals(Util.unwrapException(myException).getMessage(),
+                new InvalidTokenException(new PresetIterableCharSequence(pick(parLittleEndian, myBadIndex - 1,
+                    myBadIndex))).getMessage());
+        }
+    }
+
+    @Test(dataProvider = "multiByteEncodings")
+    public void testCloseWipesBlock(final int parWidth, final boolean parLittleEndian,
+                                    final Encoding parEncoding) throws IOException, JSONException {
+        final byte[] myBytes = encode("\"secret", parWidth, parLittleEndian);
+        final List<char[]> myBlocks = new ArrayList<char[]>();
+        final IterableCharSequence myIterator = new IterableCharSequence(new String(myBytes, "ISO-8859-1")) {
+            @Override
+            protected int readNextChars(final char[] parBuffer) {
+                myBlocks.add(parBuffer);
+                return super.readNextChars(parBuffer);
+            }
+        };
+        for (final char myExpected : "\"sec".toCharArray()) {
+            Assert.assertTrue(myIterator.hasNext());
+            Assert.assertEquals(myIterator.next().charValue(), myExpected);
+        }
+        Assert.assertEquals(myIterator.getEncoding(), parEncoding);
+
+        Assert.assertFalse(myBlocks.isEmpty());
+        myIterator.close();
+        for (final char[] myBlock : myBlocks) {
+            Assert.assertEquals(myBlock, new char[myBlock.length]);
+        }
+    }
+
+    private static int pick(final boolean parCondition, final int parIfTrue, final int parIfFalse) {
+        if (parCondition) {
+            return parIfTrue;
+        }
+
+        return parIfFalse;
+    }
+
+    private static byte[] encode(final CharSequence parChars, final int parWidth, final boolean parLittleEndian) {
+        final byte[] myBytes = new byte[parChars.length() * parWidth];
+        for (int myIndex = 0; myIndex < parChars.length(); myIndex++) {
+            myBytes[myIndex * parWidth + pick(parLittleEndian, 0, parWidth - 1)] = (byte) parChars.charAt(myIndex);
+        }
+
+        return myBytes;
+    }
+
     static class EACIIterator extends EncodingAwareCharacterIterator {
         private final CharSequence input;
         private int index;
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class GenericTypeCacheTest {
+    private GenericTypeCacheTest() {
+    }
+
+    @Test
+    public void testResolvesFieldArguments() throws NoSuchFieldException {
+        final GenericTypeCache myCache = new GenericTypeCache();
+        final Field myField = NestedHolder.class.getDeclaredField("nested");
+        final GenericTypeCache.TypeArguments myArguments = myCache.get(Map.class, myField.getGenericType(), 2);
+
+        Assert.assertEquals(myArguments.getRawType(0), String.class);
+        Assert.assertEquals(myArguments.getRawType(1), List.class);
+        Assert.assertEquals(((ParameterizedType) myArguments.getType(1)).getRawType(), List.class);
+    }
+
+    @Test
+    public void testResolvesOnce() throws NoSuchFieldException {
+        final GenericTypeCache myCache = new GenericTypeCache();
+        // every lookup hands out a new Field, and with it a new generic type instance.
+        final GenericTypeCache.TypeArguments myArguments = myCache.get(Map.class,
+            NestedHolder.class.getDeclaredField("nested").getGenericType(), 2);
+
+        Assert.assertSame(myCache.get(Map.class, NestedHolder.class.getDeclaredField("nested").getGenericType(), 2),
+            myArguments);
+        Assert.assertEquals(myCache.size(), 1);
+    }
+
+    @Test
+    public void testRawTypesDefaultToObject() {
+        final GenericTypeCache myCache = new GenericTypeCache();
+        final GenericTypeCache.TypeArguments myArguments = myCache.get(Map.class, Map.class, 2);
+
+        Assert.assertEquals(myArguments.getRawType(0), Object.class);
+        Assert.assertEquals(myArguments.getRawType(1), Object.class);
+        Assert.assertEquals(myArguments.getType(0), Object.class);
+        Assert.assertEquals(myCache.get(List.class, List.class, 1).getRawType(0), Object.class);
+    }
+
+    @Test
+    public void testDeeplyGenericBinding() throws IOException, JSONException {
+        final Map<CharSequence, Object> myInner = new HashMap<CharSequence, Object>();
+        myInner.put("value", Collections.singletonMap("amount", 2));
+        final Map<CharSequence, Object> myInput = new HashMap<CharSequence, Object>();
+        myInput.put("nested", Collections.singletonMap("key", Arrays.asList(myInner, myInner)));
+
+        final Settings mySettings = new Settings(new SecureJSON.Builder());
+        final NestedHolder myHolder = new ObjectReader<NestedHolder>(NestedHolder.class, mySettings).accept(
+            myInput);
+
+        final List<Map<String, Leaf>> myList = myHolder.nested.get("key");
+        Assert.assertEquals(myList.size(), 2);
+        Assert.assertEquals(myList.get(0).get("value").amount, 2);
+        Assert.assertEquals(myList.get(1).get("value").amount, 2);
+        // Map<String, List<...>>, List<Map<String, Leaf>> and Map<String, Leaf>.
+        Assert.assertEquals(mySettings.getGenericTypeCache().size(), 3);
+    }
+
+    private static final class NestedHolder {
+        private Map<String, List<Map<String, Leaf>>> nested;
+    }
+
+    private static final class Leaf {
+        private int amount;
+    }
+}
@@ -26,6 +26,8 @@ import org.testng.annotations.Test;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
 
 @SuppressWarnings({"PMD.CommentRequired", "PMD.AvoidUsingShortType"})
 public final class HugeDecimalTest {
@@ -276,6 +278,65 @@ public final class HugeDecimalTest {
         Assert.assertFalse(myNumberLHS.compareByBigDecimal(myNumberRHSAlt));
     }
 
+    @Test
+    public void testDecimalIsCachedUntilClosed() throws IOException, JSONException {
+        final HugeDecimal myNumber = new HugeDecimal("123.45e2", new NumberReader(Settings.DEFAULTS));
+        final BigDecimal myDecimal = myNumber.bigDecimalValue();
+        Assert.assertSame(myNumber.bigDecimalValue(), myDecimal);
+        Assert.assertEquals(myNumber.intValue(), 12345);
+
+        myNumber.close();
+        Assert.assertNotSame(myNumber.bigDecimalValue(), myDecimal);
+        Assert.assertEquals(myNumber.bigDecimalValue(), myDecimal);
+    }
+
+    @Test
+    public void testHashCodeIsContentBased() throws IOException {
+        final ManagedSecureCharBuffer myBufferLHS = new ManagedSecureCharBuffer(4);
+        final ManagedSecureCharBuffer myBufferRHS = new ManagedSecureCharBuffer(4);
+        try {
+            for (final char myChar : "1234.5e400".toCharArray()) {
+                myBufferLHS.append(myChar);
+                myBufferRHS.append(myChar);
+            }
+            final HugeDecimal myNumberLHS = new HugeDecimal(myBufferLHS, new NumberReader(Settings.DEFAULTS));
+            final HugeDecimal myNumberRHS = new HugeDecimal(myBufferRHS, new NumberReader(Settings.DEFAULTS));
+            Assert.assertEquals(myNumberLHS.hashCode(), myNumberRHS.hashCode());
+
+            final Map<HugeDecimal, Boolean> myMap = new HashMap<HugeDecimal, Boolean>();
+            myMap.put(myNumberLHS, true);
+            Assert.assertTrue(myMap.get(myNumberRHS));
+        } finally {
+            myBufferLHS.close();
+            myBufferRHS.close();
+        }
+    }
+
+    @Test
+    public void testHashCodeMatchesAcrossRepresentations() {
+        final HugeDecimal myNumber = new HugeDecimal(1);
+        final HugeDecimal mySequence = new HugeDecimal("1.00", new NumberReader(Settings.DEFAULTS));
+        Assert.assertEquals(myNumber, mySequence);
+        Assert.assertEquals(myNumber.hashCode(), mySequence.hashCode());
+        Assert.assertEquals(new HugeDecimal("1e100000000000", new NumberReader(Settings.DEFAULTS)).hashCode(),
+            new HugeDecimal("1e100000000000", new NumberReader(Settings.DEFAULTS)).hashCode());
+    }
+
+    @Test
+    public void testCompareByMagnitude() {
+        // none of these can be parsed to BigDecimal, so they must be rejected based on sign or magnitude alone.
+        final HugeDecimal myNumber = new HugeDecimal("1e100000000000", new NumberReader(Settings.DEFAULTS));
+        Assert.assertFalse(myNumber.compareByBigDecimal(
+            new HugeDecimal("1e100000000001", new NumberReader(Settings.DEFAULTS))));
+        Assert.assertFalse(myNumber.compareByBigDecimal(
+            new HugeDecimal("-1e100000000000", new NumberReader(Settings.DEFAULTS))));
+        Assert.assertFalse(myNumber.compareByBigDecimal(
+            new HugeDecimal("0.0001e100000000000", new NumberReader(Settings.DEFAULTS))));
+        Assert.assertFalse(myNumber.equals(new HugeDecimal(5)));
+        Assert.assertTrue(new HugeDecimal("0.0123", new NumberReader(Settings.DEFAULTS)).compareByBigDecimal(
+            new HugeDecimal(new BigDecimal("1.23e-2"))));
+    }
+
     private void testConvert(final Parameters parParameters, final IConsumer<HugeDecimal> parConsumer) {
         // test from number
         final HugeDecimal myHugeDecimal = new HugeDecimal(parParameters.input);
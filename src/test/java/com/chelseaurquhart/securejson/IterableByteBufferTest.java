@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class IterableByteBufferTest {
+    private static final String DOCUMENT = "[\"abc\", \"defgh\"]";
+
+    private IterableByteBufferTest() {
+    }
+
+    @Test(expectedExceptions = NotImplementedException.class)
+    public void testRemove() {
+        new IterableByteBuffer(ByteBuffer.allocate(0)).remove();
+    }
+
+    @Test
+    public void testReadsRemainingBytes() {
+        final ByteBuffer myBuffer = ByteBuffer.wrap(new byte[] {'x', 'a', (byte) 0xff});
+        myBuffer.position(1);
+        final IterableByteBuffer myIterator = new IterableByteBuffer(myBuffer);
+        Assert.assertEquals(myIterator.readNextChar(), (Character) 'a');
+        Assert.assertEquals(myIterator.readNextChar(), (Character) '\u00ff');
+        Assert.assertNull(myIterator.readNextChar());
+        Assert.assertEquals(myBuffer.position(), 1);
+    }
+
+    @Test
+    public void testReadNextCharsAcrossBuffers() {
+        final IterableByteBuffer myIterator = new IterableByteBuffer(split(DOCUMENT));
+        final char[] myChars = new char[DOCUMENT.length() + 1];
+        Assert.assertEquals(myIterator.readNextChars(myChars), DOCUMENT.length());
+        Assert.assertEquals(new String(myChars, 0, DOCUMENT.length()), DOCUMENT);
+        Assert.assertEquals(myIterator.readNextChars(myChars), -1);
+    }
+
+    @Test
+    public void testRange() {
+        final IterableByteBuffer mySingleIterator = new IterableByteBuffer(ByteBuffer.wrap(DOCUMENT.getBytes(
+            StandardCharsets.UTF_8)));
+        final IterableByteBuffer mySplitIterator = new IterableByteBuffer(split(DOCUMENT));
+        Assert.assertTrue(mySplitIterator.canReadRange());
+        for (int myStart = 0; myStart <= DOCUMENT.length(); myStart++) {
+            for (int myEnd = myStart; myEnd <= DOCUMENT.length(); myEnd++) {
+                final String myExpected = DOCUMENT.substring(myStart, myEnd);
+                Assert.assertEquals(StringUtil.charSequenceToString(mySingleIterator.range(myStart, myEnd)),
+                    myExpected);
+                Assert.assertEquals(StringUtil.charSequenceToString(mySplitIterator.range(myStart, myEnd)),
+                    myExpected);
+            }
+        }
+    }
+
+    @Test
+    public void testNoRangeForPaddedEncoding() {
+        final IterableByteBuffer myIterator = new IterableByteBuffer(ByteBuffer.wrap(new byte[] {'[', 0, ']', 0}));
+        Assert.assertTrue(myIterator.hasNext());
+        Assert.assertFalse(myIterator.canReadRange());
+    }
+
+    private static ByteBuffer[] split(final String parInput) {
+        // buffers of one, zero and two bytes, repeating.
+        final byte[] myBytes = parInput.getBytes(StandardCharsets.UTF_8);
+        final List<ByteBuffer> myBuffers = new ArrayList<ByteBuffer>();
+        int myPosition = 0;
+        while (myPosition < myBytes.length) {
+            final int myLength = Math.min((myBuffers.size() + 1) % 3, myBytes.length - myPosition);
+            myBuffers.add(ByteBuffer.wrap(myBytes, myPosition, myLength));
+            myPosition += myLength;
+        }
+
+        return myBuffers.toArray(new ByteBuffer[0]);
+    }
+}
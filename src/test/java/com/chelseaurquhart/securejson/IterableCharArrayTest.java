@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class IterableCharArrayTest {
+    private IterableCharArrayTest() {
+    }
+
+    @Test(expectedExceptions = NotImplementedException.class)
+    public void testRemove() {
+        new IterableCharArray(new char[0], 0, 0).remove();
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        new IterableCharArray(new char[2], 1, 3);
+    }
+
+    @Test
+    public void testReadPart() {
+        final IterableCharArray myIterator = new IterableCharArray("xabcx".toCharArray(), 1, 4);
+        Assert.assertEquals(myIterator.readNextChar(), (Character) 'a');
+        final char[] myChars = new char[4];
+        Assert.assertEquals(myIterator.readNextChars(myChars), 2);
+        Assert.assertEquals(myChars[0], 'b');
+        Assert.assertEquals(myChars[1], 'c');
+        Assert.assertNull(myIterator.readNextChar());
+        Assert.assertEquals(myIterator.readNextChars(myChars), -1);
+    }
+
+    @Test
+    public void testRange() {
+        final IterableCharArray myIterator = new IterableCharArray("xabcx".toCharArray(), 1, 4);
+        Assert.assertTrue(myIterator.canReadRange());
+        Assert.assertEquals(myIterator.range(1, 3).toString(), "bc");
+    }
+}
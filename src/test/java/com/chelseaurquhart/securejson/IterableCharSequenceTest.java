@@ -16,8 +16,14 @@
 
 package com.chelseaurquhart.securejson;
 
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 @SuppressWarnings("PMD.CommentRequired")
 public final class IterableCharSequenceTest {
     private IterableCharSequenceTest() {
@@ -27,4 +33,19 @@ public final class IterableCharSequenceTest {
     public void testRemove() {
         new IterableCharSequence("").remove();
     }
+
+    @Test
+    public void testNoRangeForPaddedEncoding() throws IOException, JSONException {
+        final String myInput = "[\u0000\"\u0000a\u0000b\u0000\"\u0000]\u0000";
+        final IterableCharSequence myIterator = new IterableCharSequence(myInput);
+        Assert.assertTrue(myIterator.hasNext());
+        Assert.assertFalse(myIterator.canReadRange());
+
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        try {
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myReader.read(myInput)), Arrays.asList("ab"));
+        } finally {
+            myReader.close();
+        }
+    }
 }
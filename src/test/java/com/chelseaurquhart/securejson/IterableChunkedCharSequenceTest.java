@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class IterableChunkedCharSequenceTest {
+    private static final String DOCUMENT = "{\"key\": [1, 2.5, \"a string \\u0041 with escapes\", true, null], "
+        + "\"other\": {\"nested\": \"value\"}}";
+
+    private IterableChunkedCharSequenceTest() {
+    }
+
+    /**
+     * Chunk sizes to split the document over.
+     *
+     * @return Chunk sizes.
+     */
+    @DataProvider(name = "chunkSizes")
+    public static Object[][] chunkSizes() {
+        return new Object[][] {
+            {1},
+            {2},
+            {3},
+            {7},
+            {DOCUMENT.length()},
+        };
+    }
+
+    @Test(dataProvider = "chunkSizes")
+    public void testReadsAllChars(final int parChunkSize) throws IOException, JSONException {
+        final ManagedSecureCharBuffer myBuffer = buildSecureBuffer(DOCUMENT, parChunkSize);
+        try {
+            final IterableChunkedCharSequence myIterator = new IterableChunkedCharSequence(myBuffer);
+            for (int myIndex = 0; myIndex < DOCUMENT.length(); myIndex++) {
+                Assert.assertTrue(myIterator.hasNext());
+                Assert.assertEquals(myIterator.getOffset(), myIndex);
+                Assert.assertEquals(myIterator.peek().charValue(), DOCUMENT.charAt(myIndex));
+                Assert.assertEquals(myIterator.next().charValue(), DOCUMENT.charAt(myIndex));
+            }
+            Assert.assertFalse(myIterator.hasNext());
+        } finally {
+            myBuffer.close();
+        }
+    }
+
+    @Test(dataProvider = "chunkSizes")
+    public void testRange(final int parChunkSize) throws IOException {
+        final ManagedSecureCharBuffer myBuffer = buildSecureBuffer(DOCUMENT, parChunkSize);
+        try {
+            final IterableChunkedCharSequence myIterator = new IterableChunkedCharSequence(myBuffer);
+            Assert.assertTrue(myIterator.canReadRange());
+            for (int myStart = 0; myStart < DOCUMENT.length(); myStart += parChunkSize + 1) {
+                for (int myEnd = myStart; myEnd <= DOCUMENT.length(); myEnd += parChunkSize) {
+                    Assert.assertEquals(StringUtil.charSequenceToString(myIterator.range(myStart, myEnd)),
+                        DOCUMENT.substring(myStart, myEnd));
+                }
+            }
+        } finally {
+            myBuffer.close();
+        }
+    }
+
+    @Test(dataProvider = "chunkSizes")
+    public void testReadMatchesString(final int parChunkSize) throws IOException, JSONException {
+        final ManagedSecureCharBuffer myBuffer = buildSecureBuffer(DOCUMENT, parChunkSize);
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        final JSONReader myExpectedReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        try {
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myReader.read(myBuffer)),
+                StringUtil.deepCharSequenceToString(myExpectedReader.read(DOCUMENT)));
+        } finally {
+            myReader.close();
+            myExpectedReader.close();
+            myBuffer.close();
+        }
+    }
+
+    @Test
+    public void testReadAppendedSequences() throws IOException, JSONException {
+        final ManagedSecureCharBuffer myPart = buildSecureBuffer("\"key\": \"value\"", 2);
+        final ManagedSecureCharBuffer myBuffer = new ManagedSecureCharBuffer(2);
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        try {
+            myBuffer.append('{');
+            myBuffer.append(myPart.subSequence(0, 7));
+            myBuffer.append(myPart.subSequence(7, myPart.length()));
+            myBuffer.append('}');
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myReader.read(myBuffer)),
+                StringUtil.deepCharSequenceToString(myReader.read("{\"key\": \"value\"}")));
+        } finally {
+            myReader.close();
+            myBuffer.close();
+            myPart.close();
+        }
+    }
+
+    @Test
+    public void testErrorOffset() throws IOException {
+        final ManagedSecureCharBuffer myBuffer = buildSecureBuffer("[1, 2, 3}", 2);
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        try {
+            myReader.read(myBuffer);
+            Assert.fail("expected exception");
+        } catch (final JSONException myException) {
+            final JSONException myExpected = readError("[1, 2, 3}");
+            Assert.assertEquals(myException.getClass(), myExpected.getClass());
+            Assert.assertEquals(myException.getMessage(), myExpected.getMessage());
+        } finally {
+            myReader.close();
+            myBuffer.close();
+        }
+    }
+
+    private JSONException readError(final CharSequence parJson) throws IOException {
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        try {
+            myReader.read(parJson);
+        } catch (final JSONException myException) {
+            return myException;
+        } finally {
+            myReader.close();
+        }
+
+        throw new AssertionError("expected exception");
+    }
+
+    private ManagedSecureCharBuffer buildSecureBuffer(final CharSequence parChars, final int parCapacity)
+            throws IOException {
+        final ManagedSecureCharBuffer myBuffer = new ManagedSecureCharBuffer(parCapacity);
+        for (int myIndex = 0; myIndex < parChars.length(); myIndex++) {
+            myBuffer.append(parChars.charAt(myIndex));
+        }
+
+        return myBuffer;
+    }
+}
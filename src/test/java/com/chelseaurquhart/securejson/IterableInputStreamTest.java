@@ -50,6 +50,18 @@ public final class IterableInputStreamTest {
         }
     }
 
+    @Test
+    public void testReadNextChars() throws IOException {
+        final IterableInputStream myStream = new IterableInputStream(new ByteArrayInputStream(new byte[]{'a', 'b',
+            (byte) 0xff}));
+        final char[] myChars = new char[2];
+        Assert.assertEquals(myStream.readNextChars(myChars), 2);
+        Assert.assertEquals(myChars, new char[]{'a', 'b'});
+        Assert.assertEquals(myStream.readNextChars(myChars), 1);
+        Assert.assertEquals(myChars[0], '\u00ff');
+        Assert.assertEquals(myStream.readNextChars(myChars), -1);
+    }
+
     @Test(expectedExceptions = UnsupportedOperationException.class)
     public void testRange() {
         new IterableInputStream(new ByteArrayInputStream(new byte[1])).range(0, 1);
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class IterableReaderTest {
+    private static final int LONG_INPUT_LENGTH = 10000;
+
+    private IterableReaderTest() {
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testRemove() {
+        new IterableReader(new CharArrayReader(new char[0])).remove();
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testRange() {
+        new IterableReader(new CharArrayReader(new char[1])).range(0, 1);
+    }
+
+    @Test
+    public void testReadAcrossBlocks() throws IOException {
+        final char[] myInput = new char[LONG_INPUT_LENGTH];
+        for (int myIndex = 0; myIndex < myInput.length; myIndex++) {
+            myInput[myIndex] = (char) ('a' + myIndex % ('z' - 'a'));
+        }
+
+        final IterableReader myIterator = new IterableReader(new CharArrayReader(myInput));
+        for (final char myChar : myInput) {
+            Assert.assertEquals(myIterator.readNextChar(), (Character) myChar);
+        }
+        Assert.assertNull(myIterator.readNextChar());
+        Assert.assertNull(myIterator.readNextChar());
+    }
+
+    @Test
+    public void testCloseLeavesReaderOpen() throws IOException {
+        final Reader myReader = new CharArrayReader("ab".toCharArray());
+        final IterableReader myIterator = new IterableReader(myReader);
+        Assert.assertEquals(myIterator.readNextChar(), (Character) 'a');
+        myIterator.close();
+        // the rest of the block is gone.
+        Assert.assertNull(myIterator.readNextChar());
+        // a closed CharArrayReader would throw here.
+        Assert.assertEquals(myReader.read(), -1);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.util.StringUtil;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class JSONEscaperTest {
+    private static final String DATA_PROVIDER_NAME = "JSONEscaperTest";
+
+    private JSONEscaperTest() {
+    }
+
+    @DataProvider(name = DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] dataProvider() {
+        return new Object[][] {
+            {"", ""},
+            {"plain text", "plain text"},
+            {"\"quoted\"", "\\\"quoted\\\""},
+            {"a/b\\c", "a\\/b\\\\c"},
+            {"\r\n\f\b\t", "\\r\\n\\f\\b\\u0009"},
+            {"\u0000\u001f\u007f", "\\u0000\\u001f\\u007f"},
+            {"caf\u00e9 \u2603!", "caf\\u00e9 \\u2603!"},
+            {"\ud83d\ude00", "\\ud83d\\ude00"},
+            {"-----BEGIN CERTIFICATE-----\nMIIB\nMIIC\n-----END CERTIFICATE-----\n",
+                "-----BEGIN CERTIFICATE-----\\nMIIB\\nMIIC\\n-----END CERTIFICATE-----\\n"},
+        };
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testEscapeToBulkWriter(final String parInput, final String parExpected) throws IOException {
+        final StringBuilderBuffer myBuffer = new StringBuilderBuffer(0);
+        JSONEscaper.writeEscaped(parInput, myBuffer);
+        Assert.assertEquals(myBuffer.toString(), parExpected);
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testEscapeToCharacterWriter(final String parInput, final String parExpected) throws IOException {
+        final StringBuilder myBuilder = new StringBuilder();
+        JSONEscaper.writeEscaped(parInput, new ICharacterWriter() {
+            @Override
+            public void append(final char parChar) {
+                myBuilder.append(parChar);
+            }
+
+            @Override
+            public void append(final CharSequence parChars) {
+                myBuilder.append(parChars);
+            }
+        });
+        Assert.assertEquals(myBuilder.toString(), parExpected);
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testEscapeToSecureBuffer(final String parInput, final String parExpected) throws IOException {
+        final ManagedSecureCharBuffer myBuffer = new ManagedSecureCharBuffer(4);
+        try {
+            JSONEscaper.writeEscaped(parInput, myBuffer);
+            Assert.assertEquals(StringUtil.charSequenceToString(myBuffer), parExpected);
+        } finally {
+            myBuffer.close();
+        }
+    }
+}
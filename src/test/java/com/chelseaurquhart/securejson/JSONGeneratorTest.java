@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class JSONGeneratorTest {
+    private JSONGeneratorTest() {
+    }
+
+    @Test
+    public void testNestedDocument() throws IOException, JSONException {
+        final StringBuilderBuffer myBuffer = new StringBuilderBuffer(0);
+        final JSONGenerator myGenerator = new SecureJSON().createGenerator(myBuffer);
+        myGenerator.writeStartObject()
+            .writeKey("a\"b").writeValue(1)
+            .writeKey("list").writeStartArray()
+                .writeValue("x")
+                .writeStartObject().writeEndObject()
+                .writeStartArray().writeEndArray()
+                .writeValue(Arrays.asList(true, null))
+            .writeEndArray()
+            .writeKey("empty").writeStartObject().writeEndObject()
+            .writeEndObject();
+        myGenerator.close();
+
+        Assert.assertEquals(myBuffer.toString(),
+            "{\"a\\\"b\":1,\"list\":[\"x\",{},[],[true,null]],\"empty\":{}}");
+    }
+
+    @Test
+    public void testStreamRows() throws IOException, JSONException {
+        final ByteArrayOutputStream myOutputStream = new ByteArrayOutputStream();
+        final JSONGenerator myGenerator = new SecureJSON().createGenerator(myOutputStream);
+        try {
+            myGenerator.writeStartArray();
+            for (int myIndex = 0; myIndex < 3; myIndex++) {
+                myGenerator.writeStartObject().writeKey("id").writeValue(myIndex).writeEndObject();
+            }
+            myGenerator.writeEndArray();
+        } finally {
+            myGenerator.close();
+        }
+
+        Assert.assertEquals(myOutputStream.toString(StandardCharsets.UTF_8.name()),
+            "[{\"id\":0},{\"id\":1},{\"id\":2}]");
+    }
+
+    @Test
+    public void testScalarRoot() throws IOException, JSONException {
+        final StringBuilderBuffer myBuffer = new StringBuilderBuffer(0);
+        final JSONGenerator myGenerator = new SecureJSON().createGenerator(myBuffer);
+        myGenerator.writeValue("root");
+        myGenerator.close();
+
+        Assert.assertEquals(myBuffer.toString(), "\"root\"");
+    }
+
+    @Test(expectedExceptions = JSONEncodeException.class)
+    public void testKeyInArray() throws JSONException {
+        new SecureJSON().createGenerator(new StringBuilderBuffer(0)).writeStartArray().writeKey("key");
+    }
+
+    @Test(expectedExceptions = JSONEncodeException.class)
+    public void testValueWithoutKey() throws JSONException {
+        new SecureJSON().createGenerator(new StringBuilderBuffer(0)).writeStartObject().writeValue(1);
+    }
+
+    @Test(expectedExceptions = JSONEncodeException.class)
+    public void testKeyWithoutValue() throws JSONException {
+        new SecureJSON().createGenerator(new StringBuilderBuffer(0)).writeStartObject().writeKey("key")
+            .writeEndObject();
+    }
+
+    @Test(expectedExceptions = JSONEncodeException.class)
+    public void testMismatchedEnd() throws JSONException {
+        new SecureJSON().createGenerator(new StringBuilderBuffer(0)).writeStartObject().writeEndArray();
+    }
+
+    @Test(expectedExceptions = JSONEncodeException.class)
+    public void testSecondRoot() throws JSONException {
+        new SecureJSON().createGenerator(new StringBuilderBuffer(0)).writeStartArray().writeEndArray().writeValue(1);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class JSONLinesTest {
+    private static final String DATA_PROVIDER_NAME = "JSONLinesTest";
+    private static final int THREADS = 3;
+    private static final int RECORDS = 500;
+    private static final int FLUSH_INTERVAL = 10;
+    private static final String INPUT = "{\"a\": 1}\n\n[2, \"x\"]\r\n  \"three\" \n4\nnull\ntrue";
+    private static final List<Object> EXPECTED = Arrays.<Object>asList("{a=1}", "[2, x]", "three", "4", "null",
+        "true");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    private JSONLinesTest() {
+    }
+
+    /**
+     * Stop the executor used for parsing.
+     */
+    @AfterClass
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @DataProvider(name = DATA_PROVIDER_NAME)
+    Object[][] dataProvider() {
+        return new Object[][]{
+            {new SecureJSON()},
+            {new SecureJSON.Builder().parallelParsing(executor, 0).build()}
+        };
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadCharSequence(final SecureJSON parSecureJSON) throws JSONDecodeException {
+        final List<Object> myRecords = new ArrayList<Object>();
+        parSecureJSON.fromJSONLines(INPUT, buildCollector(myRecords));
+        Assert.assertEquals(myRecords, EXPECTED);
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadStream(final SecureJSON parSecureJSON) throws JSONDecodeException {
+        final List<Object> myRecords = new ArrayList<Object>();
+        parSecureJSON.fromJSONLines(new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.UTF_8)),
+            buildCollector(myRecords));
+        Assert.assertEquals(myRecords, EXPECTED);
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadUtf16Stream(final SecureJSON parSecureJSON) throws JSONDecodeException {
+        for (final String myCharset : new String[]{"UTF-16LE", "UTF-16BE", "UTF-16"}) {
+            final List<Object> myRecords = new ArrayList<Object>();
+            parSecureJSON.fromJSONLines(new ByteArrayInputStream(INPUT.getBytes(Charset.forName(myCharset))),
+                buildCollector(myRecords));
+            Assert.assertEquals(myRecords, EXPECTED, myCharset);
+        }
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadOneValuePerLine(final SecureJSON parSecureJSON) {
+        for (final String myInput : new String[]{"1 2", "1\n\"a\" \"b\"\n", "[1,\n2]", "{\"a\":\n1}", "[\n]"}) {
+            final List<Object> myRecords = new ArrayList<Object>();
+            try {
+                parSecureJSON.fromJSONLines(myInput, buildCollector(myRecords));
+                Assert.fail("Expected exception not thrown for " + myInput);
+            } catch (final JSONDecodeException myException) {
+                Assert.assertTrue(myRecords.size() <= 1, myInput);
+            }
+            try {
+                parSecureJSON.fromJSONLines(new ByteArrayInputStream(myInput.getBytes(StandardCharsets.UTF_8)),
+                    buildCollector(myRecords));
+                Assert.fail("Expected exception not thrown for " + myInput);
+            } catch (final JSONDecodeException myException) {
+                Assert.assertTrue(myRecords.size() <= 2, myInput);
+            }
+        }
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadEmpty(final SecureJSON parSecureJSON) throws JSONDecodeException {
+        final List<Object> myRecords = new ArrayList<Object>();
+        parSecureJSON.fromJSONLines(" \n\n", buildCollector(myRecords));
+        parSecureJSON.fromJSONLines(new ByteArrayInputStream(new byte[0]), buildCollector(myRecords));
+        Assert.assertTrue(myRecords.isEmpty());
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadMalformed(final SecureJSON parSecureJSON) {
+        final List<Object> myRecords = new ArrayList<Object>();
+        try {
+            parSecureJSON.fromJSONLines("1\n[2\n3\n", buildCollector(myRecords));
+            Assert.fail("Expected exception not thrown");
+        } catch (final JSONDecodeException myException) {
+            Assert.assertEquals(myRecords, Arrays.<Object>asList("1"));
+        }
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testRecordBuffersAreDestroyed(final SecureJSON parSecureJSON) throws JSONDecodeException {
+        final List<CharSequence> myRecords = new ArrayList<CharSequence>();
+        final List<String> myValues = new ArrayList<String>();
+        parSecureJSON.fromJSONLines("\"secret\"\n\"other\"", new IConsumer<CharSequence>() {
+            @Override
+            public void accept(final CharSequence parInput) {
+                myValues.add(StringUtil.charSequenceToString(parInput));
+                myRecords.add(parInput);
+            }
+        });
+        Assert.assertEquals(myValues, Arrays.asList("secret", "other"));
+        for (final CharSequence myRecord : myRecords) {
+            Assert.assertEquals(myRecord.length(), 0);
+        }
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testWriteAndReadBack(final SecureJSON parSecureJSON) throws IOException, JSONException {
+        final List<Integer> myFlushes = new ArrayList<Integer>();
+        final ByteArrayOutputStream myOutputStream = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                myFlushes.add(size());
+            }
+        };
+        final JSONLinesWriter myWriter = parSecureJSON.createLinesWriter(myOutputStream, FLUSH_INTERVAL);
+        try {
+            for (int myIndex = 0; myIndex < RECORDS; myIndex++) {
+                myWriter.write(Arrays.asList(myIndex, "r" + myIndex));
+            }
+        } finally {
+            myWriter.close();
+        }
+        // one flush per batch plus the one on close.
+        Assert.assertEquals(myFlushes.size(), RECORDS / FLUSH_INTERVAL + 1);
+
+        final List<Object> myRecords = new ArrayList<Object>();
+        parSecureJSON.fromJSONLines(new ByteArrayInputStream(myOutputStream.toByteArray()),
+            buildCollector(myRecords));
+        Assert.assertEquals(myRecords.size(), RECORDS);
+        for (int myIndex = 0; myIndex < RECORDS; myIndex++) {
+            Assert.assertEquals(myRecords.get(myIndex), "[" + myIndex + ", r" + myIndex + "]");
+        }
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testWriteAfterFailedRecord(final SecureJSON parSecureJSON) throws IOException, JSONException {
+        final ByteArrayOutputStream myOutputStream = new ByteArrayOutputStream();
+        final JSONLinesWriter myWriter = parSecureJSON.createLinesWriter(myOutputStream, FLUSH_INTERVAL);
+        try {
+            myWriter.write(1);
+            try {
+                myWriter.write(Arrays.asList(2, 3, new IJSONSerializeAware() {
+                    @Override
+                    public Object toJSONable() {
+                        return this;
+                    }
+                }));
+                Assert.fail("Expected exception was not thrown");
+            } catch (final JSONEncodeException myException) {
+                Assert.assertNotNull(myException.getMessage());
+            }
+            myWriter.write(4);
+        } finally {
+            myWriter.close();
+        }
+
+        Assert.assertEquals(new String(myOutputStream.toByteArray(), "UTF-8"), "1\n4\n");
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadIntoClass(final SecureJSON parSecureJSON) throws JSONDecodeException {
+        final List<Integer> myIds = new ArrayList<Integer>();
+        parSecureJSON.fromJSONLines("{\"id\": 1}\n{\"id\": 2}\n", new IConsumer<Event>() {
+            @Override
+            public void accept(final Event parInput) {
+                myIds.add(parInput.id);
+            }
+        }, Event.class);
+        Assert.assertEquals(myIds, Arrays.asList(1, 2));
+    }
+
+    private IConsumer<Object> buildCollector(final List<Object> parRecords) {
+        return new IConsumer<Object>() {
+            @Override
+            public void accept(final Object parInput) {
+                parRecords.add(String.valueOf(StringUtil.deepCharSequenceToString(parInput)));
+            }
+        };
+    }
+
+    private static final class Event {
+        private int id;
+
+        private Event() {
+        }
+    }
+}
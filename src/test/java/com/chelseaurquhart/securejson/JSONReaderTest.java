@@ -39,6 +39,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 @SuppressWarnings("PMD.CommentRequired")
 public final class JSONReaderTest {
@@ -537,6 +538,49 @@ public final class JSONReaderTest {
             parParameters.expectedException);
     }
 
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadGenericFromStringSingleLoop(final Parameters<?> parParameters) {
+        if (parParameters.inputBytes != null) {
+            final char[] myChars = new char[parParameters.inputBytes.length];
+            for (int myIndex = myChars.length - 1; myIndex >= 0; myIndex--) {
+                myChars[myIndex] = (char) (0xff & parParameters.inputBytes[myIndex]);
+            }
+            parParameters.inputString = new String(myChars);
+        }
+
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).singleLoop(true).build();
+        runTest(myReader, parParameters.inputString, parParameters.expected,
+            parParameters.expectedException);
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadGenericFromStreamSingleLoop(final Parameters<?> parParameters) {
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).singleLoop(true).build();
+
+        runTest(myReader, inputToStream(parParameters.inputString, parParameters.inputBytes), parParameters.expected,
+            parParameters.expectedException);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testContainersAreArrayBacked() throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        try {
+            final List<Object> myList = (List<Object>) myReader.read(
+                "[[1, 2, 3, 4, 5, 6, 7, 8], [9], {\"a\": 1}, {\"b\": 2, \"c\": 3}]");
+            Assert.assertTrue(myList instanceof ArrayList);
+            Assert.assertTrue(myList.get(0) instanceof ArrayList);
+            Assert.assertTrue(myList.get(1) instanceof ArrayList);
+            Assert.assertTrue(myList.get(2) instanceof SecureKeyMap);
+            Assert.assertTrue(myList.get(3) instanceof SecureKeyMap);
+            Assert.assertEquals(myList.get(0), Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+            Assert.assertEquals(myList.get(1), Arrays.asList(9));
+            Assert.assertEquals(((Map<CharSequence, Object>) myList.get(3)).get("c"), 3);
+        } finally {
+            myReader.close();
+        }
+    }
+
     private void runTest(final JSONReader parReader, final Object parInput, final Object parExpected,
                          final Exception parExpectedException) {
         try {
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class JSONTapeTest {
+    private static final String DATA_PROVIDER_NAME = "JSONTapeTest";
+    private static final String INVALID_DATA_PROVIDER_NAME = "JSONTapeTestInvalid";
+
+    private JSONTapeTest() {
+    }
+
+    @DataProvider(name = DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] dataProvider() {
+        return new Object[][]{
+            {"[]"},
+            {" { } "},
+            {"\"scalar \\u0041\\n\""},
+            {"-12.5e3"},
+            {"null"},
+            {"[1, -2.5e3, true, false, null, \"a,]\\\"[\\u0041\", 123456789012345678901234567890]"},
+            {"{\"a\": [1, {\"b\": []}, [[]]], \"c\": {\"d\": \"e\"}, \"f\" : {}}"},
+            {"[{\"k\": 1}, {\"k\": 2}, {\"k\": [3, {}]}]\n"},
+        };
+    }
+
+    @DataProvider(name = INVALID_DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] invalidDataProvider() {
+        return new Object[][]{
+            {""},
+            {"[1 2]"},
+            {"[1,]"},
+            {"{\"a\" 1}"},
+            {"[\"abc]"},
+            {"[\"bad \\x escape\"]"},
+            {"[1.2.3]"},
+            {"[tru]"},
+            {"[1] 2"},
+        };
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testMatchesFromJSON(final String parInput) throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        final JSONTape myTape = JSONTape.read(parInput, Settings.DEFAULTS);
+        try {
+            Assert.assertEquals(String.valueOf(StringUtil.deepCharSequenceToString(toObject(myTape.cursor()))),
+                String.valueOf(StringUtil.deepCharSequenceToString(myReader.read(parInput))));
+        } finally {
+            myReader.close();
+            myTape.close();
+        }
+    }
+
+    @Test(dataProvider = INVALID_DATA_PROVIDER_NAME)
+    public void testInvalid(final String parInput) throws IOException {
+        try {
+            JSONTape.read(parInput, Settings.DEFAULTS).close();
+            Assert.fail("Expected exception not thrown");
+        } catch (final JSONException myException) {
+            Assert.assertTrue(myException instanceof JSONDecodeException, myException.getClass().getName());
+            Assert.assertEquals(myException.getMessage(), readError(parInput));
+        }
+    }
+
+    private static String readError(final String parInput) throws IOException {
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        try {
+            myReader.read(parInput);
+        } catch (final JSONException myException) {
+            return myException.getMessage();
+        } finally {
+            myReader.close();
+        }
+
+        return null;
+    }
+
+    @Test
+    public void testNavigation() throws IOException, JSONException {
+        final JSONTape myTape = JSONTape.read(
+            "{\"user\": {\"name\": \"x\", \"roles\": [\"admin\", \"ops\"], \"name\": \"y\"}, \"active\": true}",
+            Settings.DEFAULTS);
+        try {
+            final JSONTape.Cursor myCursor = myTape.cursor();
+            Assert.assertEquals(myCursor.getType(), JSONTape.Type.OBJECT);
+            Assert.assertFalse(myCursor.moveToNextSibling());
+            Assert.assertFalse(myCursor.moveToParent());
+            Assert.assertFalse(myCursor.moveToKey("missing"));
+
+            Assert.assertTrue(myCursor.moveToKey("user"));
+            Assert.assertTrue(myCursor.moveToKey("name"));
+            // the last duplicate wins.
+            Assert.assertEquals(StringUtil.charSequenceToString(myCursor.getString()), "y");
+            Assert.assertTrue(myCursor.moveToParent());
+            Assert.assertTrue(myCursor.moveToKey("roles"));
+            Assert.assertTrue(myCursor.moveToFirstChild());
+            Assert.assertEquals(StringUtil.charSequenceToString(myCursor.getString()), "admin");
+            Assert.assertTrue(myCursor.moveToNextSibling());
+            Assert.assertEquals(StringUtil.charSequenceToString(myCursor.getString()), "ops");
+            Assert.assertFalse(myCursor.moveToNextSibling());
+
+            // skipping the whole user object.
+            final JSONTape.Cursor myOther = myTape.cursor();
+            Assert.assertTrue(myOther.moveToFirstChild());
+            Assert.assertEquals(StringUtil.charSequenceToString(myOther.getString()), "user");
+            Assert.assertTrue(myOther.moveToNextSibling());
+            Assert.assertEquals(myOther.getType(), JSONTape.Type.OBJECT);
+            Assert.assertTrue(myOther.moveToNextSibling());
+            Assert.assertEquals(StringUtil.charSequenceToString(myOther.getString()), "active");
+            Assert.assertTrue(myOther.moveToNextSibling());
+            Assert.assertTrue(myOther.getBoolean());
+            Assert.assertFalse(myOther.moveToNextSibling());
+        } finally {
+            myTape.close();
+        }
+    }
+
+    @Test
+    public void testWrongTypeIsRejected() throws IOException, JSONException {
+        final JSONTape myTape = JSONTape.read("[1]", Settings.DEFAULTS);
+        try {
+            final JSONTape.Cursor myCursor = myTape.cursor();
+            Assert.assertTrue(myCursor.moveToFirstChild());
+            Assert.assertEquals(myCursor.getNumber(), 1);
+            try {
+                myCursor.getString();
+                Assert.fail("Expected exception not thrown");
+            } catch (final JSONRuntimeException myException) {
+                Assert.assertEquals(myException.getCause().getClass(), IllegalStateException.class);
+            }
+            try {
+                myCursor.moveToFirstChild();
+                Assert.fail("Expected exception not thrown");
+            } catch (final JSONRuntimeException myException) {
+                Assert.assertEquals(myException.getCause().getClass(), IllegalStateException.class);
+            }
+        } finally {
+            myTape.close();
+        }
+    }
+
+    @Test
+    public void testCloseWipesStrings() throws IOException, JSONException {
+        final JSONTape myTape = JSONTape.read("[\"secret\"]", Settings.DEFAULTS);
+        final JSONTape.Cursor myCursor = myTape.cursor();
+        Assert.assertTrue(myCursor.moveToFirstChild());
+        final CharSequence mySecret = myCursor.getString();
+        Assert.assertEquals(StringUtil.charSequenceToString(mySecret), "secret");
+        myTape.close();
+        try {
+            mySecret.charAt(0);
+            Assert.fail("Expected exception not thrown");
+        } catch (final JSONRuntimeException myException) {
+            Assert.assertEquals(myException.getCause().getClass(), IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void testSecureJSON() throws IOException, JSONException {
+        final JSONTape myTape = new SecureJSON().readTape("{\"a\": 1}");
+        try {
+            final JSONTape.Cursor myCursor = myTape.cursor();
+            Assert.assertTrue(myCursor.moveToKey("a"));
+            Assert.assertEquals(myCursor.getNumber(), 1);
+        } finally {
+            myTape.close();
+        }
+
+        try {
+            new SecureJSON().readTape("{\"a\": }");
+            Assert.fail("Expected exception not thrown");
+        } catch (final JSONDecodeException myException) {
+            Assert.assertTrue(myException.getMessage().contains("invalid token"), myException.getMessage());
+        }
+    }
+
+    private static Object toObject(final JSONTape.Cursor parCursor) {
+        switch (parCursor.getType()) {
+            case OBJECT:
+                final Map<CharSequence, Object> myMap = new LinkedHashMap<CharSequence, Object>();
+                if (parCursor.moveToFirstChild()) {
+                    do {
+                        final String myKey = StringUtil.charSequenceToString(parCursor.getString());
+                        parCursor.moveToNextSibling();
+                        myMap.put(myKey, toObject(parCursor));
+                    } while (parCursor.moveToNextSibling());
+                    parCursor.moveToParent();
+                }
+
+                return myMap;
+            case ARRAY:
+                final List<Object> myList = new ArrayList<Object>();
+                if (parCursor.moveToFirstChild()) {
+                    do {
+                        myList.add(toObject(parCursor));
+                    } while (parCursor.moveToNextSibling());
+                    parCursor.moveToParent();
+                }
+
+                return myList;
+            case STRING:
+                return StringUtil.charSequenceToString(parCursor.getString());
+            case NUMBER:
+                return parCursor.getNumber();
+            case BOOLEAN:
+                return parCursor.getBoolean();
+            default:
+                return null;
+        }
+    }
+}
@@ -25,8 +25,12 @@ import org.testng.annotations.Test;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 @SuppressWarnings("PMD.CommentRequired")
 public final class JSONWriterTest {
@@ -70,6 +74,41 @@ public final class JSONWriterTest {
                 new Object[]{0, 1, 2},
                 "[0,1,2]"
             ),
+            new Parameters(
+                "int array",
+                new int[]{0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE},
+                "[0,-1,2147483647,-2147483648]"
+            ),
+            new Parameters(
+                "long array",
+                new long[]{Long.MIN_VALUE, 10L},
+                "[-9223372036854775808,10]"
+            ),
+            new Parameters(
+                "double array",
+                new double[]{1.5, -0.0, 1e300},
+                "[1.5,-0.0,1.0E300]"
+            ),
+            new Parameters(
+                "float array",
+                new float[]{0.1f, 3f},
+                "[0.1,3.0]"
+            ),
+            new Parameters(
+                "short and byte arrays",
+                new Object[]{new short[]{Short.MIN_VALUE}, new byte[]{Byte.MIN_VALUE, 1}, new int[0]},
+                "[[-32768],[-128,1],[]]"
+            ),
+            new Parameters(
+                "boolean array",
+                new boolean[]{true, false},
+                "[true,false]"
+            ),
+            new Parameters(
+                "char array",
+                new char[]{'a', '"', '\u00e9'},
+                "[\"a\",\"\\\"\",\"\\u00e9\"]"
+            ),
             new Parameters(
                 "empty map",
                 new LinkedHashMap<Object, Object>(),
@@ -144,6 +183,41 @@ public final class JSONWriterTest {
                 new HugeDecimal("123", new NumberReader(Settings.DEFAULTS)),
                 "123"
             ),
+            new Parameters(
+                "Iterator",
+                Arrays.asList(1, "two", null).iterator(),
+                "[1,\"two\",null]"
+            ),
+            new Parameters(
+                "Empty iterator",
+                new ArrayList<Object>().iterator(),
+                "[]"
+            ),
+            new Parameters(
+                "Nested iterators",
+                Arrays.<Object>asList(true, Arrays.asList(1, 2).iterator()).iterator(),
+                "[true,[1,2]]"
+            ),
+            new Parameters(
+                "Iterator recursion is detected",
+                new Iterator<Object>() {
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Object next() {
+                        return this;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                },
+                "null"
+            ).exception(new JSONEncodeException(Messages.Key.ERROR_RECURSION_DETECTED)),
             new Parameters(
                 "Object returns number",
                 // we must use IJSONSerializeAware or our Object serializer will process it.
@@ -227,6 +301,56 @@ public final class JSONWriterTest {
         testWrite(myParameters);
     }
 
+    @Test
+    public void testWriteStream() throws Exception {
+        // streams are looked up reflectively so this stays buildable against older JDKs.
+        final Object myStream = Arrays.class.getMethod("stream", Object[].class).invoke(null,
+            new Object[] {new Object[] {"a", 1, false}});
+        final Object mySpliterator = Arrays.class.getMethod("spliterator", Object[].class).invoke(null,
+            new Object[] {new Object[] {2.5}});
+
+        testWrite(new Parameters("Stream", myStream, "[\"a\",1,false]"));
+        testWrite(new Parameters("Spliterator", mySpliterator, "[2.5]"));
+    }
+
+    @Test
+    public void testWriteIterableAsObject() throws JSONEncodeException {
+        final List<String> myResults = new ArrayList<String>();
+        new SecureJSON().toJSON(new SelfIterable(), new IConsumer<CharSequence>() {
+            @Override
+            public void accept(final CharSequence parInput) {
+                myResults.add(StringUtil.charSequenceToString(parInput));
+            }
+        });
+        Assert.assertEquals(myResults, Collections.singletonList("{\"value\":1}"));
+    }
+
+    @Test
+    public void testWriteSecretArraysAsStrings() throws IOException, JSONException {
+        final JSONWriter myWriter = new JSONWriter(new Settings(new SecureJSON.Builder()
+            .charArraysAsStrings(true)
+            .byteArraysAsBase64(true)));
+        try {
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myWriter.write(new Object[]{
+                new char[]{'a', '"', '\u00e9'}, new byte[]{Byte.MIN_VALUE, 1}})), "[\"a\\\"\\u00e9\",\"gAE=\"]");
+        } finally {
+            myWriter.close();
+        }
+    }
+
+    /**
+     * An Iterable whose elements are like itself, as java.nio.file.Path is.
+     */
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    private static final class SelfIterable implements Iterable<SelfIterable> {
+        private final int value = 1;
+
+        @Override
+        public Iterator<SelfIterable> iterator() {
+            return Collections.singletonList(this).iterator();
+        }
+    }
+
     static class Parameters {
         private String testName;
         private CharSequence expected;
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class LazyDocumentTest {
+    private static final String DATA_PROVIDER_NAME = "LazyDocumentTest";
+    private static final String INVALID_DATA_PROVIDER_NAME = "LazyDocumentTestInvalid";
+
+    private final Settings settings = new Settings(new SecureJSON.Builder().lazyParsing(true));
+
+    private LazyDocumentTest() {
+    }
+
+    @DataProvider(name = DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] dataProvider() {
+        return new Object[][]{
+            {"[]"},
+            {" { } "},
+            {"[1, -2.5e3, true, false, null, \"a,]\\\"[\\u0041\"]"},
+            {"{\"a\": [1, {\"b\": []}, [[]]], \"c\": {\"d\": \"e\"}, \"f\" : 12345678901234567890}"},
+            {"[{\"k\": 1}, {\"k\": 2}, {\"k\": [3, {}]}]\n"},
+            {"\"scalar root\""},
+            {"42"},
+            // the eager reader skips a leading comma in an object.
+            {"{,\"a\": 1}"},
+        };
+    }
+
+    @DataProvider(name = INVALID_DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] invalidDataProvider() {
+        return new Object[][]{
+            {""},
+            {"[1 2]"},
+            {"[[1] [2]]"},
+            {"[1,"},
+            {"[1,]"},
+            {"[,1]"},
+            {"[1]]"},
+            {"[1] 2"},
+            {"[1}"},
+            {"[[1]"},
+            {"[\"abc]"},
+            {"[\"a\"x]"},
+            {"{\"a\":[1,2}"},
+            {"{\"a\" 1}"},
+            {"{1: 2}"},
+            {"{\"a\":1,}"},
+            {"{\"a\":}"},
+        };
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testReadMatchesEager(final String parInput) throws IOException, JSONException {
+        final JSONReader myEagerReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        final JSONReader myLazyReader = new JSONReader.Builder(settings).build();
+        try {
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myLazyReader.read(parInput)),
+                StringUtil.deepCharSequenceToString(myEagerReader.read(parInput)));
+        } finally {
+            myEagerReader.close();
+            myLazyReader.close();
+        }
+    }
+
+    @Test(dataProvider = INVALID_DATA_PROVIDER_NAME)
+    public void testErrorsMatchEager(final String parInput) throws IOException {
+        final String myExpected = readError(Settings.DEFAULTS, parInput);
+        Assert.assertNotNull(myExpected);
+        Assert.assertEquals(readError(settings, parInput), myExpected);
+    }
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testValuesAreDecodedOnAccess() throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(settings).build();
+        try {
+            final Map<CharSequence, Object> myMap = (Map<CharSequence, Object>) myReader.read(
+                "{\"good\": {\"value\": \"ok\"}, \"bad\": [1, 2, tru], \"number\": 1.2.3}");
+            Assert.assertEquals(myMap.size(), 3);
+            Assert.assertEquals(StringUtil.charSequenceToString(
+                (CharSequence) ((Map<CharSequence, Object>) myMap.get("good")).get("value")), "ok");
+
+            final List<Object> myBad = (List<Object>) myMap.get("bad");
+            Assert.assertEquals(myBad.size(), 3);
+            Assert.assertEquals(myBad.get(1), 2);
+            assertDecodeFails(myBad, 2, JSONDecodeException.InvalidTokenException.class);
+            Assert.assertTrue(myMap.containsKey("number"));
+            try {
+                myMap.get("number");
+                Assert.fail("Expected exception not thrown");
+            } catch (final JSONRuntimeException myException) {
+                Assert.assertEquals(myException.getCause().getClass(),
+                    JSONDecodeException.MalformedNumberException.class);
+            }
+            Assert.assertNull(myMap.get("missing"));
+            Assert.assertNull(myMap.get(1));
+        } finally {
+            myReader.close();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testContainersAreCached() throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(settings).build();
+        try {
+            final List<Object> myList = (List<Object>) myReader.read("[{\"a\": \"b\"}, [1]]");
+            Assert.assertSame(myList.get(0), myList.get(0));
+            Assert.assertSame(((Map<CharSequence, Object>) myList.get(0)).get("a"),
+                ((Map<CharSequence, Object>) myList.get(0)).get("a"));
+            Assert.assertSame(myList.get(1), myList.get(1));
+        } finally {
+            myReader.close();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDuplicateKeysKeepFirstPositionAndLastValue() throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(settings).build();
+        try {
+            final Map<CharSequence, Object> myMap = (Map<CharSequence, Object>) myReader.read(
+                "{\"a\": 1, \"b\": 2, \"a\": 3}");
+            final List<String> myKeys = new ArrayList<String>();
+            final List<Object> myValues = new ArrayList<Object>();
+            for (final Map.Entry<CharSequence, Object> myEntry : myMap.entrySet()) {
+                myKeys.add(StringUtil.charSequenceToString(myEntry.getKey()));
+                myValues.add(myEntry.getValue());
+            }
+            Assert.assertEquals(myKeys, Arrays.asList("a", "b"));
+            Assert.assertEquals(myValues, Arrays.<Object>asList(3, 2));
+        } finally {
+            myReader.close();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testViewsAreReadOnly() throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(settings).build();
+        try {
+            final Map<CharSequence, Object> myMap = (Map<CharSequence, Object>) myReader.read("{\"a\": [1]}");
+            try {
+                myMap.put("b", 2);
+                Assert.fail("Expected exception not thrown");
+            } catch (final UnsupportedOperationException myException) {
+                // Allowed empty block: expected.
+            }
+            try {
+                ((List<Object>) myMap.get("a")).add(2);
+                Assert.fail("Expected exception not thrown");
+            } catch (final UnsupportedOperationException myException) {
+                // Allowed empty block: expected.
+            }
+        } finally {
+            myReader.close();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testViewsAreUnusableAfterClose() throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(settings).build();
+        final List<Object> myList = (List<Object>) myReader.read("[1, 2]");
+        myReader.close();
+        try {
+            myList.get(0);
+            Assert.fail("Expected exception not thrown");
+        } catch (final JSONRuntimeException myException) {
+            Assert.assertEquals(myException.getCause().getClass(), IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void testSecureJSON() throws JSONException {
+        final SecureJSON mySecureJSON = new SecureJSON.Builder().lazyParsing(true).build();
+        mySecureJSON.fromJSON("{\"outer\": {\"inner\": [\"x\", 1]}, \"ignored\": 1.2.3}",
+            new IConsumer<Map<CharSequence, Object>>() {
+                @Override
+                public void accept(final Map<CharSequence, Object> parInput) {
+                    Assert.assertEquals(StringUtil.deepCharSequenceToString(parInput.get("outer")).toString(),
+                        "{inner=[x, 1]}");
+                }
+            });
+
+        try {
+            mySecureJSON.fromJSON("{\"ignored\": 1.2.3}", new IConsumer<Map<CharSequence, Object>>() {
+                @Override
+                public void accept(final Map<CharSequence, Object> parInput) {
+                    parInput.get("ignored");
+                }
+            });
+            Assert.fail("Expected exception not thrown");
+        } catch (final JSONDecodeException myException) {
+            Assert.assertTrue(myException.getMessage().contains("malformed number"), myException.getMessage());
+        }
+    }
+
+    private static String readError(final Settings parSettings, final String parInput) throws IOException {
+        final JSONReader myReader = new JSONReader.Builder(parSettings).build();
+        try {
+            myReader.read(parInput);
+        } catch (final JSONException myException) {
+            // the message carries the offset.
+            return myException.getClass().getName() + ": " + myException.getMessage();
+        } finally {
+            myReader.close();
+        }
+
+        return null;
+    }
+
+    private static void assertDecodeFails(final List<Object> parList, final int parIndex,
+                                          final Class<?> parExpected) {
+        try {
+            parList.get(parIndex);
+            Assert.fail("Expected exception not thrown");
+        } catch (final JSONRuntimeException myException) {
+            Assert.assertEquals(myException.getCause().getClass(), parExpected);
+        }
+    }
+}
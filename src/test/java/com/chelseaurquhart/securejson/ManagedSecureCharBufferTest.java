@@ -94,6 +94,43 @@ public final class ManagedSecureCharBufferTest {
         }
     }
 
+    @Test
+    public void testCharSequenceRangeByCopy() throws IOException {
+        ManagedSecureCharBuffer myManagedSecureCharBuffer = null;
+        try {
+            myManagedSecureCharBuffer = new ManagedSecureCharBuffer(4);
+            final MutatableString myCharSequence = new MutatableString();
+
+            myCharSequence.string = "TESTING";
+            myManagedSecureCharBuffer.append(myCharSequence, 0, myCharSequence.length());
+
+            Assert.assertEquals(StringUtil.charSequenceToString(myManagedSecureCharBuffer), "TESTING");
+            myCharSequence.string = "CHANGED";
+            Assert.assertEquals(StringUtil.charSequenceToString(myManagedSecureCharBuffer), "TESTING");
+        } finally {
+            if (myManagedSecureCharBuffer != null) {
+                myManagedSecureCharBuffer.close();
+            }
+        }
+    }
+
+    @Test
+    public void testCharSequenceRangeInOneChunk() throws IOException {
+        final ManagedSecureCharBuffer myManagedSecureCharBuffer = new ManagedSecureCharBuffer(4);
+        try {
+            myManagedSecureCharBuffer.append('[');
+            myManagedSecureCharBuffer.append("xxTESTING A LONGER RANGExx", 2, 24);
+            myManagedSecureCharBuffer.append(']');
+
+            Assert.assertEquals(myManagedSecureCharBuffer.getChunks().size(), 3);
+            Assert.assertEquals(myManagedSecureCharBuffer.getChunks().get(1).length(), 22);
+            Assert.assertEquals(StringUtil.charSequenceToString(myManagedSecureCharBuffer),
+                "[TESTING A LONGER RANGE]");
+        } finally {
+            myManagedSecureCharBuffer.close();
+        }
+    }
+
     @Test
     public void testCharSequenceAndBytesMixedClose() throws IOException {
         ManagedSecureCharBuffer myManagedSecureCharBuffer = null;
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class NumberWriterTest {
+    private static final String DATA_PROVIDER_NAME = "NumberWriterTest";
+    private static final int RANDOM_ITERATIONS = 20000;
+
+    private NumberWriterTest() {
+    }
+
+    @DataProvider(name = DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] dataProvider() {
+        return new Object[][] {
+            {0, "0"},
+            {-1, "-1"},
+            {(short) 99, "99"},
+            {(byte) -100, "-100"},
+            {Integer.MIN_VALUE, "-2147483648"},
+            {Long.MAX_VALUE, "9223372036854775807"},
+            {Long.MIN_VALUE, "-9223372036854775808"},
+            {new AtomicLong(12345), "12345"},
+            {0.0, "0.0"},
+            {-0.0, "-0.0"},
+            {1.0, "1.0"},
+            {-1.5, "-1.5"},
+            {0.1, "0.1"},
+            {0.001, "0.001"},
+            {1.0e-4, "1.0E-4"},
+            {9999999.0, "9999999.0"},
+            {1.0e7, "1.0E7"},
+            {1.0e23, "1.0E23"},
+            {1.0e43, "1.0E43"},
+            {123456789012345678.0, "1.2345678901234568E17"},
+            {Double.MAX_VALUE, "1.7976931348623157E308"},
+            {Double.MIN_NORMAL, "2.2250738585072014E-308"},
+            {Double.MIN_VALUE, "4.9E-324"},
+            {Double.NaN, "NaN"},
+            {Double.NEGATIVE_INFINITY, "-Infinity"},
+            {0.1f, "0.1"},
+            {-0.0f, "-0.0"},
+            {16777216f, "1.6777216E7"},
+            {Float.MAX_VALUE, "3.4028235E38"},
+            {Float.MIN_NORMAL, "1.1754944E-38"},
+            {Float.MIN_VALUE, "1.4E-45"},
+            {Float.POSITIVE_INFINITY, "Infinity"},
+            {new BigInteger("-123456789"), "-123456789"},
+            {new BigInteger("123456789012345678901234567890"), "123456789012345678901234567890"},
+            {new BigDecimal("123.456"), "123.456"},
+            {new BigDecimal("-0.000001"), "-0.000001"},
+            {new BigDecimal("1E-7"), "1E-7"},
+            {new BigDecimal("-1.23E+5"), "-1.23E+5"},
+            {new BigDecimal("12345678901234567890.123456789"), "12345678901234567890.123456789"},
+        };
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testWrite(final Number parInput, final String parExpected) throws IOException {
+        Assert.assertEquals(write(parInput), parExpected);
+    }
+
+    @Test
+    public void testDoublesRoundTrip() throws IOException {
+        final Random myRandom = new Random(RANDOM_ITERATIONS);
+        for (int myIndex = 0; myIndex < RANDOM_ITERATIONS; myIndex++) {
+            final double myValue = Double.longBitsToDouble(myRandom.nextLong());
+            if (!Double.isNaN(myValue)) {
+                final String myActual = write(myValue);
+                Assert.assertEquals(Double.parseDouble(myActual), myValue, 0.0, myActual);
+                Assert.assertTrue(significantDigits(myActual) <= significantDigits(Double.toString(myValue)),
+                    myActual);
+            }
+        }
+    }
+
+    @Test
+    public void testFloatsRoundTrip() throws IOException {
+        final Random myRandom = new Random(RANDOM_ITERATIONS);
+        for (int myIndex = 0; myIndex < RANDOM_ITERATIONS; myIndex++) {
+            final float myValue = Float.intBitsToFloat(myRandom.nextInt());
+            if (!Float.isNaN(myValue)) {
+                final String myActual = write(myValue);
+                Assert.assertEquals(Float.parseFloat(myActual), myValue, 0.0f, myActual);
+                Assert.assertTrue(significantDigits(myActual) <= significantDigits(Float.toString(myValue)),
+                    myActual);
+            }
+        }
+    }
+
+    @Test
+    public void testIntegersAndDecimalsMatchToString() throws IOException {
+        final Random myRandom = new Random(RANDOM_ITERATIONS);
+        for (int myIndex = 0; myIndex < RANDOM_ITERATIONS; myIndex++) {
+            final long myValue = myRandom.nextLong() >> myRandom.nextInt(Long.SIZE);
+            Assert.assertEquals(write(myValue), Long.toString(myValue));
+
+            final BigDecimal myDecimal = BigDecimal.valueOf(myValue, myRandom.nextInt(Byte.SIZE * 2) - Byte.SIZE);
+            Assert.assertEquals(write(myDecimal), myDecimal.toString());
+        }
+    }
+
+    private static String write(final Number parInput) throws IOException {
+        final StringBuilderBuffer myBuffer = new StringBuilderBuffer(0);
+        NumberWriter.write(parInput, myBuffer);
+
+        return myBuffer.toString();
+    }
+
+    private static int significantDigits(final String parInput) {
+        int myFirst = -1;
+        int myLast = -1;
+        for (int myIndex = 0; myIndex < parInput.length() && parInput.charAt(myIndex) != 'E'; myIndex++) {
+            final char myChar = parInput.charAt(myIndex);
+            if (myChar >= '1' && myChar <= '9') {
+                if (myFirst < 0) {
+                    myFirst = myIndex;
+                }
+                myLast = myIndex;
+            }
+        }
+        if (myFirst < 0) {
+            return 1;
+        }
+
+        return parInput.substring(myFirst, myLast + 1).replace(".", "").length();
+    }
+}
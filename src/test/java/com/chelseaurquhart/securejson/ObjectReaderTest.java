@@ -601,6 +601,80 @@ public final class ObjectReaderTest {
             });
     }
 
+    @Test
+    public void testCreatorConstruction() throws IOException, JSONException {
+        final Map<CharSequence, Object> myNested = new HashMap<CharSequence, Object>();
+        myNested.put("name", "nested name");
+        final Map<CharSequence, Object> myCreator = new HashMap<CharSequence, Object>();
+        myCreator.put("count", 3);
+        myCreator.put("nested", myNested);
+        myCreator.put("values", Arrays.asList(1, 2));
+        final Map<CharSequence, Object> myFactory = new HashMap<CharSequence, Object>();
+        myFactory.put("label", "first");
+        final Map<CharSequence, Object> myInput = new HashMap<CharSequence, Object>();
+        myInput.put("creator", myCreator);
+        myInput.put("factories", Arrays.asList(myFactory, Collections.singletonMap("label", "second")));
+        myInput.put("flag", true);
+
+        final CreatorHolder myHolder = new ObjectReader<CreatorHolder>(CreatorHolder.class, DEFAULT_SETTINGS).accept(
+            myInput);
+
+        Assert.assertEquals(myHolder.creator.count, 3);
+        Assert.assertEquals(myHolder.creator.name, "nested name");
+        Assert.assertEquals(myHolder.creator.values, Arrays.asList(1, 2));
+        Assert.assertEquals(myHolder.creator.missing, 0L);
+        Assert.assertTrue(myHolder.creator.flag);
+        Assert.assertEquals(myHolder.factories.size(), 2);
+        Assert.assertEquals(myHolder.factories.get(0).label, "first");
+        Assert.assertEquals(myHolder.factories.get(1).label, "second");
+    }
+
+    @Test
+    public void testCreatorFromNonMap() {
+        Assert.assertThrows(JSONException.class, new Assert.ThrowingRunnable() {
+            @Override
+            public void run() throws Throwable {
+                new ObjectReader<FactoryClass>(FactoryClass.class, DEFAULT_SETTINGS).accept(Arrays.asList(1, 2));
+            }
+        });
+    }
+
+    @Test
+    public void testInvalidCreators() {
+        for (final Class<?> myClass : Arrays.<Class<?>>asList(TwoCreatorsClass.class, UnnamedCreatorClass.class,
+                InstanceFactoryClass.class)) {
+            Assert.assertThrows(JSONException.class, new Assert.ThrowingRunnable() {
+                @Override
+                public void run() throws Throwable {
+                    buildObjectReader(myClass).accept(new HashMap<CharSequence, Object>());
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testCreatorMissingExtraAndNullValues() throws IOException, JSONException {
+        final Map<CharSequence, Object> myInner = new HashMap<CharSequence, Object>();
+        myInner.put("count", null);
+        myInner.put("unknown", "ignored");
+        final Map<CharSequence, Object> myInput = new HashMap<CharSequence, Object>();
+        myInput.put("inner", myInner);
+        myInput.put("extra", Arrays.asList(1, 2));
+
+        final OuterCreatorClass myOuter = buildObjectReader(OuterCreatorClass.class).accept(myInput);
+
+        Assert.assertEquals(myOuter.total, 0);
+        Assert.assertEquals(myOuter.inner.count, 0);
+        Assert.assertNull(myOuter.inner.name);
+        Assert.assertNull(myOuter.inner.values);
+        Assert.assertEquals(myOuter.inner.missing, 0L);
+        Assert.assertFalse(myOuter.inner.flag);
+    }
+
+    private static <T> ObjectReader<T> buildObjectReader(final Class<T> parClass) {
+        return new ObjectReader<T>(parClass, DEFAULT_SETTINGS);
+    }
+
     public static final class IdentityHashSetTest {
         @Test(expectedExceptions = NotImplementedException.class)
         public void testAddValue() {
@@ -780,4 +854,79 @@ public final class ObjectReaderTest {
             private Calendar calendar;
         }
     }
+
+    private static final class CreatorHolder {
+        private CreatorClass creator;
+        private List<FactoryClass> factories;
+    }
+
+    private static final class CreatorClass {
+        private final int count;
+        private final String name;
+        private final List<Integer> values;
+        private final long missing;
+        private final boolean flag;
+
+        @JSONCreator
+        private CreatorClass(@Serialize(name = "count") final int parCount,
+                             @Serialize(name = {"nested", "name"}) final String parName,
+                             @Serialize(name = "values") final List<Integer> parValues,
+                             @Serialize(name = "missing") final long parMissing,
+                             @Serialize(name = "flag", relativeTo = Relativity.ABSOLUTE) final boolean parFlag) {
+            count = parCount;
+            name = parName;
+            values = parValues;
+            missing = parMissing;
+            flag = parFlag;
+        }
+    }
+
+    private static final class OuterCreatorClass {
+        private final CreatorClass inner;
+        private final int total;
+
+        @JSONCreator
+        private OuterCreatorClass(@Serialize(name = "inner") final CreatorClass parInner,
+                                  @Serialize(name = "total") final int parTotal) {
+            inner = parInner;
+            total = parTotal;
+        }
+    }
+
+    private static final class FactoryClass {
+        private final String label;
+
+        private FactoryClass(final String parLabel) {
+            label = parLabel;
+        }
+
+        @JSONCreator
+        static FactoryClass build(@Serialize(name = "label") final String parLabel) {
+            return new FactoryClass(parLabel);
+        }
+    }
+
+    private static final class TwoCreatorsClass {
+        @JSONCreator
+        private TwoCreatorsClass() {
+        }
+
+        @JSONCreator
+        static TwoCreatorsClass build() {
+            return new TwoCreatorsClass();
+        }
+    }
+
+    private static final class UnnamedCreatorClass {
+        @JSONCreator
+        private UnnamedCreatorClass(final int parValue) {
+        }
+    }
+
+    private static final class InstanceFactoryClass {
+        @JSONCreator
+        InstanceFactoryClass build() {
+            return new InstanceFactoryClass();
+        }
+    }
 }
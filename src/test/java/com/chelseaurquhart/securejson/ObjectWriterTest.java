@@ -20,7 +20,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.lang.reflect.ReflectPermission;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 
 // We have to run single-threaded to prevent our security manager from buggering up.
@@ -111,6 +113,22 @@ public final class ObjectWriterTest {
         });
     }
 
+    @Test
+    void testIteratorIsNotConsumed() {
+        final ObjectWriter myObjectWriter = new ObjectWriter();
+        final Iterator<String> myIterator = Arrays.asList("a", "b").iterator();
+        Assert.assertSame(myObjectWriter.accept(myIterator), myIterator);
+        Assert.assertTrue(myIterator.hasNext());
+    }
+
+    @Test
+    void testPrimitiveArraysAreNotCopied() {
+        final ObjectWriter myObjectWriter = new ObjectWriter();
+        final int[] myInts = new int[]{1, 2};
+        Assert.assertSame(myObjectWriter.accept(myInts), myInts);
+        Assert.assertEquals(myObjectWriter.accept('c'), 'c');
+    }
+
     @SuppressWarnings("PMD.UnusedPrivateField")
     private static class Inner {
         private TestEnum testEnum = TestEnum.THREE;
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class ParallelArrayReaderTest {
+    private static final String DATA_PROVIDER_NAME = "ParallelArrayReaderTest";
+    private static final int THREADS = 3;
+    private static final int ELEMENTS = 1000;
+    private static final int ELEMENT_SIZE = 80;
+    private static final int BUILDER_CAPACITY = ELEMENTS * ELEMENT_SIZE;
+    private static final int TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final Settings settings = new Settings(new SecureJSON.Builder().parallelParsing(executor, 0));
+
+    private ParallelArrayReaderTest() {
+    }
+
+    /**
+     * Stop the executor used for parsing.
+     */
+    @AfterClass
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @DataProvider(name = DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] dataProvider() {
+        return new Object[][]{
+            {"[]", new int[0]},
+            {" [ ] ", new int[0]},
+            {"[1]", new int[]{1, 2}},
+            {"[ 1 , \"a,]\\\"[\" ,{\"b\": [1, 2]}, [[]] ]\n", new int[]{2, 3, 6, 14, 16, 29, 31, 35}},
+            {"[1,]", null},
+            {"[,1]", null},
+            {"[1,,2]", null},
+            {"[1]]", null},
+            {"[1 2]", null},
+            {"[[1] [2]]", null},
+            {"[\"a\" {}]", null},
+            {"[1] 2", null},
+            {"[\"abc]", null},
+            {"[[1]", null},
+            {"{\"a\": 1}", null},
+            {"", null}
+        };
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testSplit(final String parInput, final int[] parExpected) {
+        Assert.assertEquals(ArraySplitter.split(parInput), parExpected);
+    }
+
+    @Test
+    public void testReadMatchesSequential() throws IOException, JSONException {
+        final String myInput = buildInput();
+        final JSONReader mySequentialReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        final JSONReader myParallelReader = new JSONReader.Builder(settings).build();
+        try {
+            final Object myExpected = StringUtil.deepCharSequenceToString(mySequentialReader.read(myInput));
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myParallelReader.read(myInput)), myExpected);
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myParallelReader.read(
+                myInput.getBytes(StandardCharsets.UTF_8))), myExpected);
+        } finally {
+            mySequentialReader.close();
+            myParallelReader.close();
+        }
+    }
+
+    @Test
+    public void testReadFallsBackToSequential() throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(settings).build();
+        try {
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myReader.read("{\"a\": [1]}")).toString(),
+                "{a=[1]}");
+            // UTF-16 input is never split.
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myReader.read(
+                "[1, 2]".getBytes(Charset.forName("UTF-16LE")))).toString(), "[1, 2]");
+        } finally {
+            myReader.close();
+        }
+    }
+
+    @Test
+    public void testElementErrorIsReported() throws IOException {
+        final JSONReader myReader = new JSONReader.Builder(settings).build();
+        try {
+            myReader.read("[1, 2, tru, 4]");
+            Assert.fail("Expected exception not thrown");
+        } catch (final JSONException myException) {
+            Assert.assertEquals(myException.getClass(), JSONDecodeException.InvalidTokenException.class);
+        } finally {
+            myReader.close();
+        }
+    }
+
+    @Test
+    public void testMissingSeparatorMatchesSequential() throws IOException {
+        for (final String myInput : new String[]{"[1 2]", "[[1] [2]]", "[\"a\" {}]"}) {
+            final String myExpected = readError(Settings.DEFAULTS, myInput);
+            Assert.assertNotNull(myExpected);
+            Assert.assertEquals(readError(settings, myInput), myExpected, myInput);
+        }
+    }
+
+    @Test
+    public void testReadFromExecutorThread() throws Exception {
+        final ExecutorService mySingleExecutor = Executors.newSingleThreadExecutor();
+        try {
+            final Settings mySettings = new Settings(new SecureJSON.Builder().parallelParsing(mySingleExecutor, 0));
+            final Future<String> myResult = mySingleExecutor.submit(new Callable<String>() {
+                @Override
+                public String call() throws IOException, JSONException {
+                    final JSONReader myReader = new JSONReader.Builder(mySettings).build();
+                    try {
+                        return StringUtil.deepCharSequenceToString(myReader.read("[1, [2], 3, 4]")).toString();
+                    } finally {
+                        myReader.close();
+                    }
+                }
+            });
+            Assert.assertEquals(myResult.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), "[1, [2], 3, 4]");
+        } finally {
+            mySingleExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectedTasksRunOnCaller() throws IOException, JSONException {
+        final ExecutorService myStoppedExecutor = Executors.newSingleThreadExecutor();
+        myStoppedExecutor.shutdown();
+        final JSONReader myReader = new JSONReader.Builder(new Settings(new SecureJSON.Builder().parallelParsing(
+            myStoppedExecutor, 0))).build();
+        try {
+            Assert.assertEquals(StringUtil.deepCharSequenceToString(myReader.read("[1, 2, 3]")).toString(),
+                "[1, 2, 3]");
+        } finally {
+            myReader.close();
+        }
+    }
+
+    @Test
+    public void testSecureJSON() throws JSONException {
+        final String myInput = buildInput();
+        final List<Object> myResult = new ArrayList<Object>();
+        new SecureJSON.Builder().parallelParsing(executor, 0).build().fromJSON(myInput, new IConsumer<List<?>>() {
+            @Override
+            public void accept(final List<?> parInput) {
+                myResult.add(StringUtil.deepCharSequenceToString(parInput));
+            }
+        });
+        Assert.assertEquals(((List<?>) myResult.get(0)).size(), ELEMENTS);
+    }
+
+    private String readError(final Settings parSettings, final String parInput) throws IOException {
+        final JSONReader myReader = new JSONReader.Builder(parSettings).build();
+        try {
+            myReader.read(parInput);
+        } catch (final JSONException myException) {
+            // the message carries the offset.
+            return myException.getClass().getName() + ": " + myException.getMessage();
+        } finally {
+            myReader.close();
+        }
+
+        return null;
+    }
+
+    private String buildInput() {
+        final StringBuilder myBuilder = new StringBuilder(BUILDER_CAPACITY).append('[');
+        for (int myIndex = 0; myIndex < ELEMENTS; myIndex++) {
+            if (myIndex > 0) {
+                myBuilder.append(", ");
+            }
+            myBuilder.append("{\"id\": ").append(myIndex).append(", \"name\": \"n\\\"]").append(myIndex)
+                .append("\", \"tags\": [true, null, 1.5e3]}");
+        }
+
+        return myBuilder.append(']').toString();
+    }
+}
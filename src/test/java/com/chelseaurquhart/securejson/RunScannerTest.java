@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class RunScannerTest {
+    private static final int SEED = 1234;
+    private static final int ITERATIONS = 2000;
+    private static final int MAX_LENGTH = 40;
+    private static final byte[] ALPHABET = {'a', '"', '\\', ' ', '\t', '\n', '\r', 0, 0x1f, 0x20, 0x7f, (byte) 0x80,
+        (byte) 0xa2, (byte) 0xdc, (byte) 0xff, '{'};
+
+    private RunScannerTest() {
+    }
+
+    @Test
+    public void testMatchesCharacterScan() {
+        final Random myRandom = new Random(SEED);
+        for (int myIteration = 0; myIteration < ITERATIONS; myIteration++) {
+            final byte[] myBytes = new byte[myRandom.nextInt(MAX_LENGTH)];
+            // mostly plain characters, so that runs are long enough to cover whole words.
+            for (int myIndex = 0; myIndex < myBytes.length; myIndex++) {
+                if (myRandom.nextInt(ALPHABET.length) == 0) {
+                    myBytes[myIndex] = ALPHABET[myRandom.nextInt(ALPHABET.length)];
+                } else if (myIteration % 2 == 0) {
+                    myBytes[myIndex] = 'a';
+                } else {
+                    myBytes[myIndex] = ' ';
+                }
+            }
+            final char[] myChars = new char[myBytes.length];
+            for (int myIndex = 0; myIndex < myBytes.length; myIndex++) {
+                myChars[myIndex] = (char) (myBytes[myIndex] & 0xff);
+            }
+            final ByteBuffer myBuffer = RunScanner.littleEndianSlice(ByteBuffer.wrap(myBytes));
+
+            for (int myStart = 0; myStart <= myBytes.length; myStart++) {
+                final int myStringEnd = expectedStringEnd(myChars, myStart);
+                final int myWhitespaceEnd = expectedWhitespaceEnd(myChars, myStart);
+                Assert.assertEquals(RunScanner.findStringEnd(myBuffer, myStart, myBytes.length), myStringEnd);
+                Assert.assertEquals(RunScanner.findStringEnd(myChars, myStart, myChars.length), myStringEnd);
+                Assert.assertEquals(RunScanner.findStringEnd(new String(myChars), myStart, myChars.length),
+                    myStringEnd);
+                Assert.assertEquals(RunScanner.findWhitespaceEnd(myBuffer, myStart, myBytes.length),
+                    myWhitespaceEnd);
+                Assert.assertEquals(RunScanner.findWhitespaceEnd(myChars, myStart, myChars.length),
+                    myWhitespaceEnd);
+                Assert.assertEquals(RunScanner.findWhitespaceEnd(new String(myChars), myStart, myChars.length),
+                    myWhitespaceEnd);
+            }
+        }
+    }
+
+    @Test
+    public void testIteratorSkips() throws IOException, JSONException {
+        final String myInput = "    \n\t  \"a long run of plain characters\\n then more\"";
+        final ICharacterIterator[] myIterators = {
+            new IterableCharSequence(myInput),
+            new IterableCharArray(myInput.toCharArray(), 0, myInput.length()),
+            new IterableByteBuffer(ByteBuffer.wrap(myInput.getBytes(StandardCharsets.UTF_8))),
+        };
+        for (final ICharacterIterator myIterator : myIterators) {
+            myIterator.skipWhitespace();
+            Assert.assertEquals(myIterator.getOffset(), myInput.indexOf('"'));
+            Assert.assertEquals(myIterator.next().charValue(), '"');
+            myIterator.skipStringCharacters();
+            Assert.assertEquals(myIterator.getOffset(), myInput.indexOf('\\'));
+            Assert.assertEquals(myIterator.peek().charValue(), '\\');
+            myIterator.next();
+            myIterator.next();
+            myIterator.skipStringCharacters();
+            Assert.assertEquals(myIterator.getOffset(), myInput.length() - 1);
+            myIterator.next();
+            myIterator.skipStringCharacters();
+            Assert.assertFalse(myIterator.hasNext());
+        }
+    }
+
+    private static int expectedStringEnd(final char[] parChars, final int parStart) {
+        int myIndex = parStart;
+        while (myIndex < parChars.length && parChars[myIndex] != '"' && parChars[myIndex] != '\\'
+                && parChars[myIndex] >= JSONSymbolCollection.MIN_ALLOWED_ASCII_CODE) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+
+    private static int expectedWhitespaceEnd(final char[] parChars, final int parStart) {
+        int myIndex = parStart;
+        while (myIndex < parChars.length && JSONSymbolCollection.WHITESPACES.containsKey(parChars[myIndex])) {
+            myIndex++;
+        }
+
+        return myIndex;
+    }
+}
@@ -23,11 +23,25 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.CharArrayReader;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @SuppressWarnings("PMD.CommentRequired")
 public final class SecureJSONTest {
+    private static final int BYTE_BUFFER_SIZE = 4096;
+    private static final int BYTE_MASK = 0xff;
+    private static final int SCATTER_PARTS = 4;
+
     @Test(dataProviderClass = JSONReaderTest.class, dataProvider = JSONReaderTest.DATA_PROVIDER_NAME)
     public void testReadString(final JSONReaderTest.Parameters<Object> parParameters) {
         try {
@@ -93,6 +107,160 @@ public final class SecureJSONTest {
         }
     }
 
+    @Test(dataProviderClass = JSONReaderTest.class, dataProvider = JSONReaderTest.DATA_PROVIDER_NAME)
+    public void testReadByteBuffer(final JSONReaderTest.Parameters<Object> parParameters) {
+        final byte[] myBytes = toBytes(parParameters);
+        final ByteBuffer myBuffer = ByteBuffer.allocateDirect(myBytes.length);
+        myBuffer.put(myBytes);
+        myBuffer.flip();
+
+        try {
+            new SecureJSON().fromJSON(myBuffer, new IConsumer<Object>() {
+                @Override
+                public void accept(final Object parInput) {
+                    Assert.assertEquals(StringUtil.deepCharSequenceToString(parParameters.getExpected()),
+                        StringUtil.deepCharSequenceToString(parInput));
+                }
+            }, parParameters.getExpectedClass());
+            Assert.assertNull(parParameters.getExpectedException(), "Expected exception was not thrown");
+        } catch (final JSONDecodeException myException) {
+            checkException(parParameters, myException);
+        } catch (final JSONRuntimeException myException) {
+            checkException(parParameters, myException);
+        }
+        Assert.assertEquals(myBuffer.position(), 0);
+    }
+
+    @Test(dataProviderClass = JSONReaderTest.class, dataProvider = JSONReaderTest.DATA_PROVIDER_NAME)
+    public void testReadByteBuffers(final JSONReaderTest.Parameters<Object> parParameters) {
+        final byte[] myBytes = toBytes(parParameters);
+        // split into small, uneven parts, including empty ones, so that values span buffers.
+        final List<ByteBuffer> myBuffers = new ArrayList<ByteBuffer>();
+        int myPartLength = 0;
+        for (int myIndex = 0; myIndex < myBytes.length; myIndex += myPartLength) {
+            myPartLength = Math.min(myBuffers.size() % SCATTER_PARTS, myBytes.length - myIndex);
+            myBuffers.add(ByteBuffer.wrap(myBytes, myIndex, myPartLength));
+        }
+
+        try {
+            new SecureJSON().fromJSON(myBuffers.toArray(new ByteBuffer[0]), new IConsumer<Object>() {
+                @Override
+                public void accept(final Object parInput) {
+                    Assert.assertEquals(StringUtil.deepCharSequenceToString(parParameters.getExpected()),
+                        StringUtil.deepCharSequenceToString(parInput));
+                }
+            }, parParameters.getExpectedClass());
+            Assert.assertNull(parParameters.getExpectedException(), "Expected exception was not thrown");
+        } catch (final JSONDecodeException myException) {
+            checkException(parParameters, myException);
+        } catch (final JSONRuntimeException myException) {
+            checkException(parParameters, myException);
+        }
+    }
+
+    @Test(dataProviderClass = JSONReaderTest.class, dataProvider = JSONReaderTest.DATA_PROVIDER_NAME)
+    public void testReadChars(final JSONReaderTest.Parameters<Object> parParameters) {
+        final char[] myChars = toChars(parParameters);
+        // surround the input to make sure only the given part of the array is read.
+        final char[] myPaddedChars = new char[myChars.length + 2];
+        myPaddedChars[0] = '[';
+        System.arraycopy(myChars, 0, myPaddedChars, 1, myChars.length);
+        myPaddedChars[myPaddedChars.length - 1] = '}';
+
+        try {
+            new SecureJSON().fromJSON(myPaddedChars, 1, myChars.length, new IConsumer<Object>() {
+                @Override
+                public void accept(final Object parInput) {
+                    Assert.assertEquals(StringUtil.deepCharSequenceToString(parParameters.getExpected()),
+                        StringUtil.deepCharSequenceToString(parInput));
+                }
+            }, parParameters.getExpectedClass());
+            Assert.assertNull(parParameters.getExpectedException(), "Expected exception was not thrown");
+        } catch (final JSONDecodeException myException) {
+            checkException(parParameters, myException);
+        } catch (final JSONRuntimeException myException) {
+            checkException(parParameters, myException);
+        }
+    }
+
+    @Test(dataProviderClass = JSONReaderTest.class, dataProvider = JSONReaderTest.DATA_PROVIDER_NAME)
+    public void testReadCharBuffer(final JSONReaderTest.Parameters<Object> parParameters) {
+        try {
+            new SecureJSON().fromJSON(CharBuffer.wrap(toChars(parParameters)), new IConsumer<Object>() {
+                @Override
+                public void accept(final Object parInput) {
+                    Assert.assertEquals(StringUtil.deepCharSequenceToString(parParameters.getExpected()),
+                        StringUtil.deepCharSequenceToString(parInput));
+                }
+            }, parParameters.getExpectedClass());
+            Assert.assertNull(parParameters.getExpectedException(), "Expected exception was not thrown");
+        } catch (final JSONDecodeException myException) {
+            checkException(parParameters, myException);
+        } catch (final JSONRuntimeException myException) {
+            checkException(parParameters, myException);
+        }
+    }
+
+    @Test(dataProviderClass = JSONReaderTest.class, dataProvider = JSONReaderTest.DATA_PROVIDER_NAME)
+    public void testReadReader(final JSONReaderTest.Parameters<Object> parParameters) {
+        try {
+            new SecureJSON().fromJSON(new CharArrayReader(toChars(parParameters)), new IConsumer<Object>() {
+                @Override
+                public void accept(final Object parInput) {
+                    Assert.assertEquals(StringUtil.deepCharSequenceToString(parParameters.getExpected()),
+                        StringUtil.deepCharSequenceToString(parInput));
+                }
+            }, parParameters.getExpectedClass());
+            Assert.assertNull(parParameters.getExpectedException(), "Expected exception was not thrown");
+        } catch (final JSONDecodeException myException) {
+            checkException(parParameters, myException);
+        } catch (final JSONRuntimeException myException) {
+            checkException(parParameters, myException);
+        }
+    }
+
+    @Test
+    public void testReadCharBufferDoesNotMovePosition() throws JSONException {
+        final CharBuffer myBuffer = CharBuffer.wrap("xx[1, 2]".toCharArray());
+        myBuffer.position(2);
+        new SecureJSON().fromJSON(myBuffer.slice().asReadOnlyBuffer(), new IConsumer<List<Number>>() {
+            @Override
+            public void accept(final List<Number> parInput) {
+                Assert.assertEquals(parInput, Arrays.asList(1, 2));
+            }
+        });
+        new SecureJSON().fromJSON(myBuffer, new IConsumer<List<Number>>() {
+            @Override
+            public void accept(final List<Number> parInput) {
+                Assert.assertEquals(parInput, Arrays.asList(1, 2));
+            }
+        });
+        Assert.assertEquals(myBuffer.position(), 2);
+    }
+
+    private byte[] toBytes(final JSONReaderTest.Parameters<?> parParameters) {
+        if (parParameters.getInputBytes() == null) {
+            return StringUtil.charSequenceToString(parParameters.getInputString()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        return parParameters.getInputBytes();
+    }
+
+    private char[] toChars(final JSONReaderTest.Parameters<?> parParameters) {
+        if (parParameters.getInputBytes() == null) {
+            return StringUtil.charSequenceToString(parParameters.getInputString()).toCharArray();
+        }
+
+        // bytes are read as one character each, so do the same here.
+        final byte[] myBytes = parParameters.getInputBytes();
+        final char[] myChars = new char[myBytes.length];
+        for (int myIndex = 0; myIndex < myBytes.length; myIndex++) {
+            myChars[myIndex] = (char) (myBytes[myIndex] & BYTE_MASK);
+        }
+
+        return myChars;
+    }
+
     private void checkException(final JSONReaderTest.Parameters<?> parParameters, final Exception parException) {
         Assert.assertNotNull(parParameters.getExpectedException());
         Assert.assertEquals(Util.unwrapException(parException).getMessage(),
@@ -143,7 +311,92 @@ public final class SecureJSONTest {
         }
     }
 
+    @Test(dataProviderClass = JSONWriterTest.class, dataProvider = JSONWriterTest.DATA_PROVIDER_NAME)
+    public void testWriteChannel(final JSONWriterTest.Parameters parParameters) throws Throwable {
+        final Assert.ThrowingRunnable myRunner = new Assert.ThrowingRunnable() {
+            @Override
+            public void run() throws Throwable {
+                final ByteArrayOutputStream myOutputStream = new ByteArrayOutputStream();
+                new SecureJSON().toJSON(parParameters.getInputObject(), Channels.newChannel(myOutputStream));
+                Assert.assertEquals(StringUtil.charSequenceToString(
+                        myOutputStream.toString(StandardCharsets.UTF_8.name())),
+                        StringUtil.charSequenceToString(parParameters.getExpected()));
+            }
+        };
+
+        if (parParameters.getExpectedException() == null) {
+            myRunner.run();
+        } else {
+            Assert.expectThrows(parParameters.getExpectedException().getClass(), myRunner);
+        }
+    }
 
+    @Test(dataProviderClass = JSONWriterTest.class, dataProvider = JSONWriterTest.DATA_PROVIDER_NAME)
+    public void testWriteByteBuffer(final JSONWriterTest.Parameters parParameters) throws Throwable {
+        final Assert.ThrowingRunnable myRunner = new Assert.ThrowingRunnable() {
+            @Override
+            public void run() throws Throwable {
+                final ByteBuffer myBuffer = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+                new SecureJSON().toJSON(parParameters.getInputObject(), myBuffer);
+                myBuffer.flip();
+                Assert.assertEquals(StringUtil.charSequenceToString(StandardCharsets.UTF_8.decode(myBuffer)),
+                        StringUtil.charSequenceToString(parParameters.getExpected()));
+            }
+        };
+
+        if (parParameters.getExpectedException() == null) {
+            myRunner.run();
+        } else {
+            Assert.expectThrows(parParameters.getExpectedException().getClass(), myRunner);
+        }
+    }
+
+    @Test
+    public void testWriteByteBufferTooSmall() throws JSONEncodeException {
+        final ByteBuffer myBuffer = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+        myBuffer.put((byte) '>');
+        final List<String> myInput = Arrays.asList("one", "two", "three");
+        final ByteBuffer mySmallBuffer = myBuffer.duplicate();
+        mySmallBuffer.limit(8);
+        try {
+            new SecureJSON().toJSON(myInput, mySmallBuffer);
+            Assert.fail("Expected exception was not thrown");
+        } catch (final JSONEncodeException.BufferTooSmallException myException) {
+            Assert.assertEquals(myException.getRequiredSize(), "[\"one\",\"two\",\"three\"]".length());
+        }
+        Assert.assertEquals(mySmallBuffer.position(), 1);
+
+        new SecureJSON().toJSON(myInput, myBuffer);
+        myBuffer.flip();
+        Assert.assertEquals(StandardCharsets.UTF_8.decode(myBuffer).toString(), ">[\"one\",\"two\",\"three\"]");
+    }
+
+    @Test
+    public void testWriteByteBufferFailureLeavesBuffer() {
+        final ByteBuffer myBuffer = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+        myBuffer.put((byte) '>');
+        try {
+            new SecureJSON().toJSON(selfYieldingIterator(), myBuffer);
+            Assert.fail("Expected exception was not thrown");
+        } catch (final JSONEncodeException myException) {
+            Assert.assertFalse(myException instanceof JSONEncodeException.BufferTooSmallException);
+        }
+        Assert.assertEquals(myBuffer.position(), 1);
+        for (int myIndex = 1; myIndex < BYTE_BUFFER_SIZE; myIndex++) {
+            Assert.assertEquals(myBuffer.get(myIndex), 0);
+        }
+    }
+
+    @Test
+    public void testWriteChannelFailureWritesNothing() {
+        final ByteArrayOutputStream myOutputStream = new ByteArrayOutputStream();
+        try {
+            new SecureJSON().toJSON(selfYieldingIterator(), Channels.newChannel(myOutputStream));
+            Assert.fail("Expected exception was not thrown");
+        } catch (final JSONEncodeException myException) {
+            Assert.assertEquals(myOutputStream.size(), 0);
+        }
+    }
 
     @Test(expectedExceptions = JSONDecodeException.class)
     public void testReadIncorrectType() throws JSONException {
@@ -165,4 +418,124 @@ public final class SecureJSONTest {
             }
         });
     }
+
+    @Test
+    public void testStringsFromBytesAreCopied() throws JSONException {
+        final ExecutorService myExecutor = Executors.newSingleThreadExecutor();
+        try {
+            final SecureJSON[] mySecureJSONs = {
+                new SecureJSON(),
+                new SecureJSON.Builder().zeroCopyStrings(true).build(),
+                new SecureJSON.Builder().parallelParsing(myExecutor, 0).build()
+            };
+            for (final SecureJSON mySecureJSON : mySecureJSONs) {
+                final byte[] myBytes = "[\"secret\", \"other\"]".getBytes(StandardCharsets.UTF_8);
+                mySecureJSON.fromJSON(myBytes, new IConsumer<List<CharSequence>>() {
+                    @Override
+                    public void accept(final List<CharSequence> parInput) {
+                        Arrays.fill(myBytes, (byte) 'x');
+                        Assert.assertEquals(StringUtil.charSequenceToString(parInput.get(0)), "secret");
+                        Assert.assertEquals(StringUtil.charSequenceToString(parInput.get(1)), "other");
+                    }
+                });
+
+                final ByteBuffer myBuffer = ByteBuffer.wrap("\"secret\"".getBytes(StandardCharsets.UTF_8));
+                mySecureJSON.fromJSON(myBuffer, new IConsumer<CharSequence>() {
+                    @Override
+                    public void accept(final CharSequence parInput) {
+                        myBuffer.put(1, (byte) 'x');
+                        Assert.assertEquals(StringUtil.charSequenceToString(parInput), "secret");
+                    }
+                });
+            }
+        } finally {
+            myExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSecretArraysRoundTrip() throws JSONException {
+        assertSecretArraysRoundTrip(new SecureJSON.Builder().charArraysAsStrings(true).byteArraysAsBase64(true).build(),
+            "{\"password\":\"p\\u00e5\\\"s\",\"key\":\"AP9/gCo=\"}");
+    }
+
+    @Test
+    public void testSecretArraysRoundTripAsElements() throws JSONException {
+        assertSecretArraysRoundTrip(new SecureJSON(),
+            "{\"password\":[\"p\",\"\\u00e5\",\"\\\"\",\"s\"],\"key\":[0,-1,127,-128,42]}");
+    }
+
+    private void assertSecretArraysRoundTrip(final SecureJSON parSecureJSON, final String parExpected)
+            throws JSONException {
+        final Credentials myCredentials = new Credentials();
+        myCredentials.password = new char[]{'p', '\u00e5', '"', 's'};
+        myCredentials.key = new byte[]{0, -1, 127, -128, 42};
+        final SecureJSON mySecureJSON = parSecureJSON;
+        final List<Credentials> myResult = new ArrayList<Credentials>();
+
+        mySecureJSON.toJSON(myCredentials, new IConsumer<CharSequence>() {
+            @Override
+            public void accept(final CharSequence parInput) {
+                Assert.assertEquals(StringUtil.charSequenceToString(parInput), parExpected);
+                try {
+                    mySecureJSON.fromJSON(parInput, new IConsumer<Credentials>() {
+                        @Override
+                        public void accept(final Credentials parInput) {
+                            myResult.add(parInput);
+                        }
+                    }, Credentials.class);
+                } catch (final JSONDecodeException myException) {
+                    throw new JSONRuntimeException(myException);
+                }
+            }
+        });
+
+        Assert.assertEquals(myResult.size(), 1);
+        Assert.assertEquals(myResult.get(0).password, myCredentials.password);
+        Assert.assertEquals(myResult.get(0).key, myCredentials.key);
+    }
+
+    @Test(expectedExceptions = JSONDecodeException.class)
+    public void testReadMalformedBase64() throws JSONException {
+        new SecureJSON().fromJSON("{\"key\":\"AP9*\"}", new IConsumer<Credentials>() {
+            @Override
+            public void accept(final Credentials parInput) {
+                Assert.fail("invalid base64");
+            }
+        }, Credentials.class);
+    }
+
+    private static Iterator<Object> selfYieldingIterator() {
+        return new Iterator<Object>() {
+            private transient boolean started;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Object next() {
+                if (started) {
+                    return this;
+                }
+                started = true;
+
+                return "one";
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static final class Credentials {
+        private char[] password;
+        private byte[] key;
+
+        private Credentials() {
+        }
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class SecureKeyMapTest {
+    private SecureKeyMapTest() {
+    }
+
+    @Test
+    public void testSecureKeysFoundByContent() throws IOException {
+        final ManagedSecureCharBuffer myKey = buildSecureBuffer("a longer key that spans chunks", 4);
+        try {
+            final Map<CharSequence, Object> myMap = new SecureKeyMap<Object>();
+            myMap.put(myKey, 1);
+            Assert.assertEquals(myMap.get("a longer key that spans chunks"), 1);
+            Assert.assertTrue(myMap.containsKey(buildSecureBuffer("a longer key that spans chunks", 3)));
+            Assert.assertFalse(myMap.containsKey("a longer key that spans chunkz"));
+            Assert.assertNull(myMap.get(1));
+        } finally {
+            myKey.close();
+        }
+    }
+
+    @Test
+    public void testHashMatchesString() throws IOException {
+        final ManagedSecureCharBuffer myKey = buildSecureBuffer("hash me", 2);
+        try {
+            Assert.assertEquals(SecureKeyMap.hash(myKey), "hash me".hashCode());
+            Assert.assertEquals(SecureKeyMap.hash(new StringBuilder("hash me")), "hash me".hashCode());
+        } finally {
+            myKey.close();
+        }
+    }
+
+    @Test
+    public void testContentEquals() throws IOException {
+        final ManagedSecureCharBuffer myLeft = buildSecureBuffer("abcdefgh", 3);
+        final ManagedSecureCharBuffer myRight = buildSecureBuffer("abcdefgh", 5);
+        try {
+            Assert.assertTrue(SecureKeyMap.contentEquals(myLeft, myRight));
+            Assert.assertTrue(SecureKeyMap.contentEquals(myLeft.subSequence(2, 7), "cdefg"));
+            Assert.assertFalse(SecureKeyMap.contentEquals(myLeft, "abcdefgi"));
+            Assert.assertFalse(SecureKeyMap.contentEquals(myLeft, "abcdefg"));
+            Assert.assertTrue(SecureKeyMap.contentEquals("abc", new StringBuilder("abc")));
+        } finally {
+            myLeft.close();
+            myRight.close();
+        }
+    }
+
+    @Test
+    public void testInsertionOrderAndGrowth() {
+        final Map<CharSequence, Object> myMap = new SecureKeyMap<Object>(1);
+        final List<String> myExpectedKeys = new ArrayList<String>();
+        for (int myIndex = 0; myIndex < 100; myIndex++) {
+            myMap.put("key" + myIndex, myIndex);
+            myExpectedKeys.add("key" + myIndex);
+        }
+
+        Assert.assertEquals(myMap.size(), 100);
+        Assert.assertEquals(new ArrayList<CharSequence>(myMap.keySet()), myExpectedKeys);
+        for (int myIndex = 0; myIndex < 100; myIndex++) {
+            Assert.assertEquals(myMap.get("key" + myIndex), myIndex);
+        }
+    }
+
+    @Test
+    public void testPromotionFromLinearSearch() {
+        final Map<CharSequence, Object> myMap = new SecureKeyMap<Object>(2);
+        for (int myIndex = 0; myIndex < 8; myIndex++) {
+            myMap.put("key" + myIndex, myIndex);
+        }
+        myMap.remove("key3");
+        for (int myIndex = 8; myIndex < 20; myIndex++) {
+            myMap.put("key" + myIndex, myIndex);
+        }
+
+        Assert.assertEquals(myMap.size(), 19);
+        Assert.assertFalse(myMap.containsKey("key3"));
+        for (int myIndex = 0; myIndex < 20; myIndex++) {
+            if (myIndex != 3) {
+                Assert.assertEquals(myMap.get("key" + myIndex), myIndex);
+            }
+        }
+    }
+
+    @Test
+    public void testTrimToSize() {
+        final SecureKeyMap<Object> myMap = new SecureKeyMap<Object>(64);
+        final List<String> myExpectedKeys = new ArrayList<String>();
+        for (int myIndex = 0; myIndex < 12; myIndex++) {
+            myMap.put("key" + myIndex, myIndex);
+            myExpectedKeys.add("key" + myIndex);
+        }
+        for (int myIndex = 0; myIndex < 6; myIndex++) {
+            myMap.remove("key" + myIndex);
+            myExpectedKeys.remove("key" + myIndex);
+        }
+
+        // small enough to drop the table, then grown past it again.
+        myMap.trimToSize();
+        Assert.assertEquals(new ArrayList<CharSequence>(myMap.keySet()), myExpectedKeys);
+        for (int myIndex = 12; myIndex < 20; myIndex++) {
+            myMap.put("key" + myIndex, myIndex);
+            myExpectedKeys.add("key" + myIndex);
+        }
+        myMap.trimToSize();
+
+        Assert.assertEquals(new ArrayList<CharSequence>(myMap.keySet()), myExpectedKeys);
+        for (int myIndex = 6; myIndex < 20; myIndex++) {
+            Assert.assertEquals(myMap.get("key" + myIndex), myIndex);
+        }
+        Assert.assertFalse(myMap.containsKey("key0"));
+    }
+
+    @Test
+    public void testReplaceRemoveAndClear() {
+        final Map<CharSequence, Object> myMap = new SecureKeyMap<Object>();
+        Assert.assertNull(myMap.put("a", 1));
+        Assert.assertNull(myMap.put("b", 2));
+        Assert.assertNull(myMap.put("c", 3));
+        Assert.assertEquals(myMap.put("b", 4), 2);
+        Assert.assertEquals(myMap.remove("a"), 1);
+        Assert.assertNull(myMap.remove("a"));
+        Assert.assertFalse(myMap.containsKey("a"));
+        Assert.assertNull(myMap.put("a", 5));
+
+        Assert.assertEquals(myMap.size(), 3);
+        Assert.assertEquals(new ArrayList<CharSequence>(myMap.keySet()), Arrays.asList("b", "c", "a"));
+
+        final Iterator<Map.Entry<CharSequence, Object>> myIterator = myMap.entrySet().iterator();
+        final Map.Entry<CharSequence, Object> myEntry = myIterator.next();
+        Assert.assertEquals(myEntry.setValue(6), 4);
+        Assert.assertEquals(myMap.get("b"), 6);
+        myIterator.remove();
+        Assert.assertFalse(myMap.containsKey("b"));
+        Assert.assertEquals(myMap.size(), 2);
+
+        myMap.clear();
+        Assert.assertTrue(myMap.isEmpty());
+        Assert.assertNull(myMap.get("c"));
+    }
+
+    @Test
+    public void testNullValues() {
+        final Map<CharSequence, Object> myMap = new SecureKeyMap<Object>();
+        myMap.put("a", null);
+        Assert.assertTrue(myMap.containsKey("a"));
+        Assert.assertNull(myMap.get("a"));
+        Assert.assertEquals(myMap.entrySet().iterator().next(), new AbstractMap.SimpleEntry<String, Object>("a",
+            null));
+    }
+
+    @Test
+    public void testHashCodeMatchesHashMap() {
+        final Map<CharSequence, Object> myMap = new SecureKeyMap<Object>();
+        final Map<CharSequence, Object> myExpected = new HashMap<CharSequence, Object>();
+        for (final Map<CharSequence, Object> myTarget : Arrays.asList(myMap, myExpected)) {
+            myTarget.put("a", 1);
+            myTarget.put("b", null);
+            myTarget.put("c", "value");
+        }
+
+        Assert.assertEquals(myMap.hashCode(), myExpected.hashCode());
+        Assert.assertEquals(myMap.entrySet().iterator().next().hashCode(),
+            new AbstractMap.SimpleEntry<String, Object>("a", 1).hashCode());
+        Assert.assertEquals(SecureKeyMap.entryHash("b".hashCode(), null), "b".hashCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReadFromStreamUsesContentKeys() throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).build();
+        try {
+            final Map<CharSequence, Object> myMap = (Map<CharSequence, Object>) myReader.read(
+                new ByteArrayInputStream("{\"first\": 1, \"second\": {\"third\": true}}".getBytes(
+                    StandardCharsets.UTF_8)));
+            Assert.assertEquals(myMap.get("first"), 1);
+            Assert.assertEquals(((Map<CharSequence, Object>) myMap.get("second")).get("third"), true);
+        } finally {
+            myReader.close();
+        }
+    }
+
+    private ManagedSecureCharBuffer buildSecureBuffer(final CharSequence parChars, final int parCapacity)
+            throws IOException {
+        final ManagedSecureCharBuffer myBuffer = new ManagedSecureCharBuffer(parCapacity);
+        for (int myIndex = 0; myIndex < parChars.length(); myIndex++) {
+            myBuffer.append(parChars.charAt(myIndex));
+        }
+
+        return myBuffer;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
+import com.chelseaurquhart.securejson.util.StringUtil;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class SingleLoopReaderTest {
+    private static final long SEED = 20190101L;
+    private static final int RANDOM_INPUTS = 20000;
+    private static final int MAX_ATOMS = 12;
+    private static final int BUILDER_CAPACITY = 64;
+    private static final String[] ATOMS = {"[", "]", "{", "}", ":", ",", " ", "\n", "\"a\"", "\"b\\n\"", "\"", "1",
+        "-2.5", "1e", "true", "null", "fals", "x"};
+
+    private SingleLoopReaderTest() {
+    }
+
+    @Test
+    public void testMatchesReaderDispatch() throws IOException {
+        final Random myRandom = new Random(SEED);
+        for (int myInput = 0; myInput < RANDOM_INPUTS; myInput++) {
+            final StringBuilder myBuilder = new StringBuilder(BUILDER_CAPACITY);
+            final int myAtoms = myRandom.nextInt(MAX_ATOMS);
+            for (int myAtom = 0; myAtom < myAtoms; myAtom++) {
+                myBuilder.append(ATOMS[myRandom.nextInt(ATOMS.length)]);
+            }
+            final String myJson = myBuilder.toString();
+
+            final String myExpected = read(myJson, false);
+            final String myActual = read(myJson, true);
+            if (myExpected.startsWith("internal")) {
+                // the reader dispatch fails some truncated inputs with an internal error; we must report them properly.
+                Assert.assertTrue(myActual.startsWith("decode"), myJson + ": " + myActual);
+            } else {
+                Assert.assertEquals(myActual, myExpected, myJson);
+            }
+        }
+    }
+
+    @Test
+    public void testTruncatedInputIsRejected() throws IOException {
+        Assert.assertEquals(read("   ", true),
+            "decode com.chelseaurquhart.securejson.JSONDecodeException$EmptyJSONException: "
+                + "JSON parsing failed at character 3: Empty JSON string..");
+        Assert.assertEquals(read("[1, ", true),
+            "decode com.chelseaurquhart.securejson.JSONDecodeException$MalformedListException: "
+                + "JSON parsing failed at character 4: malformed list.");
+    }
+
+    @Test
+    public void testSecureJSON() throws JSONException {
+        new SecureJSON.Builder().singleLoopParsing(true).build().fromJSON("{\"a\": [1, {\"b\": null}]}",
+            new IConsumer<Object>() {
+                @Override
+                public void accept(final Object parInput) {
+                    Assert.assertEquals(StringUtil.deepCharSequenceToString(parInput).toString(), "{a=[1, {b=null}]}");
+                }
+            });
+    }
+
+    private static String read(final String parJson, final boolean parSingleLoop) throws IOException {
+        final JSONReader myReader = new JSONReader.Builder(Settings.DEFAULTS).singleLoop(parSingleLoop).build();
+        try {
+            return "value " + StringUtil.deepCharSequenceToString(myReader.read(new IterableCharSequence(parJson)));
+        } catch (final JSONException myException) {
+            return "decode " + myException;
+        } catch (final JSONRuntimeException myException) {
+            if (myException.getCause() instanceof JSONException) {
+                return "decode " + myException.getCause();
+            }
+
+            return "internal " + myException.getCause();
+        } finally {
+            myReader.close();
+        }
+    }
+}
@@ -18,6 +18,8 @@ package com.chelseaurquhart.securejson;
 
 import com.chelseaurquhart.securejson.JSONException.JSONRuntimeException;
 
+import com.chelseaurquhart.securejson.util.StringUtil;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -31,9 +33,88 @@ public final class StringReaderTest {
 
     @Test(dataProviderClass = StringProvider.class, dataProvider = StringProvider.DATA_PROVIDER_NAME)
     public void testConvert(final StringProvider.Parameters parParameters) {
+        convert(Settings.DEFAULTS, parParameters);
+    }
+
+    @Test(dataProviderClass = StringProvider.class, dataProvider = StringProvider.DATA_PROVIDER_NAME)
+    public void testConvertZeroCopy(final StringProvider.Parameters parParameters) {
+        convert(new Settings(new SecureJSON.Builder().zeroCopyStrings(true)), parParameters);
+    }
+
+    @Test(dataProviderClass = StringProvider.class, dataProvider = StringProvider.DATA_PROVIDER_NAME)
+    public void testConvertZeroCopyCharArray(final StringProvider.Parameters parParameters) {
+        final char[] myChars = StringUtil.charSequenceToString(parParameters.inputString).toCharArray();
+        convert(new Settings(new SecureJSON.Builder().zeroCopyStrings(true)), parParameters,
+            new IterableCharArray(myChars, 0, myChars.length));
+    }
+
+    @Test
+    public void testZeroCopyReturnsView() throws IOException, JSONException {
+        final StringReader myStringReader = new StringReader(new Settings(new SecureJSON.Builder()
+            .zeroCopyStrings(true)));
+        final StringBuilder myInput = new StringBuilder("\"plain\" \"esc\\naped\"");
+        final IterableCharSequence myIterator = new IterableCharSequence(myInput);
+
+        final CharSequence myPlain = myStringReader.read(myIterator, null);
+        Assert.assertEquals(myPlain.getClass(), ParallelArrayReader.Range.class);
+        Assert.assertEquals(myPlain.toString(), "plain");
+        myIterator.skipWhitespace();
+
+        final CharSequence myEscaped = myStringReader.read(myIterator, null);
+        Assert.assertEquals(myEscaped.getClass(), ManagedSecureCharBuffer.class);
+        Assert.assertEquals(StringUtil.charSequenceToString(myEscaped), "esc\naped");
+
+        // views share the input's characters.
+        myInput.setCharAt(1, 'P');
+        Assert.assertEquals(myPlain.toString(), "Plain");
+        myStringReader.close();
+    }
+
+    @Test
+    public void testZeroCopyCharArrayReturnsView() throws IOException, JSONException {
+        final StringReader myStringReader = new StringReader(new Settings(new SecureJSON.Builder()
+            .zeroCopyStrings(true)));
+        final char[] myInput = "xx\"plain\" \"esc\\naped\"".toCharArray();
+        final IterableCharArray myIterator = new IterableCharArray(myInput, 2, myInput.length);
+
+        final CharSequence myPlain = myStringReader.read(myIterator, null);
+        Assert.assertEquals(myPlain.getClass(), ParallelArrayReader.Range.class);
+        Assert.assertEquals(myPlain.toString(), "plain");
+        myIterator.skipWhitespace();
+
+        final CharSequence myEscaped = myStringReader.read(myIterator, null);
+        Assert.assertEquals(myEscaped.getClass(), ManagedSecureCharBuffer.class);
+        Assert.assertEquals(StringUtil.charSequenceToString(myEscaped), "esc\naped");
+
+        // views share the input's characters.
+        myInput[3] = 'P';
+        Assert.assertEquals(myPlain.toString(), "Plain");
+        myStringReader.close();
+    }
+
+    @Test
+    public void testLongStringInOneChunk() throws IOException, JSONException {
+        final StringBuilder myExpected = new StringBuilder();
+        for (int myIndex = 0; myIndex < 1000; myIndex++) {
+            myExpected.append((char) ('a' + myIndex % 26));
+        }
+        final StringReader myStringReader = new StringReader(Settings.DEFAULTS);
+        final CharSequence myResult = myStringReader.read(new IterableCharSequence("\"" + myExpected + "\""), null);
+
+        Assert.assertEquals(myResult.getClass(), ManagedSecureCharBuffer.class);
+        Assert.assertEquals(((ManagedSecureCharBuffer) myResult).getChunks().size(), 1);
+        Assert.assertEquals(StringUtil.charSequenceToString(myResult), myExpected.toString());
+        myStringReader.close();
+    }
+
+    private void convert(final Settings parSettings, final StringProvider.Parameters parParameters) {
+        convert(parSettings, parParameters, new IterableCharSequence(parParameters.inputString));
+    }
+
+    private void convert(final Settings parSettings, final StringProvider.Parameters parParameters,
+                         final ICharacterIterator parIterator) {
         try {
-            final CharSequence myResult = new StringReader(Settings.DEFAULTS)
-                .read(new IterableCharSequence(parParameters.inputString), null);
+            final CharSequence myResult = new StringReader(parSettings).read(parIterator, null);
             Assert.assertNull(parParameters.expectedException);
             // need to convert in sort of a roundabout way (or loop) as SecureCharBuffer cannot be string-converted.
             final char[] myActualChars = new char[myResult.length()];
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class StructuralIndexTest {
+    private static final long SEED = 20190101L;
+    private static final int RANDOM_INPUTS = 500;
+    private static final int MAX_RANDOM_LENGTH = 300;
+    private static final char[] ALPHABET = {'[', ']', '{', '}', ':', ',', '"', '\\', ' ', '\n', 'a', '1', '-', 'x'};
+
+    private StructuralIndexTest() {
+    }
+
+    /**
+     * @return Inputs that exercise escapes and strings crossing block boundaries.
+     */
+    @DataProvider(name = "inputs")
+    public static Object[][] inputs() {
+        return new Object[][] {
+            {""},
+            {"   "},
+            {"[1, 2, 3]"},
+            {"{\"a\": [true, false, null], \"b\": \"[,]\"}"},
+            {"\"escaped \\\" quote\" , 1"},
+            {"\"backslashes \\\\\" ,\"\\\\\\\"\" ]"},
+            {repeat(' ', 63) + "\"\\" + "\"\", 1"},
+            {repeat(' ', 62) + "\"\\\\\", 1"},
+            {"\"" + repeat('\\', 130) + "\" , [x]"},
+            {"\"" + repeat('\\', 129) + "\" , [x]\""},
+            {"[\"" + repeat('a', 200) + "\", 12345, {\"k\": \"v\"}]"},
+            {"[1,\u00e9,\"\u4e2d\"]"},
+        };
+    }
+
+    @Test(dataProvider = "inputs")
+    public void testMatchesScalarScan(final String parInput) {
+        assertMatchesScalarScan(parInput);
+    }
+
+    @Test
+    public void testMatchesScalarScanOnRandomInput() {
+        final Random myRandom = new Random(SEED);
+        for (int myInput = 0; myInput < RANDOM_INPUTS; myInput++) {
+            final int myLength = myRandom.nextInt(MAX_RANDOM_LENGTH);
+            final StringBuilder myBuilder = new StringBuilder(myLength);
+            for (int myIndex = 0; myIndex < myLength; myIndex++) {
+                myBuilder.append(ALPHABET[myRandom.nextInt(ALPHABET.length)]);
+            }
+            assertMatchesScalarScan(myBuilder.toString());
+        }
+    }
+
+    @Test
+    public void testIncomplete() {
+        Assert.assertFalse(StructuralIndex.build("[\"open").isComplete());
+        Assert.assertFalse(StructuralIndex.build("[\"open\\").isComplete());
+        Assert.assertFalse(StructuralIndex.build(repeat(' ', 63) + "\\").isComplete());
+        Assert.assertTrue(StructuralIndex.build("[\"closed\"]").isComplete());
+    }
+
+    private static void assertMatchesScalarScan(final String parInput) {
+        final List<Integer> myExpected = new ArrayList<Integer>();
+        final boolean myComplete = scalarScan(parInput, myExpected);
+
+        final StructuralIndex myIndex = StructuralIndex.build(parInput);
+        final List<Integer> myActual = new ArrayList<Integer>();
+        for (int myPosition = 0; myPosition < myIndex.size(); myPosition++) {
+            myActual.add(myIndex.get(myPosition));
+        }
+
+        Assert.assertEquals(myActual, myExpected, parInput);
+        Assert.assertEquals(myIndex.isComplete(), myComplete, parInput);
+    }
+
+    private static boolean scalarScan(final String parInput, final List<Integer> parPositions) {
+        boolean myInString = false;
+        boolean myEscaped = false;
+        boolean myInScalar = false;
+        for (int myIndex = 0; myIndex < parInput.length(); myIndex++) {
+            final char myChar = parInput.charAt(myIndex);
+            // like the index, a backslash escapes the next character even outside of a string. That only happens in
+            // invalid JSON, which the parser rejects anyway.
+            final boolean myIsEscaped = myEscaped;
+            myEscaped = !myEscaped && myChar == '\\';
+            if (myInString) {
+                if (myChar == '"' && !myIsEscaped) {
+                    myInString = false;
+                }
+                continue;
+            }
+
+            if (myChar == '"' && !myIsEscaped) {
+                parPositions.add(myIndex);
+                myInString = true;
+                myInScalar = false;
+            } else if ("[]{}:,".indexOf(myChar) != -1) {
+                parPositions.add(myIndex);
+                myInScalar = false;
+            } else if (myChar == ' ' || myChar == '\n' || myChar == '\r' || myChar == '\t') {
+                myInScalar = false;
+            } else if (!myInScalar) {
+                parPositions.add(myIndex);
+                myInScalar = true;
+            }
+        }
+
+        return !myInString && !myEscaped;
+    }
+
+    private static String repeat(final char parChar, final int parCount) {
+        final StringBuilder myBuilder = new StringBuilder(parCount);
+        for (int myIndex = 0; myIndex < parCount; myIndex++) {
+            myBuilder.append(parChar);
+        }
+
+        return myBuilder.toString();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class Utf8CharacterWriterTest {
+    private static final String DATA_PROVIDER_NAME = "Utf8CharacterWriterTest";
+    private static final int SMALL_BLOCK_SIZE = 7;
+
+    private Utf8CharacterWriterTest() {
+    }
+
+    @DataProvider(name = DATA_PROVIDER_NAME, parallel = true)
+    static Object[][] dataProvider() {
+        final StringBuilder myLong = new StringBuilder();
+        for (int myIndex = 0; myIndex < Utf8CharacterWriter.DEFAULT_BLOCK_SIZE; myIndex++) {
+            myLong.append("a\u00e9\u2603\ud83d\ude00");
+        }
+
+        return new Object[][] {
+            {"", ""},
+            {"plain ascii", "plain ascii"},
+            {"caf\u00e9 \u2603", "caf\u00e9 \u2603"},
+            {"\ud83d\ude00\ud83d\ude0d", "\ud83d\ude00\ud83d\ude0d"},
+            {"\ud83d", "?"},
+            {"a\ude00b", "a?b"},
+            {"\ud83dx\ud83d", "?x?"},
+            {myLong.toString(), myLong.toString()},
+        };
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testEncodeToOutputStream(final String parInput, final String parExpected) throws IOException {
+        final ByteArrayOutputStream myOutputStream = new ByteArrayOutputStream();
+        final OutputStreamWriter myWriter = new OutputStreamWriter(myOutputStream);
+        myWriter.append(parInput);
+        myWriter.close();
+
+        Assert.assertEquals(myOutputStream.toByteArray(), parExpected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(dataProvider = DATA_PROVIDER_NAME)
+    public void testEncodeCharByCharToSmallBlock(final String parInput, final String parExpected) throws IOException {
+        final ByteArrayOutputStream myOutputStream = new ByteArrayOutputStream();
+        final byte[] myBlock = new byte[SMALL_BLOCK_SIZE];
+        final Utf8CharacterWriter myWriter = new Utf8CharacterWriter(ByteBuffer.wrap(myBlock)) {
+            @Override
+            void drain(final ByteBuffer parBytes) {
+                while (parBytes.hasRemaining()) {
+                    myOutputStream.write(parBytes.get());
+                }
+            }
+        };
+        for (int myIndex = 0; myIndex < parInput.length(); myIndex++) {
+            myWriter.append(parInput.charAt(myIndex));
+        }
+        myWriter.close();
+
+        Assert.assertEquals(myOutputStream.toByteArray(), parExpected.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(myBlock, new byte[SMALL_BLOCK_SIZE]);
+    }
+
+    @Test
+    public void testBlockIsWipedAfterFlush() throws IOException {
+        final byte[] myBlock = new byte[SMALL_BLOCK_SIZE];
+        final byte[][] myDrained = new byte[1][];
+        final Utf8CharacterWriter myWriter = new Utf8CharacterWriter(ByteBuffer.wrap(myBlock)) {
+            @Override
+            void drain(final ByteBuffer parBytes) {
+                myDrained[0] = Arrays.copyOfRange(parBytes.array(), parBytes.position(), parBytes.limit());
+                parBytes.position(parBytes.limit());
+            }
+        };
+        myWriter.append("abc");
+        Assert.assertEquals(myBlock[0], (byte) 'a');
+        myWriter.flush();
+        Assert.assertEquals(myDrained[0], "abc".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(myBlock, new byte[SMALL_BLOCK_SIZE]);
+        myWriter.close();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 Chelsea Urquhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chelseaurquhart.securejson;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@SuppressWarnings("PMD.CommentRequired")
+public final class RecordReaderTest {
+    private static final Settings SETTINGS = new Settings(new SecureJSON.Builder().strictStrings(false));
+
+    private RecordReaderTest() {
+    }
+
+    @Test
+    public void testRecord() throws IOException, JSONException {
+        final Point myPoint = read("{\"x\": 1, \"y\": 2, \"meta\": {\"label\": \"a\"}}", Point.class);
+
+        Assert.assertEquals(myPoint, new Point(1, 2, "a"));
+    }
+
+    @Test
+    public void testMissingComponent() throws IOException, JSONException {
+        final Point myPoint = read("{\"y\": 2}", Point.class);
+
+        Assert.assertEquals(myPoint, new Point(0, 2, null));
+    }
+
+    @Test
+    public void testExtraKey() throws IOException, JSONException {
+        final Point myPoint = read("{\"x\": 1, \"y\": 2, \"z\": [3], \"meta\": {\"label\": \"a\", \"b\": 1}}",
+            Point.class);
+
+        Assert.assertEquals(myPoint, new Point(1, 2, "a"));
+    }
+
+    @Test
+    public void testNullPrimitiveComponent() throws IOException, JSONException {
+        final Point myPoint = read("{\"x\": null, \"y\": 2, \"meta\": null}", Point.class);
+
+        Assert.assertEquals(myPoint, new Point(0, 2, null));
+    }
+
+    @Test
+    public void testNestedRecords() throws IOException, JSONException {
+        final Shape myShape = read("{\"name\": \"triangle\", \"origin\": {\"x\": 9}, \"points\": [{\"x\": 1}, "
+            + "{\"y\": 2}], \"named\": {\"top\": {\"x\": 5, \"y\": 6}}}", Shape.class);
+
+        Assert.assertEquals(myShape.name(), "triangle");
+        Assert.assertEquals(myShape.origin(), new Point(9, 0, null));
+        Assert.assertEquals(myShape.points(), Arrays.asList(new Point(1, 0, null), new Point(0, 2, null)));
+        Assert.assertEquals(myShape.named().size(), 1);
+        Assert.assertEquals(myShape.named().values().iterator().next(), new Point(5, 6, null));
+    }
+
+    @Test
+    public void testRecordField() throws IOException, JSONException {
+        final Holder myHolder = read("{\"point\": {\"x\": 3, \"y\": 4}, \"count\": 5}", Holder.class);
+
+        Assert.assertEquals(myHolder.point, new Point(3, 4, null));
+        Assert.assertEquals(myHolder.count, 5);
+    }
+
+    @Test
+    public void testCreatorClass() throws IOException, JSONException {
+        final Line myLine = read("{\"start\": {\"x\": 1}, \"end\": {\"x\": 2, \"y\": null}, \"extra\": true}",
+            Line.class);
+
+        Assert.assertEquals(myLine.start, new Point(1, 0, null));
+        Assert.assertEquals(myLine.end, new Point(2, 0, null));
+        Assert.assertEquals(myLine.width, 0);
+    }
+
+    @Test
+    public void testRecordFromNonMap() {
+        Assert.assertThrows(JSONException.class, new Assert.ThrowingRunnable() {
+            @Override
+            public void run() throws Throwable {
+                read("[1, 2]", Point.class);
+            }
+        });
+    }
+
+    private static <T> T read(final String parJSON, final Class<T> parClass) throws IOException, JSONException {
+        final JSONReader myReader = new JSONReader.Builder(SETTINGS).build();
+        try {
+            return new ObjectReader<T>(parClass, SETTINGS).accept(myReader.read(parJSON));
+        } finally {
+            myReader.close();
+        }
+    }
+
+    private record Point(int x, int y, @Serialize(name = {"meta", "label"}) String label) {
+    }
+
+    private record Shape(String name, Point origin, List<Point> points, Map<String, Point> named) {
+    }
+
+    private static final class Holder {
+        private Point point;
+        private int count;
+    }
+
+    private static final class Line {
+        private final Point start;
+        private final Point end;
+        private final int width;
+
+        @JSONCreator
+        private Line(@Serialize(name = "start") final Point parStart, @Serialize(name = "end") final Point parEnd,
+                     @Serialize(name = "width") final int parWidth) {
+            start = parStart;
+            end = parEnd;
+            width = parWidth;
+        }
+    }
+}